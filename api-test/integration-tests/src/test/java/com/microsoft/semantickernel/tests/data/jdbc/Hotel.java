@@ -22,7 +22,7 @@ public class Hotel {
     private final int code;
 
     @JsonProperty("summary")
-    @VectorStoreRecordData()
+    @VectorStoreRecordData(isFullTextSearchable = true)
     private final String description;
 
     @JsonProperty("summaryEmbedding1")
@@ -0,0 +1,289 @@
+package com.microsoft.semantickernel.tests.data.jdbc;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+
+import com.microsoft.semantickernel.data.jdbc.JDBCVectorEncoding;
+import com.microsoft.semantickernel.data.jdbc.JDBCVectorStoreRecordCollection;
+import com.microsoft.semantickernel.data.jdbc.JDBCVectorStoreRecordCollectionOptions;
+import com.microsoft.semantickernel.data.jdbc.SQLVectorStoreQueryProvider;
+import com.microsoft.semantickernel.data.jdbc.mysql.MySQLVectorStoreQueryProvider;
+import com.microsoft.semantickernel.data.jdbc.sqlite.SQLiteVectorStoreQueryProvider;
+import com.microsoft.semantickernel.data.vectorsearch.VectorOperations;
+import com.microsoft.semantickernel.data.vectorsearch.VectorSearchResult;
+import com.microsoft.semantickernel.data.vectorstorage.definition.DistanceFunction;
+import com.microsoft.semantickernel.data.vectorstorage.definition.VectorStoreRecordDataField;
+import com.microsoft.semantickernel.data.vectorstorage.definition.VectorStoreRecordDefinition;
+import com.microsoft.semantickernel.data.vectorstorage.definition.VectorStoreRecordKeyField;
+import com.microsoft.semantickernel.data.vectorstorage.definition.VectorStoreRecordVectorField;
+import com.microsoft.semantickernel.data.vectorstorage.options.VectorSearchOptions;
+import com.mysql.cj.jdbc.MysqlDataSource;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.Queue;
+import java.util.Random;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.stream.Stream;
+import javax.annotation.Nullable;
+import javax.sql.DataSource;
+import org.junit.jupiter.api.Assumptions;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.sqlite.SQLiteDataSource;
+import org.testcontainers.containers.MySQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import org.testcontainers.utility.DockerImageName;
+
+/**
+ * Checks that searches scored by the database, with the MySQL 9 {@code VECTOR} type and
+ * {@code DISTANCE} function or with the sqlite-vec extension, return the same records and scores
+ * as the client-side scan, and that searches fall back to the scan when neither is available.
+ * <p>
+ * The sqlite-vec cases run when the {@code SQLITE_VEC_EXTENSION} environment variable points to
+ * the extension library.
+ */
+@Testcontainers
+public class JDBCVectorSearchPushdownTest {
+
+    @Container
+    private static final MySQLContainer<?> MYSQL_5_CONTAINER = new MySQLContainer<>(
+        "mysql:5.7.34");
+
+    @Container
+    private static final MySQLContainer<?> MYSQL_9_CONTAINER = new MySQLContainer<>(
+        DockerImageName.parse("mysql:9.1").asCompatibleSubstituteFor("mysql"));
+
+    private static final String SQLITE_VEC_EXTENSION = System.getenv("SQLITE_VEC_EXTENSION");
+
+    private static final int RECORDS = 64;
+    private static final int DIMENSIONS = 8;
+
+    public enum Database {
+        // No VECTOR type, searches scan the vectors
+        MySQL5,
+        // VECTOR columns, scored by DISTANCE if the edition of the server provides it
+        MySQL9,
+        // No sqlite-vec, searches scan the vectors
+        SQLite,
+        SQLiteVec
+    }
+
+    private static Stream<Arguments> provideSearchParameters() {
+        return Arrays.stream(Database.values())
+            .flatMap(database -> Arrays.stream(JDBCVectorEncoding.values())
+                .flatMap(encoding -> Stream.of(
+                    DistanceFunction.EUCLIDEAN_DISTANCE,
+                    DistanceFunction.COSINE_DISTANCE,
+                    DistanceFunction.COSINE_SIMILARITY,
+                    DistanceFunction.DOT_PRODUCT)
+                    .map(distanceFunction -> Arguments.of(database, encoding,
+                        distanceFunction))));
+    }
+
+    private static DataSource buildDataSource(Database database) {
+        switch (database) {
+            case MySQL5:
+            case MySQL9:
+                MySQLContainer<?> container = database == Database.MySQL5 ? MYSQL_5_CONTAINER
+                    : MYSQL_9_CONTAINER;
+                MysqlDataSource mysqlDataSource = new MysqlDataSource();
+                mysqlDataSource.setUrl(container.getJdbcUrl());
+                mysqlDataSource.setUser(container.getUsername());
+                mysqlDataSource.setPassword(container.getPassword());
+                return mysqlDataSource;
+            case SQLite:
+            case SQLiteVec:
+                Path sqliteDb = JDBCVectorStoreRecordCollectionTest.createTempDbFile("sqliteDb");
+                SQLiteDataSource sqliteDataSource = new SQLiteDataSource();
+                sqliteDataSource.setUrl("jdbc:sqlite:file:" + sqliteDb.toFile().getAbsolutePath());
+                sqliteDataSource.setLoadExtension(database == Database.SQLiteVec);
+                return sqliteDataSource;
+            default:
+                throw new IllegalArgumentException("Unknown database: " + database);
+        }
+    }
+
+    // Records the SQL of the prepared statements, and loads an extension in each connection
+    private static DataSource recordQueries(DataSource dataSource, Queue<String> queries,
+        @Nullable String extension) {
+        return (DataSource) Proxy.newProxyInstance(DataSource.class.getClassLoader(),
+            new Class<?>[] { DataSource.class }, (proxy, method, args) -> {
+                Object result;
+                try {
+                    result = method.invoke(dataSource, args);
+                } catch (InvocationTargetException e) {
+                    throw e.getCause();
+                }
+                if (!method.getName().equals("getConnection")) {
+                    return result;
+                }
+                Connection connection = (Connection) result;
+                if (extension != null) {
+                    try (PreparedStatement statement = connection.prepareStatement(
+                        "SELECT load_extension(?)")) {
+                        statement.setString(1, extension);
+                        statement.executeQuery().close();
+                    }
+                }
+                return Proxy.newProxyInstance(Connection.class.getClassLoader(),
+                    new Class<?>[] { Connection.class }, (connectionProxy, connectionMethod,
+                        connectionArgs) -> {
+                        if (connectionMethod.getName().equals("prepareStatement")) {
+                            queries.add((String) connectionArgs[0]);
+                        }
+                        try {
+                            return connectionMethod.invoke(connection, connectionArgs);
+                        } catch (InvocationTargetException e) {
+                            throw e.getCause();
+                        }
+                    });
+            });
+    }
+
+    private static boolean isSupported(DataSource dataSource, String query) {
+        try (Connection connection = dataSource.getConnection();
+            PreparedStatement statement = connection.prepareStatement(query)) {
+            statement.executeQuery().close();
+            return true;
+        } catch (SQLException e) {
+            return false;
+        }
+    }
+
+    private static SQLVectorStoreQueryProvider buildQueryProvider(Database database,
+        DataSource dataSource) {
+        switch (database) {
+            case MySQL5:
+            case MySQL9:
+                return MySQLVectorStoreQueryProvider.builder()
+                    .withDataSource(dataSource)
+                    .build();
+            default:
+                return SQLiteVectorStoreQueryProvider.builder()
+                    .withDataSource(dataSource)
+                    .build();
+        }
+    }
+
+    private static VectorStoreRecordDefinition buildRecordDefinition(
+        DistanceFunction distanceFunction) {
+        return VectorStoreRecordDefinition.fromFields(Arrays.asList(
+            VectorStoreRecordKeyField.builder()
+                .withName("id")
+                .withStorageName("hotelId")
+                .withFieldType(String.class)
+                .build(),
+            VectorStoreRecordDataField.builder()
+                .withName("name")
+                .withStorageName("name")
+                .withFieldType(String.class)
+                .build(),
+            VectorStoreRecordVectorField.builder()
+                .withName("euclidean")
+                .withStorageName("summaryEmbedding1")
+                .withFieldType(List.class)
+                .withDimensions(DIMENSIONS)
+                .withDistanceFunction(distanceFunction)
+                .build()));
+    }
+
+    private static List<Float> randomVector(Random random) {
+        List<Float> vector = new ArrayList<>(DIMENSIONS);
+        for (int i = 0; i < DIMENSIONS; i++) {
+            vector.add(random.nextFloat() * 20 - 10);
+        }
+        return vector;
+    }
+
+    @ParameterizedTest
+    @MethodSource("provideSearchParameters")
+    public void searchMatchesScan(Database database, JDBCVectorEncoding vectorEncoding,
+        DistanceFunction distanceFunction) {
+        if (database == Database.SQLiteVec) {
+            Assumptions.assumeTrue(SQLITE_VEC_EXTENSION != null,
+                "SQLITE_VEC_EXTENSION is not set");
+        }
+
+        Queue<String> queries = new ConcurrentLinkedQueue<>();
+        DataSource dataSource = recordQueries(buildDataSource(database), queries,
+            database == Database.SQLiteVec ? SQLITE_VEC_EXTENSION : null);
+        VectorStoreRecordDefinition recordDefinition = buildRecordDefinition(distanceFunction);
+        String collectionName = ("pushdown_" + database + "_" + vectorEncoding + "_"
+            + distanceFunction.name()).toLowerCase(Locale.ROOT);
+
+        JDBCVectorStoreRecordCollection<Hotel> recordCollection = new JDBCVectorStoreRecordCollection<>(
+            dataSource,
+            collectionName,
+            JDBCVectorStoreRecordCollectionOptions.<Hotel>builder()
+                .withRecordClass(Hotel.class)
+                .withRecordDefinition(recordDefinition)
+                .withQueryProvider(buildQueryProvider(database, dataSource))
+                .withVectorEncoding(vectorEncoding)
+                .build());
+        recordCollection.prepareAsync().block();
+        recordCollection.createCollectionIfNotExistsAsync().block();
+
+        Random random = new Random(distanceFunction.ordinal());
+        List<Hotel> hotels = new ArrayList<>(RECORDS);
+        for (int i = 0; i < RECORDS; i++) {
+            hotels.add(new Hotel("id_" + i, "Hotel " + i, i, "Hotel " + i + " description",
+                randomVector(random), null, null, null, 4.0, null));
+        }
+        recordCollection.upsertBatchAsync(hotels, null).block();
+        List<Float> query = randomVector(random);
+
+        VectorSearchOptions options = VectorSearchOptions.builder()
+            .withVectorFieldName("euclidean")
+            .withSkip(2)
+            .withTop(10)
+            .build();
+
+        queries.clear();
+        List<VectorSearchResult<Hotel>> results = recordCollection.searchAsync(query, options)
+            .block().getResults();
+        List<VectorSearchResult<Hotel>> expected = VectorOperations.exactSimilaritySearch(hotels,
+            query, recordDefinition.getVectorFields().get(0), distanceFunction, options);
+
+        assertNotNull(results);
+        assertEquals(expected.size(), results.size());
+        for (int i = 0; i < expected.size(); i++) {
+            assertEquals(expected.get(i).getRecord().getId(), results.get(i).getRecord().getId());
+            assertEquals(expected.get(i).getScore(), results.get(i).getScore(), 1e-3);
+        }
+
+        // Only euclidean and cosine distances are computed by the database, if it can
+        boolean scoredByDatabase;
+        String distanceFragment;
+        switch (database) {
+            case MySQL9:
+                scoredByDatabase = isSupported(dataSource,
+                    "SELECT DISTANCE(STRING_TO_VECTOR('[1]'), STRING_TO_VECTOR('[1]'), 'EUCLIDEAN')");
+                distanceFragment = "DISTANCE(";
+                break;
+            case SQLiteVec:
+                scoredByDatabase = true;
+                distanceFragment = "vec_distance_";
+                break;
+            default:
+                scoredByDatabase = false;
+                distanceFragment = "DISTANCE(";
+                break;
+        }
+        scoredByDatabase = scoredByDatabase && distanceFunction != DistanceFunction.DOT_PRODUCT;
+        String fragment = distanceFragment;
+        assertEquals(scoredByDatabase,
+            queries.stream().anyMatch(sql -> sql.contains(fragment)
+                && sql.contains("ORDER BY score")));
+    }
+}
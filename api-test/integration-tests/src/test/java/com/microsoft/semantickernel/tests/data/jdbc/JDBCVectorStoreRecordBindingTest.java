@@ -0,0 +1,326 @@
+package com.microsoft.semantickernel.tests.data.jdbc;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.PropertyNamingStrategies;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import com.fasterxml.jackson.databind.ser.std.ToStringSerializer;
+import com.microsoft.semantickernel.data.jdbc.JDBCVectorStoreRecordBinding;
+import com.microsoft.semantickernel.data.jdbc.JDBCVectorStoreRecordMapper;
+import com.microsoft.semantickernel.data.vectorstorage.annotations.VectorStoreRecordData;
+import com.microsoft.semantickernel.data.vectorstorage.annotations.VectorStoreRecordKey;
+import com.microsoft.semantickernel.data.vectorstorage.definition.VectorStoreRecordDataField;
+import com.microsoft.semantickernel.data.vectorstorage.definition.VectorStoreRecordDefinition;
+import com.microsoft.semantickernel.data.vectorstorage.definition.VectorStoreRecordKeyField;
+import com.microsoft.semantickernel.data.vectorstorage.options.GetRecordOptions;
+
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Function;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.sqlite.SQLiteDataSource;
+
+/**
+ * Checks that {@link JDBCVectorStoreRecordBinding} maps the rows of a result set to records with
+ * a {@code @JsonCreator} constructor or with setters, and through Jackson when the object mapper
+ * or the annotations of the record class change the mapping.
+ */
+public class JDBCVectorStoreRecordBindingTest {
+
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+
+    private SQLiteDataSource dataSource;
+
+    public static class Room {
+        @VectorStoreRecordKey
+        private String number;
+
+        @VectorStoreRecordData
+        private int beds;
+
+        @VectorStoreRecordData
+        private boolean smoking;
+
+        @VectorStoreRecordData
+        private Double price;
+
+        @VectorStoreRecordData
+        private List<String> amenities;
+
+        public Room() {
+            this.beds = -1;
+        }
+
+        public String getNumber() {
+            return number;
+        }
+
+        public void setNumber(String number) {
+            this.number = number;
+        }
+
+        public int getBeds() {
+            return beds;
+        }
+
+        public void setBeds(int beds) {
+            this.beds = beds;
+        }
+
+        public boolean isSmoking() {
+            return smoking;
+        }
+
+        public void setSmoking(boolean smoking) {
+            this.smoking = smoking;
+        }
+
+        public Double getPrice() {
+            return price;
+        }
+
+        public void setPrice(Double price) {
+            this.price = price;
+        }
+
+        public List<String> getAmenities() {
+            return amenities;
+        }
+
+        public void setAmenities(List<String> amenities) {
+            this.amenities = amenities;
+        }
+    }
+
+    public static class Guest {
+        private String firstName;
+        private int birthYear;
+
+        public String getFirstName() {
+            return firstName;
+        }
+
+        public void setFirstName(String firstName) {
+            this.firstName = firstName;
+        }
+
+        public int getBirthYear() {
+            return birthYear;
+        }
+
+        public void setBirthYear(int birthYear) {
+            this.birthYear = birthYear;
+        }
+    }
+
+    public static class Booking {
+        @VectorStoreRecordKey
+        @JsonSerialize(using = ToStringSerializer.class)
+        private final long bookingId;
+
+        @VectorStoreRecordData
+        private final int nights;
+
+        @JsonCreator
+        public Booking(
+            @JsonProperty("bookingId") long bookingId,
+            @JsonProperty("nights") int nights) {
+            this.bookingId = bookingId;
+            this.nights = nights;
+        }
+
+        public long getBookingId() {
+            return bookingId;
+        }
+
+        public int getNights() {
+            return nights;
+        }
+    }
+
+    @BeforeEach
+    public void setup() throws SQLException {
+        Path sqliteDb = JDBCVectorStoreRecordCollectionTest.createTempDbFile("bindingDb");
+        dataSource = new SQLiteDataSource();
+        dataSource.setUrl("jdbc:sqlite:file:" + sqliteDb.toFile().getAbsolutePath());
+
+        execute(
+            "CREATE TABLE hotels (hotelId TEXT, name TEXT, code INTEGER, summary TEXT, "
+                + "summaryEmbedding1 TEXT, rating REAL, tags TEXT)",
+            "INSERT INTO hotels VALUES ('id_1', 'Hotel 1', 1, 'Hotel 1 description', "
+                + "'[1.0,2.0,3.0,4.0,5.0,6.0,7.0,8.0]', 4.5, '[\"pool\",\"spa\"]')",
+            "INSERT INTO hotels (hotelId) VALUES ('id_2')",
+            "CREATE TABLE rooms (number TEXT, beds INTEGER, smoking INTEGER, price REAL, "
+                + "amenities TEXT)",
+            "INSERT INTO rooms VALUES ('101', 2, 1, 99.5, '[\"tv\"]')",
+            "INSERT INTO rooms (number) VALUES ('102')",
+            "CREATE TABLE guests (first_name TEXT, birth_year INTEGER)",
+            "INSERT INTO guests VALUES ('Alice', 1970)",
+            "CREATE TABLE bookings (bookingId INTEGER, nights INTEGER)",
+            "INSERT INTO bookings VALUES (7, 3)");
+    }
+
+    private void execute(String... statements) throws SQLException {
+        try (Connection connection = dataSource.getConnection();
+            Statement statement = connection.createStatement()) {
+            for (String sql : statements) {
+                statement.execute(sql);
+            }
+        }
+    }
+
+    private <Record> List<Record> query(String sql, Function<ResultSet, Record> mapper)
+        throws SQLException {
+        List<Record> records = new ArrayList<>();
+        try (Connection connection = dataSource.getConnection();
+            Statement statement = connection.createStatement();
+            ResultSet resultSet = statement.executeQuery(sql)) {
+            while (resultSet.next()) {
+                records.add(mapper.apply(resultSet));
+            }
+        }
+        return records;
+    }
+
+    private static <Record> JDBCVectorStoreRecordMapper<Record> buildMapper(
+        Class<Record> recordClass, VectorStoreRecordDefinition recordDefinition,
+        ObjectMapper objectMapper) {
+        return JDBCVectorStoreRecordMapper.<Record>builder()
+            .withRecordClass(recordClass)
+            .withVectorStoreRecordDefinition(recordDefinition)
+            .withObjectMapper(objectMapper)
+            .build();
+    }
+
+    @Test
+    public void mapsRecordsWithCreator() throws SQLException {
+        assertTrue(JDBCVectorStoreRecordBinding.create(Hotel.class,
+            VectorStoreRecordDefinition.fromRecordClass(Hotel.class), OBJECT_MAPPER).isCompiled());
+        JDBCVectorStoreRecordMapper<Hotel> mapper = buildMapper(Hotel.class,
+            VectorStoreRecordDefinition.fromRecordClass(Hotel.class), OBJECT_MAPPER);
+        GetRecordOptions options = GetRecordOptions.builder().includeVectors(true).build();
+
+        // Column labels are matched to storage names regardless of case
+        List<Hotel> hotels = query(
+            "SELECT hotelId AS HOTELID, name, code, summary, summaryEmbedding1, rating, tags "
+                + "FROM hotels ORDER BY hotelId",
+            resultSet -> mapper.mapStorageModelToRecord(resultSet, options));
+
+        assertEquals(2, hotels.size());
+        Hotel hotel = hotels.get(0);
+        assertEquals("id_1", hotel.getId());
+        assertEquals("Hotel 1", hotel.getName());
+        assertEquals(1, hotel.getCode());
+        assertEquals("Hotel 1 description", hotel.getDescription());
+        assertEquals(Arrays.asList(1.0f, 2.0f, 3.0f, 4.0f, 5.0f, 6.0f, 7.0f, 8.0f),
+            hotel.getEuclidean());
+        assertEquals(4.5, hotel.getRating());
+        assertEquals(Arrays.asList("pool", "spa"), hotel.getTags());
+
+        // Vectors are left out unless requested
+        Hotel withoutVectors = query("SELECT * FROM hotels WHERE hotelId = 'id_1'",
+            resultSet -> mapper.mapStorageModelToRecord(resultSet, null)).get(0);
+        assertNull(withoutVectors.getEuclidean());
+        assertEquals("Hotel 1", withoutVectors.getName());
+    }
+
+    @Test
+    public void mapsRecordsWithSetters() throws SQLException {
+        JDBCVectorStoreRecordMapper<Room> mapper = buildMapper(Room.class,
+            VectorStoreRecordDefinition.fromRecordClass(Room.class), OBJECT_MAPPER);
+
+        Room room = query("SELECT * FROM rooms WHERE number = '101'",
+            resultSet -> mapper.mapStorageModelToRecord(resultSet, null)).get(0);
+        assertEquals("101", room.getNumber());
+        assertEquals(2, room.getBeds());
+        assertTrue(room.isSmoking());
+        assertEquals(Double.valueOf(99.5), room.getPrice());
+        assertEquals(Arrays.asList("tv"), room.getAmenities());
+
+        // Columns missing from the result set leave the fields as constructed
+        Room partial = query("SELECT number FROM rooms WHERE number = '101'",
+            resultSet -> mapper.mapStorageModelToRecord(resultSet, null)).get(0);
+        assertEquals("101", partial.getNumber());
+        assertEquals(-1, partial.getBeds());
+        assertNull(partial.getPrice());
+    }
+
+    @Test
+    public void defaultsPrimitiveFields() throws SQLException {
+        JDBCVectorStoreRecordMapper<Room> roomMapper = buildMapper(Room.class,
+            VectorStoreRecordDefinition.fromRecordClass(Room.class), OBJECT_MAPPER);
+        Room room = query("SELECT * FROM rooms WHERE number = '102'",
+            resultSet -> roomMapper.mapStorageModelToRecord(resultSet, null)).get(0);
+        assertEquals("102", room.getNumber());
+        assertEquals(0, room.getBeds());
+        assertFalse(room.isSmoking());
+        assertNull(room.getPrice());
+        assertNull(room.getAmenities());
+
+        JDBCVectorStoreRecordMapper<Hotel> hotelMapper = buildMapper(Hotel.class,
+            VectorStoreRecordDefinition.fromRecordClass(Hotel.class), OBJECT_MAPPER);
+        Hotel hotel = query("SELECT * FROM hotels WHERE hotelId = 'id_2'",
+            resultSet -> hotelMapper.mapStorageModelToRecord(resultSet, null)).get(0);
+        assertEquals("id_2", hotel.getId());
+        assertEquals(0, hotel.getCode());
+        assertEquals(0.0, hotel.getRating());
+        assertNull(hotel.getTags());
+    }
+
+    @Test
+    public void mapsRecordsThroughJackson() throws SQLException {
+        ObjectMapper snakeCase = new ObjectMapper()
+            .setPropertyNamingStrategy(PropertyNamingStrategies.SNAKE_CASE);
+        VectorStoreRecordDefinition guestDefinition = VectorStoreRecordDefinition
+            .fromFields(Arrays.asList(
+                VectorStoreRecordKeyField.builder()
+                    .withName("firstName")
+                    .withStorageName("first_name")
+                    .withFieldType(String.class)
+                    .build(),
+                VectorStoreRecordDataField.builder()
+                    .withName("birthYear")
+                    .withStorageName("birth_year")
+                    .withFieldType(int.class)
+                    .build()));
+        assertFalse(JDBCVectorStoreRecordBinding.create(Guest.class, guestDefinition, snakeCase)
+            .isCompiled());
+
+        JDBCVectorStoreRecordMapper<Guest> guestMapper = buildMapper(Guest.class,
+            guestDefinition, snakeCase);
+        Guest guest = query("SELECT * FROM guests",
+            resultSet -> guestMapper.mapStorageModelToRecord(resultSet, null)).get(0);
+        assertEquals("Alice", guest.getFirstName());
+        assertEquals(1970, guest.getBirthYear());
+
+        VectorStoreRecordDefinition bookingDefinition = VectorStoreRecordDefinition
+            .fromRecordClass(Booking.class);
+        JDBCVectorStoreRecordBinding<Booking> bookingBinding = JDBCVectorStoreRecordBinding
+            .create(Booking.class, bookingDefinition, OBJECT_MAPPER);
+        assertFalse(bookingBinding.isCompiled());
+
+        JDBCVectorStoreRecordMapper<Booking> bookingMapper = buildMapper(Booking.class,
+            bookingDefinition, OBJECT_MAPPER);
+        Booking booking = query("SELECT * FROM bookings",
+            resultSet -> bookingMapper.mapStorageModelToRecord(resultSet, null)).get(0);
+        assertEquals(7, booking.getBookingId());
+        assertEquals(3, booking.getNights());
+
+        Object[] values = bookingBinding.getValues(booking);
+        assertEquals(7L, values[0]);
+        assertEquals(3, values[1]);
+    }
+}
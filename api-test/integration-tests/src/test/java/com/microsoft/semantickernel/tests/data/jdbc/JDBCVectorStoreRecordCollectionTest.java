@@ -3,33 +3,44 @@ package com.microsoft.semantickernel.tests.data.jdbc;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import com.microsoft.semantickernel.data.jdbc.hsqldb.HSQLDBVectorStoreQueryProvider;
+import com.microsoft.semantickernel.data.jdbc.JDBCUpsertRecordOptions;
+import com.microsoft.semantickernel.data.jdbc.JDBCVectorEncoding;
 import com.microsoft.semantickernel.data.jdbc.JDBCVectorStoreRecordCollection;
 import com.microsoft.semantickernel.data.jdbc.JDBCVectorStoreRecordCollectionOptions;
 import com.microsoft.semantickernel.data.jdbc.SQLVectorStoreQueryProvider;
 import com.microsoft.semantickernel.data.jdbc.mysql.MySQLVectorStoreQueryProvider;
 import com.microsoft.semantickernel.data.jdbc.postgres.PostgreSQLVectorStoreQueryProvider;
+import com.microsoft.semantickernel.data.jdbc.postgres.PostgreSQLVectorType;
 import com.microsoft.semantickernel.data.jdbc.sqlite.SQLiteVectorStoreQueryProvider;
 import com.microsoft.semantickernel.data.vectorsearch.VectorSearchFilter;
 import com.microsoft.semantickernel.data.vectorsearch.VectorSearchResult;
 import com.microsoft.semantickernel.data.vectorstorage.options.GetRecordOptions;
 import com.microsoft.semantickernel.data.vectorstorage.options.VectorSearchOptions;
+import com.microsoft.semantickernel.exceptions.SKException;
 import com.mysql.cj.jdbc.MysqlDataSource;
 
 import java.io.IOException;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Map;
 import java.util.Properties;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.stream.Stream;
 import javax.annotation.Nonnull;
 import javax.sql.DataSource;
 import org.hsqldb.jdbc.JDBCDataSourceFactory;
-import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.Arguments;
 import org.junit.jupiter.params.provider.EnumSource;
@@ -74,40 +85,54 @@ public class JDBCVectorStoreRecordCollectionTest {
 
     private JDBCVectorStoreRecordCollection<Hotel> buildRecordCollection(QueryProvider provider,
         @Nonnull String collectionName) {
-        SQLVectorStoreQueryProvider queryProvider;
-        DataSource dataSource;
+        return buildRecordCollection(provider, collectionName, JDBCVectorEncoding.JSON);
+    }
+
+    private JDBCVectorStoreRecordCollection<Hotel> buildRecordCollection(QueryProvider provider,
+        @Nonnull String collectionName, JDBCVectorEncoding vectorEncoding) {
+        DataSource dataSource = buildDataSource(provider);
+        return buildRecordCollection(dataSource, buildQueryProvider(provider, dataSource),
+            collectionName, vectorEncoding);
+    }
+
+    private JDBCVectorStoreRecordCollection<Hotel> buildRecordCollection(DataSource dataSource,
+        SQLVectorStoreQueryProvider queryProvider, @Nonnull String collectionName,
+        JDBCVectorEncoding vectorEncoding) {
+        JDBCVectorStoreRecordCollection<Hotel> recordCollection = new JDBCVectorStoreRecordCollection<>(
+            dataSource,
+            collectionName,
+            JDBCVectorStoreRecordCollectionOptions.<Hotel>builder()
+                .withRecordClass(Hotel.class)
+                .withQueryProvider(queryProvider)
+                .withVectorEncoding(vectorEncoding)
+                .build());
+
+        recordCollection.prepareAsync().block();
+        recordCollection.createCollectionIfNotExistsAsync().block();
+        return recordCollection;
+    }
 
+    private DataSource buildDataSource(QueryProvider provider) {
         switch (provider) {
             case MySQL:
                 MysqlDataSource mysqlDataSource = new MysqlDataSource();
                 mysqlDataSource.setUrl(MYSQL_CONTAINER.getJdbcUrl());
                 mysqlDataSource.setUser(MYSQL_CONTAINER.getUsername());
                 mysqlDataSource.setPassword(MYSQL_CONTAINER.getPassword());
-                dataSource = mysqlDataSource;
-                queryProvider = MySQLVectorStoreQueryProvider.builder()
-                    .withDataSource(dataSource)
-                    .build();
-                break;
+                return mysqlDataSource;
             case PostgreSQL:
                 PGSimpleDataSource pgSimpleDataSource = new PGSimpleDataSource();
                 pgSimpleDataSource.setUrl(POSTGRESQL_CONTAINER.getJdbcUrl());
                 pgSimpleDataSource.setUser(POSTGRESQL_CONTAINER.getUsername());
                 pgSimpleDataSource.setPassword(POSTGRESQL_CONTAINER.getPassword());
-                dataSource = pgSimpleDataSource;
-                queryProvider = PostgreSQLVectorStoreQueryProvider.builder()
-                    .withDataSource(dataSource)
-                    .build();
-                break;
+                // Server-prepare every statement, so that vectors are received in binary
+                pgSimpleDataSource.setPrepareThreshold(-1);
+                return pgSimpleDataSource;
             case SQLite:
                 Path sqliteDb = createTempDbFile("sqliteDb");
                 SQLiteDataSource sqliteDataSource = new SQLiteDataSource();
                 sqliteDataSource.setUrl("jdbc:sqlite:file:" + sqliteDb.toFile().getAbsolutePath());
-                dataSource = sqliteDataSource;
-
-                queryProvider = SQLiteVectorStoreQueryProvider.builder()
-                    .withDataSource(dataSource)
-                    .build();
-                break;
+                return sqliteDataSource;
             case HSQLDB:
                 try {
                     Path file = createTempDbFile("testHSQLDB");
@@ -122,30 +147,46 @@ public class JDBCVectorStoreRecordCollectionTest {
                         )
                     );
 
-                    dataSource = JDBCDataSourceFactory.createDataSource(properties);
+                    return JDBCDataSourceFactory.createDataSource(properties);
                 } catch (Exception e) {
                     throw new RuntimeException(e);
                 }
+            default:
+                throw new IllegalArgumentException("Unknown query provider: " + provider);
+        }
+    }
 
-                queryProvider = HSQLDBVectorStoreQueryProvider.builder()
+    private SQLVectorStoreQueryProvider buildQueryProvider(QueryProvider provider,
+        DataSource dataSource) {
+        return buildQueryProvider(provider, dataSource, null);
+    }
+
+    private SQLVectorStoreQueryProvider buildQueryProvider(QueryProvider provider,
+        DataSource dataSource, DataSource readDataSource) {
+        switch (provider) {
+            case MySQL:
+                return MySQLVectorStoreQueryProvider.builder()
+                    .withDataSource(dataSource)
+                    .withReadDataSource(readDataSource)
+                    .build();
+            case PostgreSQL:
+                return PostgreSQLVectorStoreQueryProvider.builder()
                     .withDataSource(dataSource)
+                    .withReadDataSource(readDataSource)
+                    .build();
+            case SQLite:
+                return SQLiteVectorStoreQueryProvider.builder()
+                    .withDataSource(dataSource)
+                    .withReadDataSource(readDataSource)
+                    .build();
+            case HSQLDB:
+                return HSQLDBVectorStoreQueryProvider.builder()
+                    .withDataSource(dataSource)
+                    .withReadDataSource(readDataSource)
                     .build();
-                break;
             default:
                 throw new IllegalArgumentException("Unknown query provider: " + provider);
         }
-
-        JDBCVectorStoreRecordCollection<Hotel> recordCollection = new JDBCVectorStoreRecordCollection<>(
-            dataSource,
-            collectionName,
-            JDBCVectorStoreRecordCollectionOptions.<Hotel>builder()
-                .withRecordClass(Hotel.class)
-                .withQueryProvider(queryProvider)
-                .build());
-
-        recordCollection.prepareAsync().block();
-        recordCollection.createCollectionIfNotExistsAsync().block();
-        return recordCollection;
     }
 
     @ParameterizedTest
@@ -519,12 +560,12 @@ public class JDBCVectorStoreRecordCollectionTest {
         assertEquals("id_1", results.get(0).getRecord().getId());
     }
 
-    // MySQL will always return the vectors as they're needed to compute the distances
-    @Test
-    public void postgresSearchIncludeAndNotIncludeVectors() {
+    @ParameterizedTest
+    @EnumSource(QueryProvider.class)
+    public void searchIncludeAndNotIncludeVectors(QueryProvider provider) {
         String collectionName = "searchIncludeAndNotIncludeVectors";
-        JDBCVectorStoreRecordCollection<Hotel> recordCollection = buildRecordCollection(
-            QueryProvider.PostgreSQL, collectionName);
+        JDBCVectorStoreRecordCollection<Hotel> recordCollection = buildRecordCollection(provider,
+            collectionName);
 
         List<Hotel> hotels = getHotels();
         recordCollection.upsertBatchAsync(hotels, null).block();
@@ -548,4 +589,417 @@ public class JDBCVectorStoreRecordCollectionTest {
         assertEquals("id_3", results.get(0).getRecord().getId());
         assertNotNull(results.get(0).getRecord().getEuclidean());
     }
+
+    @ParameterizedTest
+    @EnumSource(value = QueryProvider.class, names = { "MySQL", "SQLite", "HSQLDB" })
+    public void float32VectorEncoding(QueryProvider provider) {
+        String collectionName = "float32VectorEncoding";
+        JDBCVectorStoreRecordCollection<Hotel> recordCollection = buildRecordCollection(provider,
+            collectionName, JDBCVectorEncoding.FLOAT32);
+
+        List<Hotel> hotels = getHotels();
+        recordCollection.upsertBatchAsync(hotels, null).block();
+
+        Hotel retrievedHotel = recordCollection.getAsync("id_3", new GetRecordOptions(true))
+            .block();
+        assertNotNull(retrievedHotel);
+        assertEquals(hotels.get(2).getEuclidean(), retrievedHotel.getEuclidean());
+
+        VectorSearchOptions options = VectorSearchOptions.builder()
+            .withVectorFieldName("euclidean")
+            .withTop(3)
+            .build();
+
+        // Embeddings similar to the third hotel
+        List<VectorSearchResult<Hotel>> results = recordCollection.searchAsync(SEARCH_EMBEDDINGS,
+            options).block().getResults();
+        assertNotNull(results);
+        assertEquals(3, results.size());
+        // The third hotel should be the most similar
+        assertEquals("id_3", results.get(0).getRecord().getId());
+    }
+
+    @ParameterizedTest
+    @EnumSource(value = QueryProvider.class, names = { "MySQL", "SQLite", "HSQLDB" })
+    public void migrateVectorEncoding(QueryProvider provider) {
+        String collectionName = "migrateVectorEncoding";
+        DataSource dataSource = buildDataSource(provider);
+        SQLVectorStoreQueryProvider queryProvider = buildQueryProvider(provider, dataSource);
+
+        List<Hotel> hotels = getHotels();
+        buildRecordCollection(dataSource, queryProvider, collectionName, JDBCVectorEncoding.JSON)
+            .upsertBatchAsync(hotels, null).block();
+
+        JDBCVectorStoreRecordCollection<Hotel> recordCollection = buildRecordCollection(
+            dataSource, queryProvider, collectionName, JDBCVectorEncoding.FLOAT32);
+        recordCollection.migrateVectorEncodingAsync().block();
+
+        for (Hotel hotel : hotels) {
+            Hotel retrievedHotel = recordCollection.getAsync(hotel.getId(),
+                new GetRecordOptions(true)).block();
+            assertNotNull(retrievedHotel);
+            assertEquals(hotel.getEuclidean(), retrievedHotel.getEuclidean());
+        }
+
+        // Records upserted after the migration are stored in the new encoding
+        recordCollection.upsertBatchAsync(hotels, null).block();
+
+        List<VectorSearchResult<Hotel>> results = recordCollection.searchAsync(SEARCH_EMBEDDINGS,
+            VectorSearchOptions.builder()
+                .withVectorFieldName("euclidean")
+                .withTop(3)
+                .build())
+            .block().getResults();
+        assertNotNull(results);
+        assertEquals(3, results.size());
+        // The third hotel should be the most similar
+        assertEquals("id_3", results.get(0).getRecord().getId());
+    }
+
+    // Fails the given occurrence of the statements containing a fragment, as if the migration
+    // was interrupted there
+    private static DataSource interruptAt(DataSource dataSource, String fragment,
+        int occurrence) {
+        AtomicInteger statements = new AtomicInteger();
+        return (DataSource) Proxy.newProxyInstance(DataSource.class.getClassLoader(),
+            new Class<?>[] { DataSource.class }, (proxy, method, args) -> {
+                Object result;
+                try {
+                    result = method.invoke(dataSource, args);
+                } catch (InvocationTargetException e) {
+                    throw e.getCause();
+                }
+                if (!method.getName().equals("getConnection")) {
+                    return result;
+                }
+                Connection connection = (Connection) result;
+                return Proxy.newProxyInstance(Connection.class.getClassLoader(),
+                    new Class<?>[] { Connection.class }, (connectionProxy, connectionMethod,
+                        connectionArgs) -> {
+                        if (connectionMethod.getName().equals("prepareStatement")
+                            && ((String) connectionArgs[0]).contains(fragment)
+                            && statements.incrementAndGet() == occurrence) {
+                            throw new SQLException("Interrupted");
+                        }
+                        try {
+                            return connectionMethod.invoke(connection, connectionArgs);
+                        } catch (InvocationTargetException e) {
+                            throw e.getCause();
+                        }
+                    });
+            });
+    }
+
+    @ParameterizedTest
+    @EnumSource(value = QueryProvider.class, names = { "MySQL", "SQLite", "HSQLDB" })
+    public void migrateVectorEncodingAfterInterruption(QueryProvider provider) {
+        String collectionName = "migrateVectorEncodingAfterInterruption";
+        DataSource dataSource = buildDataSource(provider);
+
+        List<Hotel> hotels = getHotels();
+        buildRecordCollection(dataSource, buildQueryProvider(provider, dataSource),
+            collectionName, JDBCVectorEncoding.JSON)
+            .upsertBatchAsync(hotels, null).block();
+
+        // Each vector column is added, copied and renamed with statements on its _migrated
+        // copy. Where schema changes are not transactional, the first migration stops with the
+        // first column migrated and the second one dropped before its copy is renamed, and the
+        // second migration stops with a partial copy of the third column.
+        for (int occurrence : new int[] { 6, 3 }) {
+            DataSource interruptedDataSource = interruptAt(dataSource, "_migrated", occurrence);
+            JDBCVectorStoreRecordCollection<Hotel> interruptedCollection = buildRecordCollection(
+                interruptedDataSource, buildQueryProvider(provider, interruptedDataSource),
+                collectionName, JDBCVectorEncoding.FLOAT32);
+            assertThrows(SKException.class,
+                () -> interruptedCollection.migrateVectorEncodingAsync().block());
+        }
+
+        JDBCVectorStoreRecordCollection<Hotel> recordCollection = buildRecordCollection(
+            dataSource, buildQueryProvider(provider, dataSource), collectionName,
+            JDBCVectorEncoding.FLOAT32);
+        recordCollection.migrateVectorEncodingAsync().block();
+        // Migrating a migrated collection changes nothing
+        recordCollection.migrateVectorEncodingAsync().block();
+
+        for (Hotel hotel : hotels) {
+            Hotel retrievedHotel = recordCollection.getAsync(hotel.getId(),
+                new GetRecordOptions(true)).block();
+            assertNotNull(retrievedHotel);
+            assertEquals(hotel.getEuclidean(), retrievedHotel.getEuclidean());
+            assertEquals(hotel.getIndexedEuclidean(), retrievedHotel.getIndexedEuclidean());
+        }
+
+        List<VectorSearchResult<Hotel>> results = recordCollection.searchAsync(SEARCH_EMBEDDINGS,
+            VectorSearchOptions.builder()
+                .withVectorFieldName("indexedEuclidean")
+                .withTop(3)
+                .build())
+            .block().getResults();
+        assertNotNull(results);
+        assertEquals(3, results.size());
+        // The third hotel should be the most similar
+        assertEquals("id_3", results.get(0).getRecord().getId());
+    }
+
+    @ParameterizedTest
+    @EnumSource(QueryProvider.class)
+    public void upsertBatchInChunks(QueryProvider provider) {
+        String collectionName = "upsertBatchInChunks";
+        JDBCVectorStoreRecordCollection<Hotel> recordCollection = buildRecordCollection(provider,
+            collectionName);
+
+        // Enough records for PostgreSQL to upsert them with COPY
+        List<Hotel> hotels = new ArrayList<>();
+        for (int i = 0; i < 1500; i++) {
+            hotels.add(new Hotel("id_" + i, "Hotel " + i, i, "Hotel " + i + " description",
+                Arrays.asList(0.5f, 3.2f, 7.1f, -4.0f, 2.8f, 10.0f, -1.3f, (float) i), null, null,
+                null, 4.0, Arrays.asList("luxury", "city")));
+        }
+        // Duplicate keys in a batch are upserted in order
+        hotels.add(new Hotel("id_0", "Hotel 0 updated", 0, "Hotel 0 description",
+            Arrays.asList(0.5f, 3.2f, 7.1f, -4.0f, 2.8f, 10.0f, -1.3f, 0.0f), null, null, null,
+            5.0, Arrays.asList("luxury", "city")));
+
+        List<Integer> upsertedProgress = new ArrayList<>();
+        List<Integer> committedProgress = new ArrayList<>();
+        JDBCUpsertRecordOptions options = JDBCUpsertRecordOptions.builder()
+            .withBatchSize(200)
+            .withCommitInterval(500)
+            .withProgressListener((upserted, committed, total) -> {
+                upsertedProgress.add(upserted);
+                committedProgress.add(committed);
+                assertEquals(hotels.size(), total);
+            })
+            .build();
+        recordCollection.upsertBatchAsync(hotels, options).block();
+
+        // Progress is reported after each batch, commits every 500 records and at the end
+        assertEquals(Arrays.asList(200, 400, 600, 800, 1000, 1200, 1400, 1501),
+            upsertedProgress);
+        assertEquals(Arrays.asList(0, 0, 600, 600, 600, 1200, 1200, 1501), committedProgress);
+
+        List<Hotel> retrievedHotels = recordCollection.getBatchAsync(
+            Arrays.asList("id_0", "id_999", "id_1499"), new GetRecordOptions(true)).block();
+        assertNotNull(retrievedHotels);
+        assertEquals(3, retrievedHotels.size());
+        for (Hotel retrievedHotel : retrievedHotels) {
+            if (retrievedHotel.getId().equals("id_0")) {
+                assertEquals("Hotel 0 updated", retrievedHotel.getName());
+                assertEquals(5.0, retrievedHotel.getRating());
+            } else {
+                assertEquals(hotels.get(retrievedHotel.getCode()).getEuclidean(),
+                    retrievedHotel.getEuclidean());
+                assertEquals(hotels.get(retrievedHotel.getCode()).getTags(),
+                    retrievedHotel.getTags());
+            }
+        }
+    }
+
+    @ParameterizedTest
+    @EnumSource(QueryProvider.class)
+    public void getAndDeleteBatchWithPaddedKeys(QueryProvider provider) {
+        String collectionName = "getAndDeleteBatchWithPaddedKeys";
+        JDBCVectorStoreRecordCollection<Hotel> recordCollection = buildRecordCollection(provider,
+            collectionName);
+
+        List<Hotel> hotels = getHotels();
+        recordCollection.upsertBatchAsync(hotels, null).block();
+
+        // Three keys are bound to a list of four parameters
+        List<String> keys = Arrays.asList("id_1", "id_2", "id_3");
+        List<Hotel> retrievedHotels = recordCollection.getBatchAsync(keys, null).block();
+        assertNotNull(retrievedHotels);
+        assertEquals(3, retrievedHotels.size());
+
+        recordCollection.deleteBatchAsync(keys, null).block();
+
+        retrievedHotels = recordCollection.getBatchAsync(
+            Arrays.asList("id_1", "id_2", "id_3", "id_4", "id_5"), null).block();
+        assertNotNull(retrievedHotels);
+        assertEquals(2, retrievedHotels.size());
+    }
+
+    @ParameterizedTest
+    @EnumSource(value = QueryProvider.class, names = { "PostgreSQL" })
+    public void pgvectorTypesAndIndexParameters(QueryProvider provider) {
+        String collectionName = "pgvectorTypesAndIndexParameters";
+        DataSource dataSource = buildDataSource(provider);
+        SQLVectorStoreQueryProvider queryProvider = PostgreSQLVectorStoreQueryProvider.builder()
+            .withDataSource(dataSource)
+            .withVectorType(PostgreSQLVectorType.HALFVEC)
+            .withVectorType("summaryEmbedding1", PostgreSQLVectorType.SPARSEVEC)
+            .withHnswM(8)
+            .withHnswEfConstruction(32)
+            .build();
+        JDBCVectorStoreRecordCollection<Hotel> recordCollection = buildRecordCollection(
+            dataSource, queryProvider, collectionName, JDBCVectorEncoding.JSON);
+
+        List<Hotel> hotels = getHotels();
+        recordCollection.upsertBatchAsync(hotels, null).block();
+
+        // Sparse vectors keep single precision
+        Hotel retrievedHotel = recordCollection.getAsync("id_3", new GetRecordOptions(true))
+            .block();
+        assertNotNull(retrievedHotel);
+        assertEquals(hotels.get(2).getEuclidean(), retrievedHotel.getEuclidean());
+
+        for (String vectorFieldName : Arrays.asList("euclidean", "indexedEuclidean")) {
+            VectorSearchOptions options = VectorSearchOptions.builder()
+                .withVectorFieldName(vectorFieldName)
+                .withTop(3)
+                .withEfSearch(100)
+                .build();
+
+            // Embeddings similar to the third hotel
+            List<VectorSearchResult<Hotel>> results = recordCollection.searchAsync(
+                SEARCH_EMBEDDINGS, options).block().getResults();
+            assertNotNull(results);
+            assertEquals(3, results.size());
+            // The third hotel should be the most similar
+            assertEquals("id_3", results.get(0).getRecord().getId());
+        }
+    }
+
+    @ParameterizedTest
+    @EnumSource(value = QueryProvider.class, names = { "PostgreSQL" })
+    public void hybridSearch(QueryProvider provider) {
+        String collectionName = "hybridSearch";
+        JDBCVectorStoreRecordCollection<Hotel> recordCollection = buildRecordCollection(provider,
+            collectionName);
+
+        List<Hotel> hotels = getHotels();
+        recordCollection.upsertBatchAsync(hotels, null).block();
+
+        VectorSearchOptions options = VectorSearchOptions.builder()
+            .withVectorFieldName("indexedEuclidean")
+            .withTop(3)
+            .build();
+
+        // The third hotel matches both the search text and the embeddings
+        List<VectorSearchResult<Hotel>> results = recordCollection.hybridSearchAsync(
+            "hotel 3", SEARCH_EMBEDDINGS, options).block().getResults();
+        assertNotNull(results);
+        assertEquals(3, results.size());
+        assertEquals("id_3", results.get(0).getRecord().getId());
+
+        // Only the third hotel matches the search text
+        results = recordCollection.hybridSearchAsync("3", null, options).block().getResults();
+        assertNotNull(results);
+        assertEquals(1, results.size());
+        assertEquals("id_3", results.get(0).getRecord().getId());
+
+        // Without a search text, the vector ranking is scored by reciprocal rank fusion too
+        List<VectorSearchResult<Hotel>> vectorResults = recordCollection.searchAsync(
+            SEARCH_EMBEDDINGS, options).block().getResults();
+        results = recordCollection.hybridSearchAsync(null, SEARCH_EMBEDDINGS, options).block()
+            .getResults();
+        assertNotNull(results);
+        assertEquals(vectorResults.size(), results.size());
+        for (int i = 0; i < results.size(); i++) {
+            assertEquals(vectorResults.get(i).getRecord().getId(),
+                results.get(i).getRecord().getId());
+            assertEquals(1.0 / (60 + i + 1), results.get(i).getScore(), 1e-9);
+        }
+    }
+
+    @ParameterizedTest
+    @EnumSource(value = QueryProvider.class, names = { "PostgreSQL" })
+    public void hybridSearchAddsTextSearchColumn(QueryProvider provider) throws SQLException {
+        String collectionName = "hybridSearchExisting";
+        DataSource dataSource = buildDataSource(provider);
+        JDBCVectorStoreRecordCollection<Hotel> recordCollection = buildRecordCollection(
+            dataSource, buildQueryProvider(provider, dataSource), collectionName,
+            JDBCVectorEncoding.JSON);
+        recordCollection.upsertBatchAsync(getHotels(), null).block();
+
+        // A collection created before its data fields were full text searchable
+        try (Connection connection = dataSource.getConnection();
+            Statement statement = connection.createStatement()) {
+            statement.execute("ALTER TABLE SKCollection_" + collectionName
+                + " DROP COLUMN sk_text_search");
+        }
+
+        recordCollection = buildRecordCollection(dataSource,
+            buildQueryProvider(provider, dataSource), collectionName, JDBCVectorEncoding.JSON);
+        List<VectorSearchResult<Hotel>> results = recordCollection.hybridSearchAsync("3", null,
+            VectorSearchOptions.builder().withTop(3).build()).block().getResults();
+        assertNotNull(results);
+        assertEquals(1, results.size());
+        assertEquals("id_3", results.get(0).getRecord().getId());
+    }
+
+    // Counts the connections taken from a data source
+    private static DataSource countConnections(DataSource dataSource, AtomicInteger connections) {
+        return (DataSource) Proxy.newProxyInstance(DataSource.class.getClassLoader(),
+            new Class<?>[] { DataSource.class }, (proxy, method, args) -> {
+                if (method.getName().equals("getConnection")) {
+                    connections.incrementAndGet();
+                }
+                try {
+                    return method.invoke(dataSource, args);
+                } catch (InvocationTargetException e) {
+                    throw e.getCause();
+                }
+            });
+    }
+
+    @ParameterizedTest
+    @EnumSource(QueryProvider.class)
+    public void readDataSource(QueryProvider provider) {
+        String collectionName = "readDataSource";
+        DataSource dataSource = buildDataSource(provider);
+        AtomicInteger writeConnections = new AtomicInteger();
+        AtomicInteger readConnections = new AtomicInteger();
+        DataSource writeDataSource = countConnections(dataSource, writeConnections);
+        SQLVectorStoreQueryProvider queryProvider = buildQueryProvider(provider, writeDataSource,
+            countConnections(dataSource, readConnections));
+        JDBCVectorStoreRecordCollection<Hotel> recordCollection = buildRecordCollection(
+            writeDataSource, queryProvider, collectionName, JDBCVectorEncoding.JSON);
+
+        List<Hotel> hotels = getHotels();
+        recordCollection.upsertBatchAsync(hotels, null).block();
+        assertEquals(0, readConnections.get());
+
+        // Existing collections are remembered, without taking a connection
+        int connections = writeConnections.get();
+        recordCollection.createCollectionIfNotExistsAsync().block();
+        assertEquals(connections, writeConnections.get());
+
+        // Gets and searches, and the detection of the vector support used by searches, read from
+        // the read data source
+        assertNotNull(recordCollection.getAsync("id_1", null).block());
+        List<VectorSearchResult<Hotel>> results = recordCollection.searchAsync(
+            SEARCH_EMBEDDINGS, VectorSearchOptions.builder().withTop(3).build()).block()
+            .getResults();
+        assertEquals(3, results.size());
+        assertEquals(connections, writeConnections.get());
+        assertTrue(readConnections.get() > 0);
+    }
+
+    @ParameterizedTest
+    @EnumSource(QueryProvider.class)
+    public void forgetDeletedCollection(QueryProvider provider) {
+        String collectionName = "forgetDeletedCollection";
+        DataSource dataSource = buildDataSource(provider);
+        JDBCVectorStoreRecordCollection<Hotel> recordCollection = buildRecordCollection(
+            dataSource, buildQueryProvider(provider, dataSource), collectionName,
+            JDBCVectorEncoding.JSON);
+        recordCollection.upsertBatchAsync(getHotels(), null).block();
+        assertEquals(true, recordCollection.collectionExistsAsync().block());
+
+        // Another client deletes the collection
+        buildRecordCollection(dataSource, buildQueryProvider(provider, dataSource),
+            collectionName, JDBCVectorEncoding.JSON)
+            .deleteCollectionAsync().block();
+
+        // The collection still believes the table exists, until an operation finds it missing
+        assertEquals(true, recordCollection.collectionExistsAsync().block());
+        assertThrows(SKException.class,
+            () -> recordCollection.getAsync("id_1", null).block());
+        assertEquals(false, recordCollection.collectionExistsAsync().block());
+
+        recordCollection.createCollectionIfNotExistsAsync().block();
+        recordCollection.upsertBatchAsync(getHotels(), null).block();
+        assertNotNull(recordCollection.getAsync("id_1", null).block());
+    }
 }
@@ -2,8 +2,11 @@ package com.microsoft.semantickernel.tests.data.redis;
 
 import com.microsoft.semantickernel.data.redis.RedisJsonVectorStoreRecordCollection;
 import com.microsoft.semantickernel.data.redis.RedisJsonVectorStoreRecordCollectionOptions;
+import com.microsoft.semantickernel.data.redis.RedisVectorIndexOptions;
+import com.microsoft.semantickernel.data.redis.RedisVectorType;
 import com.microsoft.semantickernel.data.vectorsearch.VectorSearchFilter;
 import com.microsoft.semantickernel.data.vectorsearch.VectorSearchResult;
+import com.microsoft.semantickernel.data.vectorsearch.VectorSearchResults;
 import com.microsoft.semantickernel.data.vectorstorage.definition.VectorStoreRecordDataField;
 import com.microsoft.semantickernel.data.vectorstorage.definition.VectorStoreRecordDefinition;
 import com.microsoft.semantickernel.data.vectorstorage.definition.VectorStoreRecordField;
@@ -37,6 +40,7 @@ import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 @Testcontainers
 @TestMethodOrder(MethodOrderer.OrderAnnotation.class)
@@ -131,6 +135,7 @@ public class RedisJsonVectorStoreRecordCollectionTest {
                 .withVectorStoreRecordMapper(options.getVectorStoreRecordMapper())
                 .withRecordDefinition(options.getRecordDefinition())
                 .withPrefixCollectionName(options.isPrefixCollectionName())
+                .withVectorIndexOptions(options.getVectorIndexOptions())
                 .build());
     }
 
@@ -397,6 +402,34 @@ public class RedisJsonVectorStoreRecordCollectionTest {
         assertNull(results.get(0).getRecord().getEuclidean());
     }
 
+    @ParameterizedTest
+    @MethodSource("provideSearchParameters")
+    public void searchBatch(RecordCollectionOptions options, String embeddingName) {
+        String collectionName = getCollectionName("search", options);
+        RedisJsonVectorStoreRecordCollection<Hotel> recordCollection = createCollection(optionsMap.get(options), collectionName);
+
+        List<Hotel> hotels = getHotels();
+        VectorSearchOptions searchOptions = VectorSearchOptions.builder()
+                .withVectorFieldName(embeddingName)
+                .build();
+
+        List<List<Float>> vectors = Arrays.asList(SEARCH_EMBEDDINGS, hotels.get(0).getEuclidean(), hotels.get(3).getEuclidean());
+        List<VectorSearchResults<Hotel>> results = recordCollection.searchBatchAsync(vectors, searchOptions).block();
+        assertNotNull(results);
+        assertEquals(vectors.size(), results.size());
+
+        // Each result is the result of searching its vector alone
+        for (int i = 0; i < vectors.size(); i++) {
+            List<VectorSearchResult<Hotel>> expected = recordCollection.searchAsync(vectors.get(i), searchOptions).block().getResults();
+            List<VectorSearchResult<Hotel>> actual = results.get(i).getResults();
+            assertEquals(expected.size(), actual.size(), indexingFailureMessage);
+            for (int j = 0; j < expected.size(); j++) {
+                assertEquals(expected.get(j).getRecord().getId(), actual.get(j).getRecord().getId());
+                assertEquals(expected.get(j).getScore(), actual.get(j).getScore());
+            }
+        }
+    }
+
     @ParameterizedTest
     @MethodSource("provideSearchParameters")
     public void searchWithVectors(RecordCollectionOptions options, String embeddingName) {
@@ -468,4 +501,97 @@ public class RedisJsonVectorStoreRecordCollectionTest {
         // The first hotel should be the most similar
         assertEquals("id_1", results.get(0).getRecord().getId());
     }
+
+    @Test
+    public void searchAfterIndexIsDroppedByAnotherClient() {
+        String collectionName = "searchAfterIndexIsDroppedByAnotherClient";
+        RedisJsonVectorStoreRecordCollection<Hotel> recordCollection = createCollection(optionsMap.get(RecordCollectionOptions.DEFAULT), collectionName);
+
+        recordCollection.createCollectionAsync().block();
+        recordCollection.upsertBatchAsync(getHotels(), null).block();
+        assertNotNull(recordCollection.searchAsync(SEARCH_EMBEDDINGS, null).block());
+
+        // The collection still believes the index exists, the search recreates it
+        new JedisPooled(redisContainer.getRedisURI()).ftDropIndex(collectionName);
+        assertNotNull(recordCollection.searchAsync(SEARCH_EMBEDDINGS, null).block());
+        assertEquals(true, recordCollection.collectionExistsAsync().block());
+    }
+
+    @ParameterizedTest
+    @EnumSource(RedisVectorType.class)
+    public void searchWithVectorIndexOptions(RedisVectorType vectorType) throws InterruptedException {
+        String collectionName = "searchWithVectorIndexOptions" + vectorType.name();
+        RedisJsonVectorStoreRecordCollection<Hotel> recordCollection = createCollection(RedisJsonVectorStoreRecordCollectionOptions.<Hotel>builder()
+                .withRecordClass(Hotel.class)
+                .withVectorIndexOptions(RedisVectorIndexOptions.builder()
+                        .withVectorType(vectorType)
+                        .withHnswM(8)
+                        .withHnswEfConstruction(100)
+                        .withHnswEfRuntime(20)
+                        .withInitialCapacity(10)
+                        .build())
+                .build(), collectionName);
+        recordCollection.createCollectionAsync().block();
+
+        List<Hotel> hotels = getHotels();
+        recordCollection.upsertBatchAsync(hotels, null).block();
+
+        // Wait for data to be indexed
+        Thread.sleep(1000);
+
+        VectorSearchOptions searchOptions = VectorSearchOptions.builder()
+                .withVectorFieldName("euclidean")
+                .withEfSearch(50)
+                .withIncludeVectors(true)
+                .build();
+
+        List<VectorSearchResult<Hotel>> results = recordCollection.searchAsync(SEARCH_EMBEDDINGS, searchOptions).block().getResults();
+        assertNotNull(results);
+        assertEquals(VectorSearchOptions.DEFAULT_TOP, results.size(), indexingFailureMessage);
+        // The third hotel should be the most similar
+        assertEquals(hotels.get(2).getId(), results.get(0).getRecord().getId(), indexingFailureMessage);
+
+        // Vectors keep the precision of their type
+        List<Float> expected = hotels.get(2).getEuclidean();
+        List<Float> actual = results.get(0).getRecord().getEuclidean();
+        assertEquals(expected.size(), actual.size());
+        for (int i = 0; i < expected.size(); i++) {
+            assertEquals(expected.get(i), actual.get(i), 0.05);
+        }
+    }
+
+    @ParameterizedTest
+    @EnumSource(RecordCollectionOptions.class)
+    public void searchWithScoreThreshold(RecordCollectionOptions options) {
+        String collectionName = getCollectionName("search", options);
+        RedisJsonVectorStoreRecordCollection<Hotel> recordCollection = createCollection(optionsMap.get(options), collectionName);
+
+        List<Hotel> hotels = getHotels();
+
+        // Only the third hotel is within a distance of 0.1, with both distance metrics
+        VectorSearchOptions searchOptions = VectorSearchOptions.builder()
+                .withVectorFieldName("euclidean")
+                .withTop(5)
+                .withScoreThreshold(0.1)
+                .build();
+
+        List<VectorSearchResult<Hotel>> results = recordCollection.searchAsync(SEARCH_EMBEDDINGS, searchOptions).block().getResults();
+        assertNotNull(results);
+        assertEquals(1, results.size(), indexingFailureMessage);
+        assertEquals(hotels.get(2).getId(), results.get(0).getRecord().getId());
+        assertTrue(results.get(0).getScore() <= 0.1);
+
+        // Filters apply to the records within the threshold
+        searchOptions = VectorSearchOptions.builder()
+                .withVectorFieldName("euclidean")
+                .withTop(5)
+                .withScoreThreshold(0.1)
+                .withVectorSearchFilter(VectorSearchFilter.builder()
+                        .equalTo("rating", 4.0).build())
+                .build();
+
+        results = recordCollection.searchAsync(SEARCH_EMBEDDINGS, searchOptions).block().getResults();
+        assertNotNull(results);
+        assertEquals(0, results.size());
+    }
 }
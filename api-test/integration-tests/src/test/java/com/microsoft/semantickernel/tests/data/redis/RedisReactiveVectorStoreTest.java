@@ -0,0 +1,170 @@
+package com.microsoft.semantickernel.tests.data.redis;
+
+import com.microsoft.semantickernel.data.redis.RedisHashSetVectorStoreRecordCollectionOptions;
+import com.microsoft.semantickernel.data.redis.RedisJsonVectorStoreRecordCollectionOptions;
+import com.microsoft.semantickernel.data.redis.RedisReactiveVectorStore;
+import com.microsoft.semantickernel.data.redis.RedisStorageType;
+import com.microsoft.semantickernel.data.redis.RedisVectorStoreOptions;
+import com.microsoft.semantickernel.data.vectorsearch.VectorSearchResult;
+import com.microsoft.semantickernel.data.vectorsearch.VectorizedSearch;
+import com.microsoft.semantickernel.data.vectorstorage.VectorStoreRecordCollection;
+import com.microsoft.semantickernel.data.vectorstorage.VectorStoreRecordCollectionOptions;
+import com.microsoft.semantickernel.data.vectorstorage.options.GetRecordOptions;
+import com.microsoft.semantickernel.data.vectorstorage.options.VectorSearchOptions;
+import com.redis.testcontainers.RedisContainer;
+import io.lettuce.core.RedisClient;
+import io.lettuce.core.api.StatefulRedisConnection;
+import io.lettuce.core.codec.ByteArrayCodec;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import reactor.core.publisher.Flux;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@Testcontainers
+public class RedisReactiveVectorStoreTest {
+    @Container
+    private static final RedisContainer redisContainer = new RedisContainer("redis/redis-stack:latest");
+
+    private static RedisClient redisClient;
+    private static StatefulRedisConnection<byte[], byte[]> connection;
+
+    @BeforeAll
+    static void setup() {
+        redisClient = RedisClient.create(redisContainer.getRedisURI());
+        connection = redisClient.connect(ByteArrayCodec.INSTANCE);
+    }
+
+    @AfterAll
+    static void cleanup() {
+        connection.close();
+        redisClient.shutdown();
+    }
+
+    private static RedisReactiveVectorStore buildVectorStore(RedisStorageType storageType) {
+        return RedisReactiveVectorStore.builder()
+                .withConnection(connection)
+                .withOptions(RedisVectorStoreOptions.builder()
+                        .withStorageType(storageType)
+                        .build())
+                .build();
+    }
+
+    private static VectorStoreRecordCollectionOptions<String, Hotel> getRecordCollectionOptions(RedisStorageType storageType) {
+        if (storageType == RedisStorageType.JSON) {
+            return RedisJsonVectorStoreRecordCollectionOptions.<Hotel>builder()
+                    .withRecordClass(Hotel.class)
+                    .build();
+        } else {
+            return RedisHashSetVectorStoreRecordCollectionOptions.<Hotel>builder()
+                    .withRecordClass(Hotel.class)
+                    .build();
+        }
+    }
+
+    private static List<Hotel> getHotels() {
+        return Arrays.asList(
+                new Hotel("id_1", "Hotel 1", 1, "Hotel 1 description", Arrays.asList(0.5f, 3.2f, 7.1f, -4.0f, 2.8f, 10.0f, -1.3f, 5.5f), null, null, 4.0),
+                new Hotel("id_2", "Hotel 2", 2, "Hotel 2 description", Arrays.asList(-2.0f, 8.1f, 0.9f, 5.4f, -3.3f, 2.2f, 9.9f, -4.5f), null, null, 4.0),
+                new Hotel("id_3", "Hotel 3", 3, "Hotel 3 description", Arrays.asList(4.5f, -6.2f, 3.1f, 7.7f, -0.8f, 1.1f, -2.2f, 8.3f), null, null, 5.0),
+                new Hotel("id_4", "Hotel 4", 4, "Hotel 4 description", Arrays.asList(7.0f, 1.2f, -5.3f, 2.5f, 6.6f, -7.8f, 3.9f, -0.1f), null, null, 4.0),
+                new Hotel("id_5", "Hotel 5", 5, "Hotel 5 description", Arrays.asList(-3.5f, 4.4f, -1.2f, 9.9f, 5.7f, -6.1f, 7.8f, -2.0f), null, null, 4.0)
+        );
+    }
+
+    /**
+     * Search embeddings similar to the third hotel embeddings.
+     */
+    private static final List<Float> SEARCH_EMBEDDINGS = Arrays.asList(4.5f, -6.2f, 3.1f, 7.7f, -0.8f, 1.1f, -2.2f, 8.2f);
+
+    @ParameterizedTest
+    @EnumSource(RedisStorageType.class)
+    public void getCollectionNamesAsync(RedisStorageType storageType) {
+        RedisReactiveVectorStore vectorStore = buildVectorStore(storageType);
+        String collectionName = "reactiveNames" + storageType.name();
+
+        vectorStore.getCollection(collectionName, getRecordCollectionOptions(storageType)).createCollectionAsync().block();
+
+        List<String> retrievedCollectionNames = vectorStore.getCollectionNamesAsync().block();
+        assertNotNull(retrievedCollectionNames);
+        assertTrue(retrievedCollectionNames.contains(collectionName));
+    }
+
+    @ParameterizedTest
+    @EnumSource(RedisStorageType.class)
+    public void upsertGetAndDeleteAsync(RedisStorageType storageType) {
+        VectorStoreRecordCollection<String, Hotel> recordCollection = buildVectorStore(storageType)
+                .getCollection("reactiveRecords" + storageType.name(), getRecordCollectionOptions(storageType));
+        recordCollection.createCollectionAsync().block();
+        assertEquals(true, recordCollection.collectionExistsAsync().block());
+
+        List<Hotel> hotels = getHotels();
+        List<String> keys = recordCollection.upsertBatchAsync(hotels, null).block();
+        assertNotNull(keys);
+        assertEquals(hotels.size(), keys.size());
+
+        Hotel hotel = recordCollection.getAsync(hotels.get(0).getId(), null).block();
+        assertNotNull(hotel);
+        assertEquals(hotels.get(0).getName(), hotel.getName());
+        assertNull(hotel.getEuclidean());
+
+        hotel = recordCollection.getAsync(hotels.get(0).getId(), new GetRecordOptions(true)).block();
+        assertNotNull(hotel);
+        assertEquals(hotels.get(0).getEuclidean(), hotel.getEuclidean());
+
+        List<Hotel> retrievedHotels = recordCollection.getBatchAsync(keys, null).block();
+        assertNotNull(retrievedHotels);
+        assertEquals(hotels.size(), retrievedHotels.size());
+
+        recordCollection.deleteBatchAsync(keys, null).block();
+        assertEquals(Collections.emptyList(), recordCollection.getBatchAsync(keys, null).block());
+        assertNull(recordCollection.getAsync(keys.get(0), null).block());
+    }
+
+    @ParameterizedTest
+    @EnumSource(RedisStorageType.class)
+    public void concurrentSearchAsync(RedisStorageType storageType) throws InterruptedException {
+        VectorStoreRecordCollection<String, Hotel> recordCollection = buildVectorStore(storageType)
+                .getCollection("reactiveSearch" + storageType.name(), getRecordCollectionOptions(storageType));
+        recordCollection.createCollectionAsync().block();
+
+        List<Hotel> hotels = getHotels();
+        recordCollection.upsertBatchAsync(hotels, null).block();
+
+        // Wait for data to be indexed
+        Thread.sleep(1000);
+
+        VectorSearchOptions searchOptions = VectorSearchOptions.builder()
+                .withVectorFieldName("euclidean")
+                .withTop(3)
+                .build();
+
+        // All searches share the single connection
+        List<List<VectorSearchResult<Hotel>>> results = Flux.range(0, 100)
+                .flatMap(i -> ((VectorizedSearch<Hotel>) recordCollection).searchAsync(SEARCH_EMBEDDINGS, searchOptions))
+                .map(searchResults -> searchResults.getResults())
+                .collectList()
+                .block();
+
+        assertNotNull(results);
+        assertEquals(100, results.size());
+        for (List<VectorSearchResult<Hotel>> searchResults : results) {
+            assertEquals(3, searchResults.size());
+            // The third hotel should be the most similar
+            assertEquals(hotels.get(2).getId(), searchResults.get(0).getRecord().getId());
+            assertNotEquals(0.0, searchResults.get(0).getScore());
+        }
+    }
+}
@@ -0,0 +1,166 @@
+// Copyright (c) Microsoft. All rights reserved.
+package com.microsoft.semantickernel.data.jdbc;
+
+import com.microsoft.semantickernel.data.vectorstorage.options.UpsertRecordOptions;
+import com.microsoft.semantickernel.exceptions.SKException;
+
+import javax.annotation.Nullable;
+
+/**
+ * Options for upserting records into a JDBC vector store collection, controlling how large
+ * upserts are split into batches and transactions.
+ * <p>
+ * Records are sent to the database in batches of {@link #getBatchSize()} records. By default all
+ * batches of an upsert are committed in a single transaction. With a commit interval, a
+ * transaction is committed every time at least that many records were sent, so that a failure
+ * only rolls back the records since the last commit.
+ */
+public class JDBCUpsertRecordOptions extends UpsertRecordOptions {
+
+    /**
+     * The default number of records sent to the database in a batch.
+     */
+    public static final int DEFAULT_BATCH_SIZE = 1000;
+
+    /**
+     * Listens to the progress of an upsert.
+     */
+    @FunctionalInterface
+    public interface ProgressListener {
+
+        /**
+         * Called after each batch is sent to the database, and after the commit that follows it,
+         * if any.
+         *
+         * @param upsertedRecords  the number of records sent so far
+         * @param committedRecords the number of records committed so far
+         * @param totalRecords     the number of records to upsert
+         */
+        void onProgress(int upsertedRecords, int committedRecords, int totalRecords);
+    }
+
+    private final int batchSize;
+    private final int commitInterval;
+    @Nullable
+    private final ProgressListener progressListener;
+
+    private JDBCUpsertRecordOptions(int batchSize, int commitInterval,
+        @Nullable ProgressListener progressListener) {
+        this.batchSize = batchSize;
+        this.commitInterval = commitInterval;
+        this.progressListener = progressListener;
+    }
+
+    /**
+     * Gets the options to use for the given upsert options, which may be {@code null} or not
+     * specific to JDBC.
+     *
+     * @param options the upsert options
+     * @return the JDBC upsert options
+     */
+    public static JDBCUpsertRecordOptions from(@Nullable UpsertRecordOptions options) {
+        if (options instanceof JDBCUpsertRecordOptions) {
+            return (JDBCUpsertRecordOptions) options;
+        }
+        return builder().build();
+    }
+
+    /**
+     * Creates a new builder.
+     *
+     * @return the builder
+     */
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * Gets the number of records sent to the database in a batch.
+     *
+     * @return the batch size
+     */
+    public int getBatchSize() {
+        return batchSize;
+    }
+
+    /**
+     * Gets the number of records after which a transaction is committed, or 0 if all records are
+     * committed in a single transaction.
+     *
+     * @return the commit interval
+     */
+    public int getCommitInterval() {
+        return commitInterval;
+    }
+
+    /**
+     * Gets the progress listener.
+     *
+     * @return the progress listener, or {@code null} if there is none
+     */
+    @Nullable
+    public ProgressListener getProgressListener() {
+        return progressListener;
+    }
+
+    /**
+     * Builder for {@link JDBCUpsertRecordOptions}.
+     */
+    public static class Builder {
+        private int batchSize = DEFAULT_BATCH_SIZE;
+        private int commitInterval;
+        @Nullable
+        private ProgressListener progressListener;
+
+        /**
+         * Sets the number of records sent to the database in a batch. Defaults to
+         * {@link #DEFAULT_BATCH_SIZE}.
+         *
+         * @param batchSize the batch size
+         * @return the builder
+         */
+        public Builder withBatchSize(int batchSize) {
+            this.batchSize = batchSize;
+            return this;
+        }
+
+        /**
+         * Sets the number of records after which a transaction is committed. Defaults to 0, which
+         * commits all records in a single transaction.
+         *
+         * @param commitInterval the commit interval
+         * @return the builder
+         */
+        public Builder withCommitInterval(int commitInterval) {
+            this.commitInterval = commitInterval;
+            return this;
+        }
+
+        /**
+         * Sets a listener called after each batch, for example to monitor the throughput of an
+         * ingestion.
+         *
+         * @param progressListener the progress listener
+         * @return the builder
+         */
+        public Builder withProgressListener(ProgressListener progressListener) {
+            this.progressListener = progressListener;
+            return this;
+        }
+
+        /**
+         * Builds the options.
+         *
+         * @return the options
+         */
+        public JDBCUpsertRecordOptions build() {
+            if (batchSize <= 0) {
+                throw new SKException("batchSize must be positive");
+            }
+            if (commitInterval < 0) {
+                throw new SKException("commitInterval must not be negative");
+            }
+            return new JDBCUpsertRecordOptions(batchSize, commitInterval, progressListener);
+        }
+    }
+}
@@ -0,0 +1,111 @@
+// Copyright (c) Microsoft. All rights reserved.
+package com.microsoft.semantickernel.data.jdbc;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.microsoft.semantickernel.exceptions.SKException;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import javax.annotation.Nullable;
+
+/**
+ * The encoding of the {@code List<Float>} vector fields of a JDBC vector store collection.
+ * Vector fields of type {@code String} are always stored as they are.
+ */
+public enum JDBCVectorEncoding {
+    /**
+     * Vectors are stored as JSON text, or in the native vector type of the database if it has
+     * one, such as the pgvector {@code VECTOR} type of PostgreSQL. This is the default.
+     */
+    JSON,
+
+    /**
+     * Vectors are stored as little-endian IEEE 754 float32 values in a binary column, four bytes
+     * per dimension. This is supported by the SQLite, MySQL and HSQLDB query providers.
+     */
+    FLOAT32;
+
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+
+    /**
+     * Encodes a vector.
+     *
+     * @param vector the vector
+     * @return the JSON text or the float32 bytes of the vector, or {@code null} if the vector is
+     * {@code null}
+     */
+    @Nullable
+    public Object encode(@Nullable float[] vector) {
+        if (vector == null) {
+            return null;
+        }
+        if (this == FLOAT32) {
+            return toFloat32Bytes(vector);
+        }
+        try {
+            return OBJECT_MAPPER.writeValueAsString(vector);
+        } catch (JsonProcessingException e) {
+            throw new SKException("Failed to encode vector", e);
+        }
+    }
+
+    /**
+     * Decodes a vector stored in either encoding, as read from a result set.
+     *
+     * @param value the JSON text or the float32 bytes of the vector
+     * @return the vector, or {@code null} if the value is {@code null}
+     */
+    @Nullable
+    public static float[] decode(@Nullable Object value) {
+        if (value == null) {
+            return null;
+        }
+        if (value instanceof byte[]) {
+            return fromFloat32Bytes((byte[]) value);
+        }
+        if (value instanceof String) {
+            try {
+                return OBJECT_MAPPER.readValue((String) value, float[].class);
+            } catch (JsonProcessingException e) {
+                throw new SKException("Failed to decode vector", e);
+            }
+        }
+        throw new SKException(
+            "Unsupported vector value type '" + value.getClass().getSimpleName() + "'.");
+    }
+
+    /**
+     * Encodes a vector as little-endian float32 bytes.
+     *
+     * @param vector the vector
+     * @return the bytes
+     */
+    public static byte[] toFloat32Bytes(float[] vector) {
+        ByteBuffer buffer = ByteBuffer.allocate(vector.length * Float.BYTES)
+            .order(ByteOrder.LITTLE_ENDIAN);
+        buffer.asFloatBuffer().put(vector);
+        return buffer.array();
+    }
+
+    /**
+     * Decodes little-endian float32 bytes into a vector. The bytes are read with a bulk copy,
+     * without parsing or boxing each value.
+     *
+     * @param bytes the bytes
+     * @return the vector
+     */
+    public static float[] fromFloat32Bytes(byte[] bytes) {
+        if (bytes.length % Float.BYTES != 0) {
+            throw new SKException(
+                "Invalid float32 vector, the length " + bytes.length
+                    + " is not a multiple of " + Float.BYTES);
+        }
+        float[] vector = new float[bytes.length / Float.BYTES];
+        ByteBuffer.wrap(bytes)
+            .order(ByteOrder.LITTLE_ENDIAN)
+            .asFloatBuffer()
+            .get(vector);
+        return vector;
+    }
+}
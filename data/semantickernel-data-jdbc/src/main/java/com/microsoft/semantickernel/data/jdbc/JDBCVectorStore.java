@@ -40,6 +40,7 @@ public class JDBCVectorStore implements SQLVectorStore {
         } else {
             this.queryProvider = JDBCVectorStoreQueryProvider.builder()
                 .withDataSource(dataSource)
+                .withReadDataSource(this.options == null ? null : this.options.getReadDataSource())
                 .build();
         }
     }
@@ -93,6 +94,7 @@ public class JDBCVectorStore implements SQLVectorStore {
                 .withRecordClass(jdbcOptions.getRecordClass())
                 .withRecordDefinition(jdbcOptions.getRecordDefinition())
                 .withVectorStoreRecordMapper(jdbcOptions.getVectorStoreRecordMapper())
+                .withVectorEncoding(jdbcOptions.getVectorEncoding())
                 .build());
     }
 
@@ -4,6 +4,7 @@ package com.microsoft.semantickernel.data.jdbc;
 import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
 
 import javax.annotation.Nullable;
+import javax.sql.DataSource;
 
 /**
  * Options for the JDBC vector store.
@@ -13,6 +14,8 @@ public class JDBCVectorStoreOptions {
     private final JDBCVectorStoreRecordCollectionFactory vectorStoreRecordCollectionFactory;
     @Nullable
     private final SQLVectorStoreQueryProvider queryProvider;
+    @Nullable
+    private final DataSource readDataSource;
 
     /**
      * Creates a new instance of the JDBC vector store options.
@@ -21,12 +24,27 @@ public class JDBCVectorStoreOptions {
      * @param queryProvider                      The query provider.
      * 
      */
-    @SuppressFBWarnings("EI_EXPOSE_REP2") // DataSource in queryProvider is not exposed
     public JDBCVectorStoreOptions(
         @Nullable SQLVectorStoreQueryProvider queryProvider,
         @Nullable JDBCVectorStoreRecordCollectionFactory vectorStoreRecordCollectionFactory) {
+        this(queryProvider, vectorStoreRecordCollectionFactory, null);
+    }
+
+    /**
+     * Creates a new instance of the JDBC vector store options.
+     *
+     * @param queryProvider                      The query provider.
+     * @param vectorStoreRecordCollectionFactory The vector store record collection factory.
+     * @param readDataSource                     The data source of gets and searches.
+     */
+    @SuppressFBWarnings("EI_EXPOSE_REP2") // DataSource in queryProvider is not exposed
+    public JDBCVectorStoreOptions(
+        @Nullable SQLVectorStoreQueryProvider queryProvider,
+        @Nullable JDBCVectorStoreRecordCollectionFactory vectorStoreRecordCollectionFactory,
+        @Nullable DataSource readDataSource) {
         this.queryProvider = queryProvider;
         this.vectorStoreRecordCollectionFactory = vectorStoreRecordCollectionFactory;
+        this.readDataSource = readDataSource;
     }
 
     /**
@@ -47,6 +65,17 @@ public class JDBCVectorStoreOptions {
         return queryProvider;
     }
 
+    /**
+     * Gets the data source of gets and searches of the default query provider.
+     *
+     * @return the read data source, or {@code null} if reads use the data source of the store
+     */
+    @Nullable
+    @SuppressFBWarnings("EI_EXPOSE_REP") // DataSource is not exposed
+    public DataSource getReadDataSource() {
+        return readDataSource;
+    }
+
     /**
      * Creates a new builder.
      *
@@ -74,6 +103,8 @@ public class JDBCVectorStoreOptions {
         private SQLVectorStoreQueryProvider queryProvider;
         @Nullable
         private JDBCVectorStoreRecordCollectionFactory vectorStoreRecordCollectionFactory;
+        @Nullable
+        private DataSource readDataSource;
 
         /**
          * Sets the query provider.
@@ -99,13 +130,29 @@ public class JDBCVectorStoreOptions {
             return this;
         }
 
+        /**
+         * Sets the data source of gets and searches, such as a pool of connections to read
+         * replicas, while upserts, deletes and collection operations use the data source of the
+         * store, the primary. Only applies to the default query provider; query providers built
+         * with their builder take it from {@code withReadDataSource}.
+         *
+         * @param readDataSource The data source of gets and searches.
+         * @return The updated builder instance.
+         */
+        @SuppressFBWarnings("EI_EXPOSE_REP2") // DataSource is not exposed
+        public Builder withReadDataSource(DataSource readDataSource) {
+            this.readDataSource = readDataSource;
+            return this;
+        }
+
         /**
          * Builds the JDBC vector store options.
          *
          * @return The JDBC vector store options.
          */
         public JDBCVectorStoreOptions build() {
-            return new JDBCVectorStoreOptions(queryProvider, vectorStoreRecordCollectionFactory);
+            return new JDBCVectorStoreOptions(queryProvider, vectorStoreRecordCollectionFactory,
+                readDataSource);
         }
     }
 }
@@ -1,11 +1,14 @@
 // Copyright (c) Microsoft. All rights reserved.
 package com.microsoft.semantickernel.data.jdbc;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.microsoft.semantickernel.data.filter.AnyTagEqualToFilterClause;
 import com.microsoft.semantickernel.data.filter.EqualToFilterClause;
 import com.microsoft.semantickernel.data.vectorsearch.VectorOperations;
 import com.microsoft.semantickernel.data.vectorsearch.VectorSearchFilter;
+import com.microsoft.semantickernel.data.vectorsearch.VectorSearchResult;
 import com.microsoft.semantickernel.data.vectorsearch.VectorSearchResults;
+import com.microsoft.semantickernel.data.vectorsearch.VectorSearchTopK;
 import com.microsoft.semantickernel.data.vectorstorage.VectorStoreRecordMapper;
 import com.microsoft.semantickernel.data.vectorstorage.definition.DistanceFunction;
 import com.microsoft.semantickernel.data.vectorstorage.definition.IndexKind;
@@ -19,21 +22,30 @@ import com.microsoft.semantickernel.data.vectorstorage.options.VectorSearchOptio
 import com.microsoft.semantickernel.exceptions.SKException;
 import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
 import java.sql.Connection;
+import java.sql.DatabaseMetaData;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.sql.Types;
 import java.time.OffsetDateTime;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
+import java.util.Locale;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.locks.Lock;
 import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+import java.util.regex.Pattern;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
 import javax.annotation.concurrent.GuardedBy;
 import javax.sql.DataSource;
 import org.slf4j.Logger;
@@ -49,22 +61,46 @@ public class JDBCVectorStoreQueryProvider
     private static final Logger LOGGER = LoggerFactory
         .getLogger(JDBCVectorStoreQueryProvider.class);
 
+    private static final int MIGRATION_BATCH_SIZE = 1000;
+    private static final int DEFAULT_SEARCH_FETCH_SIZE = 1000;
+    // Record definitions are compared by identity, bound the cache in case they are recreated
+    private static final int MAX_CACHED_QUERIES = 1024;
+    private static final Pattern SQL_IDENTIFIER = Pattern.compile("[a-zA-Z_][a-zA-Z0-9_]*");
+
     protected final Map<Class<?>, String> supportedKeyTypes;
     protected final Map<Class<?>, String> supportedDataTypes;
     protected final Map<Class<?>, String> supportedVectorTypes;
 
     protected final DataSource dataSource;
+    // Gets and searches read from this data source, which is the data source itself unless they
+    // are routed to read replicas
+    protected final DataSource readDataSource;
     private final String collectionsTable;
     private final String prefixForCollectionTables;
 
     private final Object dbCreationLock = new Object();
+    private final Map<QueryKey, String> queryCache = new ConcurrentHashMap<>();
+    private final Map<List<Object>, JDBCVectorStoreRecordBinding<?>> recordBindings =
+        new ConcurrentHashMap<>();
+    // Collections known to exist, so that checking their existence needs no query
+    private final Set<String> existingCollections = ConcurrentHashMap.newKeySet();
 
     @SuppressFBWarnings("EI_EXPOSE_REP2") // DataSource is not exposed
     protected JDBCVectorStoreQueryProvider(
         @Nonnull DataSource dataSource,
         @Nonnull String collectionsTable,
         @Nonnull String prefixForCollectionTables) {
+        this(dataSource, null, collectionsTable, prefixForCollectionTables);
+    }
+
+    @SuppressFBWarnings("EI_EXPOSE_REP2") // DataSource is not exposed
+    protected JDBCVectorStoreQueryProvider(
+        @Nonnull DataSource dataSource,
+        @Nullable DataSource readDataSource,
+        @Nonnull String collectionsTable,
+        @Nonnull String prefixForCollectionTables) {
         this.dataSource = dataSource;
+        this.readDataSource = readDataSource == null ? dataSource : readDataSource;
         this.collectionsTable = collectionsTable;
         this.prefixForCollectionTables = prefixForCollectionTables;
 
@@ -109,7 +145,33 @@ public class JDBCVectorStoreQueryProvider
         @Nonnull HashMap<Class<?>, String> supportedKeyTypes,
         @Nonnull Map<Class<?>, String> supportedDataTypes,
         @Nonnull Map<Class<?>, String> supportedVectorTypes) {
+        this(dataSource, null, collectionsTable, prefixForCollectionTables, supportedKeyTypes,
+            supportedDataTypes, supportedVectorTypes);
+    }
+
+    /**
+     * Creates a new instance of the JDBCVectorStoreQueryProvider class, reading records from a
+     * separate data source, such as a pool of connections to read replicas.
+     *
+     * @param dataSource                the data source
+     * @param readDataSource            the data source of gets and searches, or {@code null} to
+     *                                  use the data source
+     * @param collectionsTable          the collections table
+     * @param prefixForCollectionTables the prefix for collection tables
+     * @param supportedKeyTypes         the supported key types
+     * @param supportedDataTypes        the supported data types
+     * @param supportedVectorTypes      the supported vector types
+     */
+    public JDBCVectorStoreQueryProvider(
+        @SuppressFBWarnings("EI_EXPOSE_REP2") @Nonnull DataSource dataSource,
+        @SuppressFBWarnings("EI_EXPOSE_REP2") @Nullable DataSource readDataSource,
+        @Nonnull String collectionsTable,
+        @Nonnull String prefixForCollectionTables,
+        @Nonnull HashMap<Class<?>, String> supportedKeyTypes,
+        @Nonnull Map<Class<?>, String> supportedDataTypes,
+        @Nonnull Map<Class<?>, String> supportedVectorTypes) {
         this.dataSource = dataSource;
+        this.readDataSource = readDataSource == null ? dataSource : readDataSource;
         this.collectionsTable = collectionsTable;
         this.prefixForCollectionTables = prefixForCollectionTables;
         this.supportedKeyTypes = new HashMap<>(supportedKeyTypes);
@@ -138,6 +200,187 @@ public class JDBCVectorStoreQueryProvider
             .collect(Collectors.joining(", "));
     }
 
+    /**
+     * Gets the number of parameters of an {@code IN} list for the given number of values,
+     * rounded up to a power of two. Queries are generated for padded lists only, so that few
+     * distinct SQL strings exist and statement caches of drivers and servers hit.
+     *
+     * @param values the number of values
+     * @return the number of parameters
+     */
+    protected static int getPaddedParameterCount(int values) {
+        return values <= 1 ? values : Integer.highestOneBit(values - 1) << 1;
+    }
+
+    /**
+     * Binds values to the parameters of a padded {@code IN} list, repeating the last value in the
+     * padding parameters.
+     *
+     * @param statement  the statement
+     * @param firstIndex the index of the first parameter
+     * @param values     the values
+     * @throws SQLException if a parameter cannot be bound
+     */
+    protected static void setPaddedParameters(PreparedStatement statement, int firstIndex,
+        List<?> values) throws SQLException {
+        int parameters = getPaddedParameterCount(values.size());
+        for (int i = 0; i < parameters; ++i) {
+            statement.setObject(firstIndex + i, values.get(Math.min(i, values.size() - 1)));
+        }
+    }
+
+    /**
+     * Gets a query of a collection from the query cache, generating it on first use. The key
+     * parts identify the shape of the query within the collection, such as the operation, the
+     * record definition, the selected fields or the number of parameters. They must not include
+     * parameter values, so that the cache stays small.
+     *
+     * @param collectionName the collection name
+     * @param queryGenerator generates the query
+     * @param keyParts       the parts of the cache key
+     * @return the query
+     */
+    protected String getCachedQuery(String collectionName, Supplier<String> queryGenerator,
+        Object... keyParts) {
+        QueryKey key = new QueryKey(collectionName, keyParts);
+        String query = queryCache.get(key);
+        if (query == null) {
+            query = queryGenerator.get();
+            if (queryCache.size() >= MAX_CACHED_QUERIES) {
+                queryCache.clear();
+            }
+            String cached = queryCache.putIfAbsent(key, query);
+            if (cached != null) {
+                query = cached;
+            }
+        }
+        return query;
+    }
+
+    /**
+     * Removes the cached queries of a collection, when its schema changes.
+     *
+     * @param collectionName the collection name
+     */
+    protected void clearCachedQueries(String collectionName) {
+        queryCache.keySet().removeIf(key -> key.collectionName.equals(collectionName));
+    }
+
+    /**
+     * Records whether a collection exists, after this query provider created or deleted it.
+     *
+     * @param collectionName the collection name
+     * @param exists         whether the collection exists
+     */
+    protected void setCollectionExists(String collectionName, boolean exists) {
+        if (exists) {
+            existingCollections.add(collectionName);
+        } else {
+            existingCollections.remove(collectionName);
+        }
+    }
+
+    /**
+     * Checks whether an exception reports that a table does not exist. Uses the standard
+     * {@code 42S02} SQL state by default.
+     *
+     * @param e the exception
+     * @return {@code true} if the table does not exist
+     */
+    protected boolean isTableNotFound(SQLException e) {
+        for (SQLException cause = e; cause != null; cause = cause.getNextException()) {
+            if ("42S02".equals(cause.getSQLState())) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Forgets that a collection exists when an operation on its table fails because the table
+     * does not exist, for example because another client deleted the collection, so that the
+     * next existence check queries the database.
+     *
+     * @param collectionName the collection name
+     * @param e              the exception of the failed operation
+     */
+    protected void checkCollectionTableExists(String collectionName, SQLException e) {
+        if (isTableNotFound(e)) {
+            setCollectionExists(collectionName, false);
+        }
+    }
+
+    private static final class QueryKey {
+        private final String collectionName;
+        private final Object[] keyParts;
+        private final int hashCode;
+
+        private QueryKey(String collectionName, Object[] keyParts) {
+            this.collectionName = collectionName;
+            this.keyParts = keyParts;
+            this.hashCode = 31 * collectionName.hashCode() + Arrays.hashCode(keyParts);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof QueryKey)) {
+                return false;
+            }
+            QueryKey other = (QueryKey) o;
+            return collectionName.equals(other.collectionName)
+                && Arrays.equals(keyParts, other.keyParts);
+        }
+
+        @Override
+        public int hashCode() {
+            return hashCode;
+        }
+    }
+
+    /**
+     * Gets the binding of a record class to a record definition, compiling it on first use.
+     *
+     * @param recordClass      the record class
+     * @param recordDefinition the record definition
+     * @param objectMapper     the object mapper of the record class
+     * @return the record binding
+     */
+    protected JDBCVectorStoreRecordBinding<?> getRecordBinding(Class<?> recordClass,
+        VectorStoreRecordDefinition recordDefinition, ObjectMapper objectMapper) {
+        List<Object> key = Arrays.asList(recordClass, recordDefinition, objectMapper);
+        JDBCVectorStoreRecordBinding<?> binding = recordBindings.get(key);
+        if (binding == null) {
+            binding = JDBCVectorStoreRecordBinding.create(recordClass, recordDefinition,
+                objectMapper);
+            if (recordBindings.size() >= MAX_CACHED_QUERIES) {
+                recordBindings.clear();
+            }
+            JDBCVectorStoreRecordBinding<?> cached = recordBindings.putIfAbsent(key, binding);
+            if (cached != null) {
+                binding = cached;
+            }
+        }
+        return binding;
+    }
+
+    /**
+     * Gets the values of the fields of a record, in the order of
+     * {@link VectorStoreRecordDefinition#getAllFields()}.
+     *
+     * @param record           the record
+     * @param recordDefinition the record definition
+     * @param objectMapper     the object mapper of the record class
+     * @return the values
+     */
+    protected Object[] getRecordValues(Object record, VectorStoreRecordDefinition recordDefinition,
+        ObjectMapper objectMapper) {
+        return getRecordBinding(record.getClass(), recordDefinition, objectMapper)
+            .getValues(record);
+    }
+
     /**
      * Gets the key column name from a key field.
      *
@@ -252,7 +495,9 @@ public class JDBCVectorStoreQueryProvider
     }
 
     /**
-     * Checks if a collection exists.
+     * Checks if a collection exists. Collections created, or found to exist, by this query
+     * provider are remembered until they are deleted with it, so that checking them again takes
+     * no connection.
      *
      * @param collectionName the collection name
      * @return true if the collection exists, false otherwise
@@ -260,6 +505,10 @@ public class JDBCVectorStoreQueryProvider
      */
     @Override
     public boolean collectionExists(String collectionName) {
+        if (existingCollections.contains(collectionName)) {
+            return true;
+        }
+
         String query = formatQuery("SELECT 1 FROM %s WHERE collectionId = ?",
             validateSQLidentifier(collectionsTable));
 
@@ -267,12 +516,53 @@ public class JDBCVectorStoreQueryProvider
             PreparedStatement statement = connection.prepareStatement(query)) {
             statement.setObject(1, collectionName);
 
-            return statement.executeQuery().next();
+            try (ResultSet resultSet = statement.executeQuery()) {
+                boolean exists = resultSet.next();
+                // Missing collections are not cached, they may be created by other clients
+                if (exists) {
+                    existingCollections.add(collectionName);
+                }
+                return exists;
+            }
         } catch (SQLException e) {
             throw new SKException("Failed to check if collection exists", e);
         }
     }
 
+    /**
+     * Gets the column type of a vector field stored with the {@link JDBCVectorEncoding#FLOAT32}
+     * encoding.
+     *
+     * @param vectorField the vector field
+     * @return the column type, or {@code null} if the encoding is not supported
+     */
+    protected String getBinaryVectorType(VectorStoreRecordVectorField vectorField) {
+        return null;
+    }
+
+    /**
+     * Gets the column type of a vector field stored with the given encoding.
+     *
+     * @param vectorField    the vector field
+     * @param vectorEncoding the vector encoding
+     * @return the column type
+     * @throws SKException if the vector encoding is not supported
+     */
+    protected String getVectorColumnType(VectorStoreRecordVectorField vectorField,
+        JDBCVectorEncoding vectorEncoding) {
+        if (vectorEncoding != JDBCVectorEncoding.FLOAT32
+            || vectorField.getFieldType().equals(String.class)) {
+            return supportedVectorTypes.get(vectorField.getFieldType());
+        }
+
+        String binaryVectorType = getBinaryVectorType(vectorField);
+        if (binaryVectorType == null) {
+            throw new SKException(getClass().getSimpleName() + " does not support the "
+                + vectorEncoding + " vector encoding");
+        }
+        return binaryVectorType;
+    }
+
     /**
      * Creates a collection.
      *
@@ -281,12 +571,36 @@ public class JDBCVectorStoreQueryProvider
      * @throws SKException if an error occurs while creating the collection
      */
     @Override
-    @SuppressFBWarnings("SQL_PREPARED_STATEMENT_GENERATED_FROM_NONCONSTANT_STRING")
-    @GuardedBy("dbCreationLock")
-    // SQL query is generated dynamically with valid identifiers
     public void createCollection(String collectionName,
         VectorStoreRecordDefinition recordDefinition) {
+        createCollectionTable(collectionName, recordDefinition, JDBCVectorEncoding.JSON);
+    }
+
+    /**
+     * Creates a collection, storing its vectors with the given encoding.
+     *
+     * @param collectionName   the collection name
+     * @param recordDefinition the record definition
+     * @param vectorEncoding   the vector encoding
+     * @throws SKException if the vector encoding is not supported or an error occurs while
+     *                     creating the collection
+     */
+    @Override
+    public void createCollection(String collectionName,
+        VectorStoreRecordDefinition recordDefinition, JDBCVectorEncoding vectorEncoding) {
+        if (vectorEncoding == JDBCVectorEncoding.JSON) {
+            // Query providers may override the default collection creation
+            createCollection(collectionName, recordDefinition);
+        } else {
+            createCollectionTable(collectionName, recordDefinition, vectorEncoding);
+        }
+    }
 
+    @SuppressFBWarnings("SQL_PREPARED_STATEMENT_GENERATED_FROM_NONCONSTANT_STRING")
+    @GuardedBy("dbCreationLock")
+    // SQL query is generated dynamically with valid identifiers
+    private void createCollectionTable(String collectionName,
+        VectorStoreRecordDefinition recordDefinition, JDBCVectorEncoding vectorEncoding) {
         synchronized (dbCreationLock) {
             // No approximate search is supported in JDBCVectorStoreQueryProvider
             if (recordDefinition.getVectorFields().stream()
@@ -307,8 +621,10 @@ public class JDBCVectorStoreQueryProvider
                 getKeyColumnName(recordDefinition.getKeyField()),
                 getColumnNamesAndTypes(new ArrayList<>(recordDefinition.getDataFields()),
                     getSupportedDataTypes()),
-                getColumnNamesAndTypes(new ArrayList<>(recordDefinition.getVectorFields()),
-                    getSupportedVectorTypes()));
+                recordDefinition.getVectorFields().stream()
+                    .map(field -> validateSQLidentifier(field.getEffectiveStorageName()) + " "
+                        + getVectorColumnType(field, vectorEncoding))
+                    .collect(Collectors.joining(", ")));
 
             String insertCollectionQuery = this.getInsertCollectionQuery(collectionsTable);
 
@@ -326,6 +642,7 @@ public class JDBCVectorStoreQueryProvider
             } catch (SQLException e) {
                 throw new SKException("Failed to insert collection", e);
             }
+            setCollectionExists(collectionName, true);
         }
     }
 
@@ -345,6 +662,8 @@ public class JDBCVectorStoreQueryProvider
     @GuardedBy("dbCreationLock")
     public void deleteCollection(String collectionName) {
         synchronized (dbCreationLock) {
+            clearCachedQueries(collectionName);
+            setCollectionExists(collectionName, false);
             String deleteCollectionOperation = formatQuery("DELETE FROM %s WHERE collectionId = ?",
                 validateSQLidentifier(collectionsTable));
             String dropTableOperation = formatQuery("DROP TABLE %s",
@@ -368,6 +687,212 @@ public class JDBCVectorStoreQueryProvider
         }
     }
 
+    /**
+     * Gets the query renaming a column of a table.
+     *
+     * @param tableName  the table name
+     * @param columnName the column name
+     * @param newName    the new column name
+     * @param columnType the column type
+     * @return the query
+     */
+    protected String getRenameColumnQuery(String tableName, String columnName, String newName,
+        String columnType) {
+        return formatQuery("ALTER TABLE %s RENAME COLUMN %s TO %s",
+            tableName, columnName, newName);
+    }
+
+    /**
+     * Rewrites the vectors of an existing collection with the given encoding. Each vector column
+     * is copied into a new column of the target type, which then replaces it. The migration runs
+     * in a transaction where the database supports transactional schema changes. Elsewhere, such
+     * as on MySQL where schema changes commit implicitly, each step leaves the table in a state
+     * the migration recognizes, so an interrupted migration can be run again: columns that
+     * already have the target encoding are skipped, a copy left by an interrupted migration is
+     * dropped, and a copy whose source column was already dropped is renamed.
+     *
+     * @param collectionName   the collection name
+     * @param recordDefinition the record definition
+     * @param vectorEncoding   the vector encoding to migrate to
+     * @throws SKException if the vector encoding is not supported or the migration fails
+     */
+    @Override
+    @SuppressFBWarnings("SQL_PREPARED_STATEMENT_GENERATED_FROM_NONCONSTANT_STRING")
+    @GuardedBy("dbCreationLock")
+    // SQL query is generated dynamically with valid identifiers
+    public void migrateVectorEncoding(String collectionName,
+        VectorStoreRecordDefinition recordDefinition, JDBCVectorEncoding vectorEncoding) {
+        String tableName = getCollectionTableName(collectionName);
+        String keyColumn = getKeyColumnName(recordDefinition.getKeyField());
+
+        synchronized (dbCreationLock) {
+            clearCachedQueries(collectionName);
+            try (Connection connection = dataSource.getConnection()) {
+                boolean autoCommit = connection.getAutoCommit();
+                connection.setAutoCommit(false);
+                try {
+                    for (VectorStoreRecordVectorField field : recordDefinition
+                        .getVectorFields()) {
+                        if (field.getFieldType().equals(String.class)) {
+                            continue;
+                        }
+                        if (getBinaryVectorType(field) == null) {
+                            throw new SKException(getClass().getSimpleName()
+                                + " does not support migrating the vector encoding");
+                        }
+                        migrateVectorColumn(connection, tableName, keyColumn, field,
+                            vectorEncoding);
+                    }
+                    connection.commit();
+                } catch (SQLException | RuntimeException e) {
+                    connection.rollback();
+                    throw e;
+                } finally {
+                    connection.setAutoCommit(autoCommit);
+                }
+            } catch (SQLException e) {
+                throw new SKException("Failed to migrate the vector encoding", e);
+            }
+        }
+    }
+
+    @SuppressFBWarnings("SQL_PREPARED_STATEMENT_GENERATED_FROM_NONCONSTANT_STRING")
+    // SQL query is generated dynamically with valid identifiers
+    private void migrateVectorColumn(Connection connection, String tableName, String keyColumn,
+        VectorStoreRecordVectorField field, JDBCVectorEncoding vectorEncoding)
+        throws SQLException {
+        String column = validateSQLidentifier(field.getEffectiveStorageName());
+        String migratedColumn = validateSQLidentifier(column + "_migrated");
+        String columnType = getVectorColumnType(field, vectorEncoding);
+
+        Map<String, Boolean> binaryColumns = getBinaryColumns(connection, tableName);
+        Boolean binaryColumn = binaryColumns.get(column.toLowerCase(Locale.ROOT));
+        boolean migratedColumnExists = binaryColumns
+            .containsKey(migratedColumn.toLowerCase(Locale.ROOT));
+
+        if (binaryColumn == null) {
+            if (!migratedColumnExists) {
+                throw new SKException("Column " + column + " not found in " + tableName);
+            }
+            // Interrupted after dropping the source column, the copy is complete
+            renameColumn(connection, tableName, migratedColumn, column, columnType);
+            return;
+        }
+        if (migratedColumnExists) {
+            // Interrupted while copying, the copy may be partial
+            dropColumn(connection, tableName, migratedColumn);
+        }
+        if (binaryColumn == (vectorEncoding == JDBCVectorEncoding.FLOAT32)) {
+            return;
+        }
+
+        try (PreparedStatement addColumn = connection.prepareStatement(
+            formatQuery("ALTER TABLE %s ADD COLUMN %s %s",
+                tableName, migratedColumn, columnType))) {
+            addColumn.execute();
+        }
+
+        // Rows are read a page at a time, ordered by key, so that no result set is open while
+        // the page is updated and drivers never buffer the whole table
+        String firstPageQuery = formatQuery("SELECT %s, %s FROM %s ORDER BY %s LIMIT ?",
+            keyColumn, column, tableName, keyColumn);
+        String nextPageQuery = formatQuery(
+            "SELECT %s, %s FROM %s WHERE %s > ? ORDER BY %s LIMIT ?",
+            keyColumn, column, tableName, keyColumn, keyColumn);
+        String updateQuery = formatQuery("UPDATE %s SET %s = ? WHERE %s = ?",
+            tableName, migratedColumn, keyColumn);
+        try (PreparedStatement firstPage = connection.prepareStatement(firstPageQuery);
+            PreparedStatement nextPage = connection.prepareStatement(nextPageQuery);
+            PreparedStatement update = connection.prepareStatement(updateQuery)) {
+            firstPage.setInt(1, MIGRATION_BATCH_SIZE);
+            nextPage.setInt(2, MIGRATION_BATCH_SIZE);
+
+            PreparedStatement select = firstPage;
+            while (true) {
+                List<Object> keys = new ArrayList<>(MIGRATION_BATCH_SIZE);
+                List<Object> vectors = new ArrayList<>(MIGRATION_BATCH_SIZE);
+                try (ResultSet resultSet = select.executeQuery()) {
+                    while (resultSet.next()) {
+                        keys.add(resultSet.getObject(1));
+                        vectors.add(vectorEncoding
+                            .encode(JDBCVectorEncoding.decode(resultSet.getObject(2))));
+                    }
+                }
+                if (keys.isEmpty()) {
+                    break;
+                }
+
+                for (int i = 0; i < keys.size(); ++i) {
+                    update.setObject(1, vectors.get(i));
+                    update.setObject(2, keys.get(i));
+                    update.addBatch();
+                }
+                update.executeBatch();
+
+                if (keys.size() < MIGRATION_BATCH_SIZE) {
+                    break;
+                }
+                nextPage.setObject(1, keys.get(keys.size() - 1));
+                select = nextPage;
+            }
+        }
+
+        dropColumn(connection, tableName, column);
+        renameColumn(connection, tableName, migratedColumn, column, columnType);
+    }
+
+    // Gets whether each column of a table, by lower case name, is binary
+    private static Map<String, Boolean> getBinaryColumns(Connection connection,
+        String tableName) throws SQLException {
+        DatabaseMetaData metaData = connection.getMetaData();
+        String tablePattern = tableName;
+        if (metaData.storesUpperCaseIdentifiers()) {
+            tablePattern = tableName.toUpperCase(Locale.ROOT);
+        } else if (metaData.storesLowerCaseIdentifiers()) {
+            tablePattern = tableName.toLowerCase(Locale.ROOT);
+        }
+
+        Map<String, Boolean> binaryColumns = new HashMap<>();
+        try (ResultSet columns = metaData.getColumns(connection.getCatalog(), null,
+            tablePattern, null)) {
+            while (columns.next()) {
+                // Underscores of the table name are wildcards of the pattern
+                if (!tableName.equalsIgnoreCase(columns.getString("TABLE_NAME"))) {
+                    continue;
+                }
+                int dataType = columns.getInt("DATA_TYPE");
+                String typeName = columns.getString("TYPE_NAME");
+                binaryColumns.put(
+                    columns.getString("COLUMN_NAME").toLowerCase(Locale.ROOT),
+                    dataType == Types.BINARY || dataType == Types.VARBINARY
+                        || dataType == Types.LONGVARBINARY || dataType == Types.BLOB
+                        || (typeName != null
+                            && typeName.toUpperCase(Locale.ROOT).startsWith("VECTOR")));
+            }
+        }
+        return binaryColumns;
+    }
+
+    @SuppressFBWarnings("SQL_PREPARED_STATEMENT_GENERATED_FROM_NONCONSTANT_STRING")
+    // SQL query is generated dynamically with valid identifiers
+    private void dropColumn(Connection connection, String tableName, String column)
+        throws SQLException {
+        try (PreparedStatement dropColumn = connection.prepareStatement(
+            formatQuery("ALTER TABLE %s DROP COLUMN %s", tableName, column))) {
+            dropColumn.execute();
+        }
+    }
+
+    @SuppressFBWarnings("SQL_PREPARED_STATEMENT_GENERATED_FROM_NONCONSTANT_STRING")
+    // SQL query is generated dynamically with valid identifiers
+    private void renameColumn(Connection connection, String tableName, String column,
+        String newName, String columnType) throws SQLException {
+        try (PreparedStatement renameColumn = connection.prepareStatement(
+            getRenameColumnQuery(tableName, column, newName, columnType))) {
+            renameColumn.execute();
+        }
+    }
+
     /**
      * Gets the collection names.
      *
@@ -379,7 +904,7 @@ public class JDBCVectorStoreQueryProvider
         String query = formatQuery("SELECT collectionId FROM %s",
             validateSQLidentifier(collectionsTable));
 
-        try (Connection connection = dataSource.getConnection();
+        try (Connection connection = readDataSource.getConnection();
             PreparedStatement statement = connection.prepareStatement(query)) {
             List<String> collectionNames = new ArrayList<>();
             ResultSet resultSet = statement.executeQuery();
@@ -411,35 +936,29 @@ public class JDBCVectorStoreQueryProvider
         VectorStoreRecordDefinition recordDefinition,
         VectorStoreRecordMapper<Record, ResultSet> mapper,
         GetRecordOptions options) {
-        List<VectorStoreRecordField> fields;
-        if (options != null && options.isIncludeVectors()) {
-            fields = recordDefinition.getAllFields();
-        } else {
-            fields = recordDefinition.getNonVectorFields();
+        boolean includeVectors = options != null && options.isIncludeVectors();
+        boolean wildcardKeyMatching = options != null && options.isWildcardKeyMatching();
+        if (wildcardKeyMatching && keys.size() > 1) {
+            throw new SKException("If using wildcard key matching, only one key is allowed");
         }
 
-        String query;
-
-        if (options != null && options.isWildcardKeyMatching()) {
-            if (keys.size() > 1) {
-                throw new SKException("If using wildcard key matching, only one key is allowed");
-            }
-            query = "SELECT %s FROM %s WHERE %s LIKE (%s)";
-        } else {
-            query = "SELECT %s FROM %s WHERE %s IN (%s)";
-        }
-
-        query = formatQuery(query,
-            getQueryColumnsFromFields(fields),
-            getCollectionTableName(collectionName),
-            getKeyColumnName(recordDefinition.getKeyField()),
-            getWildcardString(keys.size()));
+        String query = getCachedQuery(collectionName, () -> {
+            List<VectorStoreRecordField> fields = includeVectors
+                ? recordDefinition.getAllFields()
+                : recordDefinition.getNonVectorFields();
+            return formatQuery(wildcardKeyMatching
+                ? "SELECT %s FROM %s WHERE %s LIKE (%s)"
+                : "SELECT %s FROM %s WHERE %s IN (%s)",
+                getQueryColumnsFromFields(fields),
+                getCollectionTableName(collectionName),
+                getKeyColumnName(recordDefinition.getKeyField()),
+                getWildcardString(getPaddedParameterCount(keys.size())));
+        }, "getRecords", recordDefinition, includeVectors, wildcardKeyMatching,
+            getPaddedParameterCount(keys.size()));
 
-        try (Connection connection = dataSource.getConnection();
+        try (Connection connection = readDataSource.getConnection();
             PreparedStatement statement = connection.prepareStatement(query)) {
-            for (int i = 0; i < keys.size(); ++i) {
-                statement.setObject(i + 1, keys.get(i));
-            }
+            setPaddedParameters(statement, 1, keys);
 
             List<Record> records = new ArrayList<>();
             ResultSet resultSet = statement.executeQuery();
@@ -450,6 +969,7 @@ public class JDBCVectorStoreQueryProvider
 
             return Collections.unmodifiableList(records);
         } catch (SQLException e) {
+            checkCollectionTableExists(collectionName, e);
             throw new SKException("Failed to set statement values", e);
         }
     }
@@ -461,6 +981,116 @@ public class JDBCVectorStoreQueryProvider
             "Upsert is not supported. Try with a specific query provider.");
     }
 
+    /**
+     * Binds the values of a record to the parameters of an upsert statement.
+     */
+    @FunctionalInterface
+    protected interface UpsertStatementBinder {
+
+        /**
+         * Binds the values of a record.
+         *
+         * @param statement       the statement
+         * @param record          the record
+         * @param parameterOffset the number of parameters before those of the record, which is
+         *                        not 0 for statements inserting several rows
+         */
+        void bind(PreparedStatement statement, Object record, int parameterOffset);
+    }
+
+    /**
+     * Upserts a chunk of records on a connection taking part in a transaction.
+     */
+    @FunctionalInterface
+    protected interface UpsertChunkExecutor {
+
+        /**
+         * Upserts a chunk of records.
+         *
+         * @param connection the connection
+         * @param chunk      the records
+         * @throws SQLException if the upsert fails
+         */
+        void upsert(Connection connection, List<?> chunk) throws SQLException;
+    }
+
+    /**
+     * Upserts records in chunks of the batch size of the options, committing a transaction after
+     * each commit interval and once all chunks are upserted. The progress listener of the options
+     * is called after each chunk. If a chunk fails, the uncommitted records are rolled back.
+     *
+     * @param collectionName the collection name
+     * @param records        the records
+     * @param options        the upsert options, see {@link JDBCUpsertRecordOptions}
+     * @param executor       upserts each chunk
+     * @throws SKException if the upsert fails
+     */
+    protected void upsertRecordsInChunks(String collectionName, List<?> records,
+        UpsertRecordOptions options, UpsertChunkExecutor executor) {
+        JDBCUpsertRecordOptions upsertOptions = JDBCUpsertRecordOptions.from(options);
+        int batchSize = upsertOptions.getBatchSize();
+        int commitInterval = upsertOptions.getCommitInterval();
+        JDBCUpsertRecordOptions.ProgressListener progressListener = upsertOptions
+            .getProgressListener();
+
+        try (Connection connection = dataSource.getConnection()) {
+            boolean autoCommit = connection.getAutoCommit();
+            connection.setAutoCommit(false);
+            try {
+                int upserted = 0;
+                int committed = 0;
+                for (int start = 0; start < records.size(); start += batchSize) {
+                    List<?> chunk = records.subList(start,
+                        Math.min(start + batchSize, records.size()));
+                    executor.upsert(connection, chunk);
+                    upserted += chunk.size();
+
+                    // The last chunk is always committed
+                    if (upserted == records.size()
+                        || (commitInterval > 0 && upserted - committed >= commitInterval)) {
+                        connection.commit();
+                        committed = upserted;
+                    }
+                    if (progressListener != null) {
+                        progressListener.onProgress(upserted, committed, records.size());
+                    }
+                }
+                if (records.isEmpty()) {
+                    connection.commit();
+                }
+            } catch (SQLException | RuntimeException e) {
+                connection.rollback();
+                throw e;
+            } finally {
+                connection.setAutoCommit(autoCommit);
+            }
+        } catch (SQLException e) {
+            checkCollectionTableExists(collectionName, e);
+            throw new SKException("Failed to upsert records", e);
+        }
+    }
+
+    /**
+     * Upserts a chunk of records with a batch of executions of a single row statement.
+     *
+     * @param connection the connection
+     * @param query      the upsert statement for a single row
+     * @param chunk      the records
+     * @param binder     binds the values of each record
+     * @throws SQLException if the upsert fails
+     */
+    @SuppressFBWarnings("SQL_PREPARED_STATEMENT_GENERATED_FROM_NONCONSTANT_STRING") // SQL query is generated dynamically with valid identifiers
+    protected static void executeUpsertBatch(Connection connection, String query,
+        List<?> chunk, UpsertStatementBinder binder) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement(query)) {
+            for (Object record : chunk) {
+                binder.bind(statement, record, 0);
+                statement.addBatch();
+            }
+            statement.executeBatch();
+        }
+    }
+
     /**
      * Deletes records.
      *
@@ -473,23 +1103,40 @@ public class JDBCVectorStoreQueryProvider
     @Override
     public void deleteRecords(String collectionName, List<String> keys,
         VectorStoreRecordDefinition recordDefinition, DeleteRecordOptions options) {
-        String query = formatQuery("DELETE FROM %s WHERE %s IN (%s)",
-            getCollectionTableName(collectionName),
-            getKeyColumnName(recordDefinition.getKeyField()),
-            getWildcardString(keys.size()));
+        String query = getCachedQuery(collectionName,
+            () -> formatQuery("DELETE FROM %s WHERE %s IN (%s)",
+                getCollectionTableName(collectionName),
+                getKeyColumnName(recordDefinition.getKeyField()),
+                getWildcardString(getPaddedParameterCount(keys.size()))),
+            "deleteRecords", recordDefinition, getPaddedParameterCount(keys.size()));
 
         try (Connection connection = dataSource.getConnection();
             PreparedStatement statement = connection.prepareStatement(query)) {
-            for (int i = 0; i < keys.size(); ++i) {
-                statement.setObject(i + 1, keys.get(i));
-            }
+            setPaddedParameters(statement, 1, keys);
 
             statement.execute();
         } catch (SQLException e) {
+            checkCollectionTableExists(collectionName, e);
             throw new SKException("Failed to set statement values", e);
         }
     }
 
+    /**
+     * Gets the records matching a filter, all loaded at once.
+     *
+     * @param collectionName   the collection name
+     * @param recordDefinition the record definition
+     * @param mapper           the mapper
+     * @param options          the options
+     * @param filter           the filter, as returned by
+     *                         {@link #getFilter(VectorSearchFilter, VectorStoreRecordDefinition)}
+     * @param parameters       the filter parameters
+     * @param <Record>         the record type
+     * @return the records
+     * @throws SKException if an error occurs while getting the records
+     * @deprecated Searches no longer use it, as they stream the rows they scan.
+     */
+    @Deprecated
     protected <Record> List<Record> getRecordsWithFilter(String collectionName,
         VectorStoreRecordDefinition recordDefinition,
         VectorStoreRecordMapper<Record, ResultSet> mapper,
@@ -509,7 +1156,7 @@ public class JDBCVectorStoreQueryProvider
             getCollectionTableName(collectionName),
             filterClause);
 
-        try (Connection connection = dataSource.getConnection();
+        try (Connection connection = readDataSource.getConnection();
             PreparedStatement statement = connection.prepareStatement(selectQuery)) {
             if (parameters != null) {
                 for (int i = 0; i < parameters.size(); ++i) {
@@ -525,14 +1172,29 @@ public class JDBCVectorStoreQueryProvider
 
             return Collections.unmodifiableList(records);
         } catch (SQLException e) {
+            checkCollectionTableExists(collectionName, e);
             throw new SKException("Failed to set statement values", e);
         }
     }
 
+    /**
+     * Gets the fetch size of the result sets scanned by {@link #search}, so that drivers stream
+     * the rows instead of loading all of them at once.
+     *
+     * @return the fetch size
+     */
+    protected int getSearchFetchSize() {
+        return DEFAULT_SEARCH_FETCH_SIZE;
+    }
+
     /**
      * Vector search. Executes a vector search query and returns the results. The results are mapped
      * to the specified record type using the provided mapper. The query is executed against the
      * specified collection.
+     * <p>
+     * The keys and vectors of the rows matching the filter are streamed and scored as they are
+     * read, keeping only the best keys. Only the records of those keys are then read and mapped,
+     * with their vectors if the options include them.
      *
      * @param <Record>         the record type
      * @param collectionName   the collection name
@@ -563,20 +1225,198 @@ public class JDBCVectorStoreQueryProvider
             : (VectorStoreRecordVectorField) recordDefinition
                 .getField(options.getVectorFieldName());
 
-        String filter = getFilter(options.getVectorSearchFilter(), recordDefinition);
-        List<Object> parameters = getFilterParameters(options.getVectorSearchFilter());
-
-        List<Record> records = getRecordsWithFilter(collectionName, recordDefinition, mapper,
-            new GetRecordOptions(true), filter, parameters);
-
         DistanceFunction distanceFunction = vectorField
             .getDistanceFunction() == DistanceFunction.UNDEFINED
                 ? DistanceFunction.EUCLIDEAN_DISTANCE
                 : vectorField.getDistanceFunction();
 
-        return new VectorSearchResults<>(
-            VectorOperations.exactSimilaritySearch(records, vector, vectorField,
-                distanceFunction, options));
+        String distanceExpression = getDistanceExpression(collectionName, vectorField,
+            distanceFunction);
+        if (distanceExpression != null) {
+            return searchInDatabase(collectionName, vector, options, recordDefinition, mapper,
+                vectorField, distanceFunction, distanceExpression);
+        }
+
+        List<VectorSearchResult<String>> keys = searchKeys(collectionName,
+            VectorOperations.toFloatArray(vector), options, recordDefinition, vectorField,
+            distanceFunction);
+        if (keys.isEmpty()) {
+            return new VectorSearchResults<>(Collections.emptyList());
+        }
+
+        Map<String, Record> records = getRecordsByKey(collectionName,
+            keys.stream().map(VectorSearchResult::getRecord).collect(Collectors.toList()),
+            recordDefinition, mapper, new GetRecordOptions(options.isIncludeVectors()));
+
+        List<VectorSearchResult<Record>> results = new ArrayList<>(keys.size());
+        for (VectorSearchResult<String> key : keys) {
+            Record record = records.get(key.getRecord());
+            // Skip records deleted since they were scored
+            if (record != null) {
+                results.add(new VectorSearchResult<>(record, key.getScore()));
+            }
+        }
+        return new VectorSearchResults<>(results);
+    }
+
+    /**
+     * Gets an SQL expression computing the score of a vector column against the query vector,
+     * so that the database orders and limits the search results. The expression has a single
+     * parameter, bound to the query vector as JSON text. Its scores must match the distance
+     * function: distances are ordered ascending, similarities and dot products descending.
+     * <p>
+     * Returns {@code null} by default, in which case the vectors are scanned and scored by
+     * {@link #search}.
+     *
+     * @param collectionName   the collection name
+     * @param vectorField      the vector field searched
+     * @param distanceFunction the distance function
+     * @return the expression, or {@code null} if the database cannot compute the score
+     */
+    protected String getDistanceExpression(String collectionName,
+        VectorStoreRecordVectorField vectorField, DistanceFunction distanceFunction) {
+        return null;
+    }
+
+    @SuppressFBWarnings("SQL_PREPARED_STATEMENT_GENERATED_FROM_NONCONSTANT_STRING")
+    // SQL query is generated dynamically with valid identifiers
+    private <Record> VectorSearchResults<Record> searchInDatabase(String collectionName,
+        List<Float> vector, VectorSearchOptions options,
+        VectorStoreRecordDefinition recordDefinition,
+        VectorStoreRecordMapper<Record, ResultSet> mapper,
+        VectorStoreRecordVectorField vectorField, DistanceFunction distanceFunction,
+        String distanceExpression) {
+        String filter = getFilter(options.getVectorSearchFilter(), recordDefinition);
+        List<Object> parameters = getFilterParameters(options.getVectorSearchFilter());
+
+        String searchQuery = getCachedQuery(collectionName, () -> {
+            String vectorColumn = validateSQLidentifier(vectorField.getEffectiveStorageName());
+            String filterClause = filter == null || filter.isEmpty()
+                ? "WHERE " + vectorColumn + " IS NOT NULL"
+                : "WHERE " + vectorColumn + " IS NOT NULL AND " + filter;
+            return formatQuery(
+                "SELECT %s, %s AS score FROM %s %s ORDER BY score %s LIMIT ? OFFSET ?",
+                getQueryColumnsFromFields(
+                    options.isIncludeVectors() ? recordDefinition.getAllFields()
+                        : recordDefinition.getNonVectorFields()),
+                distanceExpression,
+                getCollectionTableName(collectionName),
+                filterClause,
+                VectorSearchTopK.isHigherScoreBetter(distanceFunction) ? "DESC" : "ASC");
+        }, "searchInDatabase", recordDefinition, options.isIncludeVectors(), distanceExpression,
+            filter, VectorSearchTopK.isHigherScoreBetter(distanceFunction));
+
+        try (Connection connection = readDataSource.getConnection();
+            PreparedStatement statement = connection.prepareStatement(searchQuery)) {
+            int parameterIndex = 1;
+
+            statement.setObject(parameterIndex++,
+                JDBCVectorEncoding.JSON.encode(VectorOperations.toFloatArray(vector)));
+            for (Object parameter : parameters) {
+                statement.setObject(parameterIndex++, parameter);
+            }
+            statement.setInt(parameterIndex++, options.getTop());
+            statement.setInt(parameterIndex, options.getSkip());
+
+            GetRecordOptions getRecordOptions = new GetRecordOptions(options.isIncludeVectors());
+            List<VectorSearchResult<Record>> results = new ArrayList<>();
+            try (ResultSet resultSet = statement.executeQuery()) {
+                while (resultSet.next()) {
+                    results.add(new VectorSearchResult<>(
+                        mapper.mapStorageModelToRecord(resultSet, getRecordOptions),
+                        resultSet.getDouble("score")));
+                }
+            }
+            return new VectorSearchResults<>(results);
+        } catch (SQLException e) {
+            checkCollectionTableExists(collectionName, e);
+            throw new SKException("Failed to search records", e);
+        }
+    }
+
+    @SuppressFBWarnings("SQL_PREPARED_STATEMENT_GENERATED_FROM_NONCONSTANT_STRING")
+    // SQL query is generated dynamically with valid identifiers
+    private List<VectorSearchResult<String>> searchKeys(String collectionName, float[] vector,
+        VectorSearchOptions options, VectorStoreRecordDefinition recordDefinition,
+        VectorStoreRecordVectorField vectorField, DistanceFunction distanceFunction) {
+        String filter = getFilter(options.getVectorSearchFilter(), recordDefinition);
+        List<Object> parameters = getFilterParameters(options.getVectorSearchFilter());
+
+        String selectQuery = getCachedQuery(collectionName,
+            () -> formatQuery("SELECT %s, %s FROM %s %s",
+                getKeyColumnName(recordDefinition.getKeyField()),
+                validateSQLidentifier(vectorField.getEffectiveStorageName()),
+                getCollectionTableName(collectionName),
+                filter == null || filter.isEmpty() ? "" : "WHERE " + filter),
+            "searchKeys", recordDefinition, vectorField.getEffectiveStorageName(), filter);
+
+        VectorSearchTopK<String> topK = VectorSearchTopK.create(distanceFunction, options);
+
+        try (Connection connection = readDataSource.getConnection();
+            PreparedStatement statement = connection.prepareStatement(selectQuery)) {
+            statement.setFetchSize(getSearchFetchSize());
+            for (int i = 0; i < parameters.size(); ++i) {
+                statement.setObject(i + 1, parameters.get(i));
+            }
+
+            try (ResultSet resultSet = statement.executeQuery()) {
+                while (resultSet.next()) {
+                    float[] recordVector = JDBCVectorEncoding.decode(resultSet.getObject(2));
+                    if (recordVector == null) {
+                        continue;
+                    }
+
+                    double score = VectorOperations.score(distanceFunction, vector, recordVector);
+                    // Only read the keys of rows that make it into the top results
+                    if (topK.isCandidate(score)) {
+                        topK.add(resultSet.getString(1), score);
+                    }
+                }
+            }
+        } catch (SQLException e) {
+            checkCollectionTableExists(collectionName, e);
+            throw new SKException("Failed to search vectors", e);
+        }
+
+        return topK.getResults(options.getSkip());
+    }
+
+    @SuppressFBWarnings("SQL_PREPARED_STATEMENT_GENERATED_FROM_NONCONSTANT_STRING")
+    // SQL query is generated dynamically with valid identifiers
+    private <Record> Map<String, Record> getRecordsByKey(String collectionName,
+        List<String> keys, VectorStoreRecordDefinition recordDefinition,
+        VectorStoreRecordMapper<Record, ResultSet> mapper, GetRecordOptions options) {
+        String keyColumn = getKeyColumnName(recordDefinition.getKeyField());
+
+        // Same shape as the queries of getRecords, so that they share cached queries
+        String query = getCachedQuery(collectionName, () -> {
+            List<VectorStoreRecordField> fields = options.isIncludeVectors()
+                ? recordDefinition.getAllFields()
+                : recordDefinition.getNonVectorFields();
+            return formatQuery("SELECT %s FROM %s WHERE %s IN (%s)",
+                getQueryColumnsFromFields(fields),
+                getCollectionTableName(collectionName),
+                keyColumn,
+                getWildcardString(getPaddedParameterCount(keys.size())));
+        }, "getRecords", recordDefinition, options.isIncludeVectors(), false,
+            getPaddedParameterCount(keys.size()));
+
+        try (Connection connection = readDataSource.getConnection();
+            PreparedStatement statement = connection.prepareStatement(query)) {
+            setPaddedParameters(statement, 1, keys);
+
+            Map<String, Record> records = new HashMap<>();
+            try (ResultSet resultSet = statement.executeQuery()) {
+                while (resultSet.next()) {
+                    records.put(resultSet.getString(keyColumn),
+                        mapper.mapStorageModelToRecord(resultSet, options));
+                }
+            }
+            return records;
+        } catch (SQLException e) {
+            checkCollectionTableExists(collectionName, e);
+            throw new SKException("Failed to set statement values", e);
+        }
     }
 
     /**
@@ -587,7 +1427,7 @@ public class JDBCVectorStoreQueryProvider
      * @throws SKException if the identifier is invalid
      */
     public static String validateSQLidentifier(String identifier) {
-        if (identifier.matches("[a-zA-Z_][a-zA-Z0-9_]*")) {
+        if (SQL_IDENTIFIER.matcher(identifier).matches()) {
             return identifier;
         }
         throw new SKException("Invalid SQL identifier: " + identifier);
@@ -708,6 +1548,8 @@ public class JDBCVectorStoreQueryProvider
         implements SQLVectorStoreQueryProvider.Builder {
 
         private DataSource dataSource;
+        @Nullable
+        private DataSource readDataSource;
         private String collectionsTable = DEFAULT_COLLECTIONS_TABLE;
         private String prefixForCollectionTables = DEFAULT_PREFIX_FOR_COLLECTION_TABLES;
 
@@ -723,6 +1565,20 @@ public class JDBCVectorStoreQueryProvider
             return this;
         }
 
+        /**
+         * Sets the data source of gets and searches, such as a pool of connections to read
+         * replicas. Defaults to the data source, which also executes upserts, deletes and
+         * collection operations.
+         *
+         * @param readDataSource the data source of gets and searches
+         * @return the builder
+         */
+        @SuppressFBWarnings("EI_EXPOSE_REP2") // DataSource is not exposed
+        public Builder withReadDataSource(@Nullable DataSource readDataSource) {
+            this.readDataSource = readDataSource;
+            return this;
+        }
+
         /**
          * Sets the collections table name.
          *
@@ -751,7 +1607,7 @@ public class JDBCVectorStoreQueryProvider
                 throw new SKException("DataSource is required");
             }
 
-            return new JDBCVectorStoreQueryProvider(dataSource, collectionsTable,
+            return new JDBCVectorStoreQueryProvider(dataSource, readDataSource, collectionsTable,
                 prefixForCollectionTables);
         }
     }
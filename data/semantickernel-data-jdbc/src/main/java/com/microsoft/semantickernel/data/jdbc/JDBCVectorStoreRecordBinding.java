@@ -0,0 +1,208 @@
+// Copyright (c) Microsoft. All rights reserved.
+package com.microsoft.semantickernel.data.jdbc;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.microsoft.semantickernel.data.vectorstorage.VectorStoreRecordBinding;
+import com.microsoft.semantickernel.data.vectorstorage.definition.VectorStoreRecordDefinition;
+import com.microsoft.semantickernel.data.vectorstorage.definition.VectorStoreRecordField;
+
+import java.lang.ref.WeakReference;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import javax.annotation.Nullable;
+
+/**
+ * Binds the fields of a record class, as listed by a record definition, to the columns of JDBC
+ * result sets. Records are read and written with a {@link VectorStoreRecordBinding}.
+ *
+ * @param <Record> the record type
+ */
+public final class JDBCVectorStoreRecordBinding<Record> {
+
+    // Bounds the column indexes kept per query shape, in case the queries are not generated
+    private static final int MAX_QUERY_SHAPES = 256;
+
+    private final VectorStoreRecordBinding<Record> binding;
+
+    // Column indexes of the fields by column labels of the result sets, shared by all threads
+    private final Map<List<String>, int[]> columnIndexesByLabels = new ConcurrentHashMap<>();
+    // Column indexes of the fields in the last result set read by each thread, as the rows of a
+    // result set are read one after the other by the thread that executed the query
+    private final ThreadLocal<ColumnIndexes> columnIndexes = new ThreadLocal<>();
+
+    private JDBCVectorStoreRecordBinding(VectorStoreRecordBinding<Record> binding) {
+        this.binding = binding;
+    }
+
+    /**
+     * Creates a binding of the fields of the record definition to the record class.
+     *
+     * @param recordClass      the record class
+     * @param recordDefinition the record definition
+     * @param objectMapper     the object mapper configured for the record class
+     * @param <Record>         the record type
+     * @return the binding
+     */
+    public static <Record> JDBCVectorStoreRecordBinding<Record> create(
+        Class<Record> recordClass, VectorStoreRecordDefinition recordDefinition,
+        ObjectMapper objectMapper) {
+        return new JDBCVectorStoreRecordBinding<>(
+            VectorStoreRecordBinding.create(recordClass, recordDefinition, objectMapper));
+    }
+
+    /**
+     * Gets the record class.
+     *
+     * @return the record class
+     */
+    public Class<Record> getRecordClass() {
+        return binding.getRecordClass();
+    }
+
+    /**
+     * Gets the fields of the record definition, in the order of the values of this binding.
+     *
+     * @return the fields
+     */
+    public List<VectorStoreRecordField> getFields() {
+        return binding.getFields();
+    }
+
+    /**
+     * Gets whether records are mapped with compiled accessors rather than through Jackson.
+     *
+     * @return {@code true} if records are mapped with compiled accessors
+     */
+    public boolean isCompiled() {
+        return binding.isCompiled();
+    }
+
+    /**
+     * Gets the values of the fields of a record, in the order of {@link #getFields()}.
+     *
+     * @param record the record
+     * @return the values
+     */
+    public Object[] getValues(Object record) {
+        return binding.getValues(record);
+    }
+
+    /**
+     * Creates a record from the values of its fields, in the order of {@link #getFields()}.
+     *
+     * @param values   the values
+     * @param selected whether each field is selected
+     * @return the record
+     * @see VectorStoreRecordBinding#newRecord(Object[], boolean[])
+     */
+    public Record newRecord(Object[] values, boolean[] selected) {
+        return binding.newRecord(values, selected);
+    }
+
+    /**
+     * Gets the indexes of the columns of the fields in a result set, in the order of
+     * {@link #getFields()}, or 0 for fields without a column. The indexes are kept per column
+     * labels, so that columns are matched to fields once per query shape, and the last result set
+     * of each thread is remembered, so that the metadata is read once per result set rather than
+     * once per row.
+     *
+     * @param resultSet the result set
+     * @return the column indexes
+     * @throws SQLException if the result set metadata cannot be read
+     */
+    public int[] getColumnIndexes(ResultSet resultSet) throws SQLException {
+        ColumnIndexes cached = columnIndexes.get();
+        if (cached != null && cached.resultSet.get() == resultSet) {
+            return cached.indexes;
+        }
+
+        ResultSetMetaData metaData = resultSet.getMetaData();
+        List<String> labels = new ArrayList<>(metaData.getColumnCount());
+        for (int column = 1; column <= metaData.getColumnCount(); ++column) {
+            labels.add(metaData.getColumnLabel(column));
+        }
+        int[] indexes = columnIndexesByLabels.get(labels);
+        if (indexes == null) {
+            indexes = getColumnIndexes(labels);
+            if (columnIndexesByLabels.size() >= MAX_QUERY_SHAPES) {
+                columnIndexesByLabels.clear();
+            }
+            columnIndexesByLabels.put(labels, indexes);
+        }
+        columnIndexes.set(new ColumnIndexes(resultSet, indexes));
+        return indexes;
+    }
+
+    private int[] getColumnIndexes(List<String> labels) {
+        List<VectorStoreRecordField> fields = binding.getFields();
+        int[] indexes = new int[fields.size()];
+        for (int column = 1; column <= labels.size(); ++column) {
+            String label = labels.get(column - 1);
+            for (int i = 0; i < fields.size(); ++i) {
+                if (indexes[i] == 0
+                    && fields.get(i).getEffectiveStorageName().equalsIgnoreCase(label)) {
+                    indexes[i] = column;
+                }
+            }
+        }
+        return indexes;
+    }
+
+    /**
+     * Reads the value of a field from a result set, with the getter of the field type.
+     *
+     * @param resultSet the result set
+     * @param column    the column index
+     * @param fieldType the field type
+     * @return the value, or {@code null} if the column is SQL {@code NULL}
+     * @throws SQLException if the column cannot be read
+     */
+    @Nullable
+    public static Object getColumnValue(ResultSet resultSet, int column, Class<?> fieldType)
+        throws SQLException {
+        Object value;
+        if (fieldType == String.class) {
+            return resultSet.getString(column);
+        } else if (fieldType == Integer.class || fieldType == int.class) {
+            value = resultSet.getInt(column);
+        } else if (fieldType == Long.class || fieldType == long.class) {
+            value = resultSet.getLong(column);
+        } else if (fieldType == Float.class || fieldType == float.class) {
+            value = resultSet.getFloat(column);
+        } else if (fieldType == Double.class || fieldType == double.class) {
+            value = resultSet.getDouble(column);
+        } else if (fieldType == Boolean.class || fieldType == boolean.class) {
+            value = resultSet.getBoolean(column);
+        } else {
+            return resultSet.getObject(column);
+        }
+        return resultSet.wasNull() ? null : value;
+    }
+
+    /**
+     * Gets the value of a vector field as a {@code float[]}.
+     *
+     * @param value the value of the vector field, a {@code float[]} or a collection of numbers
+     * @return the vector, or {@code null} if the value is {@code null}
+     * @see VectorStoreRecordBinding#toVector(Object)
+     */
+    @Nullable
+    public static float[] toVector(@Nullable Object value) {
+        return VectorStoreRecordBinding.toVector(value);
+    }
+
+    private static final class ColumnIndexes {
+        private final WeakReference<ResultSet> resultSet;
+        private final int[] indexes;
+
+        private ColumnIndexes(ResultSet resultSet, int[] indexes) {
+            this.resultSet = new WeakReference<>(resultSet);
+            this.indexes = indexes;
+        }
+    }
+}
@@ -22,6 +22,7 @@ import java.util.List;
 import java.util.Objects;
 import java.util.stream.Collectors;
 import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
 import javax.sql.DataSource;
 import reactor.core.publisher.Mono;
 import reactor.core.scheduler.Schedulers;
@@ -132,7 +133,8 @@ public class JDBCVectorStoreRecordCollection<Record>
     @Override
     public Mono<VectorStoreRecordCollection<String, Record>> createCollectionAsync() {
         return Mono.fromRunnable(
-            () -> queryProvider.createCollection(this.collectionName, recordDefinition))
+            () -> queryProvider.createCollection(this.collectionName, recordDefinition,
+                options.getVectorEncoding()))
             .subscribeOn(Schedulers.boundedElastic())
             .then(Mono.just(this));
     }
@@ -255,7 +257,8 @@ public class JDBCVectorStoreRecordCollection<Record>
 
         return Mono.fromCallable(
             () -> {
-                queryProvider.upsertRecords(this.collectionName, data, recordDefinition, options);
+                queryProvider.upsertRecords(this.collectionName, data, recordDefinition, options,
+                    this.options.getVectorEncoding());
                 return data.stream().map(this::getKeyFromRecord).collect(Collectors.toList());
             })
             .subscribeOn(Schedulers.boundedElastic());
@@ -290,6 +293,22 @@ public class JDBCVectorStoreRecordCollection<Record>
             }).subscribeOn(Schedulers.boundedElastic()).then();
     }
 
+    /**
+     * Rewrites the vectors of the collection with the vector encoding of its options, for example
+     * to move a collection that holds JSON encoded vectors to
+     * {@link JDBCVectorEncoding#FLOAT32}. No records should be written to the collection while it
+     * is migrated.
+     *
+     * @return A Mono representing the completion of the migration.
+     * @throws SKException if the operation fails
+     */
+    public Mono<Void> migrateVectorEncodingAsync() {
+        return Mono.fromRunnable(
+            () -> queryProvider.migrateVectorEncoding(this.collectionName, recordDefinition,
+                options.getVectorEncoding()))
+            .subscribeOn(Schedulers.boundedElastic()).then();
+    }
+
     /**
      * Prepares the collection for use.
      *
@@ -319,6 +338,30 @@ public class JDBCVectorStoreRecordCollection<Record>
             .subscribeOn(Schedulers.boundedElastic());
     }
 
+    /**
+     * Hybrid search. This method searches for records matching the given text in their full text
+     * searchable data fields and similar to the given vector, ranked by the fusion of both
+     * rankings. Hybrid search is supported by the PostgreSQL query provider.
+     * <p>
+     * The scores are reciprocal rank fusion scores, where higher is better, even if only one of
+     * the text and the vector is given. They are not comparable to the scores of
+     * {@link #searchAsync(List, VectorSearchOptions)}, which may be distances.
+     *
+     * @param searchText          The text to search with.
+     *                            If null, only the vector ranking is used.
+     * @param vector              The vector to search with.
+     *                            If null, only full text search is performed.
+     * @param vectorSearchOptions The options to use for the search.
+     * @return A list of search results.
+     */
+    public Mono<VectorSearchResults<Record>> hybridSearchAsync(@Nullable String searchText,
+        @Nullable List<Float> vector, VectorSearchOptions vectorSearchOptions) {
+        return Mono.fromCallable(
+            () -> queryProvider.hybridSearch(this.collectionName, searchText, vector,
+                vectorSearchOptions, recordDefinition, vectorStoreRecordMapper))
+            .subscribeOn(Schedulers.boundedElastic());
+    }
+
     /**
      * Builder for a JDBCVectorStoreRecordCollection.
      *
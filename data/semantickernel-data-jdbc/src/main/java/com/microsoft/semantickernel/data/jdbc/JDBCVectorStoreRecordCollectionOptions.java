@@ -24,6 +24,7 @@ public class JDBCVectorStoreRecordCollectionOptions<Record>
     private final SQLVectorStoreQueryProvider queryProvider;
     private final String collectionsTableName;
     private final String prefixForCollectionTables;
+    private final JDBCVectorEncoding vectorEncoding;
 
     private JDBCVectorStoreRecordCollectionOptions(
         Class<Record> recordClass,
@@ -31,13 +32,15 @@ public class JDBCVectorStoreRecordCollectionOptions<Record>
         VectorStoreRecordMapper<Record, ResultSet> vectorStoreRecordMapper,
         SQLVectorStoreQueryProvider queryProvider,
         String collectionsTableName,
-        String prefixForCollectionTables) {
+        String prefixForCollectionTables,
+        JDBCVectorEncoding vectorEncoding) {
         this.recordClass = recordClass;
         this.recordDefinition = recordDefinition;
         this.vectorStoreRecordMapper = vectorStoreRecordMapper;
         this.queryProvider = queryProvider;
         this.collectionsTableName = collectionsTableName;
         this.prefixForCollectionTables = prefixForCollectionTables;
+        this.vectorEncoding = vectorEncoding;
     }
 
     /**
@@ -99,6 +102,14 @@ public class JDBCVectorStoreRecordCollectionOptions<Record>
         return prefixForCollectionTables;
     }
 
+    /**
+     * Gets the encoding of the vectors of the collection.
+     * @return the vector encoding
+     */
+    public JDBCVectorEncoding getVectorEncoding() {
+        return vectorEncoding;
+    }
+
     /**
      * Gets the query provider.
      * @return the query provider
@@ -119,6 +130,7 @@ public class JDBCVectorStoreRecordCollectionOptions<Record>
         private SQLVectorStoreQueryProvider queryProvider;
         private String collectionsTableName = DEFAULT_COLLECTIONS_TABLE;
         private String prefixForCollectionTables = DEFAULT_PREFIX_FOR_COLLECTION_TABLES;
+        private JDBCVectorEncoding vectorEncoding = JDBCVectorEncoding.JSON;
 
         /**
          * Sets the record class.
@@ -184,6 +196,18 @@ public class JDBCVectorStoreRecordCollectionOptions<Record>
             return this;
         }
 
+        /**
+         * Sets the encoding of the vectors of the collection. Defaults to
+         * {@link JDBCVectorEncoding#JSON}. A collection created with one encoding can be moved to
+         * another with {@link JDBCVectorStoreRecordCollection#migrateVectorEncodingAsync()}.
+         * @param vectorEncoding the vector encoding
+         * @return the builder
+         */
+        public Builder<Record> withVectorEncoding(JDBCVectorEncoding vectorEncoding) {
+            this.vectorEncoding = vectorEncoding;
+            return this;
+        }
+
         /**
          * Builds the options.
          * @return the options
@@ -192,6 +216,9 @@ public class JDBCVectorStoreRecordCollectionOptions<Record>
             if (recordClass == null) {
                 throw new SKException("recordClass is required");
             }
+            if (vectorEncoding == null) {
+                throw new SKException("vectorEncoding is required");
+            }
 
             return new JDBCVectorStoreRecordCollectionOptions<>(
                 recordClass,
@@ -199,7 +226,8 @@ public class JDBCVectorStoreRecordCollectionOptions<Record>
                 vectorStoreRecordMapper,
                 queryProvider,
                 collectionsTableName,
-                prefixForCollectionTables);
+                prefixForCollectionTables,
+                vectorEncoding);
         }
     }
 }
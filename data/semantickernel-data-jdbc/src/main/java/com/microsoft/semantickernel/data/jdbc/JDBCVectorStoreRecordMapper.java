@@ -1,10 +1,7 @@
 // Copyright (c) Microsoft. All rights reserved.
 package com.microsoft.semantickernel.data.jdbc;
 
-import com.fasterxml.jackson.core.JsonProcessingException;
-import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
-import com.fasterxml.jackson.databind.node.ObjectNode;
 import com.microsoft.semantickernel.builders.SemanticKernelBuilder;
 import com.microsoft.semantickernel.data.vectorstorage.VectorStoreRecordMapper;
 import com.microsoft.semantickernel.data.vectorstorage.definition.VectorStoreRecordDataField;
@@ -115,43 +112,45 @@ public class JDBCVectorStoreRecordMapper<Record>
                 throw new SKException("vectorStoreRecordDefinition is required");
             }
 
+            JDBCVectorStoreRecordBinding<Record> binding = JDBCVectorStoreRecordBinding
+                .create(recordClass, vectorStoreRecordDefinition, objectMapper);
+            List<VectorStoreRecordField> fields = binding.getFields();
+
             return new JDBCVectorStoreRecordMapper<>(
                 (resultSet, options) -> {
                     try {
-                        // Create an ObjectNode to hold the values
-                        ObjectNode objectNode = objectMapper.createObjectNode();
-
-                        // Select fields from the record definition.
-                        List<VectorStoreRecordField> fields;
-                        if (options != null && options.isIncludeVectors()) {
-                            fields = vectorStoreRecordDefinition.getAllFields();
-                        } else {
-                            fields = vectorStoreRecordDefinition.getNonVectorFields();
-                        }
-
-                        for (VectorStoreRecordField field : fields) {
-                            Object value = resultSet.getObject(field.getEffectiveStorageName());
+                        boolean includeVectors = options != null && options.isIncludeVectors();
+                        int[] columns = binding.getColumnIndexes(resultSet);
+                        Object[] values = new Object[fields.size()];
+                        boolean[] selected = new boolean[fields.size()];
+
+                        for (int i = 0; i < fields.size(); ++i) {
+                            VectorStoreRecordField field = fields.get(i);
+                            // Select vector fields only if requested
+                            if (columns[i] == 0 || (!includeVectors
+                                && field instanceof VectorStoreRecordVectorField)) {
+                                continue;
+                            }
                             Class<?> fieldType = field.getFieldType();
 
-                            if (field instanceof VectorStoreRecordVectorField) {
-                                // If the vector field is other than String, deserialize it from the JSON string
-                                if (!fieldType.equals(String.class)) {
-                                    value = objectMapper.readValue((String) value, fieldType);
-                                }
-                            } else if (field instanceof VectorStoreRecordDataField) {
-                                // If the field is List, deserialize it from the JSON string
-                                if (fieldType.equals(List.class)) {
-                                    value = objectMapper.readValue((String) value, fieldType);
-                                }
+                            if (field instanceof VectorStoreRecordVectorField
+                                && !fieldType.equals(String.class)) {
+                                // Decode the vector from the float32 bytes or the JSON string
+                                values[i] = JDBCVectorEncoding
+                                    .decode(resultSet.getObject(columns[i]));
+                            } else if (field instanceof VectorStoreRecordDataField
+                                && fieldType.equals(List.class)) {
+                                // Lists are stored as JSON strings
+                                values[i] = resultSet.getString(columns[i]);
+                            } else {
+                                values[i] = JDBCVectorStoreRecordBinding
+                                    .getColumnValue(resultSet, columns[i], fieldType);
                             }
-
-                            JsonNode genericNode = objectMapper.valueToTree(value);
-                            objectNode.set(field.getEffectiveStorageName(), genericNode);
+                            selected[i] = true;
                         }
 
-                        // Deserialize the object node to the record class
-                        return objectMapper.convertValue(objectNode, recordClass);
-                    } catch (SQLException | JsonProcessingException e) {
+                        return binding.newRecord(values, selected);
+                    } catch (SQLException | SKException e) {
                         throw new SKException(
                             "Failure to serialize object, by default the JDBC connector uses Jackson, ensure your model object can be serialized by Jackson, i.e the class is visible, has getters, constructor, annotations etc.",
                             e);
@@ -9,10 +9,12 @@ import com.microsoft.semantickernel.data.vectorstorage.options.DeleteRecordOptio
 import com.microsoft.semantickernel.data.vectorstorage.options.GetRecordOptions;
 import com.microsoft.semantickernel.data.vectorstorage.options.UpsertRecordOptions;
 import com.microsoft.semantickernel.data.vectorstorage.options.VectorSearchOptions;
+import com.microsoft.semantickernel.exceptions.SKException;
 
 import java.sql.ResultSet;
 import java.util.List;
 import java.util.Map;
+import javax.annotation.Nullable;
 
 /**
  * The JDBC vector store query provider.
@@ -79,6 +81,39 @@ public interface SQLVectorStoreQueryProvider {
      */
     void createCollection(String collectionName, VectorStoreRecordDefinition recordDefinition);
 
+    /**
+     * Creates a collection, storing its vectors with the given encoding.
+     *
+     * @param collectionName the collection name
+     * @param recordDefinition the record definition
+     * @param vectorEncoding the vector encoding
+     * @throws SKException if the vector encoding is not supported
+     */
+    default void createCollection(String collectionName,
+        VectorStoreRecordDefinition recordDefinition, JDBCVectorEncoding vectorEncoding) {
+        if (vectorEncoding != JDBCVectorEncoding.JSON) {
+            throw new SKException(getClass().getSimpleName() + " does not support the "
+                + vectorEncoding + " vector encoding");
+        }
+        createCollection(collectionName, recordDefinition);
+    }
+
+    /**
+     * Rewrites the vectors of an existing collection with the given encoding, converting the
+     * vector columns in place. Use this to migrate a collection created with another encoding.
+     * No records should be written to the collection while it is migrated.
+     *
+     * @param collectionName the collection name
+     * @param recordDefinition the record definition
+     * @param vectorEncoding the vector encoding to migrate to
+     * @throws SKException if the vector encoding is not supported
+     */
+    default void migrateVectorEncoding(String collectionName,
+        VectorStoreRecordDefinition recordDefinition, JDBCVectorEncoding vectorEncoding) {
+        throw new SKException(
+            getClass().getSimpleName() + " does not support migrating the vector encoding");
+    }
+
     /**
      * Deletes a collection.
      *
@@ -110,7 +145,8 @@ public interface SQLVectorStoreQueryProvider {
         GetRecordOptions options);
 
     /**
-     * Upserts records.
+     * Upserts records. With {@link JDBCUpsertRecordOptions}, the records are sent in batches and
+     * committed in transactions of the given sizes.
      *
      * @param collectionName the collection name
      * @param records the records
@@ -120,6 +156,26 @@ public interface SQLVectorStoreQueryProvider {
     void upsertRecords(String collectionName, List<?> records,
         VectorStoreRecordDefinition vectorStoreRecordDefinition, UpsertRecordOptions options);
 
+    /**
+     * Upserts records, storing their vectors with the given encoding.
+     *
+     * @param collectionName the collection name
+     * @param records the records
+     * @param vectorStoreRecordDefinition the record definition
+     * @param options the options
+     * @param vectorEncoding the vector encoding the collection was created with
+     * @throws SKException if the vector encoding is not supported
+     */
+    default void upsertRecords(String collectionName, List<?> records,
+        VectorStoreRecordDefinition vectorStoreRecordDefinition, UpsertRecordOptions options,
+        JDBCVectorEncoding vectorEncoding) {
+        if (vectorEncoding != JDBCVectorEncoding.JSON) {
+            throw new SKException(getClass().getSimpleName() + " does not support the "
+                + vectorEncoding + " vector encoding");
+        }
+        upsertRecords(collectionName, records, vectorStoreRecordDefinition, options);
+    }
+
     /**
      * Deletes records.
      *
@@ -151,6 +207,31 @@ public interface SQLVectorStoreQueryProvider {
         VectorStoreRecordDefinition recordDefinition,
         VectorStoreRecordMapper<Record, ResultSet> mapper);
 
+    /**
+     * Hybrid search.
+     * Executes a full text search and a vector search, and fuses their rankings into a single
+     * ranking. The results are mapped to the specified record type using the provided mapper.
+     *
+     * @param <Record> the record type
+     * @param collectionName the collection name
+     * @param searchText the text to search the full text searchable data fields with,
+     *                   or {@code null} to only search with the vector
+     * @param vector the vector to search with, or {@code null} to only search with the text
+     * @param options the vector search options
+     * @param recordDefinition the record definition
+     * @param mapper the mapper, responsible for mapping the result set to the record type.
+     * @return the search results
+     * @throws SKException if hybrid search is not supported
+     */
+    default <Record> VectorSearchResults<Record> hybridSearch(String collectionName,
+        @Nullable String searchText,
+        @Nullable List<Float> vector,
+        VectorSearchOptions options,
+        VectorStoreRecordDefinition recordDefinition,
+        VectorStoreRecordMapper<Record, ResultSet> mapper) {
+        throw new SKException(getClass().getSimpleName() + " does not support hybrid search");
+    }
+
     /**
      * The builder for the JDBC vector store query provider.
      */
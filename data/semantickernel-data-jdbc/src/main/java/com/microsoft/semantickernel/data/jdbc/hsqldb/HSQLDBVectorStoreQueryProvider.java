@@ -2,9 +2,10 @@
 package com.microsoft.semantickernel.data.jdbc.hsqldb;
 
 import com.fasterxml.jackson.core.JsonProcessingException;
-import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.microsoft.semantickernel.data.jdbc.JDBCVectorEncoding;
 import com.microsoft.semantickernel.data.jdbc.JDBCVectorStoreQueryProvider;
+import com.microsoft.semantickernel.data.jdbc.JDBCVectorStoreRecordBinding;
 import com.microsoft.semantickernel.data.vectorstorage.definition.VectorStoreRecordDataField;
 import com.microsoft.semantickernel.data.vectorstorage.definition.VectorStoreRecordDefinition;
 import com.microsoft.semantickernel.data.vectorstorage.definition.VectorStoreRecordField;
@@ -13,7 +14,6 @@ import com.microsoft.semantickernel.data.vectorstorage.options.UpsertRecordOptio
 import com.microsoft.semantickernel.exceptions.SKException;
 import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
 
-import java.sql.Connection;
 import java.sql.PreparedStatement;
 import java.sql.SQLException;
 import java.time.OffsetDateTime;
@@ -22,6 +22,7 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.stream.Collectors;
+import javax.annotation.Nullable;
 import javax.sql.DataSource;
 
 /**
@@ -35,12 +36,14 @@ public class HSQLDBVectorStoreQueryProvider extends JDBCVectorStoreQueryProvider
     @SuppressFBWarnings("EI_EXPOSE_REP2")
     private HSQLDBVectorStoreQueryProvider(
         DataSource dataSource,
+        @Nullable DataSource readDataSource,
         String collectionsTable,
         String prefixForCollectionTables,
         int defaultVarCharLength,
         ObjectMapper objectMapper) {
         super(
             dataSource,
+            readDataSource,
             collectionsTable,
             prefixForCollectionTables,
             buildSupportedKeyTypes(defaultVarCharLength),
@@ -81,31 +84,52 @@ public class HSQLDBVectorStoreQueryProvider extends JDBCVectorStoreQueryProvider
         return supportedKeyTypes;
     }
 
-    private void setUpsertStatementValues(PreparedStatement statement, Object record,
-        List<VectorStoreRecordField> fields) {
-        JsonNode jsonNode = objectMapper.valueToTree(record);
+    @Override
+    protected String getBinaryVectorType(VectorStoreRecordVectorField vectorField) {
+        return "VARBINARY(" + vectorField.getDimensions() * Float.BYTES + ")";
+    }
+
+    // HSQLDB reports missing tables as "user lacks privilege or object not found"
+    @Override
+    protected boolean isTableNotFound(SQLException e) {
+        return e.getErrorCode() == -5501 || super.isTableNotFound(e);
+    }
 
+    // HSQLDB does not support RENAME COLUMN
+    @Override
+    protected String getRenameColumnQuery(String tableName, String columnName, String newName,
+        String columnType) {
+        return formatQuery("ALTER TABLE %s ALTER COLUMN %s RENAME TO %s",
+            tableName, columnName, newName);
+    }
+
+    private void setUpsertStatementValues(PreparedStatement statement, Object[] values,
+        List<VectorStoreRecordField> fields, JDBCVectorEncoding vectorEncoding) {
         for (int i = 0; i < fields.size(); ++i) {
             VectorStoreRecordField field = fields.get(i);
+            Object value = values[i];
             try {
-                JsonNode valueNode = jsonNode.get(field.getEffectiveStorageName());
-
                 if (field instanceof VectorStoreRecordVectorField) {
-                    // Convert the vector field to a string
                     if (!field.getFieldType().equals(String.class)) {
-                        statement.setObject(i + 1, objectMapper.writeValueAsString(valueNode));
+                        if (vectorEncoding == JDBCVectorEncoding.FLOAT32) {
+                            // Convert the vector field to float32 bytes
+                            statement.setObject(i + 1, vectorEncoding
+                                .encode(JDBCVectorStoreRecordBinding.toVector(value)));
+                        } else {
+                            // Convert the vector field to a string
+                            statement.setObject(i + 1, objectMapper.writeValueAsString(value));
+                        }
                         continue;
                     }
                 } else if (field instanceof VectorStoreRecordDataField) {
                     // Convert List field to a string
                     if (field.getFieldType().equals(List.class)) {
-                        statement.setObject(i + 1, objectMapper.writeValueAsString(valueNode));
+                        statement.setObject(i + 1, objectMapper.writeValueAsString(value));
                         continue;
                     }
                 }
 
-                statement.setObject(i + 1,
-                    objectMapper.convertValue(valueNode, field.getFieldType()));
+                statement.setObject(i + 1, value);
             } catch (SQLException | JsonProcessingException e) {
                 throw new RuntimeException(e);
             }
@@ -122,12 +146,41 @@ public class HSQLDBVectorStoreQueryProvider extends JDBCVectorStoreQueryProvider
      * @throws SKException if the upsert fails
      */
     @Override
-    @SuppressFBWarnings("SQL_PREPARED_STATEMENT_GENERATED_FROM_NONCONSTANT_STRING")
-    // SQL query is generated dynamically with valid identifiers
     public void upsertRecords(String collectionName, List<?> records,
         VectorStoreRecordDefinition recordDefinition, UpsertRecordOptions options) {
-        validateSQLidentifier(getCollectionTableName(collectionName));
+        upsertRecords(collectionName, records, recordDefinition, options,
+            JDBCVectorEncoding.JSON);
+    }
+
+    /**
+     * Upserts records into the collection, storing their vectors with the given encoding.
+     *
+     * @param collectionName   the collection name
+     * @param records          the records to upsert
+     * @param recordDefinition the record definition
+     * @param options          the upsert options
+     * @param vectorEncoding   the vector encoding the collection was created with
+     * @throws SKException if the upsert fails
+     */
+    @Override
+    public void upsertRecords(String collectionName, List<?> records,
+        VectorStoreRecordDefinition recordDefinition, UpsertRecordOptions options,
+        JDBCVectorEncoding vectorEncoding) {
+        List<VectorStoreRecordField> fields = recordDefinition.getAllFields();
+
+        String query = getCachedQuery(collectionName,
+            () -> getUpsertQuery(collectionName, recordDefinition), "upsertRecords",
+            recordDefinition);
+
+        upsertRecordsInChunks(collectionName, records, options,
+            (connection, chunk) -> executeUpsertBatch(connection, query, chunk,
+                (statement, record, parameterOffset) -> setUpsertStatementValues(statement,
+                    getRecordValues(record, recordDefinition, objectMapper), fields,
+                    vectorEncoding)));
+    }
 
+    private String getUpsertQuery(String collectionName,
+        VectorStoreRecordDefinition recordDefinition) {
         List<VectorStoreRecordField> fields = recordDefinition.getAllFields();
 
         String keyName = recordDefinition.getKeyField().getStorageName();
@@ -144,29 +197,18 @@ public class HSQLDBVectorStoreQueryProvider extends JDBCVectorStoreQueryProvider
             .map(it -> "vals." + it)
             .collect(Collectors.joining(","));
 
-        String query = formatQuery(
+        return formatQuery(
             "MERGE INTO %s AS t USING (VALUES (%s)) AS vals(%s) "
                 + "ON t.%s=vals.%s WHEN MATCHED THEN UPDATE SET %s "
-                + "WHEN NOT MATCHED THEN INSERT VALUES %s",
+                + "WHEN NOT MATCHED THEN INSERT (%s) VALUES %s",
             getCollectionTableName(collectionName),
             getWildcardString(fields.size()),
             getQueryColumnsFromFields(fields),
             keyName,
             keyName,
             updater,
+            getQueryColumnsFromFields(fields),
             setter);
-
-        try (Connection connection = dataSource.getConnection();
-            PreparedStatement statement = connection.prepareStatement(query)) {
-            for (Object record : records) {
-                setUpsertStatementValues(statement, record, recordDefinition.getAllFields());
-                statement.addBatch();
-            }
-
-            statement.executeBatch();
-        } catch (SQLException e) {
-            throw new SKException("Failed to upsert records", e);
-        }
     }
 
     /**
@@ -185,6 +227,8 @@ public class HSQLDBVectorStoreQueryProvider extends JDBCVectorStoreQueryProvider
         extends JDBCVectorStoreQueryProvider.Builder {
 
         private DataSource dataSource;
+        @Nullable
+        private DataSource readDataSource;
         private String collectionsTable = DEFAULT_COLLECTIONS_TABLE;
         private String prefixForCollectionTables = DEFAULT_PREFIX_FOR_COLLECTION_TABLES;
         private int defaultVarCharLength = 255;
@@ -202,6 +246,19 @@ public class HSQLDBVectorStoreQueryProvider extends JDBCVectorStoreQueryProvider
             return this;
         }
 
+        /**
+         * Sets the data source of gets and searches, such as a pool of connections to read
+         * replicas. Defaults to the data source.
+         *
+         * @param readDataSource the data source of gets and searches
+         * @return the builder
+         */
+        @SuppressFBWarnings("EI_EXPOSE_REP2")
+        public Builder withReadDataSource(@Nullable DataSource readDataSource) {
+            this.readDataSource = readDataSource;
+            return this;
+        }
+
         /**
          * Sets the collections table name.
          *
@@ -259,6 +316,7 @@ public class HSQLDBVectorStoreQueryProvider extends JDBCVectorStoreQueryProvider
 
             return new HSQLDBVectorStoreQueryProvider(
                 dataSource,
+                readDataSource,
                 collectionsTable,
                 prefixForCollectionTables,
                 defaultVarCharLength,
@@ -2,10 +2,12 @@
 package com.microsoft.semantickernel.data.jdbc.mysql;
 
 import com.fasterxml.jackson.core.JsonProcessingException;
-import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.microsoft.semantickernel.data.jdbc.JDBCVectorEncoding;
 import com.microsoft.semantickernel.data.jdbc.JDBCVectorStoreQueryProvider;
+import com.microsoft.semantickernel.data.jdbc.JDBCVectorStoreRecordBinding;
 import com.microsoft.semantickernel.data.jdbc.SQLVectorStoreQueryProvider;
+import com.microsoft.semantickernel.data.vectorstorage.definition.DistanceFunction;
 import com.microsoft.semantickernel.data.vectorstorage.definition.VectorStoreRecordDataField;
 import com.microsoft.semantickernel.data.vectorstorage.definition.VectorStoreRecordDefinition;
 import com.microsoft.semantickernel.data.vectorstorage.definition.VectorStoreRecordField;
@@ -15,31 +17,52 @@ import com.microsoft.semantickernel.exceptions.SKException;
 import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
 
 import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
 import javax.sql.DataSource;
 import java.sql.Connection;
 import java.sql.PreparedStatement;
+import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.util.Collections;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.stream.Collectors;
 
 /**
  * The MySQL vector store query provider.
  * Provides the necessary methods to interact with a MySQL
  * vector store and vector store collections.
+ * <p>
+ * On servers with the {@code VECTOR} type (MySQL 9), collections using the
+ * {@link JDBCVectorEncoding#FLOAT32} encoding store their vectors in {@code VECTOR} columns. On
+ * servers that also have the {@code DISTANCE} function, searches compute the distances in the
+ * database and only read the top results.
  */
 public class MySQLVectorStoreQueryProvider extends
     JDBCVectorStoreQueryProvider implements SQLVectorStoreQueryProvider {
 
+    // The maximum number of parameters of a MySQL prepared statement
+    private static final int MAX_STATEMENT_PARAMETERS = 65535;
+
     private final ObjectMapper objectMapper;
+    private final boolean rewriteBatchedStatements;
+    private final Map<String, String> vectorColumnTypes = new ConcurrentHashMap<>();
+    private volatile Boolean vectorTypeSupported;
+    private volatile Boolean distanceFunctionSupported;
 
     @SuppressFBWarnings("EI_EXPOSE_REP2")
     private MySQLVectorStoreQueryProvider(
         @Nonnull DataSource dataSource,
+        @Nullable DataSource readDataSource,
         @Nonnull String collectionsTable,
         @Nonnull String prefixForCollectionTables,
-        @Nonnull ObjectMapper objectMapper) {
-        super(dataSource, collectionsTable, prefixForCollectionTables);
+        @Nonnull ObjectMapper objectMapper,
+        boolean rewriteBatchedStatements) {
+        super(dataSource, readDataSource, collectionsTable, prefixForCollectionTables);
         this.objectMapper = objectMapper;
+        this.rewriteBatchedStatements = rewriteBatchedStatements;
     }
 
     /**
@@ -50,31 +73,202 @@ public class MySQLVectorStoreQueryProvider extends
         return new Builder();
     }
 
-    private void setUpsertStatementValues(PreparedStatement statement, Object record,
-        List<VectorStoreRecordField> fields) {
-        JsonNode jsonNode = objectMapper.valueToTree(record);
+    private static boolean isSupported(DataSource dataSource, String query) {
+        try (Connection connection = dataSource.getConnection()) {
+            try (PreparedStatement statement = connection.prepareStatement(query)) {
+                statement.executeQuery().close();
+                return true;
+            } catch (SQLException e) {
+                return false;
+            }
+        } catch (SQLException e) {
+            throw new SKException("Failed to detect the vector support of the server", e);
+        }
+    }
+
+    // Collections are created on the primary data source
+    private boolean isVectorTypeSupported() {
+        Boolean supported = vectorTypeSupported;
+        if (supported == null) {
+            supported = isSupported(dataSource, "SELECT VECTOR_DIM(STRING_TO_VECTOR('[1]'))");
+            vectorTypeSupported = supported;
+        }
+        return supported;
+    }
+
+    // Searches run on the read data source, which may be a different server
+    private boolean isDistanceFunctionSupported() {
+        Boolean supported = distanceFunctionSupported;
+        if (supported == null) {
+            supported = isSupported(readDataSource,
+                "SELECT DISTANCE(STRING_TO_VECTOR('[1]'), STRING_TO_VECTOR('[1]'), 'EUCLIDEAN')");
+            distanceFunctionSupported = supported;
+        }
+        return supported;
+    }
+
+    // VECTOR values are stored as little-endian float32, the same as the FLOAT32 encoding
+    @Override
+    protected String getBinaryVectorType(VectorStoreRecordVectorField vectorField) {
+        return isVectorTypeSupported() ? "VECTOR(" + vectorField.getDimensions() + ")" : "BLOB";
+    }
+
+    // Gets the type of a vector column, which depends on the server and the encoding the
+    // collection was created with
+    private String getStoredVectorColumnType(String collectionName,
+        VectorStoreRecordVectorField vectorField) {
+        String tableName = getCollectionTableName(collectionName);
+        String columnName = validateSQLidentifier(vectorField.getEffectiveStorageName());
+
+        return vectorColumnTypes.computeIfAbsent(tableName + "." + columnName, key -> {
+            try (Connection connection = readDataSource.getConnection();
+                ResultSet columns = connection.getMetaData()
+                    .getColumns(connection.getCatalog(), null, tableName, columnName)) {
+                // Missing columns are not cached
+                return columns.next() ? columns.getString("TYPE_NAME").toUpperCase(Locale.ROOT)
+                    : null;
+            } catch (SQLException e) {
+                throw new SKException("Failed to get the type of column " + key, e);
+            }
+        });
+    }
 
+    /**
+     * Computes distances with the {@code DISTANCE} function if the server supports it. Vectors
+     * stored as JSON text are converted with {@code STRING_TO_VECTOR}, while vectors stored as
+     * float32 bytes can only be read in {@code VECTOR} columns. Dot products are computed by
+     * scanning the vectors.
+     *
+     * @param collectionName   the collection name
+     * @param vectorField      the vector field searched
+     * @param distanceFunction the distance function
+     * @return the expression, or {@code null} if the distances cannot be computed by the server
+     */
+    @Override
+    protected String getDistanceExpression(String collectionName,
+        VectorStoreRecordVectorField vectorField, DistanceFunction distanceFunction) {
+        if (!isDistanceFunctionSupported()) {
+            return null;
+        }
+
+        String metric;
+        switch (distanceFunction) {
+            case EUCLIDEAN_DISTANCE:
+                metric = "EUCLIDEAN";
+                break;
+            case COSINE_DISTANCE:
+            case COSINE_SIMILARITY:
+                metric = "COSINE";
+                break;
+            default:
+                return null;
+        }
+
+        String column = validateSQLidentifier(vectorField.getEffectiveStorageName());
+        String columnType = getStoredVectorColumnType(collectionName, vectorField);
+        String vector;
+        if (columnType == null) {
+            return null;
+        } else if (columnType.startsWith("VECTOR")) {
+            vector = column;
+        } else if (columnType.contains("TEXT") || columnType.contains("CHAR")) {
+            vector = "STRING_TO_VECTOR(" + column + ")";
+        } else {
+            return null;
+        }
+
+        String distance = formatQuery("DISTANCE(%s, STRING_TO_VECTOR(?), '%s')", vector, metric);
+        return distanceFunction == DistanceFunction.COSINE_SIMILARITY ? "1 - " + distance
+            : distance;
+    }
+
+    // Column types are cached per collection, until its schema changes
+    private void clearVectorColumnTypes(String collectionName) {
+        String tablePrefix = getCollectionTableName(collectionName) + ".";
+        vectorColumnTypes.keySet().removeIf(key -> key.startsWith(tablePrefix));
+    }
+
+    @Override
+    public void createCollection(String collectionName,
+        VectorStoreRecordDefinition recordDefinition) {
+        super.createCollection(collectionName, recordDefinition);
+        clearVectorColumnTypes(collectionName);
+    }
+
+    @Override
+    public void createCollection(String collectionName,
+        VectorStoreRecordDefinition recordDefinition, JDBCVectorEncoding vectorEncoding) {
+        super.createCollection(collectionName, recordDefinition, vectorEncoding);
+        clearVectorColumnTypes(collectionName);
+    }
+
+    @Override
+    public void deleteCollection(String collectionName) {
+        super.deleteCollection(collectionName);
+        clearVectorColumnTypes(collectionName);
+    }
+
+    @Override
+    protected void checkCollectionTableExists(String collectionName, SQLException e) {
+        super.checkCollectionTableExists(collectionName, e);
+        if (isTableNotFound(e)) {
+            clearVectorColumnTypes(collectionName);
+        }
+    }
+
+    @Override
+    public void migrateVectorEncoding(String collectionName,
+        VectorStoreRecordDefinition recordDefinition, JDBCVectorEncoding vectorEncoding) {
+        try {
+            super.migrateVectorEncoding(collectionName, recordDefinition, vectorEncoding);
+        } finally {
+            clearVectorColumnTypes(collectionName);
+        }
+    }
+
+    // MySQL Connector/J only streams result sets row by row with this fetch size, and otherwise
+    // reads all the rows into memory
+    @Override
+    protected int getSearchFetchSize() {
+        return Integer.MIN_VALUE;
+    }
+
+    // MySQL 5.7 does not support RENAME COLUMN
+    @Override
+    protected String getRenameColumnQuery(String tableName, String columnName, String newName,
+        String columnType) {
+        return formatQuery("ALTER TABLE %s CHANGE COLUMN %s %s %s",
+            tableName, columnName, newName, columnType);
+    }
+
+    private void setUpsertStatementValues(PreparedStatement statement, Object[] values,
+        List<VectorStoreRecordField> fields, int parameterOffset,
+        JDBCVectorEncoding vectorEncoding) {
         for (int i = 0; i < fields.size(); ++i) {
             VectorStoreRecordField field = fields.get(i);
+            Object value = values[i];
             try {
-                JsonNode valueNode = jsonNode.get(field.getEffectiveStorageName());
-
                 if (field instanceof VectorStoreRecordVectorField) {
-                    // Convert the vector field to a string
                     if (!field.getFieldType().equals(String.class)) {
-                        statement.setObject(i + 1, objectMapper.writeValueAsString(valueNode));
+                        if (vectorEncoding == JDBCVectorEncoding.FLOAT32) {
+                            // Convert the vector field to float32 bytes
+                            statement.setObject(parameterOffset + i + 1, vectorEncoding
+                                .encode(JDBCVectorStoreRecordBinding.toVector(value)));
+                        } else {
+                            // Convert the vector field to a string
+                            statement.setObject(parameterOffset + i + 1, objectMapper.writeValueAsString(value));
+                        }
                         continue;
                     }
                 } else if (field instanceof VectorStoreRecordDataField) {
                     // Convert List field to a string
                     if (field.getFieldType().equals(List.class)) {
-                        statement.setObject(i + 1, objectMapper.writeValueAsString(valueNode));
+                        statement.setObject(parameterOffset + i + 1, objectMapper.writeValueAsString(value));
                         continue;
                     }
                 }
 
-                statement.setObject(i + 1,
-                    objectMapper.convertValue(valueNode, field.getFieldType()));
+                statement.setObject(parameterOffset + i + 1, value);
             } catch (SQLException | JsonProcessingException e) {
                 throw new RuntimeException(e);
             }
@@ -90,33 +284,90 @@ public class MySQLVectorStoreQueryProvider extends
      * @throws SKException if the upsert fails
      */
     @Override
-    @SuppressFBWarnings("SQL_PREPARED_STATEMENT_GENERATED_FROM_NONCONSTANT_STRING") // SQL query is generated dynamically with valid identifiers
     public void upsertRecords(String collectionName, List<?> records,
         VectorStoreRecordDefinition recordDefinition, UpsertRecordOptions options) {
+        upsertRecords(collectionName, records, recordDefinition, options,
+            JDBCVectorEncoding.JSON);
+    }
+
+    /**
+     * Upserts records into the collection, storing their vectors with the given encoding.
+     * @param collectionName the collection name
+     * @param records the records to upsert
+     * @param recordDefinition the record definition
+     * @param options the upsert options
+     * @param vectorEncoding the vector encoding the collection was created with
+     * @throws SKException if the upsert fails
+     */
+    @Override
+    public void upsertRecords(String collectionName, List<?> records,
+        VectorStoreRecordDefinition recordDefinition, UpsertRecordOptions options,
+        JDBCVectorEncoding vectorEncoding) {
         List<VectorStoreRecordField> fields = recordDefinition.getAllFields();
 
+        if (!rewriteBatchedStatements) {
+            String query = getCachedQuery(collectionName,
+                () -> getUpsertQuery(collectionName, fields, 1), "upsertRecords",
+                recordDefinition, 1);
+
+            upsertRecordsInChunks(collectionName, records, options,
+                (connection, chunk) -> executeUpsertBatch(connection, query, chunk,
+                    (statement, record, parameterOffset) -> setUpsertStatementValues(statement,
+                        getRecordValues(record, recordDefinition, objectMapper), fields,
+                        parameterOffset, vectorEncoding)));
+            return;
+        }
+
+        upsertRecordsInChunks(collectionName, records, options,
+            (connection, chunk) -> executeMultiRowUpsert(connection, collectionName,
+                recordDefinition, chunk, vectorEncoding));
+    }
+
+    private String getUpsertQuery(String collectionName, List<VectorStoreRecordField> fields,
+        int rows) {
         String onDuplicateKeyUpdate = fields.stream()
             .map(field -> formatQuery("%s = VALUES(%s)",
                 validateSQLidentifier(field.getEffectiveStorageName()),
                 field.getEffectiveStorageName()))
             .collect(Collectors.joining(", "));
+        String row = "(" + getWildcardString(fields.size()) + ")";
 
-        String query = formatQuery("INSERT INTO %s (%s) VALUES (%s) ON DUPLICATE KEY UPDATE %s",
+        return formatQuery("INSERT INTO %s (%s) VALUES %s ON DUPLICATE KEY UPDATE %s",
             getCollectionTableName(collectionName),
             getQueryColumnsFromFields(fields),
-            getWildcardString(fields.size()),
+            String.join(", ", Collections.nCopies(rows, row)),
             onDuplicateKeyUpdate);
+    }
 
-        try (Connection connection = dataSource.getConnection();
-            PreparedStatement statement = connection.prepareStatement(query)) {
-            for (Object record : records) {
-                setUpsertStatementValues(statement, record, recordDefinition.getAllFields());
-                statement.addBatch();
-            }
+    // Sends a chunk as multi-row INSERT statements, which is what Connector/J does for batches
+    // when rewriteBatchedStatements is set, without requiring the data source to set it.
+    // Statements insert a power of two rows, so that chunks of any size share a few cached
+    // statements, at most one per bit of the maximum row count.
+    @SuppressFBWarnings("SQL_PREPARED_STATEMENT_GENERATED_FROM_NONCONSTANT_STRING") // SQL query is generated dynamically with valid identifiers
+    private void executeMultiRowUpsert(Connection connection, String collectionName,
+        VectorStoreRecordDefinition recordDefinition, List<?> chunk,
+        JDBCVectorEncoding vectorEncoding) throws SQLException {
+        List<VectorStoreRecordField> fields = recordDefinition.getAllFields();
+        int maxRowsPerStatement = Integer.highestOneBit(
+            Math.max(1, MAX_STATEMENT_PARAMETERS / fields.size()));
 
-            statement.executeBatch();
-        } catch (SQLException e) {
-            throw new SKException("Failed to upsert records", e);
+        for (int start = 0; start < chunk.size();) {
+            int rowCount = Integer.highestOneBit(
+                Math.min(chunk.size() - start, maxRowsPerStatement));
+            List<?> rows = chunk.subList(start, start + rowCount);
+            start += rowCount;
+            String query = getCachedQuery(collectionName,
+                () -> getUpsertQuery(collectionName, fields, rows.size()), "upsertRecords",
+                recordDefinition, rows.size());
+
+            try (PreparedStatement statement = connection.prepareStatement(query)) {
+                for (int i = 0; i < rows.size(); ++i) {
+                    setUpsertStatementValues(statement,
+                        getRecordValues(rows.get(i), recordDefinition, objectMapper), fields,
+                        i * fields.size(), vectorEncoding);
+                }
+                statement.executeUpdate();
+            }
         }
     }
 
@@ -126,9 +377,12 @@ public class MySQLVectorStoreQueryProvider extends
     public static class Builder
         extends JDBCVectorStoreQueryProvider.Builder {
         private DataSource dataSource;
+        @Nullable
+        private DataSource readDataSource;
         private String collectionsTable = DEFAULT_COLLECTIONS_TABLE;
         private String prefixForCollectionTables = DEFAULT_PREFIX_FOR_COLLECTION_TABLES;
         private ObjectMapper objectMapper = new ObjectMapper();
+        private boolean rewriteBatchedStatements = true;
 
         @SuppressFBWarnings("EI_EXPOSE_REP2")
         public Builder withDataSource(DataSource dataSource) {
@@ -136,6 +390,19 @@ public class MySQLVectorStoreQueryProvider extends
             return this;
         }
 
+        /**
+         * Sets the data source of gets and searches, such as a pool of connections to read
+         * replicas. Defaults to the data source.
+         *
+         * @param readDataSource the data source of gets and searches
+         * @return the builder
+         */
+        @SuppressFBWarnings("EI_EXPOSE_REP2")
+        public Builder withReadDataSource(@Nullable DataSource readDataSource) {
+            this.readDataSource = readDataSource;
+            return this;
+        }
+
         /**
          * Sets the collections table name.
          * @param collectionsTable the collections table name
@@ -167,13 +434,27 @@ public class MySQLVectorStoreQueryProvider extends
             return this;
         }
 
+        /**
+         * Sets whether upserts send each batch of records as multi-row {@code INSERT}
+         * statements, like Connector/J does with the {@code rewriteBatchedStatements} connection
+         * property, instead of a batch of single row statements. This saves a round trip per
+         * record when the data source does not set the property. Defaults to {@code true}.
+         * @param rewriteBatchedStatements whether to rewrite batched statements
+         * @return the builder
+         */
+        public Builder withRewriteBatchedStatements(boolean rewriteBatchedStatements) {
+            this.rewriteBatchedStatements = rewriteBatchedStatements;
+            return this;
+        }
+
         public MySQLVectorStoreQueryProvider build() {
             if (dataSource == null) {
                 throw new SKException("DataSource is required");
             }
 
-            return new MySQLVectorStoreQueryProvider(dataSource, collectionsTable,
-                prefixForCollectionTables, objectMapper);
+            return new MySQLVectorStoreQueryProvider(dataSource, readDataSource,
+                collectionsTable, prefixForCollectionTables, objectMapper,
+                rewriteBatchedStatements);
         }
     }
 }
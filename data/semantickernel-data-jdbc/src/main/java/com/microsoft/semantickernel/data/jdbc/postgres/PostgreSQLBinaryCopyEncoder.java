@@ -0,0 +1,152 @@
+// Copyright (c) Microsoft. All rights reserved.
+package com.microsoft.semantickernel.data.jdbc.postgres;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.time.OffsetDateTime;
+
+/**
+ * Encodes rows in the binary format of the PostgreSQL {@code COPY ... FROM STDIN (FORMAT BINARY)}
+ * command. Values are written in the binary send format of their column type, in network byte
+ * order, so the server stores them without parsing text.
+ */
+final class PostgreSQLBinaryCopyEncoder {
+
+    private static final byte[] SIGNATURE = {
+            'P', 'G', 'C', 'O', 'P', 'Y', '\n', (byte) 0xff, '\r', '\n', 0
+    };
+
+    // Seconds between the Unix epoch and the PostgreSQL epoch, 2000-01-01T00:00:00Z
+    private static final long POSTGRES_EPOCH_SECONDS = 946_684_800L;
+
+    // The version of the binary format of jsonb values
+    private static final int JSONB_VERSION = 1;
+
+    private final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+    private final DataOutputStream out = new DataOutputStream(bytes);
+
+    PostgreSQLBinaryCopyEncoder() {
+        try {
+            out.write(SIGNATURE);
+            // Flags and header extension length
+            out.writeInt(0);
+            out.writeInt(0);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    void startRow(int columns) {
+        try {
+            out.writeShort(columns);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    void writeNull() {
+        try {
+            out.writeInt(-1);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    void writeText(String value) {
+        writeBytes(value.getBytes(StandardCharsets.UTF_8));
+    }
+
+    void writeJsonb(String json) {
+        byte[] text = json.getBytes(StandardCharsets.UTF_8);
+        try {
+            out.writeInt(1 + text.length);
+            out.writeByte(JSONB_VERSION);
+            out.write(text);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    void writeInt4(int value) {
+        try {
+            out.writeInt(Integer.BYTES);
+            out.writeInt(value);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    void writeInt8(long value) {
+        try {
+            out.writeInt(Long.BYTES);
+            out.writeLong(value);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    void writeFloat4(float value) {
+        try {
+            out.writeInt(Float.BYTES);
+            out.writeFloat(value);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    void writeFloat8(double value) {
+        try {
+            out.writeInt(Double.BYTES);
+            out.writeDouble(value);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    void writeBoolean(boolean value) {
+        try {
+            out.writeInt(1);
+            out.writeBoolean(value);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    // timestamptz values are microseconds since the PostgreSQL epoch, in UTC
+    void writeTimestamptz(OffsetDateTime value) {
+        long seconds = value.toEpochSecond() - POSTGRES_EPOCH_SECONDS;
+        writeInt8(seconds * 1_000_000L + value.getNano() / 1_000);
+    }
+
+    // pgvector values are written in the binary format of their receive functions
+    void writeVector(PostgreSQLVectorType vectorType, float[] vector) {
+        writeBytes(PostgreSQLVectors.toBinary(vectorType, vector));
+    }
+
+    private void writeBytes(byte[] value) {
+        try {
+            out.writeInt(value.length);
+            out.write(value);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Writes the trailer and returns the encoded rows.
+     *
+     * @return the data to send to the server
+     */
+    byte[] finish() {
+        try {
+            out.writeShort(-1);
+            out.flush();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return bytes.toByteArray();
+    }
+}
@@ -40,6 +40,15 @@ public enum PostgreSQLVectorDistanceFunction {
         return value;
     }
 
+    /**
+     * Gets the operator class of the distance function for the given vector type.
+     * @param vectorType the vector type
+     * @return the operator class of the distance function
+     */
+    public String getOperatorClass(PostgreSQLVectorType vectorType) {
+        return vectorType.getValue() + value.substring("vector".length());
+    }
+
     /**
      * Gets the operator of the distance function.
      * @return the operator of the distance function
@@ -0,0 +1,131 @@
+// Copyright (c) Microsoft. All rights reserved.
+package com.microsoft.semantickernel.data.jdbc.postgres;
+
+import com.microsoft.semantickernel.exceptions.SKException;
+import org.postgresql.util.PGBinaryObject;
+import org.postgresql.util.PGobject;
+
+import java.sql.SQLException;
+import java.util.Arrays;
+import javax.annotation.Nullable;
+
+/**
+ * A {@code vector}, {@code halfvec} or {@code sparsevec} value of pgvector.
+ * <p>
+ * The value is bound to statements and read from result sets in the binary format of pgvector
+ * when the connection transfers its type in binary, and in the text format otherwise.
+ * {@link PostgreSQLVectorStoreQueryProvider} registers this class for the pgvector types and
+ * enables their binary transfer on the connections it uses. The PostgreSQL JDBC driver only
+ * receives binary results for server-prepared statements, from the {@code prepareThreshold}-th
+ * execution of a statement, or from the first with a {@code prepareThreshold} of -1.
+ */
+public class PostgreSQLVectorObject extends PGobject implements PGBinaryObject {
+
+    private static final long serialVersionUID = 1L;
+
+    @Nullable
+    private float[] vector;
+
+    /**
+     * Creates an empty vector value, used by the JDBC driver to read vectors.
+     */
+    public PostgreSQLVectorObject() {
+        setType(PostgreSQLVectorType.VECTOR.getValue());
+    }
+
+    /**
+     * Creates a vector value.
+     *
+     * @param vectorType the vector type
+     * @param vector     the vector
+     */
+    public PostgreSQLVectorObject(PostgreSQLVectorType vectorType, @Nullable float[] vector) {
+        setType(vectorType.getValue());
+        this.vector = vector == null ? null : vector.clone();
+    }
+
+    /**
+     * Gets the vector.
+     *
+     * @return the vector, or {@code null} if the value is {@code null}
+     */
+    @Nullable
+    public float[] getVector() {
+        return vector == null ? null : vector.clone();
+    }
+
+    private PostgreSQLVectorType getVectorType() {
+        return PostgreSQLVectors.getVectorType(getType());
+    }
+
+    @Override
+    public void setValue(@Nullable String value) throws SQLException {
+        try {
+            vector = value == null ? null : PostgreSQLVectors.parseText(value);
+        } catch (SKException e) {
+            throw new SQLException(e.getMessage(), e);
+        }
+    }
+
+    @Override
+    @Nullable
+    public String getValue() {
+        return vector == null ? null : PostgreSQLVectors.toText(getVectorType(), vector);
+    }
+
+    @Override
+    public boolean isNull() {
+        return vector == null;
+    }
+
+    @Override
+    public void setByteValue(byte[] value, int offset) throws SQLException {
+        try {
+            vector = PostgreSQLVectors.fromBinary(getVectorType(), value, offset);
+        } catch (RuntimeException e) {
+            throw new SQLException("Failed to read " + getType() + " value", e);
+        }
+    }
+
+    @Override
+    public int lengthInBytes() {
+        return vector == null ? 0 : PostgreSQLVectors.binaryLength(getVectorType(), vector);
+    }
+
+    @Override
+    public void toBytes(byte[] bytes, int offset) {
+        if (vector != null) {
+            PostgreSQLVectors.toBinary(getVectorType(), vector, bytes, offset);
+        }
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) {
+            return true;
+        }
+        if (!(obj instanceof PostgreSQLVectorObject)) {
+            return false;
+        }
+        PostgreSQLVectorObject other = (PostgreSQLVectorObject) obj;
+        return getType().equals(other.getType()) && Arrays.equals(vector, other.vector);
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * getType().hashCode() + Arrays.hashCode(vector);
+    }
+
+    @Override
+    public PostgreSQLVectorObject clone() throws CloneNotSupportedException {
+        PostgreSQLVectorObject clone = (PostgreSQLVectorObject) super.clone();
+        clone.vector = vector == null ? null : vector.clone();
+        return clone;
+    }
+
+    @Override
+    public String toString() {
+        String value = getValue();
+        return value == null ? "null" : value;
+    }
+}
@@ -2,16 +2,18 @@
 package com.microsoft.semantickernel.data.jdbc.postgres;
 
 import com.fasterxml.jackson.core.JsonProcessingException;
-import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.microsoft.semantickernel.data.jdbc.JDBCVectorStoreQueryProvider;
+import com.microsoft.semantickernel.data.jdbc.JDBCVectorStoreRecordBinding;
 import com.microsoft.semantickernel.data.jdbc.SQLVectorStoreQueryProvider;
 import com.microsoft.semantickernel.data.filter.AnyTagEqualToFilterClause;
 import com.microsoft.semantickernel.data.filter.EqualToFilterClause;
+import com.microsoft.semantickernel.data.vectorsearch.VectorOperations;
 import com.microsoft.semantickernel.data.vectorsearch.VectorSearchFilter;
 import com.microsoft.semantickernel.data.vectorsearch.VectorSearchResult;
 import com.microsoft.semantickernel.data.vectorsearch.VectorSearchResults;
 import com.microsoft.semantickernel.data.vectorstorage.VectorStoreRecordMapper;
+import com.microsoft.semantickernel.data.vectorstorage.definition.VectorQuantization;
 import com.microsoft.semantickernel.data.vectorstorage.definition.VectorStoreRecordDataField;
 import com.microsoft.semantickernel.data.vectorstorage.definition.VectorStoreRecordDefinition;
 import com.microsoft.semantickernel.data.vectorstorage.definition.VectorStoreRecordField;
@@ -24,7 +26,10 @@ import com.microsoft.semantickernel.exceptions.SKException;
 import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
 
 import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
 import javax.sql.DataSource;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
 import java.sql.Connection;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
@@ -35,9 +40,15 @@ import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.WeakHashMap;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.stream.Collectors;
+import org.postgresql.PGConnection;
+import org.postgresql.core.BaseConnection;
 
 /**
  * The MySQL vector store query provider.
@@ -46,18 +57,67 @@ import java.util.stream.Collectors;
  */
 public class PostgreSQLVectorStoreQueryProvider extends
     JDBCVectorStoreQueryProvider implements SQLVectorStoreQueryProvider {
+    /**
+     * The default number of records from which upserts use {@code COPY}.
+     */
+    public static final int DEFAULT_COPY_THRESHOLD = 1000;
+
+    /**
+     * The default multiplier applied to the number of requested results to get the number of
+     * candidates rescored with full precision when searching binary quantized vector fields.
+     */
+    public static final int DEFAULT_RESCORE_MULTIPLIER = 4;
+
+    /**
+     * The default text search configuration of the full text searchable data fields.
+     */
+    public static final String DEFAULT_TEXT_SEARCH_CONFIGURATION = "english";
+
+    // The generated tsvector column of the full text searchable data fields
+    private static final String TEXT_SEARCH_COLUMN = "sk_text_search";
+
+    // The minimum number of candidates taken from each ranking fused by hybrid search
+    private static final int HYBRID_SEARCH_MIN_CANDIDATES = 50;
+
+    // The default and maximum hnsw.ef_search of pgvector
+    private static final int PGVECTOR_DEFAULT_EF_SEARCH = 40;
+    private static final int PGVECTOR_MAX_EF_SEARCH = 1000;
+
     private final String collectionsTable;
     private final String prefixForCollectionTables;
     private final ObjectMapper objectMapper;
+    private final int copyThreshold;
+    private final PostgreSQLVectorType vectorType;
+    private final Map<String, PostgreSQLVectorType> fieldVectorTypes;
+    private final int hnswM;
+    private final int hnswEfConstruction;
+    private final int ivfFlatLists;
+    private final int rescoreMultiplier;
+    private final String textSearchConfiguration;
+    // Physical connections on which the pgvector types are registered
+    private final Map<BaseConnection, Boolean> registeredConnections = Collections
+        .synchronizedMap(new WeakHashMap<>());
+    // Collections known to have the generated tsvector column
+    private final Set<String> textSearchCollections = ConcurrentHashMap.newKeySet();
 
     @SuppressFBWarnings("EI_EXPOSE_REP2")
     private PostgreSQLVectorStoreQueryProvider(
         @Nonnull DataSource dataSource,
+        @Nullable DataSource readDataSource,
         @Nonnull String collectionsTable,
         @Nonnull String prefixForCollectionTables,
-        @Nonnull ObjectMapper objectMapper) {
+        @Nonnull ObjectMapper objectMapper,
+        int copyThreshold,
+        @Nonnull PostgreSQLVectorType vectorType,
+        @Nonnull Map<String, PostgreSQLVectorType> fieldVectorTypes,
+        int hnswM,
+        int hnswEfConstruction,
+        int ivfFlatLists,
+        int rescoreMultiplier,
+        @Nonnull String textSearchConfiguration) {
         super(
             dataSource,
+            readDataSource,
             collectionsTable,
             prefixForCollectionTables,
             buildSupportedKeyTypes(),
@@ -66,6 +126,14 @@ public class PostgreSQLVectorStoreQueryProvider extends
         this.collectionsTable = collectionsTable;
         this.prefixForCollectionTables = prefixForCollectionTables;
         this.objectMapper = objectMapper;
+        this.copyThreshold = copyThreshold;
+        this.vectorType = vectorType;
+        this.fieldVectorTypes = new HashMap<>(fieldVectorTypes);
+        this.hnswM = hnswM;
+        this.hnswEfConstruction = hnswEfConstruction;
+        this.ivfFlatLists = ivfFlatLists;
+        this.rescoreMultiplier = rescoreMultiplier;
+        this.textSearchConfiguration = textSearchConfiguration;
     }
 
     private static Map<Class<?>, String> buildSupportedVectorTypes() {
@@ -129,6 +197,22 @@ public class PostgreSQLVectorStoreQueryProvider extends
         }
     }
 
+    // undefined_table
+    @Override
+    protected boolean isTableNotFound(SQLException e) {
+        return "42P01".equals(e.getSQLState());
+    }
+
+    private PostgreSQLVectorType getVectorType(VectorStoreRecordVectorField field) {
+        return fieldVectorTypes.getOrDefault(field.getEffectiveStorageName(), vectorType);
+    }
+
+    // Binary quantized vector fields are indexed and searched by the sign bits of their vectors
+    private static boolean isBinaryQuantized(VectorStoreRecordVectorField field) {
+        return field.getQuantization() == VectorQuantization.BINARY
+            && !field.getFieldType().equals(String.class);
+    }
+
     private String getColumnNamesAndTypesForVectorFields(
         List<VectorStoreRecordVectorField> fields) {
         return fields.stream()
@@ -138,8 +222,7 @@ public class PostgreSQLVectorStoreQueryProvider extends
                     columnType = supportedVectorTypes.get(String.class);
                 } else {
                     // Get the vector type and dimensions
-                    columnType = String.format(supportedVectorTypes.get(field.getFieldType()),
-                        field.getDimensions());
+                    columnType = getVectorType(field).getColumnType(field.getDimensions());
                 }
                 return validateSQLidentifier(field.getEffectiveStorageName()) + " " + columnType;
             })
@@ -163,12 +246,42 @@ public class PostgreSQLVectorStoreQueryProvider extends
                 "Distance function is required for vector field: " + vectorField.getName());
         }
 
-        return formatQuery("CREATE INDEX IF NOT EXISTS %s ON %s USING %s (%s %s);",
+        PostgreSQLVectorType fieldVectorType = getVectorType(vectorField);
+        if (fieldVectorType == PostgreSQLVectorType.SPARSEVEC
+            && (indexKind != PostgreSQLVectorIndexKind.HNSW || isBinaryQuantized(vectorField))) {
+            throw new SKException("Sparse vector field " + vectorField.getName()
+                + " only supports HNSW indexes without quantization");
+        }
+
+        String column = validateSQLidentifier(vectorField.getEffectiveStorageName());
+        String indexedExpression;
+        if (isBinaryQuantized(vectorField)) {
+            // Index the sign bits of the vectors, searches rescore the candidates
+            indexedExpression = formatQuery("(binary_quantize(%s)::bit(%s)) bit_hamming_ops",
+                column, String.valueOf(vectorField.getDimensions()));
+        } else {
+            indexedExpression = column + " "
+                + distanceFunction.getOperatorClass(fieldVectorType);
+        }
+
+        List<String> parameters = new ArrayList<>();
+        if (indexKind == PostgreSQLVectorIndexKind.HNSW) {
+            if (hnswM > 0) {
+                parameters.add("m = " + hnswM);
+            }
+            if (hnswEfConstruction > 0) {
+                parameters.add("ef_construction = " + hnswEfConstruction);
+            }
+        } else if (indexKind == PostgreSQLVectorIndexKind.IVFFLAT && ivfFlatLists > 0) {
+            parameters.add("lists = " + ivfFlatLists);
+        }
+
+        return formatQuery("CREATE INDEX IF NOT EXISTS %s ON %s USING %s (%s)%s;",
             getCollectionTableName(collectionName) + "_index",
             getCollectionTableName(collectionName),
             indexKind.getValue(),
-            vectorField.getEffectiveStorageName(),
-            distanceFunction.getValue());
+            indexedExpression,
+            parameters.isEmpty() ? "" : " WITH (" + String.join(", ", parameters) + ")");
     }
 
     /**
@@ -187,6 +300,8 @@ public class PostgreSQLVectorStoreQueryProvider extends
         VectorStoreRecordDefinition recordDefinition) {
 
         List<VectorStoreRecordVectorField> vectorFields = recordDefinition.getVectorFields();
+        List<VectorStoreRecordDataField> textFields = getFullTextSearchableFields(
+            recordDefinition);
 
         try (Connection connection = dataSource.getConnection();
             Statement createTableAndIndexes = connection.createStatement()) {
@@ -194,14 +309,18 @@ public class PostgreSQLVectorStoreQueryProvider extends
             String createStorageTable = formatQuery("CREATE TABLE IF NOT EXISTS %s ("
                 + "%s VARCHAR(255) PRIMARY KEY, "
                 + "%s, "
-                + "%s);",
+                + "%s%s);",
                 getCollectionTableName(collectionName),
                 getKeyColumnName(recordDefinition.getKeyField()),
                 getColumnNamesAndTypes(new ArrayList<>(recordDefinition.getDataFields()),
                     supportedDataTypes),
-                getColumnNamesAndTypesForVectorFields(recordDefinition.getVectorFields()));
+                getColumnNamesAndTypesForVectorFields(recordDefinition.getVectorFields()),
+                textFields.isEmpty() ? "" : ", " + getTextSearchColumn(textFields));
 
             createTableAndIndexes.addBatch(createStorageTable);
+            if (!textFields.isEmpty()) {
+                createTableAndIndexes.addBatch(getTextSearchIndex(collectionName));
+            }
             for (VectorStoreRecordVectorField vectorField : vectorFields) {
                 String createVectorIndex = createIndexForVectorField(collectionName, vectorField);
 
@@ -225,33 +344,86 @@ public class PostgreSQLVectorStoreQueryProvider extends
         } catch (SQLException e) {
             throw new SKException("Failed to insert collection", e);
         }
+        setCollectionExists(collectionName, true);
+        if (!textFields.isEmpty()) {
+            textSearchCollections.add(collectionName);
+        }
     }
 
-    private void setUpsertStatementValues(PreparedStatement statement, Object record,
-        List<VectorStoreRecordField> fields) {
-        JsonNode jsonNode = objectMapper.valueToTree(record);
+    @Override
+    protected void setCollectionExists(String collectionName, boolean exists) {
+        super.setCollectionExists(collectionName, exists);
+        if (!exists) {
+            textSearchCollections.remove(collectionName);
+        }
+    }
+
+    private String getTextSearchIndex(String collectionName) {
+        return formatQuery("CREATE INDEX IF NOT EXISTS %s ON %s USING GIN (%s);",
+            getCollectionTableName(collectionName) + "_text_index",
+            getCollectionTableName(collectionName),
+            TEXT_SEARCH_COLUMN);
+    }
+
+    // Collections created before their data fields were full text searchable, or by an earlier
+    // version, lack the tsvector column. It is added, with its index, before their first hybrid
+    // search, which rewrites the table.
+    @SuppressFBWarnings("SQL_NONCONSTANT_STRING_PASSED_TO_EXECUTE") // SQL query is generated dynamically with valid identifiers
+    private void addTextSearchColumn(String collectionName,
+        List<VectorStoreRecordDataField> textFields) {
+        if (textSearchCollections.contains(collectionName)) {
+            return;
+        }
+
+        try (Connection connection = dataSource.getConnection();
+            Statement statement = connection.createStatement()) {
+            statement.addBatch(formatQuery("ALTER TABLE %s ADD COLUMN IF NOT EXISTS %s;",
+                getCollectionTableName(collectionName), getTextSearchColumn(textFields)));
+            statement.addBatch(getTextSearchIndex(collectionName));
+            statement.executeBatch();
+        } catch (SQLException e) {
+            checkCollectionTableExists(collectionName, e);
+            throw new SKException("Failed to add the full text search column to collection "
+                + collectionName + ", generated columns require PostgreSQL 12 or later", e);
+        }
+        textSearchCollections.add(collectionName);
+    }
+
+    // The full text searchable data fields are indexed in a tsvector column generated from their
+    // concatenated values, so that upserts keep it up to date
+    private String getTextSearchColumn(List<VectorStoreRecordDataField> textFields) {
+        String document = textFields.stream()
+            .map(field -> formatQuery("coalesce(%s, '')",
+                validateSQLidentifier(field.getEffectiveStorageName())))
+            .collect(Collectors.joining(" || ' ' || "));
+        return formatQuery(
+            "%s tsvector GENERATED ALWAYS AS (to_tsvector('%s'::regconfig, %s)) STORED",
+            TEXT_SEARCH_COLUMN, textSearchConfiguration, document);
+    }
 
+    private void setUpsertStatementValues(PreparedStatement statement, Object[] values,
+        List<VectorStoreRecordField> fields) {
         for (int i = 0; i < fields.size(); ++i) {
             VectorStoreRecordField field = fields.get(i);
+            Object value = values[i];
             try {
-                JsonNode valueNode = jsonNode.get(field.getEffectiveStorageName());
-
                 if (field instanceof VectorStoreRecordVectorField) {
-                    // Convert the vector field to a string
                     if (!field.getFieldType().equals(String.class)) {
-                        statement.setObject(i + 1, objectMapper.writeValueAsString(valueNode));
+                        // Bind the vector field as a value of its pgvector type
+                        statement.setObject(i + 1, new PostgreSQLVectorObject(
+                            getVectorType((VectorStoreRecordVectorField) field),
+                            JDBCVectorStoreRecordBinding.toVector(value)));
                         continue;
                     }
                 } else if (field instanceof VectorStoreRecordDataField) {
                     // Convert List field to a string
                     if (field.getFieldType().equals(List.class)) {
-                        statement.setObject(i + 1, objectMapper.writeValueAsString(valueNode));
+                        statement.setObject(i + 1, objectMapper.writeValueAsString(value));
                         continue;
                     }
                 }
 
-                statement.setObject(i + 1,
-                    objectMapper.convertValue(valueNode, field.getFieldType()));
+                statement.setObject(i + 1, value);
             } catch (SQLException | JsonProcessingException e) {
                 throw new RuntimeException(e);
             }
@@ -263,8 +435,10 @@ public class PostgreSQLVectorStoreQueryProvider extends
             .map(field -> {
                 String wildcard = "?";
                 // Add casting for vector fields
-                if (field instanceof VectorStoreRecordVectorField) {
-                    wildcard += "::vector";
+                if (field instanceof VectorStoreRecordVectorField
+                    && !field.getFieldType().equals(String.class)) {
+                    wildcard += "::"
+                        + getVectorType((VectorStoreRecordVectorField) field).getValue();
                 }
                 if (field instanceof VectorStoreRecordDataField) {
                     // Add casting for List fields
@@ -278,7 +452,8 @@ public class PostgreSQLVectorStoreQueryProvider extends
     }
 
     /**
-     * Upserts records into the collection.
+     * Upserts records into the collection. Upserts of at least the COPY threshold of records
+     * copy each batch into a staging table with {@code COPY ... FROM STDIN (FORMAT BINARY)}.
      * @param collectionName the collection name
      * @param records the records to upsert
      * @param recordDefinition the record definition
@@ -286,37 +461,135 @@ public class PostgreSQLVectorStoreQueryProvider extends
      * @throws SKException if the upsert fails
      */
     @Override
-    @SuppressFBWarnings("SQL_PREPARED_STATEMENT_GENERATED_FROM_NONCONSTANT_STRING") // SQL query is generated dynamically with valid identifiers
     public void upsertRecords(String collectionName, List<?> records,
         VectorStoreRecordDefinition recordDefinition, UpsertRecordOptions options) {
-        validateSQLidentifier(getCollectionTableName(collectionName));
         List<VectorStoreRecordField> fields = recordDefinition.getAllFields();
 
-        String onDuplicateKeyUpdate = fields.stream()
+        if (copyThreshold > 0 && records.size() >= copyThreshold) {
+            String stagingTable = validateSQLidentifier(
+                "sk_staging_" + getCollectionTableName(collectionName));
+            String mergeQuery = getCachedQuery(collectionName,
+                () -> formatQuery("INSERT INTO %s (%s) SELECT %s FROM %s %s",
+                    getCollectionTableName(collectionName),
+                    getQueryColumnsFromFields(fields),
+                    getQueryColumnsFromFields(fields),
+                    stagingTable,
+                    getOnConflictClause(recordDefinition)),
+                "copyUpsertRecords", recordDefinition);
+
+            upsertRecordsInChunks(collectionName, records, options,
+                (connection, chunk) -> copyUpsert(connection,
+                    getCollectionTableName(collectionName), stagingTable, mergeQuery,
+                    recordDefinition, chunk));
+            return;
+        }
+
+        String query = getCachedQuery(collectionName,
+            () -> formatQuery("INSERT INTO %s (%s) VALUES (%s) %s",
+                getCollectionTableName(collectionName),
+                getQueryColumnsFromFields(fields),
+                getWildcardStringWithCast(fields),
+                getOnConflictClause(recordDefinition)),
+            "upsertRecords", recordDefinition);
+
+        upsertRecordsInChunks(collectionName, records, options,
+            (connection, chunk) -> {
+                registerVectorTypes(connection);
+                executeUpsertBatch(connection, query, chunk,
+                    (statement, record, parameterOffset) -> setUpsertStatementValues(statement,
+                        getRecordValues(record, recordDefinition, objectMapper), fields));
+            });
+    }
+
+    private String getOnConflictClause(VectorStoreRecordDefinition recordDefinition) {
+        String updates = recordDefinition.getAllFields().stream()
             .filter(field -> !(field instanceof VectorStoreRecordKeyField)) // Exclude key fields
             .map(field -> formatQuery("%s = EXCLUDED.%s",
                 validateSQLidentifier(field.getEffectiveStorageName()),
                 field.getEffectiveStorageName()))
             .collect(Collectors.joining(", "));
 
-        String query = formatQuery(
-            "INSERT INTO %s (%s) VALUES (%s) ON CONFLICT (%s) DO UPDATE SET %s",
-            getCollectionTableName(collectionName),
-            getQueryColumnsFromFields(fields),
-            getWildcardStringWithCast(fields),
-            getKeyColumnName(recordDefinition.getKeyField()),
-            onDuplicateKeyUpdate);
+        return formatQuery("ON CONFLICT (%s) DO UPDATE SET %s",
+            getKeyColumnName(recordDefinition.getKeyField()), updates);
+    }
 
-        try (Connection connection = dataSource.getConnection();
-            PreparedStatement statement = connection.prepareStatement(query)) {
-            for (Object record : records) {
-                setUpsertStatementValues(statement, record, recordDefinition.getAllFields());
-                statement.addBatch();
+    // Copies a chunk into a temporary staging table in the binary COPY format, then merges the
+    // staging table into the collection table. The staging table is dropped on commit.
+    @SuppressFBWarnings("SQL_NONCONSTANT_STRING_PASSED_TO_EXECUTE") // SQL query is generated dynamically with valid identifiers
+    private void copyUpsert(Connection connection, String tableName, String stagingTable,
+        String mergeQuery, VectorStoreRecordDefinition recordDefinition, List<?> chunk)
+        throws SQLException {
+        List<VectorStoreRecordField> fields = recordDefinition.getAllFields();
+        int keyIndex = fields.indexOf(recordDefinition.getKeyField());
+
+        // A single INSERT ... ON CONFLICT cannot update a row twice, keep the last record by key
+        Map<Object, Object[]> rows = new LinkedHashMap<>();
+        for (Object record : chunk) {
+            Object[] values = getRecordValues(record, recordDefinition, objectMapper);
+            rows.put(values[keyIndex], values);
+        }
+
+        PostgreSQLBinaryCopyEncoder encoder = new PostgreSQLBinaryCopyEncoder();
+        for (Object[] values : rows.values()) {
+            encoder.startRow(fields.size());
+            for (int i = 0; i < fields.size(); ++i) {
+                writeCopyValue(encoder, fields.get(i), values[i]);
             }
+        }
 
-            statement.executeBatch();
-        } catch (SQLException e) {
-            throw new SKException("Failed to upsert records", e);
+        try (Statement statement = connection.createStatement()) {
+            statement.execute(formatQuery(
+                "CREATE TEMPORARY TABLE IF NOT EXISTS %s (LIKE %s INCLUDING DEFAULTS) ON COMMIT DROP",
+                stagingTable, tableName));
+        }
+        try {
+            connection.unwrap(PGConnection.class).getCopyAPI().copyIn(
+                formatQuery("COPY %s (%s) FROM STDIN (FORMAT BINARY)",
+                    stagingTable, getQueryColumnsFromFields(fields)),
+                new ByteArrayInputStream(encoder.finish()));
+        } catch (IOException e) {
+            throw new SQLException("Failed to copy records", e);
+        }
+        try (Statement statement = connection.createStatement()) {
+            statement.execute(mergeQuery);
+            statement.execute(formatQuery("TRUNCATE %s", stagingTable));
+        }
+    }
+
+    private void writeCopyValue(PostgreSQLBinaryCopyEncoder encoder, VectorStoreRecordField field,
+        @Nullable Object value) {
+        if (value == null) {
+            encoder.writeNull();
+            return;
+        }
+
+        Class<?> fieldType = field.getFieldType();
+        if (field instanceof VectorStoreRecordVectorField && !fieldType.equals(String.class)) {
+            encoder.writeVector(getVectorType((VectorStoreRecordVectorField) field),
+                JDBCVectorStoreRecordBinding.toVector(value));
+        } else if (fieldType.equals(List.class)) {
+            try {
+                encoder.writeJsonb(objectMapper.writeValueAsString(value));
+            } catch (JsonProcessingException e) {
+                throw new SKException("Failed to serialize field " + field.getName(), e);
+            }
+        } else if (fieldType.equals(String.class)) {
+            encoder.writeText(value.toString());
+        } else if (fieldType.equals(Integer.class) || fieldType.equals(int.class)) {
+            encoder.writeInt4(((Number) value).intValue());
+        } else if (fieldType.equals(Long.class) || fieldType.equals(long.class)) {
+            encoder.writeInt8(((Number) value).longValue());
+        } else if (fieldType.equals(Float.class) || fieldType.equals(float.class)) {
+            encoder.writeFloat4(((Number) value).floatValue());
+        } else if (fieldType.equals(Double.class) || fieldType.equals(double.class)) {
+            encoder.writeFloat8(((Number) value).doubleValue());
+        } else if (fieldType.equals(Boolean.class) || fieldType.equals(boolean.class)) {
+            encoder.writeBoolean((Boolean) value);
+        } else if (fieldType.equals(OffsetDateTime.class)) {
+            encoder.writeTimestamptz((OffsetDateTime) value);
+        } else {
+            throw new SKException("Unsupported field type " + fieldType.getName()
+                + " for field " + field.getName());
         }
     }
 
@@ -343,74 +616,346 @@ public class PostgreSQLVectorStoreQueryProvider extends
             throw new SKException("No vector fields defined. Cannot perform vector search");
         }
 
-        VectorStoreRecordVectorField firstVectorField = recordDefinition.getVectorFields()
-            .get(0);
         if (options == null) {
-            options = VectorSearchOptions.createDefault(firstVectorField.getName());
+            options = VectorSearchOptions.createDefault(
+                recordDefinition.getVectorFields().get(0).getName());
         }
+        VectorStoreRecordVectorField vectorField = getSearchVectorField(options,
+            recordDefinition);
+        PostgreSQLVectorIndexKind indexKind = PostgreSQLVectorIndexKind
+            .fromIndexKind(vectorField.getIndexKind());
+
+        String filter = getFilter(options.getVectorSearchFilter(), recordDefinition);
+        List<Object> parameters = getFilterParameters(options.getVectorSearchFilter());
+
+        boolean includeVectors = options.isIncludeVectors();
+        boolean quantized = isBinaryQuantized(vectorField);
+        PostgreSQLVectorType fieldVectorType = getVectorType(vectorField);
+        String searchQuery = getCachedQuery(collectionName,
+            () -> {
+                String scoredRecords = formatQuery("SELECT %s, %s %s ?::%s AS score FROM %s %s",
+                    getQueryColumnsFromFields(
+                        includeVectors ? recordDefinition.getAllFields()
+                            : recordDefinition.getNonVectorFields()),
+                    validateSQLidentifier(vectorField.getEffectiveStorageName()),
+                    getDistanceOperator(vectorField),
+                    fieldVectorType.getValue(),
+                    getCollectionTableName(collectionName),
+                    filter.isEmpty() ? "" : "WHERE " + filter);
+                if (!quantized) {
+                    return scoredRecords + " ORDER BY score LIMIT ? OFFSET ?";
+                }
+                // Find candidates by the Hamming distance of the sign bits, then rescore them
+                return formatQuery(
+                    "SELECT * FROM (%s ORDER BY binary_quantize(%s)::bit(%s) <~> binary_quantize(?::%s) LIMIT ?) candidates ORDER BY score LIMIT ? OFFSET ?",
+                    scoredRecords,
+                    validateSQLidentifier(vectorField.getEffectiveStorageName()),
+                    String.valueOf(vectorField.getDimensions()),
+                    fieldVectorType.getValue());
+            },
+            "search", recordDefinition, includeVectors, vectorField.getEffectiveStorageName(),
+            filter);
+
+        int limit = options.getTop() + options.getSkip();
+        int candidates = quantized ? limit * rescoreMultiplier : limit;
+        PostgreSQLVectorObject queryVector = new PostgreSQLVectorObject(fieldVectorType,
+            VectorOperations.toFloatArray(vector));
+        VectorSearchOptions searchOptions = options;
+
+        return executeSearch(collectionName, searchQuery, indexKind, candidates, searchOptions,
+            mapper,
+            statement -> {
+                int parameterIndex = 1;
+
+                statement.setObject(parameterIndex++, queryVector);
+                for (Object parameter : parameters) {
+                    statement.setObject(parameterIndex++, parameter);
+                }
+                if (quantized) {
+                    statement.setObject(parameterIndex++, queryVector);
+                    statement.setInt(parameterIndex++, candidates);
+                }
+                statement.setInt(parameterIndex++, searchOptions.getTop());
+                statement.setInt(parameterIndex, searchOptions.getSkip());
+            });
+    }
+
+    /**
+     * Hybrid search.
+     * Ranks the records matching the search text in the generated {@code tsvector} column of the
+     * full text searchable data fields by {@code ts_rank_cd}, and the nearest records to the
+     * vector by distance, then fuses both rankings with reciprocal rank fusion in a single query.
+     * The score of each result is the sum of {@code 1 / (60 + rank)} over the rankings the record
+     * appears in, so higher scores are better. Searches with only a text or only a vector score
+     * their single ranking the same way, rather than with the distances returned by vector search.
+     * <p>
+     * The generated column is added to collections created without it before their first search
+     * with a text, which rewrites the table.
+     *
+     * @param <Record> the record type
+     * @param collectionName the collection name
+     * @param searchText the text to search with, or {@code null} to only search with the vector
+     * @param vector the vector to search with, or {@code null} to only search with the text
+     * @param options the search options
+     * @param recordDefinition the record definition
+     * @param mapper the mapper, responsible for mapping the result set to the record type.
+     * @return the search results
+     */
+    @Override
+    public <Record> VectorSearchResults<Record> hybridSearch(String collectionName,
+        @Nullable String searchText, @Nullable List<Float> vector, VectorSearchOptions options,
+        VectorStoreRecordDefinition recordDefinition,
+        VectorStoreRecordMapper<Record, ResultSet> mapper) {
+        if (searchText == null && vector == null) {
+            throw new SKException("A search text or a vector is required");
+        }
+        List<VectorStoreRecordDataField> textFields = getFullTextSearchableFields(
+            recordDefinition);
+        if (searchText != null && textFields.isEmpty()) {
+            throw new SKException(
+                "No full text searchable data fields defined. Cannot perform hybrid search");
+        }
+        if (vector != null && recordDefinition.getVectorFields().isEmpty()) {
+            throw new SKException("No vector fields defined. Cannot perform vector search");
+        }
+
+        if (options == null) {
+            options = vector == null ? VectorSearchOptions.builder().build()
+                : VectorSearchOptions.createDefault(
+                    recordDefinition.getVectorFields().get(0).getName());
+        }
+        VectorStoreRecordVectorField vectorField = vector == null ? null
+            : getSearchVectorField(options, recordDefinition);
+        boolean textSearch = searchText != null;
+        if (textSearch) {
+            addTextSearchColumn(collectionName, textFields);
+        }
+
+        String filter = getFilter(options.getVectorSearchFilter(), recordDefinition);
+        List<Object> parameters = getFilterParameters(options.getVectorSearchFilter());
+
+        boolean includeVectors = options.isIncludeVectors();
+        String searchQuery = getCachedQuery(collectionName,
+            () -> {
+                String tableName = getCollectionTableName(collectionName);
+                String keyColumn = getKeyColumnName(recordDefinition.getKeyField());
+                List<String> rankings = new ArrayList<>();
+                if (vectorField != null) {
+                    String vectorColumn = validateSQLidentifier(
+                        vectorField.getEffectiveStorageName());
+                    rankings.add(formatQuery(
+                        "vector_ranks AS (SELECT %s AS sk_id, ROW_NUMBER() OVER (ORDER BY sk_distance) AS sk_rank FROM (SELECT %s, %s %s ?::%s AS sk_distance FROM %s %s ORDER BY sk_distance LIMIT ?) nearest)",
+                        keyColumn, keyColumn, vectorColumn,
+                        getDistanceOperator(vectorField),
+                        getVectorType(vectorField).getValue(),
+                        tableName,
+                        filter.isEmpty() ? "" : "WHERE " + filter));
+                }
+                if (textSearch) {
+                    rankings.add(formatQuery(
+                        "text_ranks AS (SELECT %s AS sk_id, ROW_NUMBER() OVER (ORDER BY sk_text_rank DESC) AS sk_rank FROM (SELECT %s, ts_rank_cd(%s, sk_query) AS sk_text_rank FROM %s, websearch_to_tsquery('%s'::regconfig, ?) sk_query WHERE %s @@ sk_query %s ORDER BY sk_text_rank DESC LIMIT ?) matches)",
+                        keyColumn, keyColumn, TEXT_SEARCH_COLUMN, tableName,
+                        textSearchConfiguration, TEXT_SEARCH_COLUMN,
+                        filter.isEmpty() ? "" : "AND " + filter));
+                }
+                if (vectorField != null && textSearch) {
+                    rankings.add(
+                        "fused_ranks AS (SELECT COALESCE(v.sk_id, t.sk_id) AS sk_id, COALESCE(1.0 / (60 + v.sk_rank), 0) + COALESCE(1.0 / (60 + t.sk_rank), 0) AS sk_score FROM vector_ranks v FULL OUTER JOIN text_ranks t ON v.sk_id = t.sk_id)");
+                } else {
+                    rankings.add(formatQuery(
+                        "fused_ranks AS (SELECT sk_id, 1.0 / (60 + sk_rank) AS sk_score FROM %s)",
+                        textSearch ? "text_ranks" : "vector_ranks"));
+                }
+
+                return formatQuery(
+                    "WITH %s SELECT %s, fused_ranks.sk_score AS score FROM %s JOIN fused_ranks ON %s.%s = fused_ranks.sk_id ORDER BY score DESC LIMIT ? OFFSET ?",
+                    String.join(", ", rankings),
+                    getQueryColumnsFromFields(
+                        includeVectors ? recordDefinition.getAllFields()
+                            : recordDefinition.getNonVectorFields()),
+                    tableName, tableName, keyColumn);
+            },
+            "hybridSearch", recordDefinition, includeVectors, textSearch,
+            vectorField == null ? null : vectorField.getEffectiveStorageName(), filter);
 
+        // Each ranking takes enough candidates for the requested page
+        int candidates = Math.max(options.getTop() + options.getSkip(),
+            HYBRID_SEARCH_MIN_CANDIDATES);
+        PostgreSQLVectorObject queryVector = vectorField == null ? null
+            : new PostgreSQLVectorObject(getVectorType(vectorField),
+                VectorOperations.toFloatArray(vector));
+        VectorSearchOptions searchOptions = options;
+
+        return executeSearch(collectionName, searchQuery,
+            vectorField == null ? PostgreSQLVectorIndexKind.UNDEFINED
+                : PostgreSQLVectorIndexKind.fromIndexKind(vectorField.getIndexKind()),
+            candidates, searchOptions, mapper,
+            statement -> {
+                int parameterIndex = 1;
+
+                if (queryVector != null) {
+                    statement.setObject(parameterIndex++, queryVector);
+                    for (Object parameter : parameters) {
+                        statement.setObject(parameterIndex++, parameter);
+                    }
+                    statement.setInt(parameterIndex++, candidates);
+                }
+                if (textSearch) {
+                    statement.setString(parameterIndex++, searchText);
+                    for (Object parameter : parameters) {
+                        statement.setObject(parameterIndex++, parameter);
+                    }
+                    statement.setInt(parameterIndex++, candidates);
+                }
+                statement.setInt(parameterIndex++, searchOptions.getTop());
+                statement.setInt(parameterIndex, searchOptions.getSkip());
+            });
+    }
+
+    private VectorStoreRecordVectorField getSearchVectorField(VectorSearchOptions options,
+        VectorStoreRecordDefinition recordDefinition) {
         VectorStoreRecordVectorField vectorField = options.getVectorFieldName() == null
-            ? firstVectorField
+            ? recordDefinition.getVectorFields().get(0)
             : (VectorStoreRecordVectorField) recordDefinition
                 .getField(options.getVectorFieldName());
 
-        PostgreSQLVectorIndexKind indexKind = PostgreSQLVectorIndexKind
-            .fromIndexKind(vectorField.getIndexKind());
-        PostgreSQLVectorDistanceFunction distanceFunction = PostgreSQLVectorDistanceFunction
-            .fromDistanceFunction(vectorField.getDistanceFunction());
-
         // If there is no approximate search index associated to the vector field,
         // there is no index defined in the database and pgvector performs exact nearest neighbor search.
         // If indexKind is defined, distance function is required.
-        if (indexKind != PostgreSQLVectorIndexKind.UNDEFINED
-            && distanceFunction == PostgreSQLVectorDistanceFunction.UNDEFINED) {
+        if (PostgreSQLVectorIndexKind
+            .fromIndexKind(vectorField.getIndexKind()) != PostgreSQLVectorIndexKind.UNDEFINED
+            && PostgreSQLVectorDistanceFunction.fromDistanceFunction(
+                vectorField.getDistanceFunction()) == PostgreSQLVectorDistanceFunction.UNDEFINED) {
             throw new SKException(
                 "Distance function is required for vector field: " + vectorField.getName());
         }
+        return vectorField;
+    }
 
-        String filter = getFilter(options.getVectorSearchFilter(), recordDefinition);
-        List<Object> parameters = getFilterParameters(options.getVectorSearchFilter());
+    private static String getDistanceOperator(VectorStoreRecordVectorField vectorField) {
+        PostgreSQLVectorDistanceFunction distanceFunction = PostgreSQLVectorDistanceFunction
+            .fromDistanceFunction(vectorField.getDistanceFunction());
+        return distanceFunction == PostgreSQLVectorDistanceFunction.UNDEFINED
+            ? PostgreSQLVectorDistanceFunction.L2.getOperator()
+            : distanceFunction.getOperator();
+    }
 
-        String filterClause = filter.isEmpty() ? "" : "WHERE " + filter;
-        String searchQuery = formatQuery(
-            "SELECT %s, %s %s ?::vector AS score FROM %s %s ORDER BY score LIMIT ? OFFSET ?",
-            getQueryColumnsFromFields(
-                options.isIncludeVectors() ? recordDefinition.getAllFields()
-                    : recordDefinition.getNonVectorFields()),
-            validateSQLidentifier(vectorField.getEffectiveStorageName()),
-            distanceFunction == null ? PostgreSQLVectorDistanceFunction.L2.getOperator()
-                : distanceFunction.getOperator(),
-            getCollectionTableName(collectionName),
-            filterClause);
+    private static List<VectorStoreRecordDataField> getFullTextSearchableFields(
+        VectorStoreRecordDefinition recordDefinition) {
+        return recordDefinition.getDataFields().stream()
+            .filter(field -> field.isFullTextSearchable()
+                && field.getFieldType().equals(String.class))
+            .collect(Collectors.toList());
+    }
 
-        try (Connection connection = dataSource.getConnection();
-            PreparedStatement statement = connection.prepareStatement(searchQuery)) {
-            int parameterIndex = 1;
+    // Binds the parameters of a search query
+    @FunctionalInterface
+    private interface SearchStatementBinder {
+        void bind(PreparedStatement statement) throws SQLException;
+    }
 
-            statement.setString(parameterIndex++,
-                objectMapper.writeValueAsString(vector));
-            for (Object parameter : parameters) {
-                statement.setObject(parameterIndex++, parameter);
-            }
-            statement.setInt(parameterIndex++, options.getTop());
-            statement.setInt(parameterIndex, options.getSkip());
+    // Executes a search query, with the index search parameters set for its transaction
+    private <Record> VectorSearchResults<Record> executeSearch(String collectionName,
+        String searchQuery, PostgreSQLVectorIndexKind indexKind, int candidates,
+        VectorSearchOptions options, VectorStoreRecordMapper<Record, ResultSet> mapper,
+        SearchStatementBinder binder) {
+        // An HNSW index returns at most hnsw.ef_search rows
+        int efSearch = 0;
+        if (indexKind == PostgreSQLVectorIndexKind.HNSW
+            && (options.getEfSearch() > 0 || candidates > PGVECTOR_DEFAULT_EF_SEARCH)) {
+            efSearch = Math.min(PGVECTOR_MAX_EF_SEARCH,
+                Math.max(options.getEfSearch(), candidates));
+        }
+        int probes = indexKind == PostgreSQLVectorIndexKind.IVFFLAT ? options.getProbes() : 0;
 
-            List<VectorSearchResult<Record>> records = new ArrayList<>();
-            ResultSet resultSet = statement.executeQuery();
+        try (Connection connection = readDataSource.getConnection()) {
+            registerVectorTypes(connection);
 
-            while (resultSet.next()) {
-                records.add(new VectorSearchResult<>(
-                    mapper.mapStorageModelToRecord(resultSet,
-                        new GetRecordOptions(options.isIncludeVectors())),
-                    resultSet.getDouble("score")));
+            // Index search parameters are set for the transaction of the search only
+            boolean setSearchParameters = efSearch > 0 || probes > 0;
+            boolean autoCommit = connection.getAutoCommit();
+            if (setSearchParameters) {
+                connection.setAutoCommit(false);
             }
+            try {
+                if (efSearch > 0) {
+                    setLocalParameter(connection, "hnsw.ef_search", efSearch);
+                }
+                if (probes > 0) {
+                    setLocalParameter(connection, "ivfflat.probes", probes);
+                }
 
-            return new VectorSearchResults<>(records);
-        } catch (SQLException | JsonProcessingException e) {
+                List<VectorSearchResult<Record>> records = new ArrayList<>();
+                try (PreparedStatement statement = connection.prepareStatement(searchQuery)) {
+                    binder.bind(statement);
+
+                    try (ResultSet resultSet = statement.executeQuery()) {
+                        while (resultSet.next()) {
+                            records.add(new VectorSearchResult<>(
+                                mapper.mapStorageModelToRecord(resultSet,
+                                    new GetRecordOptions(options.isIncludeVectors())),
+                                resultSet.getDouble("score")));
+                        }
+                    }
+                }
+                if (setSearchParameters) {
+                    connection.commit();
+                }
+                return new VectorSearchResults<>(records);
+            } catch (SQLException | RuntimeException e) {
+                if (setSearchParameters) {
+                    connection.rollback();
+                }
+                throw e;
+            } finally {
+                if (setSearchParameters) {
+                    connection.setAutoCommit(autoCommit);
+                }
+            }
+        } catch (SQLException e) {
+            checkCollectionTableExists(collectionName, e);
             throw new SKException("Failed to search records", e);
         }
     }
 
+    /**
+     * Registers {@link PostgreSQLVectorObject} for the pgvector types on a connection and enables
+     * their binary transfer, once per physical connection.
+     *
+     * @param connection the connection
+     * @throws SQLException if the types cannot be registered
+     */
+    protected void registerVectorTypes(Connection connection) throws SQLException {
+        if (!connection.isWrapperFor(BaseConnection.class)) {
+            return;
+        }
+        BaseConnection baseConnection = connection.unwrap(BaseConnection.class);
+        if (registeredConnections.containsKey(baseConnection)) {
+            return;
+        }
+
+        for (PostgreSQLVectorType type : PostgreSQLVectorType.values()) {
+            // halfvec and sparsevec require pgvector 0.7
+            int oid = baseConnection.getTypeInfo().getPGType(type.getValue());
+            if (oid != 0) {
+                baseConnection.addDataType(type.getValue(), PostgreSQLVectorObject.class);
+                baseConnection.getQueryExecutor().addBinarySendOid(oid);
+                baseConnection.getQueryExecutor().addBinaryReceiveOid(oid);
+            }
+        }
+        registeredConnections.put(baseConnection, Boolean.TRUE);
+    }
+
+    private static void setLocalParameter(Connection connection, String name, int value)
+        throws SQLException {
+        try (PreparedStatement statement = connection
+            .prepareStatement("SELECT set_config(?, ?, true)")) {
+            statement.setString(1, name);
+            statement.setString(2, String.valueOf(value));
+            statement.execute();
+        }
+    }
+
     /**
      * Gets the filter parameters for the given vector search filter to associate with the filter string
      * generated by the getFilter method.
@@ -453,9 +998,19 @@ public class PostgreSQLVectorStoreQueryProvider extends
     public static class Builder
         extends JDBCVectorStoreQueryProvider.Builder {
         private DataSource dataSource;
+        @Nullable
+        private DataSource readDataSource;
         private String collectionsTable = DEFAULT_COLLECTIONS_TABLE;
         private String prefixForCollectionTables = DEFAULT_PREFIX_FOR_COLLECTION_TABLES;
         private ObjectMapper objectMapper = new ObjectMapper();
+        private int copyThreshold = DEFAULT_COPY_THRESHOLD;
+        private PostgreSQLVectorType vectorType = PostgreSQLVectorType.VECTOR;
+        private final Map<String, PostgreSQLVectorType> fieldVectorTypes = new HashMap<>();
+        private int hnswM;
+        private int hnswEfConstruction;
+        private int ivfFlatLists;
+        private int rescoreMultiplier = DEFAULT_RESCORE_MULTIPLIER;
+        private String textSearchConfiguration = DEFAULT_TEXT_SEARCH_CONFIGURATION;
 
         @SuppressFBWarnings("EI_EXPOSE_REP2")
         public PostgreSQLVectorStoreQueryProvider.Builder withDataSource(DataSource dataSource) {
@@ -463,6 +1018,19 @@ public class PostgreSQLVectorStoreQueryProvider extends
             return this;
         }
 
+        /**
+         * Sets the data source of gets and searches, such as a pool of connections to read
+         * replicas. Defaults to the data source.
+         *
+         * @param readDataSource the data source of gets and searches
+         * @return the builder
+         */
+        @SuppressFBWarnings("EI_EXPOSE_REP2")
+        public PostgreSQLVectorStoreQueryProvider.Builder withReadDataSource(@Nullable DataSource readDataSource) {
+            this.readDataSource = readDataSource;
+            return this;
+        }
+
         /**
          * Sets the collections table name.
          * @param collectionsTable the collections table name
@@ -498,13 +1066,136 @@ public class PostgreSQLVectorStoreQueryProvider extends
             return this;
         }
 
+        /**
+         * Sets the number of records from which upserts copy the records into a staging table
+         * with {@code COPY ... FROM STDIN (FORMAT BINARY)} and merge it into the collection table,
+         * instead of executing an {@code INSERT} statement per record. Defaults to
+         * {@link #DEFAULT_COPY_THRESHOLD}, 0 disables {@code COPY}.
+         *
+         * @param copyThreshold the minimum number of records to upsert with {@code COPY}
+         * @return the builder
+         */
+        public PostgreSQLVectorStoreQueryProvider.Builder withCopyThreshold(int copyThreshold) {
+            if (copyThreshold < 0) {
+                throw new SKException("copyThreshold must not be negative");
+            }
+            this.copyThreshold = copyThreshold;
+            return this;
+        }
+
+        /**
+         * Sets the pgvector type of the columns of vector fields. Defaults to
+         * {@link PostgreSQLVectorType#VECTOR}.
+         *
+         * @param vectorType the vector type
+         * @return the builder
+         */
+        public PostgreSQLVectorStoreQueryProvider.Builder withVectorType(
+            PostgreSQLVectorType vectorType) {
+            this.vectorType = vectorType;
+            return this;
+        }
+
+        /**
+         * Sets the pgvector type of the column of a vector field, overriding the type set with
+         * {@link #withVectorType(PostgreSQLVectorType)}, for example to store sparse embeddings
+         * as {@link PostgreSQLVectorType#SPARSEVEC}.
+         *
+         * @param storageName the storage name of the vector field
+         * @param vectorType  the vector type
+         * @return the builder
+         */
+        public PostgreSQLVectorStoreQueryProvider.Builder withVectorType(String storageName,
+            PostgreSQLVectorType vectorType) {
+            this.fieldVectorTypes.put(storageName, vectorType);
+            return this;
+        }
+
+        /**
+         * Sets the maximum number of connections per layer of the HNSW indexes created with
+         * collections, the {@code m} parameter of pgvector. Defaults to 0, which uses the default
+         * of pgvector.
+         *
+         * @param hnswM the maximum number of connections per layer
+         * @return the builder
+         */
+        public PostgreSQLVectorStoreQueryProvider.Builder withHnswM(int hnswM) {
+            this.hnswM = hnswM;
+            return this;
+        }
+
+        /**
+         * Sets the size of the dynamic candidate list used to build the HNSW indexes created
+         * with collections, the {@code ef_construction} parameter of pgvector. Defaults to 0,
+         * which uses the default of pgvector.
+         *
+         * @param hnswEfConstruction the size of the candidate list
+         * @return the builder
+         */
+        public PostgreSQLVectorStoreQueryProvider.Builder withHnswEfConstruction(
+            int hnswEfConstruction) {
+            this.hnswEfConstruction = hnswEfConstruction;
+            return this;
+        }
+
+        /**
+         * Sets the number of lists of the IVFFlat indexes created with collections, the
+         * {@code lists} parameter of pgvector. Defaults to 0, which uses the default of pgvector.
+         *
+         * @param ivfFlatLists the number of lists
+         * @return the builder
+         */
+        public PostgreSQLVectorStoreQueryProvider.Builder withIvfFlatLists(int ivfFlatLists) {
+            this.ivfFlatLists = ivfFlatLists;
+            return this;
+        }
+
+        /**
+         * Sets the multiplier applied to the number of requested results to get the number of
+         * candidates found by the Hamming distance of binary quantized vector fields, which are
+         * then rescored with full precision. Defaults to {@link #DEFAULT_RESCORE_MULTIPLIER}.
+         *
+         * @param rescoreMultiplier the rescore multiplier
+         * @return the builder
+         */
+        public PostgreSQLVectorStoreQueryProvider.Builder withRescoreMultiplier(
+            int rescoreMultiplier) {
+            this.rescoreMultiplier = rescoreMultiplier;
+            return this;
+        }
+
+        /**
+         * Sets the text search configuration, such as {@code english} or {@code simple}, used to
+         * index the full text searchable data fields of new collections and to parse the search
+         * text of hybrid searches. Defaults to {@link #DEFAULT_TEXT_SEARCH_CONFIGURATION}.
+         *
+         * @param textSearchConfiguration the text search configuration
+         * @return the builder
+         */
+        public PostgreSQLVectorStoreQueryProvider.Builder withTextSearchConfiguration(
+            String textSearchConfiguration) {
+            this.textSearchConfiguration = validateSQLidentifier(textSearchConfiguration);
+            return this;
+        }
+
         public PostgreSQLVectorStoreQueryProvider build() {
             if (dataSource == null) {
                 throw new SKException("DataSource is required");
             }
+            if (vectorType == null || fieldVectorTypes.containsValue(null)) {
+                throw new SKException("vectorType is required");
+            }
+            if (hnswM < 0 || hnswEfConstruction < 0 || ivfFlatLists < 0) {
+                throw new SKException("Index parameters must not be negative");
+            }
+            if (rescoreMultiplier < 1) {
+                throw new SKException("rescoreMultiplier must be at least 1");
+            }
 
-            return new PostgreSQLVectorStoreQueryProvider(dataSource, collectionsTable,
-                prefixForCollectionTables, objectMapper);
+            return new PostgreSQLVectorStoreQueryProvider(dataSource, readDataSource,
+                collectionsTable, prefixForCollectionTables, objectMapper, copyThreshold,
+                vectorType, fieldVectorTypes, hnswM, hnswEfConstruction, ivfFlatLists,
+                rescoreMultiplier, textSearchConfiguration);
         }
     }
 }
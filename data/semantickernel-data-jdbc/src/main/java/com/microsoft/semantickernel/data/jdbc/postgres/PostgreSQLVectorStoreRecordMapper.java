@@ -1,11 +1,9 @@
 // Copyright (c) Microsoft. All rights reserved.
 package com.microsoft.semantickernel.data.jdbc.postgres;
 
-import com.fasterxml.jackson.core.JsonProcessingException;
-import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
-import com.fasterxml.jackson.databind.node.ObjectNode;
 import com.microsoft.semantickernel.builders.SemanticKernelBuilder;
+import com.microsoft.semantickernel.data.jdbc.JDBCVectorStoreRecordBinding;
 import com.microsoft.semantickernel.data.vectorstorage.VectorStoreRecordMapper;
 import com.microsoft.semantickernel.data.vectorstorage.definition.VectorStoreRecordDataField;
 import com.microsoft.semantickernel.data.vectorstorage.definition.VectorStoreRecordDefinition;
@@ -16,6 +14,7 @@ import com.microsoft.semantickernel.exceptions.SKException;
 import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
 import org.postgresql.util.PGobject;
 
+import javax.annotation.Nullable;
 import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.util.List;
@@ -49,6 +48,23 @@ public class PostgreSQLVectorStoreRecordMapper<Record>
         return new Builder<>();
     }
 
+    // Vectors are read as PostgreSQLVectorObject on connections on which the pgvector types are
+    // registered, and as PGobject text otherwise
+    @Nullable
+    private static float[] getVector(@Nullable Object value) {
+        if (value instanceof PostgreSQLVectorObject) {
+            return ((PostgreSQLVectorObject) value).getVector();
+        }
+        String text = getText(value);
+        return text == null ? null : PostgreSQLVectors.parseText(text);
+    }
+
+    @Nullable
+    private static String getText(@Nullable Object value) {
+        return value instanceof PGobject ? ((PGobject) value).getValue()
+            : value == null ? null : value.toString();
+    }
+
     /**
      * A builder for the PostgreSQLVectorStoreRecordMapper.
      *
@@ -108,45 +124,43 @@ public class PostgreSQLVectorStoreRecordMapper<Record>
                 throw new SKException("vectorStoreRecordDefinition is required");
             }
 
+            JDBCVectorStoreRecordBinding<Record> binding = JDBCVectorStoreRecordBinding
+                .create(recordClass, vectorStoreRecordDefinition, objectMapper);
+            List<VectorStoreRecordField> fields = binding.getFields();
+
             return new PostgreSQLVectorStoreRecordMapper<>(
                 (resultSet, options) -> {
                     try {
-                        // Create an ObjectNode to hold the values
-                        ObjectNode objectNode = objectMapper.createObjectNode();
-
-                        // Select fields from the record definition.
-                        List<VectorStoreRecordField> fields;
-                        if (options != null && options.isIncludeVectors()) {
-                            fields = vectorStoreRecordDefinition.getAllFields();
-                        } else {
-                            fields = vectorStoreRecordDefinition.getNonVectorFields();
-                        }
-
-                        for (VectorStoreRecordField field : fields) {
-                            Object value = resultSet.getObject(field.getEffectiveStorageName());
+                        boolean includeVectors = options != null && options.isIncludeVectors();
+                        int[] columns = binding.getColumnIndexes(resultSet);
+                        Object[] values = new Object[fields.size()];
+                        boolean[] selected = new boolean[fields.size()];
+
+                        for (int i = 0; i < fields.size(); ++i) {
+                            VectorStoreRecordField field = fields.get(i);
+                            // Select vector fields only if requested
+                            if (columns[i] == 0 || (!includeVectors
+                                && field instanceof VectorStoreRecordVectorField)) {
+                                continue;
+                            }
                             Class<?> fieldType = field.getFieldType();
 
-                            if (field instanceof VectorStoreRecordVectorField) {
-                                // If the vector field is other than String, deserialize it from the JSON string
-                                if (!fieldType.equals(String.class)) {
-                                    // Deserialize the pgvector string to the vector type
-                                    value = objectMapper.readValue(((PGobject) value).getValue(),
-                                        fieldType);
-                                }
-                            } else if (field instanceof VectorStoreRecordDataField) {
-                                // If the field is List, deserialize it from the JSON string
-                                if (fieldType.equals(List.class)) {
-                                    value = objectMapper.readValue(((PGobject) value).getValue(),
-                                        fieldType);
-                                }
+                            if (field instanceof VectorStoreRecordVectorField
+                                && !fieldType.equals(String.class)) {
+                                values[i] = getVector(resultSet.getObject(columns[i]));
+                            } else if (field instanceof VectorStoreRecordDataField
+                                && fieldType.equals(List.class)) {
+                                // jsonb values are read as their JSON text
+                                values[i] = getText(resultSet.getObject(columns[i]));
+                            } else {
+                                values[i] = JDBCVectorStoreRecordBinding
+                                    .getColumnValue(resultSet, columns[i], fieldType);
                             }
-
-                            JsonNode genericNode = objectMapper.valueToTree(value);
-                            objectNode.set(field.getEffectiveStorageName(), genericNode);
+                            selected[i] = true;
                         }
 
-                        return objectMapper.treeToValue(objectNode, recordClass);
-                    } catch (SQLException | JsonProcessingException e) {
+                        return binding.newRecord(values, selected);
+                    } catch (SQLException | SKException e) {
                         throw new SKException(
                             "Failure to serialize object, by default the JDBC connector uses Jackson, ensure your model object can be serialized by Jackson, i.e the class is visible, has getters, constructor, annotations etc.",
                             e);
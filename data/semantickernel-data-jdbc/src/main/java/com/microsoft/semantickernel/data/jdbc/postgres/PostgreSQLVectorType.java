@@ -0,0 +1,45 @@
+// Copyright (c) Microsoft. All rights reserved.
+package com.microsoft.semantickernel.data.jdbc.postgres;
+
+/**
+ * Represents the pgvector column type storing the vectors of a vector field.
+ */
+public enum PostgreSQLVectorType {
+    /**
+     * Single precision vectors. Indexes support up to 2,000 dimensions.
+     */
+    VECTOR("vector"),
+    /**
+     * Half precision vectors, taking half the storage and index memory of {@link #VECTOR}.
+     * Indexes support up to 4,000 dimensions.
+     */
+    HALFVEC("halfvec"),
+    /**
+     * Sparse vectors, storing only the non-zero elements. Indexes support up to 1,000 non-zero
+     * elements, with HNSW only.
+     */
+    SPARSEVEC("sparsevec");
+
+    private final String value;
+
+    PostgreSQLVectorType(String value) {
+        this.value = value;
+    }
+
+    /**
+     * Gets the pgvector name of the vector type.
+     * @return the pgvector name of the vector type
+     */
+    public String getValue() {
+        return value;
+    }
+
+    /**
+     * Gets the column type of vectors of the given dimensions.
+     * @param dimensions the number of dimensions
+     * @return the column type
+     */
+    public String getColumnType(int dimensions) {
+        return value + "(" + dimensions + ")";
+    }
+}
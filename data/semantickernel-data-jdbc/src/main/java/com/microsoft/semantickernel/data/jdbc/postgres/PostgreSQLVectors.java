@@ -0,0 +1,231 @@
+// Copyright (c) Microsoft. All rights reserved.
+package com.microsoft.semantickernel.data.jdbc.postgres;
+
+import com.microsoft.semantickernel.data.vectorsearch.FloatConversions;
+import com.microsoft.semantickernel.exceptions.SKException;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Converts vectors to and from the text and binary representations of the pgvector types.
+ * <p>
+ * The binary representations are those of the pgvector send and receive functions, in network
+ * byte order: {@code vector} and {@code halfvec} values are the dimensions and an unused field as
+ * int16, then the float4 or float16 elements. {@code sparsevec} values are the dimensions, the
+ * number of non-zero elements and an unused field as int32, then the zero-based indexes of the
+ * non-zero elements as int32 and their float4 values.
+ */
+final class PostgreSQLVectors {
+
+    private PostgreSQLVectors() {
+    }
+
+    /**
+     * Formats a vector as the text input of a pgvector type. Sparse vectors are written as
+     * {@code {index:value,...}/dimensions}, with one-based indexes of the non-zero elements.
+     *
+     * @param vectorType the vector type
+     * @param vector     the vector
+     * @return the text of the vector
+     */
+    static String toText(PostgreSQLVectorType vectorType, float[] vector) {
+        StringBuilder text = new StringBuilder(vector.length * 12);
+        if (vectorType == PostgreSQLVectorType.SPARSEVEC) {
+            text.append('{');
+            boolean first = true;
+            for (int i = 0; i < vector.length; ++i) {
+                if (vector[i] != 0) {
+                    if (!first) {
+                        text.append(',');
+                    }
+                    text.append(i + 1).append(':').append(vector[i]);
+                    first = false;
+                }
+            }
+            return text.append("}/").append(vector.length).toString();
+        }
+
+        text.append('[');
+        for (int i = 0; i < vector.length; ++i) {
+            if (i > 0) {
+                text.append(',');
+            }
+            text.append(vector[i]);
+        }
+        return text.append(']').toString();
+    }
+
+    /**
+     * Parses the text output of a {@code vector}, {@code halfvec} or {@code sparsevec} value.
+     * Sparse vectors are expanded to dense vectors.
+     *
+     * @param text the text of the vector
+     * @return the vector
+     */
+    static float[] parseText(String text) {
+        try {
+            if (text.startsWith("{")) {
+                int end = text.indexOf("}/");
+                float[] vector = new float[Integer.parseInt(text.substring(end + 2).trim())];
+                if (end > 1) {
+                    for (String element : text.substring(1, end).split(",")) {
+                        int colon = element.indexOf(':');
+                        vector[Integer.parseInt(element.substring(0, colon).trim()) - 1] = Float
+                            .parseFloat(element.substring(colon + 1));
+                    }
+                }
+                return vector;
+            }
+
+            String elements = text.substring(1, text.length() - 1).trim();
+            if (elements.isEmpty()) {
+                return new float[0];
+            }
+            String[] values = elements.split(",");
+            float[] vector = new float[values.length];
+            for (int i = 0; i < values.length; ++i) {
+                vector[i] = Float.parseFloat(values[i]);
+            }
+            return vector;
+        } catch (RuntimeException e) {
+            throw new SKException("Failed to parse vector " + text, e);
+        }
+    }
+
+    /**
+     * Gets the vector type of a pgvector type name.
+     *
+     * @param typeName the type name, {@code vector}, {@code halfvec} or {@code sparsevec}
+     * @return the vector type
+     */
+    static PostgreSQLVectorType getVectorType(String typeName) {
+        for (PostgreSQLVectorType vectorType : PostgreSQLVectorType.values()) {
+            if (vectorType.getValue().equals(typeName)) {
+                return vectorType;
+            }
+        }
+        throw new SKException("Unsupported vector type " + typeName);
+    }
+
+    /**
+     * Gets the length of the binary representation of a vector.
+     *
+     * @param vectorType the vector type
+     * @param vector     the vector
+     * @return the length in bytes
+     */
+    static int binaryLength(PostgreSQLVectorType vectorType, float[] vector) {
+        switch (vectorType) {
+            case HALFVEC:
+                return 2 * Short.BYTES + vector.length * Short.BYTES;
+            case SPARSEVEC:
+                return 3 * Integer.BYTES + countNonZero(vector) * (Integer.BYTES + Float.BYTES);
+            default:
+                return 2 * Short.BYTES + vector.length * Float.BYTES;
+        }
+    }
+
+    /**
+     * Writes the binary representation of a vector.
+     *
+     * @param vectorType the vector type
+     * @param vector     the vector
+     * @param bytes      the buffer, with at least {@link #binaryLength} bytes from the offset
+     * @param offset     the offset in the buffer
+     */
+    static void toBinary(PostgreSQLVectorType vectorType, float[] vector, byte[] bytes,
+        int offset) {
+        ByteBuffer buffer = ByteBuffer.wrap(bytes, offset, bytes.length - offset);
+        switch (vectorType) {
+            case HALFVEC:
+                buffer.putShort((short) vector.length).putShort((short) 0);
+                for (float value : vector) {
+                    buffer.putShort(FloatConversions.toHalf(value));
+                }
+                break;
+            case SPARSEVEC:
+                buffer.putInt(vector.length).putInt(countNonZero(vector)).putInt(0);
+                for (int i = 0; i < vector.length; ++i) {
+                    if (vector[i] != 0) {
+                        buffer.putInt(i);
+                    }
+                }
+                for (float value : vector) {
+                    if (value != 0) {
+                        buffer.putFloat(value);
+                    }
+                }
+                break;
+            default:
+                buffer.putShort((short) vector.length).putShort((short) 0);
+                for (float value : vector) {
+                    buffer.putFloat(value);
+                }
+                break;
+        }
+    }
+
+    /**
+     * Gets the binary representation of a vector.
+     *
+     * @param vectorType the vector type
+     * @param vector     the vector
+     * @return the binary representation
+     */
+    static byte[] toBinary(PostgreSQLVectorType vectorType, float[] vector) {
+        byte[] bytes = new byte[binaryLength(vectorType, vector)];
+        toBinary(vectorType, vector, bytes, 0);
+        return bytes;
+    }
+
+    /**
+     * Reads the binary representation of a vector. Sparse vectors are expanded to dense vectors.
+     *
+     * @param vectorType the vector type
+     * @param bytes      the buffer
+     * @param offset     the offset of the vector in the buffer
+     * @return the vector
+     */
+    static float[] fromBinary(PostgreSQLVectorType vectorType, byte[] bytes, int offset) {
+        ByteBuffer buffer = ByteBuffer.wrap(bytes, offset, bytes.length - offset);
+        float[] vector;
+        switch (vectorType) {
+            case HALFVEC:
+                vector = new float[buffer.getShort() & 0xffff];
+                buffer.getShort();
+                for (int i = 0; i < vector.length; ++i) {
+                    vector[i] = FloatConversions.fromHalf(buffer.getShort());
+                }
+                return vector;
+            case SPARSEVEC:
+                vector = new float[buffer.getInt()];
+                int nonZero = buffer.getInt();
+                buffer.getInt();
+                int[] indexes = new int[nonZero];
+                for (int i = 0; i < nonZero; ++i) {
+                    indexes[i] = buffer.getInt();
+                }
+                for (int i = 0; i < nonZero; ++i) {
+                    vector[indexes[i]] = buffer.getFloat();
+                }
+                return vector;
+            default:
+                vector = new float[buffer.getShort() & 0xffff];
+                buffer.getShort();
+                for (int i = 0; i < vector.length; ++i) {
+                    vector[i] = buffer.getFloat();
+                }
+                return vector;
+        }
+    }
+
+    private static int countNonZero(float[] vector) {
+        int nonZero = 0;
+        for (float value : vector) {
+            if (value != 0) {
+                nonZero++;
+            }
+        }
+        return nonZero;
+    }
+}
@@ -2,10 +2,12 @@
 package com.microsoft.semantickernel.data.jdbc.sqlite;
 
 import com.fasterxml.jackson.core.JsonProcessingException;
-import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.microsoft.semantickernel.data.jdbc.JDBCVectorEncoding;
 import com.microsoft.semantickernel.data.jdbc.JDBCVectorStoreQueryProvider;
+import com.microsoft.semantickernel.data.jdbc.JDBCVectorStoreRecordBinding;
 import com.microsoft.semantickernel.data.jdbc.SQLVectorStoreQueryProvider;
+import com.microsoft.semantickernel.data.vectorstorage.definition.DistanceFunction;
 import com.microsoft.semantickernel.data.vectorstorage.definition.VectorStoreRecordDataField;
 import com.microsoft.semantickernel.data.vectorstorage.definition.VectorStoreRecordDefinition;
 import com.microsoft.semantickernel.data.vectorstorage.definition.VectorStoreRecordField;
@@ -15,6 +17,7 @@ import com.microsoft.semantickernel.exceptions.SKException;
 import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
 
 import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
 import javax.sql.DataSource;
 import java.sql.Connection;
 import java.sql.PreparedStatement;
@@ -23,21 +26,25 @@ import java.util.List;
 
 /**
  * A query provider for a vector store in SQLite.
+ * <p>
+ * If the connections of the read data source load the
+ * <a href="https://github.com/asg017/sqlite-vec">sqlite-vec</a> extension, searches compute the
+ * distances in the database and only read the top results.
  */
 public class SQLiteVectorStoreQueryProvider extends
     JDBCVectorStoreQueryProvider implements SQLVectorStoreQueryProvider {
 
-    private final DataSource dataSource;
     private final ObjectMapper objectMapper;
+    private volatile Boolean vectorExtensionLoaded;
 
     @SuppressFBWarnings("EI_EXPOSE_REP2")
     private SQLiteVectorStoreQueryProvider(
         @Nonnull DataSource dataSource,
+        @Nullable DataSource readDataSource,
         @Nonnull String collectionsTable,
         @Nonnull String prefixForCollectionTables,
         @Nonnull ObjectMapper objectMapper) {
-        super(dataSource, collectionsTable, prefixForCollectionTables);
-        this.dataSource = dataSource;
+        super(dataSource, readDataSource, collectionsTable, prefixForCollectionTables);
         this.objectMapper = objectMapper;
     }
 
@@ -49,31 +56,94 @@ public class SQLiteVectorStoreQueryProvider extends
         return new Builder();
     }
 
-    private void setUpsertStatementValues(PreparedStatement statement, Object record,
-        List<VectorStoreRecordField> fields) {
-        JsonNode jsonNode = objectMapper.valueToTree(record);
+    @Override
+    protected String getBinaryVectorType(VectorStoreRecordVectorField vectorField) {
+        return "BLOB";
+    }
+
+    // The sqlite-vec extension is loaded by the connections of the read data source, if at all
+    private boolean isVectorExtensionLoaded() {
+        Boolean loaded = vectorExtensionLoaded;
+        if (loaded == null) {
+            try (Connection connection = readDataSource.getConnection()) {
+                try (PreparedStatement statement = connection.prepareStatement(
+                    "SELECT vec_version()")) {
+                    statement.executeQuery().close();
+                    loaded = true;
+                } catch (SQLException e) {
+                    loaded = false;
+                }
+            } catch (SQLException e) {
+                throw new SKException("Failed to detect the sqlite-vec extension", e);
+            }
+            vectorExtensionLoaded = loaded;
+        }
+        return loaded;
+    }
+
+    // SQLite reports missing tables with the generic SQLITE_ERROR code
+    @Override
+    protected boolean isTableNotFound(SQLException e) {
+        return e.getMessage() != null && e.getMessage().contains("no such table");
+    }
 
+    /**
+     * Computes distances with the sqlite-vec extension if the connections of the data source
+     * have loaded it. Its functions read vectors stored either as JSON text or as float32 blobs.
+     * Dot products are not supported by sqlite-vec and are computed by scanning the vectors.
+     *
+     * @param collectionName   the collection name
+     * @param vectorField      the vector field searched
+     * @param distanceFunction the distance function
+     * @return the expression, or {@code null} if the extension is not loaded
+     */
+    @Override
+    protected String getDistanceExpression(String collectionName,
+        VectorStoreRecordVectorField vectorField, DistanceFunction distanceFunction) {
+        if (!isVectorExtensionLoaded()) {
+            return null;
+        }
+
+        String column = validateSQLidentifier(vectorField.getEffectiveStorageName());
+        switch (distanceFunction) {
+            case EUCLIDEAN_DISTANCE:
+                return formatQuery("vec_distance_l2(%s, vec_f32(?))", column);
+            case COSINE_DISTANCE:
+                return formatQuery("vec_distance_cosine(%s, vec_f32(?))", column);
+            case COSINE_SIMILARITY:
+                return formatQuery("1 - vec_distance_cosine(%s, vec_f32(?))", column);
+            default:
+                return null;
+        }
+    }
+
+    private void setUpsertStatementValues(PreparedStatement statement, Object[] values,
+        List<VectorStoreRecordField> fields, JDBCVectorEncoding vectorEncoding) {
         for (int i = 0; i < fields.size(); ++i) {
             VectorStoreRecordField field = fields.get(i);
+            Object value = values[i];
             try {
-                JsonNode valueNode = jsonNode.get(field.getEffectiveStorageName());
-
                 if (field instanceof VectorStoreRecordVectorField) {
-                    // Convert the vector field to a string
                     if (!field.getFieldType().equals(String.class)) {
-                        statement.setObject(i + 1, objectMapper.writeValueAsString(valueNode));
+                        if (vectorEncoding == JDBCVectorEncoding.FLOAT32) {
+                            // Convert the vector field to float32 bytes
+                            statement.setObject(i + 1, vectorEncoding
+                                .encode(JDBCVectorStoreRecordBinding.toVector(value)));
+                        } else {
+                            // Convert the vector field to a string
+                            statement.setObject(i + 1, objectMapper.writeValueAsString(value));
+                        }
                         continue;
                     }
                 } else if (field instanceof VectorStoreRecordDataField) {
                     // Convert List field to a string
                     if (field.getFieldType().equals(List.class)) {
-                        statement.setObject(i + 1, objectMapper.writeValueAsString(valueNode));
+                        statement.setObject(i + 1, objectMapper.writeValueAsString(value));
                         continue;
                     }
                 }
 
-                statement.setObject(i + 1,
-                    objectMapper.convertValue(valueNode, field.getFieldType()));
+                statement.setObject(i + 1, value);
             } catch (SQLException | JsonProcessingException e) {
                 throw new RuntimeException(e);
             }
@@ -89,27 +159,39 @@ public class SQLiteVectorStoreQueryProvider extends
      * @throws SKException if the upsert fails
      */
     @Override
-    @SuppressFBWarnings("SQL_PREPARED_STATEMENT_GENERATED_FROM_NONCONSTANT_STRING") // SQL query is generated dynamically with valid identifiers
     public void upsertRecords(String collectionName, List<?> records,
         VectorStoreRecordDefinition recordDefinition, UpsertRecordOptions options) {
-        List<VectorStoreRecordField> fields = recordDefinition.getAllFields();
+        upsertRecords(collectionName, records, recordDefinition, options,
+            JDBCVectorEncoding.JSON);
+    }
 
-        String query = formatQuery("INSERT OR REPLACE INTO %s (%s) VALUES (%s)",
-            getCollectionTableName(collectionName),
-            getQueryColumnsFromFields(fields),
-            getWildcardString(fields.size()));
+    /**
+     * Upserts records into the collection, storing their vectors with the given encoding.
+     * @param collectionName the collection name
+     * @param records the records to upsert
+     * @param recordDefinition the record definition
+     * @param options the upsert options
+     * @param vectorEncoding the vector encoding the collection was created with
+     * @throws SKException if the upsert fails
+     */
+    @Override
+    public void upsertRecords(String collectionName, List<?> records,
+        VectorStoreRecordDefinition recordDefinition, UpsertRecordOptions options,
+        JDBCVectorEncoding vectorEncoding) {
+        List<VectorStoreRecordField> fields = recordDefinition.getAllFields();
 
-        try (Connection connection = dataSource.getConnection();
-            PreparedStatement statement = connection.prepareStatement(query)) {
-            for (Object record : records) {
-                setUpsertStatementValues(statement, record, recordDefinition.getAllFields());
-                statement.addBatch();
-            }
+        String query = getCachedQuery(collectionName,
+            () -> formatQuery("INSERT OR REPLACE INTO %s (%s) VALUES (%s)",
+                getCollectionTableName(collectionName),
+                getQueryColumnsFromFields(fields),
+                getWildcardString(fields.size())),
+            "upsertRecords", recordDefinition);
 
-            statement.executeBatch();
-        } catch (SQLException e) {
-            throw new SKException("Failed to upsert records", e);
-        }
+        upsertRecordsInChunks(collectionName, records, options,
+            (connection, chunk) -> executeUpsertBatch(connection, query, chunk,
+                (statement, record, parameterOffset) -> setUpsertStatementValues(statement,
+                    getRecordValues(record, recordDefinition, objectMapper), fields,
+                    vectorEncoding)));
     }
 
     @Override
@@ -125,6 +207,8 @@ public class SQLiteVectorStoreQueryProvider extends
     public static class Builder
         extends JDBCVectorStoreQueryProvider.Builder {
         private DataSource dataSource;
+        @Nullable
+        private DataSource readDataSource;
         private String collectionsTable = DEFAULT_COLLECTIONS_TABLE;
         private String prefixForCollectionTables = DEFAULT_PREFIX_FOR_COLLECTION_TABLES;
         private ObjectMapper objectMapper = new ObjectMapper();
@@ -135,6 +219,19 @@ public class SQLiteVectorStoreQueryProvider extends
             return this;
         }
 
+        /**
+         * Sets the data source of gets and searches, such as a pool of connections to read
+         * replicas. Defaults to the data source.
+         *
+         * @param readDataSource the data source of gets and searches
+         * @return the builder
+         */
+        @SuppressFBWarnings("EI_EXPOSE_REP2")
+        public Builder withReadDataSource(@Nullable DataSource readDataSource) {
+            this.readDataSource = readDataSource;
+            return this;
+        }
+
         /**
          * Sets the collections table name.
          * @param collectionsTable the collections table name
@@ -171,8 +268,8 @@ public class SQLiteVectorStoreQueryProvider extends
                 throw new SKException("DataSource is required");
             }
 
-            return new SQLiteVectorStoreQueryProvider(dataSource, collectionsTable,
-                prefixForCollectionTables, objectMapper);
+            return new SQLiteVectorStoreQueryProvider(dataSource, readDataSource,
+                collectionsTable, prefixForCollectionTables, objectMapper);
         }
     }
 }
@@ -65,6 +65,7 @@ public class RedisHashSetVectorStoreRecordCollection<Record>
     private final VectorStoreRecordDefinition recordDefinition;
     private final byte[][] dataFields;
     private final ObjectMapper objectMapper;
+    private final RedisIndexState indexState;
 
     /**
      * Creates a new instance of the RedisVectorRecordStore.
@@ -81,6 +82,7 @@ public class RedisHashSetVectorStoreRecordCollection<Record>
         this.client = client;
         this.collectionName = collectionName;
         this.options = options;
+        this.indexState = new RedisIndexState(options.getIndexRevalidationInterval());
 
         // If record definition is not provided, create one from the record class
         if (options.getRecordDefinition() == null) {
@@ -107,6 +109,7 @@ public class RedisHashSetVectorStoreRecordCollection<Record>
             vectorStoreRecordMapper = new RedisHashSetVectorStoreRecordMapper.Builder<Record>()
                 .withRecordClass(options.getRecordClass())
                 .withVectorStoreRecordDefinition(recordDefinition)
+                .withVectorIndexOptions(options.getVectorIndexOptions())
                 .withObjectMapper(objectMapper)
                 .build();
         } else {
@@ -141,11 +144,14 @@ public class RedisHashSetVectorStoreRecordCollection<Record>
         return Mono.fromCallable(() -> {
             try {
                 Map<String, Object> info = this.client.ftInfo(collectionName);
-                return info != null && !info.isEmpty();
+                boolean exists = info != null && !info.isEmpty();
+                indexState.setExists(exists);
+                return exists;
             } catch (Exception e) {
                 if (!(e instanceof JedisDataException)) {
                     throw e;
                 }
+                indexState.setExists(false);
                 return false;
             }
         }).subscribeOn(Schedulers.boundedElastic());
@@ -160,7 +166,8 @@ public class RedisHashSetVectorStoreRecordCollection<Record>
     public Mono<VectorStoreRecordCollection<String, Record>> createCollectionAsync() {
         return Mono.fromRunnable(() -> {
             Schema schema = RedisVectorStoreCollectionCreateMapping
-                .mapToSchema(recordDefinition.getAllFields(), RedisStorageType.HASH_SET);
+                .mapToSchema(recordDefinition.getAllFields(), RedisStorageType.HASH_SET,
+                    options.getVectorIndexOptions());
 
             IndexDefinition indexDefinition = new IndexDefinition(IndexDefinition.Type.HASH)
                 .setPrefixes(collectionName + ":");
@@ -169,6 +176,7 @@ public class RedisHashSetVectorStoreRecordCollection<Record>
                 collectionName,
                 IndexOptions.defaultOptions().setDefinition(indexDefinition),
                 schema);
+            indexState.setExists(true);
         })
             .subscribeOn(Schedulers.boundedElastic())
             .then(Mono.just(this));
@@ -181,15 +189,34 @@ public class RedisHashSetVectorStoreRecordCollection<Record>
      */
     @Override
     public Mono<VectorStoreRecordCollection<String, Record>> createCollectionIfNotExistsAsync() {
-        return collectionExistsAsync().flatMap(exists -> {
-            if (!exists) {
-                return createCollectionAsync();
+        return Mono.defer(() -> {
+            // Skip the FT.INFO round trip when the index is known to exist
+            if (indexState.isKnownToExist()) {
+                if (indexState.startRevalidation()) {
+                    collectionExistsAsync().subscribe(exists -> {
+                    }, error -> indexState.revalidationFailed());
+                }
+                return Mono.just(this);
             }
 
-            return Mono.just(this);
+            return collectionExistsAsync().flatMap(exists -> {
+                if (!exists) {
+                    return createCollectionAsync();
+                }
+
+                return Mono.just(this);
+            });
         });
     }
 
+    /**
+     * Forgets that the search index of the collection exists, so that the next search checks it
+     * again with {@code FT.INFO}, for example after another client dropped the index.
+     */
+    public void invalidateIndexState() {
+        indexState.invalidate();
+    }
+
     /**
      * Deletes the collection from the store.
      *
@@ -197,7 +224,13 @@ public class RedisHashSetVectorStoreRecordCollection<Record>
      */
     @Override
     public Mono<Void> deleteCollectionAsync() {
-        return Mono.fromRunnable(() -> client.ftDropIndex(collectionName))
+        return Mono.fromRunnable(() -> {
+            try {
+                client.ftDropIndex(collectionName);
+            } finally {
+                indexState.invalidate();
+            }
+        })
             .subscribeOn(Schedulers.boundedElastic())
             .then();
     }
@@ -399,46 +432,104 @@ public class RedisHashSetVectorStoreRecordCollection<Record>
                 .error(new SKException("No vector fields defined. Cannot perform vector search"));
         }
 
-        return createCollectionIfNotExistsAsync().flatMap(collection -> Mono.fromCallable(() -> {
+        Mono<VectorSearchResults<Record>> search = Mono.fromCallable(() -> {
             Pair<String, FTSearchParams> ftSearchParams = RedisVectorStoreCollectionSearchMapping
                 .getInstance()
-                .buildQuery(vector, options, recordDefinition, RedisStorageType.HASH_SET);
-
-            SearchResult searchResult = client.ftSearch(collectionName, ftSearchParams.getLeft(),
-                ftSearchParams.getRight());
-
-            List<VectorSearchResult<Record>> results = searchResult.getDocuments().stream()
-                .map(doc -> {
-                    String key = removeKeyPrefixIfNeeded(doc.getId(), collectionName);
-                    double score = 0;
-
-                    // Convert from Map<String, Object> to Map<byte[], byte[]>
-                    Map<byte[], byte[]> storage = new HashMap<>();
-                    for (Map.Entry<String, Object> entry : doc.getProperties()) {
-                        // Data and vector fields are returned as byte[]
-                        if (entry.getValue() instanceof byte[]) {
-                            storage.put(stringToBytes(entry.getKey()),
-                                (byte[]) entry.getValue());
-                        }
-                        // Score is returned as a string
-                        else if (entry.getKey().equals(
-                            RedisVectorStoreCollectionSearchMapping.VECTOR_SCORE_FIELD)) {
-                            // Score is stored as a string in one of the fields
-                            score = Double.parseDouble((String) entry.getValue());
-                        }
-                    }
+                .buildQuery(vector, options, recordDefinition, RedisStorageType.HASH_SET,
+                    this.options.getVectorIndexOptions());
+
+            return toSearchResults(client.ftSearch(collectionName, ftSearchParams.getLeft(),
+                ftSearchParams.getRight()), options);
+        }).subscribeOn(Schedulers.boundedElastic());
+
+        return createCollectionIfNotExistsAsync()
+            .then(search)
+            .onErrorResume(RedisIndexState::isMissingIndex, error -> {
+                // The index was dropped since it was last seen, create it again
+                indexState.invalidate();
+                return createCollectionIfNotExistsAsync().then(search);
+            });
+    }
+
+    /**
+     * Vectorized search of several vectors with the same options. The {@code FT.SEARCH} commands
+     * of all vectors are sent in a single pipeline.
+     *
+     * @param vectors The vectors to search with.
+     * @param options The options to use for every search.
+     * @return Vector search results of each vector, in the order of the vectors.
+     */
+    @Override
+    public Mono<List<VectorSearchResults<Record>>> searchBatchAsync(List<List<Float>> vectors,
+        VectorSearchOptions options) {
+        if (recordDefinition.getVectorFields().isEmpty()) {
+            return Mono
+                .error(new SKException("No vector fields defined. Cannot perform vector search"));
+        }
+
+        Mono<List<VectorSearchResults<Record>>> search = Mono.fromCallable(() -> {
+            List<Pair<String, FTSearchParams>> queries = vectors.stream()
+                .map(vector -> RedisVectorStoreCollectionSearchMapping.getInstance()
+                    .buildQuery(vector, options, recordDefinition, RedisStorageType.HASH_SET,
+                        this.options.getVectorIndexOptions()))
+                .collect(Collectors.toList());
 
-                    Record record = this.vectorStoreRecordMapper
-                        .mapStorageModelToRecord(
-                            new AbstractMap.SimpleEntry<>(key, storage),
-                            new GetRecordOptions(
-                                options != null && options.isIncludeVectors()));
+            List<Response<SearchResult>> responses = new ArrayList<>(queries.size());
+            try (Pipeline pipeline = client.pipelined()) {
+                for (Pair<String, FTSearchParams> query : queries) {
+                    responses.add(pipeline.ftSearch(collectionName, query.getLeft(),
+                        query.getRight()));
+                }
+                pipeline.sync();
+            }
 
-                    return new VectorSearchResult<>(record, score);
-                })
+            return responses.stream()
+                .map(response -> toSearchResults(response.get(), options))
                 .collect(Collectors.toList());
+        }).subscribeOn(Schedulers.boundedElastic());
+
+        return createCollectionIfNotExistsAsync()
+            .then(search)
+            .onErrorResume(RedisIndexState::isMissingIndex, error -> {
+                // The index was dropped since it was last seen, create it again
+                indexState.invalidate();
+                return createCollectionIfNotExistsAsync().then(search);
+            });
+    }
+
+    private VectorSearchResults<Record> toSearchResults(SearchResult searchResult,
+        VectorSearchOptions options) {
+        List<VectorSearchResult<Record>> results = searchResult.getDocuments().stream()
+            .map(doc -> {
+                String key = removeKeyPrefixIfNeeded(doc.getId(), collectionName);
+                double score = 0;
+
+                // Convert from Map<String, Object> to Map<byte[], byte[]>
+                Map<byte[], byte[]> storage = new HashMap<>();
+                for (Map.Entry<String, Object> entry : doc.getProperties()) {
+                    // Data and vector fields are returned as byte[]
+                    if (entry.getValue() instanceof byte[]) {
+                        storage.put(stringToBytes(entry.getKey()),
+                            (byte[]) entry.getValue());
+                    }
+                    // Score is returned as a string
+                    else if (entry.getKey().equals(
+                        RedisVectorStoreCollectionSearchMapping.VECTOR_SCORE_FIELD)) {
+                        // Score is stored as a string in one of the fields
+                        score = Double.parseDouble((String) entry.getValue());
+                    }
+                }
+
+                Record record = this.vectorStoreRecordMapper
+                    .mapStorageModelToRecord(
+                        new AbstractMap.SimpleEntry<>(key, storage),
+                        new GetRecordOptions(
+                            options != null && options.isIncludeVectors()));
+
+                return new VectorSearchResult<>(record, score);
+            })
+            .collect(Collectors.toList());
 
-            return new VectorSearchResults<>(results);
-        }).subscribeOn(Schedulers.boundedElastic()));
+        return new VectorSearchResults<>(results);
     }
 }
@@ -1,15 +1,13 @@
 // Copyright (c) Microsoft. All rights reserved.
 package com.microsoft.semantickernel.data.redis;
 
-import com.fasterxml.jackson.core.JsonProcessingException;
-import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
-import com.fasterxml.jackson.databind.node.ArrayNode;
-import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.fasterxml.jackson.databind.ObjectReader;
 import com.microsoft.semantickernel.builders.SemanticKernelBuilder;
+import com.microsoft.semantickernel.data.vectorstorage.VectorStoreRecordBinding;
 import com.microsoft.semantickernel.data.vectorstorage.VectorStoreRecordMapper;
-import com.microsoft.semantickernel.data.vectorstorage.definition.VectorStoreRecordDataField;
 import com.microsoft.semantickernel.data.vectorstorage.definition.VectorStoreRecordDefinition;
+import com.microsoft.semantickernel.data.vectorstorage.definition.VectorStoreRecordField;
 import com.microsoft.semantickernel.data.vectorstorage.definition.VectorStoreRecordVectorField;
 import com.microsoft.semantickernel.data.vectorstorage.options.GetRecordOptions;
 import com.microsoft.semantickernel.exceptions.SKException;
@@ -30,6 +28,11 @@ import static com.microsoft.semantickernel.data.redis.RedisHashSetVectorStoreRec
 
 /**
  * A mapper to convert between a record and a Redis hash set storage model.
+ * <p>
+ * The fields of the record are read and written with accessors resolved once for the record
+ * class, and vectors are copied to and from their blobs in bulk, so records are not converted
+ * through a Jackson tree. Data fields are stored as JSON values, and vectors as blobs of the
+ * {@link RedisVectorType} of their field.
  * @param <Record> the record type
  */
 public class RedisHashSetVectorStoreRecordMapper<Record>
@@ -64,6 +67,8 @@ public class RedisHashSetVectorStoreRecordMapper<Record>
         private VectorStoreRecordDefinition recordDefinition;
         @Nullable
         private ObjectMapper objectMapper = new ObjectMapper();
+        private RedisVectorIndexOptions vectorIndexOptions = RedisVectorIndexOptions
+            .createDefault();
 
         /**
          * Sets the record class.
@@ -100,6 +105,18 @@ public class RedisHashSetVectorStoreRecordMapper<Record>
             return this;
         }
 
+        /**
+         * Sets the options of the vector fields of the search index, which set the format of
+         * the stored vectors. Defaults to {@link RedisVectorIndexOptions#createDefault()}.
+         *
+         * @param vectorIndexOptions the vector index options
+         * @return the builder
+         */
+        public Builder<Record> withVectorIndexOptions(RedisVectorIndexOptions vectorIndexOptions) {
+            this.vectorIndexOptions = vectorIndexOptions;
+            return this;
+        }
+
         /**
          * Builds the {@link RedisHashSetVectorStoreRecordMapper}.
          *
@@ -113,85 +130,91 @@ public class RedisHashSetVectorStoreRecordMapper<Record>
             if (recordDefinition == null) {
                 throw new SKException("vectorStoreRecordDefinition is required");
             }
+            if (vectorIndexOptions == null) {
+                throw new SKException("vectorIndexOptions is required");
+            }
+
+            VectorStoreRecordBinding<Record> binding = VectorStoreRecordBinding
+                .create(recordClass, recordDefinition, objectMapper);
+            List<VectorStoreRecordField> fields = binding.getFields();
+
+            // Resolve everything about the fields once, so that mapping a record only reads and
+            // writes the values of its fields
+            int keyIndex = fields.indexOf(recordDefinition.getKeyField());
+            byte[][] storageNames = new byte[fields.size()][];
+            // The vector type of each vector field, null for other fields
+            RedisVectorType[] vectorTypes = new RedisVectorType[fields.size()];
+            ObjectReader[] readers = new ObjectReader[fields.size()];
+            Map<String, Integer> fieldIndexes = new HashMap<>();
+            for (int i = 0; i < fields.size(); ++i) {
+                VectorStoreRecordField field = fields.get(i);
+                storageNames[i] = stringToBytes(field.getEffectiveStorageName());
+                if (field instanceof VectorStoreRecordVectorField) {
+                    vectorTypes[i] = vectorIndexOptions
+                        .getVectorType((VectorStoreRecordVectorField) field);
+                }
+                readers[i] = objectMapper.readerFor(binding.getJavaType(i));
+                fieldIndexes.put(field.getEffectiveStorageName(), i);
+            }
 
             return new RedisHashSetVectorStoreRecordMapper<>(record -> {
                 try {
-                    ObjectNode jsonNode = objectMapper.valueToTree(record);
-
-                    String key = jsonNode
-                        .get(recordDefinition.getKeyField().getEffectiveStorageName()).asText();
-                    jsonNode.remove(recordDefinition.getKeyField().getEffectiveStorageName());
+                    Object[] values = binding.getValues(record);
+                    if (values[keyIndex] == null) {
+                        throw new SKException("Record key is required");
+                    }
 
                     Map<byte[], byte[]> storage = new HashMap<>();
-                    for (VectorStoreRecordDataField field : recordDefinition.getDataFields()) {
-                        JsonNode value = jsonNode.get(field.getEffectiveStorageName());
-                        if (value != null) {
-                            storage.put(
-                                stringToBytes(field.getEffectiveStorageName()),
-                                objectMapper.writeValueAsBytes(value));
-                        }
-                    }
-                    for (VectorStoreRecordVectorField field : recordDefinition.getVectorFields()) {
-                        ArrayNode value = (ArrayNode) jsonNode.get(field.getEffectiveStorageName());
-                        List<Float> vector = objectMapper.convertValue(value, List.class);
-                        if (value != null) {
-                            storage.put(
-                                stringToBytes(field.getEffectiveStorageName()),
-                                RedisVectorStoreCollectionSearchMapping
-                                    .convertListToByteArray(vector));
+                    for (int i = 0; i < values.length; ++i) {
+                        // Data fields without a value are stored as JSON null
+                        if (i == keyIndex || (vectorTypes[i] != null && values[i] == null)) {
+                            continue;
                         }
+                        storage.put(storageNames[i], vectorTypes[i] != null
+                            ? vectorTypes[i].toBlob(
+                                VectorStoreRecordBinding.toVector(values[i]))
+                            : objectMapper.writeValueAsBytes(values[i]));
                     }
 
-                    return new AbstractMap.SimpleEntry<>(key, storage);
+                    return new AbstractMap.SimpleEntry<>(values[keyIndex].toString(), storage);
                 } catch (Exception e) {
                     throw new SKException(
                         "Failure to serialize object, by default the Redis connector uses Jackson, ensure your model object can be serialized by Jackson, i.e the class is visible, has getters, constructor, annotations etc.",
                         e);
                 }
             }, (storageModel, options) -> {
-                try {
-                    // Empty map means no record found
-                    if (storageModel.getValue() == null || storageModel.getValue().isEmpty()) {
-                        return null;
-                    }
+                // Empty map means no record found
+                if (storageModel.getValue() == null || storageModel.getValue().isEmpty()) {
+                    return null;
+                }
 
-                    ObjectNode jsonNode = objectMapper.createObjectNode();
-                    jsonNode.set(recordDefinition.getKeyField().getEffectiveStorageName(),
-                        objectMapper.valueToTree(storageModel.getKey()));
-
-                    // byte[] as key is not useful, convert to String
-                    Map<String, byte[]> storage = new HashMap<>();
-                    storageModel.getValue()
-                        .forEach((k, v) -> storage.put(new String(k, StandardCharsets.UTF_8), v));
-
-                    for (VectorStoreRecordDataField field : recordDefinition.getDataFields()) {
-                        byte[] value = storage.get(field.getEffectiveStorageName());
-                        if (value != null) {
-                            jsonNode.set(field.getEffectiveStorageName(),
-                                objectMapper.valueToTree(
-                                    objectMapper.readValue(value, field.getFieldType())));
-                        }
-                    }
-                    if (options != null && options.isIncludeVectors()) {
-                        for (VectorStoreRecordVectorField field : recordDefinition
-                            .getVectorFields()) {
-                            byte[] value = storage.get(field.getEffectiveStorageName());
-                            if (value != null) {
-                                jsonNode.set(field.getEffectiveStorageName(),
-                                    objectMapper.valueToTree(RedisVectorStoreCollectionSearchMapping
-                                        .convertByteArrayToList(value)));
-                            }
+                boolean includeVectors = options != null && options.isIncludeVectors();
+                Object[] values = new Object[fields.size()];
+                boolean[] selected = new boolean[fields.size()];
+                values[keyIndex] = storageModel.getKey();
+                selected[keyIndex] = true;
+
+                try {
+                    for (Entry<byte[], byte[]> entry : storageModel.getValue().entrySet()) {
+                        Integer i = fieldIndexes
+                            .get(new String(entry.getKey(), StandardCharsets.UTF_8));
+                        if (i == null || i == keyIndex || entry.getValue() == null
+                            || (vectorTypes[i] != null && !includeVectors)) {
+                            continue;
                         }
+                        // Vectors are kept as float[] and converted to the field type once
+                        values[i] = vectorTypes[i] != null
+                            ? vectorTypes[i].fromBlob(entry.getValue())
+                            : readers[i].readValue(entry.getValue());
+                        selected[i] = true;
                     }
-
-                    return objectMapper.convertValue(jsonNode, recordClass);
-                } catch (JsonProcessingException e) {
+                } catch (IOException e) {
                     throw new SKException(
                         "Failure to deserialize object, by default the Redis connector uses Jackson, ensure your model object can be serialized by Jackson, i.e the class is visible, has getters, constructor, annotations etc.",
                         e);
-                } catch (IOException e) {
-                    throw new RuntimeException(e);
                 }
+
+                return binding.newRecord(values, selected);
             });
         }
     }
@@ -0,0 +1,100 @@
+// Copyright (c) Microsoft. All rights reserved.
+package com.microsoft.semantickernel.data.redis;
+
+import java.time.Duration;
+import java.util.Locale;
+import java.util.concurrent.atomic.AtomicBoolean;
+import javax.annotation.Nullable;
+import redis.clients.jedis.exceptions.JedisDataException;
+
+/**
+ * Whether the search index of a Redis collection is known to exist, so that searches do not check
+ * it with {@code FT.INFO} before every {@code FT.SEARCH}. The state is set when the index is
+ * found or created, cleared when it is dropped or a search finds it missing, and optionally
+ * revalidated in the background once it is older than a revalidation interval.
+ */
+final class RedisIndexState {
+
+    @Nullable
+    private final Duration revalidationInterval;
+    private final AtomicBoolean revalidating = new AtomicBoolean();
+    private volatile boolean exists;
+    private volatile long verifiedAt;
+
+    RedisIndexState(@Nullable Duration revalidationInterval) {
+        this.revalidationInterval = revalidationInterval;
+    }
+
+    /**
+     * Gets whether the index is known to exist.
+     *
+     * @return whether the index is known to exist
+     */
+    boolean isKnownToExist() {
+        return exists;
+    }
+
+    /**
+     * Records whether the index exists.
+     *
+     * @param exists whether the index exists
+     */
+    void setExists(boolean exists) {
+        this.exists = exists;
+        this.verifiedAt = System.nanoTime();
+        revalidating.set(false);
+    }
+
+    /**
+     * Forgets that the index exists, so that the next search checks it again.
+     */
+    void invalidate() {
+        exists = false;
+    }
+
+    /**
+     * Claims the revalidation of the index, if it is known to exist and was verified longer than
+     * the revalidation interval ago. Only one caller claims each revalidation.
+     *
+     * @return whether the caller should revalidate the index
+     */
+    boolean startRevalidation() {
+        return exists
+            && revalidationInterval != null
+            && System.nanoTime() - verifiedAt >= revalidationInterval.toNanos()
+            && revalidating.compareAndSet(false, true);
+    }
+
+    /**
+     * Releases a revalidation that failed, keeping the current state.
+     */
+    void revalidationFailed() {
+        verifiedAt = System.nanoTime();
+        revalidating.set(false);
+    }
+
+    /**
+     * Checks whether an error reports that the index does not exist.
+     *
+     * @param error the error
+     * @return whether the index does not exist
+     */
+    static boolean isMissingIndex(Throwable error) {
+        return error instanceof JedisDataException && isMissingIndexMessage(error.getMessage());
+    }
+
+    /**
+     * Checks whether an error message from Redis reports that the index does not exist.
+     *
+     * @param message the error message
+     * @return whether the index does not exist
+     */
+    static boolean isMissingIndexMessage(@Nullable String message) {
+        if (message == null) {
+            return false;
+        }
+        String lowerCaseMessage = message.toLowerCase(Locale.ROOT);
+        return lowerCaseMessage.contains("no such index")
+            || lowerCaseMessage.contains("unknown index name");
+    }
+}
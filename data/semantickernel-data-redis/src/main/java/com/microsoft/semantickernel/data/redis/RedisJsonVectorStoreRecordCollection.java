@@ -72,6 +72,7 @@ public class RedisJsonVectorStoreRecordCollection<Record>
     private final VectorStoreRecordDefinition recordDefinition;
     private final Path2[] dataFields;
     private final ObjectMapper objectMapper;
+    private final RedisIndexState indexState;
 
     /**
      * Creates a new instance of the RedisVectorRecordStore.
@@ -88,6 +89,7 @@ public class RedisJsonVectorStoreRecordCollection<Record>
         this.client = client;
         this.collectionName = collectionName;
         this.options = options;
+        this.indexState = new RedisIndexState(options.getIndexRevalidationInterval());
 
         // If record definition is not provided, create one from the record class
         if (options.getRecordDefinition() == null) {
@@ -148,11 +150,14 @@ public class RedisJsonVectorStoreRecordCollection<Record>
         return Mono.fromCallable(() -> {
             try {
                 Map<String, Object> info = this.client.ftInfo(collectionName);
-                return info != null && !info.isEmpty();
+                boolean exists = info != null && !info.isEmpty();
+                indexState.setExists(exists);
+                return exists;
             } catch (Exception e) {
                 if (!(e instanceof JedisDataException)) {
                     throw e;
                 }
+                indexState.setExists(false);
                 return false;
             }
         }).subscribeOn(Schedulers.boundedElastic());
@@ -167,7 +172,8 @@ public class RedisJsonVectorStoreRecordCollection<Record>
     public Mono<VectorStoreRecordCollection<String, Record>> createCollectionAsync() {
         return Mono.fromRunnable(() -> {
             Schema schema = RedisVectorStoreCollectionCreateMapping
-                .mapToSchema(recordDefinition.getAllFields(), RedisStorageType.JSON);
+                .mapToSchema(recordDefinition.getAllFields(), RedisStorageType.JSON,
+                    options.getVectorIndexOptions());
 
             IndexDefinition indexDefinition = new IndexDefinition(IndexDefinition.Type.JSON)
                 .setPrefixes(collectionName + ":");
@@ -176,6 +182,7 @@ public class RedisJsonVectorStoreRecordCollection<Record>
                 collectionName,
                 IndexOptions.defaultOptions().setDefinition(indexDefinition),
                 schema);
+            indexState.setExists(true);
         })
             .subscribeOn(Schedulers.boundedElastic())
             .then(Mono.just(this));
@@ -183,15 +190,34 @@ public class RedisJsonVectorStoreRecordCollection<Record>
 
     @Override
     public Mono<VectorStoreRecordCollection<String, Record>> createCollectionIfNotExistsAsync() {
-        return collectionExistsAsync().flatMap(exists -> {
-            if (!exists) {
-                return createCollectionAsync();
+        return Mono.defer(() -> {
+            // Skip the FT.INFO round trip when the index is known to exist
+            if (indexState.isKnownToExist()) {
+                if (indexState.startRevalidation()) {
+                    collectionExistsAsync().subscribe(exists -> {
+                    }, error -> indexState.revalidationFailed());
+                }
+                return Mono.just(this);
             }
 
-            return Mono.just(this);
+            return collectionExistsAsync().flatMap(exists -> {
+                if (!exists) {
+                    return createCollectionAsync();
+                }
+
+                return Mono.just(this);
+            });
         });
     }
 
+    /**
+     * Forgets that the search index of the collection exists, so that the next search checks it
+     * again with {@code FT.INFO}, for example after another client dropped the index.
+     */
+    public void invalidateIndexState() {
+        indexState.invalidate();
+    }
+
     /**
      * Deletes the collection from the store.
      *
@@ -199,7 +225,13 @@ public class RedisJsonVectorStoreRecordCollection<Record>
      */
     @Override
     public Mono<Void> deleteCollectionAsync() {
-        return Mono.fromRunnable(() -> client.ftDropIndex(collectionName))
+        return Mono.fromRunnable(() -> {
+            try {
+                client.ftDropIndex(collectionName);
+            } finally {
+                indexState.invalidate();
+            }
+        })
             .subscribeOn(Schedulers.boundedElastic())
             .then();
     }
@@ -415,39 +447,97 @@ public class RedisJsonVectorStoreRecordCollection<Record>
                 .error(new SKException("No vector fields defined. Cannot perform vector search"));
         }
 
-        return createCollectionIfNotExistsAsync().flatMap(collection -> Mono.fromCallable(() -> {
+        Mono<VectorSearchResults<Record>> search = Mono.fromCallable(() -> {
             Pair<String, FTSearchParams> ftSearchParams = RedisVectorStoreCollectionSearchMapping
-                .getInstance().buildQuery(vector, options, recordDefinition, RedisStorageType.JSON);
-
-            SearchResult searchResult = client.ftSearch(collectionName,
-                ftSearchParams.getLeft(), ftSearchParams.getRight());
-
-            List<VectorSearchResult<Record>> results = searchResult.getDocuments().stream()
-                .map(doc -> {
-                    Map<String, Object> properties = new HashMap<>();
-                    for (Map.Entry<String, Object> entry : doc.getProperties()) {
-                        properties.put(entry.getKey(), entry.getValue());
-                    }
-
-                    String key = removeKeyPrefixIfNeeded(doc.getId(), collectionName);
-                    String value = (String) properties.get("$");
-                    double score = Double.parseDouble((String) properties
-                        .get(RedisVectorStoreCollectionSearchMapping.VECTOR_SCORE_FIELD));
-
-                    try {
-                        JsonNode jsonNode = objectMapper.readTree(value);
-                        Record record = this.vectorStoreRecordMapper
-                            .mapStorageModelToRecord(new SimpleEntry<>(key, jsonNode),
-                                new GetRecordOptions(
-                                    options != null && options.isIncludeVectors()));
-
-                        return new VectorSearchResult<>(record, score);
-                    } catch (JsonProcessingException e) {
-                        throw new RuntimeException(e);
-                    }
-                }).collect(Collectors.toList());
-
-            return new VectorSearchResults<>(results);
-        }).subscribeOn(Schedulers.boundedElastic()));
+                .getInstance().buildQuery(vector, options, recordDefinition, RedisStorageType.JSON,
+                    this.options.getVectorIndexOptions());
+
+            return toSearchResults(client.ftSearch(collectionName,
+                ftSearchParams.getLeft(), ftSearchParams.getRight()), options);
+        }).subscribeOn(Schedulers.boundedElastic());
+
+        return createCollectionIfNotExistsAsync()
+            .then(search)
+            .onErrorResume(RedisIndexState::isMissingIndex, error -> {
+                // The index was dropped since it was last seen, create it again
+                indexState.invalidate();
+                return createCollectionIfNotExistsAsync().then(search);
+            });
+    }
+
+    /**
+     * Vectorized search of several vectors with the same options. The {@code FT.SEARCH} commands
+     * of all vectors are sent in a single pipeline.
+     *
+     * @param vectors The vectors to search with.
+     * @param options The options to use for every search.
+     * @return Vector search results of each vector, in the order of the vectors.
+     */
+    @Override
+    public Mono<List<VectorSearchResults<Record>>> searchBatchAsync(List<List<Float>> vectors,
+        VectorSearchOptions options) {
+        if (recordDefinition.getVectorFields().isEmpty()) {
+            return Mono
+                .error(new SKException("No vector fields defined. Cannot perform vector search"));
+        }
+
+        Mono<List<VectorSearchResults<Record>>> search = Mono.fromCallable(() -> {
+            List<Pair<String, FTSearchParams>> queries = vectors.stream()
+                .map(vector -> RedisVectorStoreCollectionSearchMapping.getInstance()
+                    .buildQuery(vector, options, recordDefinition, RedisStorageType.JSON,
+                        this.options.getVectorIndexOptions()))
+                .collect(Collectors.toList());
+
+            List<Response<SearchResult>> responses = new ArrayList<>(queries.size());
+            try (Pipeline pipeline = client.pipelined()) {
+                for (Pair<String, FTSearchParams> query : queries) {
+                    responses.add(pipeline.ftSearch(collectionName, query.getLeft(),
+                        query.getRight()));
+                }
+                pipeline.sync();
+            }
+
+            return responses.stream()
+                .map(response -> toSearchResults(response.get(), options))
+                .collect(Collectors.toList());
+        }).subscribeOn(Schedulers.boundedElastic());
+
+        return createCollectionIfNotExistsAsync()
+            .then(search)
+            .onErrorResume(RedisIndexState::isMissingIndex, error -> {
+                // The index was dropped since it was last seen, create it again
+                indexState.invalidate();
+                return createCollectionIfNotExistsAsync().then(search);
+            });
+    }
+
+    private VectorSearchResults<Record> toSearchResults(SearchResult searchResult,
+        VectorSearchOptions options) {
+        List<VectorSearchResult<Record>> results = searchResult.getDocuments().stream()
+            .map(doc -> {
+                Map<String, Object> properties = new HashMap<>();
+                for (Map.Entry<String, Object> entry : doc.getProperties()) {
+                    properties.put(entry.getKey(), entry.getValue());
+                }
+
+                String key = removeKeyPrefixIfNeeded(doc.getId(), collectionName);
+                String value = (String) properties.get("$");
+                double score = Double.parseDouble((String) properties
+                    .get(RedisVectorStoreCollectionSearchMapping.VECTOR_SCORE_FIELD));
+
+                try {
+                    JsonNode jsonNode = objectMapper.readTree(value);
+                    Record record = this.vectorStoreRecordMapper
+                        .mapStorageModelToRecord(new SimpleEntry<>(key, jsonNode),
+                            new GetRecordOptions(
+                                options != null && options.isIncludeVectors()));
+
+                    return new VectorSearchResult<>(record, score);
+                } catch (JsonProcessingException e) {
+                    throw new RuntimeException(e);
+                }
+            }).collect(Collectors.toList());
+
+        return new VectorSearchResults<>(results);
     }
 }
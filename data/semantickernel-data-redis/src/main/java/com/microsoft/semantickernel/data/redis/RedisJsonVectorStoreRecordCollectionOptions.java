@@ -10,6 +10,7 @@ import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
 
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
+import java.time.Duration;
 import java.util.Map.Entry;
 
 /**
@@ -25,6 +26,9 @@ public class RedisJsonVectorStoreRecordCollectionOptions<Record>
     @Nullable
     private final VectorStoreRecordDefinition recordDefinition;
     private final boolean prefixCollectionName;
+    @Nullable
+    private final Duration indexRevalidationInterval;
+    private final RedisVectorIndexOptions vectorIndexOptions;
     private final ObjectMapper objectMapper;
 
     private RedisJsonVectorStoreRecordCollectionOptions(
@@ -32,12 +36,16 @@ public class RedisJsonVectorStoreRecordCollectionOptions<Record>
         @Nullable VectorStoreRecordMapper<Record, Entry<String, Object>> vectorStoreRecordMapper,
         @Nullable VectorStoreRecordDefinition recordDefinition,
         boolean prefixCollectionName,
-        @Nullable ObjectMapper objectMapper) {
+        @Nullable ObjectMapper objectMapper,
+        @Nullable Duration indexRevalidationInterval,
+        RedisVectorIndexOptions vectorIndexOptions) {
         this.recordClass = recordClass;
         this.vectorStoreRecordMapper = vectorStoreRecordMapper;
         this.recordDefinition = recordDefinition;
         this.prefixCollectionName = prefixCollectionName;
         this.objectMapper = objectMapper;
+        this.indexRevalidationInterval = indexRevalidationInterval;
+        this.vectorIndexOptions = vectorIndexOptions;
     }
 
     /**
@@ -107,6 +115,26 @@ public class RedisJsonVectorStoreRecordCollectionOptions<Record>
         return objectMapper;
     }
 
+    /**
+     * Gets the interval after which a search index known to exist is checked again in the
+     * background.
+     *
+     * @return the revalidation interval, or {@code null} if the index is not revalidated
+     */
+    @Nullable
+    public Duration getIndexRevalidationInterval() {
+        return indexRevalidationInterval;
+    }
+
+    /**
+     * Gets the options of the vector fields of the search index.
+     *
+     * @return the vector index options
+     */
+    public RedisVectorIndexOptions getVectorIndexOptions() {
+        return vectorIndexOptions;
+    }
+
     /**
      * Builder for {@link RedisJsonVectorStoreRecordCollectionOptions}.
      *
@@ -122,6 +150,10 @@ public class RedisJsonVectorStoreRecordCollectionOptions<Record>
         private boolean prefixCollectionName = true;
         @Nullable
         private ObjectMapper objectMapper = new ObjectMapper();
+        @Nullable
+        private Duration indexRevalidationInterval;
+        private RedisVectorIndexOptions vectorIndexOptions = RedisVectorIndexOptions
+            .createDefault();
 
         /**
          * Sets the record class.
@@ -182,6 +214,35 @@ public class RedisJsonVectorStoreRecordCollectionOptions<Record>
             return this;
         }
 
+        /**
+         * Sets the interval after which a search index known to exist is checked again with
+         * {@code FT.INFO}, in the background of a search. By default, the index is only checked
+         * again after it is dropped by the collection or a search finds it missing, for example
+         * because another client dropped it.
+         *
+         * @param indexRevalidationInterval the revalidation interval
+         * @return the builder
+         */
+        public Builder<Record> withIndexRevalidationInterval(
+            Duration indexRevalidationInterval) {
+            this.indexRevalidationInterval = indexRevalidationInterval;
+            return this;
+        }
+
+        /**
+         * Sets the options of the vector fields of the search index: the vector types, which
+         * also set the format of the vectors sent with queries, and the HNSW parameters.
+         * Defaults to {@link RedisVectorIndexOptions#createDefault()}.
+         *
+         * @param vectorIndexOptions the vector index options
+         * @return the builder
+         */
+        public Builder<Record> withVectorIndexOptions(
+            RedisVectorIndexOptions vectorIndexOptions) {
+            this.vectorIndexOptions = vectorIndexOptions;
+            return this;
+        }
+
         /**
          * Builds the options.
          *
@@ -191,13 +252,21 @@ public class RedisJsonVectorStoreRecordCollectionOptions<Record>
             if (recordClass == null) {
                 throw new SKException("recordClass must be provided");
             }
+            if (indexRevalidationInterval != null && indexRevalidationInterval.isNegative()) {
+                throw new SKException("indexRevalidationInterval must not be negative");
+            }
+            if (vectorIndexOptions == null) {
+                throw new SKException("vectorIndexOptions must be provided");
+            }
 
             return new RedisJsonVectorStoreRecordCollectionOptions<>(
                 recordClass,
                 vectorStoreRecordMapper,
                 recordDefinition,
                 prefixCollectionName,
-                objectMapper);
+                objectMapper,
+                indexRevalidationInterval,
+                vectorIndexOptions);
         }
     }
 }
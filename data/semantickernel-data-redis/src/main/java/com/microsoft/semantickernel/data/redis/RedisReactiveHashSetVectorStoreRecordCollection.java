@@ -0,0 +1,436 @@
+// Copyright (c) Microsoft. All rights reserved.
+package com.microsoft.semantickernel.data.redis;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.microsoft.semantickernel.data.vectorsearch.VectorSearchResult;
+import com.microsoft.semantickernel.data.vectorsearch.VectorSearchResults;
+import com.microsoft.semantickernel.data.vectorsearch.VectorizedSearch;
+import com.microsoft.semantickernel.data.vectorstorage.VectorStoreRecordCollection;
+import com.microsoft.semantickernel.data.vectorstorage.VectorStoreRecordMapper;
+import com.microsoft.semantickernel.data.vectorstorage.definition.VectorStoreRecordDefinition;
+import com.microsoft.semantickernel.data.vectorstorage.options.DeleteRecordOptions;
+import com.microsoft.semantickernel.data.vectorstorage.options.GetRecordOptions;
+import com.microsoft.semantickernel.data.vectorstorage.options.UpsertRecordOptions;
+import com.microsoft.semantickernel.data.vectorstorage.options.VectorSearchOptions;
+import com.microsoft.semantickernel.exceptions.SKException;
+import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
+import io.lettuce.core.KeyValue;
+import io.lettuce.core.api.StatefulRedisConnection;
+import io.lettuce.core.api.reactive.RedisReactiveCommands;
+import java.util.AbstractMap;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import javax.annotation.Nonnull;
+import org.apache.commons.lang3.tuple.Pair;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import redis.clients.jedis.search.FTSearchParams;
+import redis.clients.jedis.search.IndexDefinition;
+import redis.clients.jedis.search.IndexOptions;
+import redis.clients.jedis.search.Schema;
+
+/**
+ * A collection of records stored in Redis using the Hash Set data structure, accessed with the
+ * reactive commands of a Lettuce connection. Unlike {@link RedisHashSetVectorStoreRecordCollection}
+ * no operation blocks a thread while waiting for Redis, and concurrent operations share the
+ * multiplexed connection.
+ *
+ * @param <Record> The record type.
+ */
+public class RedisReactiveHashSetVectorStoreRecordCollection<Record>
+    implements VectorStoreRecordCollection<String, Record>,
+    VectorizedSearch<Record> {
+
+    private static final HashSet<Class<?>> supportedKeyTypes = new HashSet<>(
+        Collections.singletonList(
+            String.class));
+
+    private static final HashSet<Class<?>> supportedVectorTypes = new HashSet<>(
+        Arrays.asList(
+            List.class,
+            Collection.class));
+
+    private final RedisReactiveCommands<byte[], byte[]> commands;
+    private final RedisReactiveModuleCommands moduleCommands;
+    private final String collectionName;
+    private final RedisHashSetVectorStoreRecordCollectionOptions<Record> options;
+    private final VectorStoreRecordMapper<Record, Map.Entry<String, Map<byte[], byte[]>>> vectorStoreRecordMapper;
+    private final VectorStoreRecordDefinition recordDefinition;
+    private final byte[][] dataFields;
+    private final RedisIndexState indexState;
+
+    /**
+     * Creates a new instance of the reactive Redis Hash Set collection.
+     *
+     * @param connection     The Redis connection, using the {@code ByteArrayCodec}.
+     * @param collectionName The name of the collection.
+     * @param options        The options for the collection.
+     */
+    @SuppressFBWarnings("EI_EXPOSE_REP2")
+    public RedisReactiveHashSetVectorStoreRecordCollection(
+        @Nonnull StatefulRedisConnection<byte[], byte[]> connection,
+        @Nonnull String collectionName,
+        @Nonnull RedisHashSetVectorStoreRecordCollectionOptions<Record> options) {
+        this.commands = connection.reactive();
+        this.moduleCommands = new RedisReactiveModuleCommands(commands);
+        this.collectionName = collectionName;
+        this.options = options;
+        this.indexState = new RedisIndexState(options.getIndexRevalidationInterval());
+
+        // If record definition is not provided, create one from the record class
+        if (options.getRecordDefinition() == null) {
+            this.recordDefinition = VectorStoreRecordDefinition.fromRecordClass(
+                options.getRecordClass());
+        } else {
+            this.recordDefinition = options.getRecordDefinition();
+        }
+
+        // Validate supported types
+        VectorStoreRecordDefinition.validateSupportedTypes(
+            Collections.singletonList(recordDefinition.getKeyField()),
+            supportedKeyTypes);
+        VectorStoreRecordDefinition.validateSupportedTypes(
+            new ArrayList<>(recordDefinition.getVectorFields()),
+            supportedVectorTypes);
+
+        ObjectMapper objectMapper = options.getObjectMapper() != null
+            ? options.getObjectMapper()
+            : new ObjectMapper();
+
+        // If mapper is not provided, set a default one
+        if (options.getVectorStoreRecordMapper() == null) {
+            vectorStoreRecordMapper = new RedisHashSetVectorStoreRecordMapper.Builder<Record>()
+                .withRecordClass(options.getRecordClass())
+                .withVectorStoreRecordDefinition(recordDefinition)
+                .withVectorIndexOptions(options.getVectorIndexOptions())
+                .withObjectMapper(objectMapper)
+                .build();
+        } else {
+            vectorStoreRecordMapper = options.getVectorStoreRecordMapper();
+        }
+
+        // Creates a list of fields to retrieve from Redis when no vectors are requested
+        this.dataFields = new byte[recordDefinition.getDataFields().size()][];
+        for (int i = 0; i < recordDefinition.getDataFields().size(); i++) {
+            this.dataFields[i] = RedisReactiveModuleCommands.bytes(
+                recordDefinition.getDataFields().get(i).getEffectiveStorageName());
+        }
+    }
+
+    /**
+     * Gets the name of the collection.
+     *
+     * @return The name of the collection.
+     */
+    @Override
+    public String getCollectionName() {
+        return collectionName;
+    }
+
+    /**
+     * Checks if the collection exists in the store.
+     *
+     * @return A Mono emitting a boolean indicating if the collection exists.
+     */
+    @Override
+    public Mono<Boolean> collectionExistsAsync() {
+        return moduleCommands.indexExists(collectionName)
+            .doOnNext(indexState::setExists);
+    }
+
+    /**
+     * Creates the collection in the store.
+     *
+     * @return A Mono representing the completion of the creation operation.
+     */
+    @Override
+    public Mono<VectorStoreRecordCollection<String, Record>> createCollectionAsync() {
+        return Mono.defer(() -> {
+            Schema schema = RedisVectorStoreCollectionCreateMapping
+                .mapToSchema(recordDefinition.getAllFields(), RedisStorageType.HASH_SET,
+                    options.getVectorIndexOptions());
+
+            IndexDefinition indexDefinition = new IndexDefinition(IndexDefinition.Type.HASH)
+                .setPrefixes(collectionName + ":");
+
+            return moduleCommands.createIndex(
+                collectionName,
+                IndexOptions.defaultOptions().setDefinition(indexDefinition),
+                schema);
+        })
+            .doOnSuccess(v -> indexState.setExists(true))
+            .then(Mono.just(this));
+    }
+
+    /**
+     * Creates the collection in the store if it does not exist.
+     *
+     * @return A Mono representing the completion of the creation operation.
+     */
+    @Override
+    public Mono<VectorStoreRecordCollection<String, Record>> createCollectionIfNotExistsAsync() {
+        return Mono.defer(() -> {
+            // Skip the FT.INFO round trip when the index is known to exist
+            if (indexState.isKnownToExist()) {
+                if (indexState.startRevalidation()) {
+                    collectionExistsAsync().subscribe(exists -> {
+                    }, error -> indexState.revalidationFailed());
+                }
+                return Mono.just(this);
+            }
+
+            return collectionExistsAsync().flatMap(exists -> {
+                if (!exists) {
+                    return createCollectionAsync();
+                }
+
+                return Mono.just(this);
+            });
+        });
+    }
+
+    /**
+     * Forgets that the search index of the collection exists, so that the next search checks it
+     * again with {@code FT.INFO}, for example after another client dropped the index.
+     */
+    public void invalidateIndexState() {
+        indexState.invalidate();
+    }
+
+    /**
+     * Deletes the collection from the store.
+     *
+     * @return A Mono representing the completion of the deletion operation.
+     */
+    @Override
+    public Mono<Void> deleteCollectionAsync() {
+        return moduleCommands.dropIndex(collectionName)
+            .doFinally(signal -> indexState.invalidate());
+    }
+
+    private byte[] redisKey(String key) {
+        return RedisReactiveModuleCommands.bytes(
+            options.isPrefixCollectionName() ? collectionName + ":" + key : key);
+    }
+
+    private String removeKeyPrefixIfNeeded(String key) {
+        if (options.isPrefixCollectionName() && key.startsWith(collectionName + ":")) {
+            return key.substring(collectionName.length() + 1);
+        }
+        return key;
+    }
+
+    /**
+     * Gets a record from the store.
+     *
+     * @param key     The key of the record to get.
+     * @param options The options for getting the record.
+     * @return A Mono emitting the record, or empty if it does not exist.
+     */
+    @Override
+    public Mono<Record> getAsync(String key, GetRecordOptions options) {
+        boolean includeVectors = options != null && options.isIncludeVectors();
+
+        Mono<Map<byte[], byte[]>> storage;
+        if (includeVectors) {
+            storage = commands.hgetall(redisKey(key))
+                .collectMap(KeyValue::getKey, KeyValue::getValue);
+        } else {
+            // Returns the values of the data fields, empty for missing fields
+            storage = commands.hmget(redisKey(key), dataFields)
+                .filter(KeyValue::hasValue)
+                .collectMap(KeyValue::getKey, KeyValue::getValue);
+        }
+
+        return storage
+            .filter(fields -> !fields.isEmpty())
+            .map(fields -> this.vectorStoreRecordMapper
+                .mapStorageModelToRecord(new AbstractMap.SimpleEntry<>(key, fields), options));
+    }
+
+    /**
+     * Gets a batch of records from the store. The commands for all keys are sent without waiting
+     * for each other's replies.
+     *
+     * @param keys    The keys of the records to get.
+     * @param options The options for getting the records.
+     * @return A Mono emitting a list of the records that exist, in the order of the keys.
+     */
+    @Override
+    public Mono<List<Record>> getBatchAsync(List<String> keys,
+        GetRecordOptions options) {
+        return Flux.fromIterable(keys)
+            .flatMapSequential(key -> getAsync(key, options))
+            .collectList();
+    }
+
+    /**
+     * Inserts or updates a record in the store.
+     *
+     * @param data    The record to upsert.
+     * @param options The options for upserting the record.
+     * @return A Mono emitting the key of the upserted record.
+     */
+    @Override
+    public Mono<String> upsertAsync(Record data, UpsertRecordOptions options) {
+        return Mono.defer(() -> {
+            Map.Entry<String, Map<byte[], byte[]>> redisObject = this.vectorStoreRecordMapper
+                .mapRecordToStorageModel(data);
+
+            return commands.hset(redisKey(redisObject.getKey()), redisObject.getValue())
+                .thenReturn(redisObject.getKey());
+        });
+    }
+
+    /**
+     * Inserts or updates a batch of records in the store. The commands for all records are sent
+     * without waiting for each other's replies.
+     *
+     * @param data    The records to upsert.
+     * @param options The options for upserting the records.
+     * @return A Mono emitting a collection of keys of the upserted records.
+     */
+    @Override
+    public Mono<List<String>> upsertBatchAsync(List<Record> data, UpsertRecordOptions options) {
+        return Flux.fromIterable(data)
+            .flatMapSequential(record -> upsertAsync(record, options))
+            .collectList();
+    }
+
+    /**
+     * Deletes a record from the store.
+     *
+     * @param key     The key of the record to delete.
+     * @param options The options for deleting the record.
+     * @return A Mono representing the completion of the deletion operation.
+     */
+    @Override
+    public Mono<Void> deleteAsync(String key, DeleteRecordOptions options) {
+        return commands.del(redisKey(key)).then();
+    }
+
+    /**
+     * Deletes a batch of records from the store with a single {@code DEL} command.
+     *
+     * @param strings The keys of the records to delete.
+     * @param options The options for deleting the records.
+     * @return A Mono representing the completion of the deletion operation.
+     */
+    @Override
+    public Mono<Void> deleteBatchAsync(List<String> strings, DeleteRecordOptions options) {
+        if (strings.isEmpty()) {
+            return Mono.empty();
+        }
+
+        byte[][] redisKeys = strings.stream()
+            .map(this::redisKey)
+            .toArray(byte[][]::new);
+        return commands.del(redisKeys).then();
+    }
+
+    /**
+     * Vectorized search. This method searches for records that are similar to the given vector.
+     *
+     * @param vector  The vector to search with.
+     * @param options The options to use for the search.
+     * @return A list of search results.
+     */
+    @Override
+    public Mono<VectorSearchResults<Record>> searchAsync(List<Float> vector,
+        VectorSearchOptions options) {
+        if (recordDefinition.getVectorFields().isEmpty()) {
+            return Mono
+                .error(new SKException("No vector fields defined. Cannot perform vector search"));
+        }
+
+        Mono<VectorSearchResults<Record>> search = search(vector, options);
+
+        return createCollectionIfNotExistsAsync()
+            .then(search)
+            .onErrorResume(RedisReactiveModuleCommands::isMissingIndex, error -> {
+                // The index was dropped since it was last seen, create it again
+                indexState.invalidate();
+                return createCollectionIfNotExistsAsync().then(search);
+            });
+    }
+
+    /**
+     * Vectorized search of several vectors with the same options. The {@code FT.SEARCH} commands
+     * of all vectors are sent without waiting for each other's replies, so Lettuce pipelines
+     * them on the connection.
+     *
+     * @param vectors The vectors to search with.
+     * @param options The options to use for every search.
+     * @return Vector search results of each vector, in the order of the vectors.
+     */
+    @Override
+    public Mono<List<VectorSearchResults<Record>>> searchBatchAsync(List<List<Float>> vectors,
+        VectorSearchOptions options) {
+        if (recordDefinition.getVectorFields().isEmpty()) {
+            return Mono
+                .error(new SKException("No vector fields defined. Cannot perform vector search"));
+        }
+
+        Mono<List<VectorSearchResults<Record>>> search = Flux.fromIterable(vectors)
+            .flatMapSequential(vector -> search(vector, options))
+            .collectList();
+
+        return createCollectionIfNotExistsAsync()
+            .then(search)
+            .onErrorResume(RedisReactiveModuleCommands::isMissingIndex, error -> {
+                // The index was dropped since it was last seen, create it again
+                indexState.invalidate();
+                return createCollectionIfNotExistsAsync().then(search);
+            });
+    }
+
+    private Mono<VectorSearchResults<Record>> search(List<Float> vector,
+        VectorSearchOptions options) {
+        return Mono.defer(() -> {
+            Pair<String, FTSearchParams> ftSearchParams = RedisVectorStoreCollectionSearchMapping
+                .getInstance()
+                .buildQuery(vector, options, recordDefinition, RedisStorageType.HASH_SET,
+                    this.options.getVectorIndexOptions());
+
+            return moduleCommands
+                .search(collectionName, ftSearchParams.getLeft(), ftSearchParams.getRight());
+        }).map(documents -> {
+            GetRecordOptions getRecordOptions = new GetRecordOptions(
+                options != null && options.isIncludeVectors());
+
+            List<VectorSearchResult<Record>> results = documents.stream()
+                .map(doc -> {
+                    String key = removeKeyPrefixIfNeeded(doc.getId());
+                    double score = 0;
+
+                    Map<byte[], byte[]> storage = new HashMap<>();
+                    for (Map.Entry<String, byte[]> entry : doc.getFields().entrySet()) {
+                        if (entry.getKey().equals(
+                            RedisVectorStoreCollectionSearchMapping.VECTOR_SCORE_FIELD)) {
+                            score = Double.parseDouble(
+                                RedisReactiveModuleCommands.string(entry.getValue()));
+                        } else {
+                            storage.put(RedisReactiveModuleCommands.bytes(entry.getKey()),
+                                entry.getValue());
+                        }
+                    }
+
+                    Record record = this.vectorStoreRecordMapper
+                        .mapStorageModelToRecord(
+                            new AbstractMap.SimpleEntry<>(key, storage), getRecordOptions);
+
+                    return new VectorSearchResult<>(record, score);
+                })
+                .collect(Collectors.toList());
+
+            return new VectorSearchResults<>(results);
+        });
+    }
+}
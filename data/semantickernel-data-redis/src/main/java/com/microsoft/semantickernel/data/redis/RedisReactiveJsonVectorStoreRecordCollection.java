@@ -0,0 +1,466 @@
+// Copyright (c) Microsoft. All rights reserved.
+package com.microsoft.semantickernel.data.redis;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.microsoft.semantickernel.data.vectorsearch.VectorSearchResult;
+import com.microsoft.semantickernel.data.vectorsearch.VectorSearchResults;
+import com.microsoft.semantickernel.data.vectorsearch.VectorizedSearch;
+import com.microsoft.semantickernel.data.vectorstorage.VectorStoreRecordCollection;
+import com.microsoft.semantickernel.data.vectorstorage.VectorStoreRecordMapper;
+import com.microsoft.semantickernel.data.vectorstorage.definition.VectorStoreRecordDataField;
+import com.microsoft.semantickernel.data.vectorstorage.definition.VectorStoreRecordDefinition;
+import com.microsoft.semantickernel.data.vectorstorage.options.DeleteRecordOptions;
+import com.microsoft.semantickernel.data.vectorstorage.options.GetRecordOptions;
+import com.microsoft.semantickernel.data.vectorstorage.options.UpsertRecordOptions;
+import com.microsoft.semantickernel.data.vectorstorage.options.VectorSearchOptions;
+import com.microsoft.semantickernel.exceptions.SKException;
+import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
+import io.lettuce.core.api.StatefulRedisConnection;
+import io.lettuce.core.api.reactive.RedisReactiveCommands;
+import java.io.IOException;
+import java.util.AbstractMap.SimpleEntry;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map.Entry;
+import java.util.stream.Collectors;
+import javax.annotation.Nonnull;
+import org.apache.commons.lang3.tuple.Pair;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import redis.clients.jedis.search.FTSearchParams;
+import redis.clients.jedis.search.IndexDefinition;
+import redis.clients.jedis.search.IndexOptions;
+import redis.clients.jedis.search.Schema;
+
+/**
+ * A collection of records stored in Redis as JSON documents, accessed with the reactive commands
+ * of a Lettuce connection. Unlike {@link RedisJsonVectorStoreRecordCollection} no operation
+ * blocks a thread while waiting for Redis, and concurrent operations share the multiplexed
+ * connection.
+ *
+ * @param <Record> The type of record in the collection.
+ */
+public class RedisReactiveJsonVectorStoreRecordCollection<Record>
+    implements VectorStoreRecordCollection<String, Record>,
+    VectorizedSearch<Record> {
+
+    private static final HashSet<Class<?>> supportedKeyTypes = new HashSet<>(
+        Collections.singletonList(
+            String.class));
+
+    private static final HashSet<Class<?>> supportedVectorTypes = new HashSet<>(
+        Arrays.asList(
+            List.class,
+            Collection.class));
+
+    private static final String REDIS_PATH_PREFIX = "$.";
+
+    private final RedisReactiveCommands<byte[], byte[]> commands;
+    private final RedisReactiveModuleCommands moduleCommands;
+    private final String collectionName;
+    private final RedisJsonVectorStoreRecordCollectionOptions<Record> options;
+    private final VectorStoreRecordMapper<Record, Entry<String, Object>> vectorStoreRecordMapper;
+    private final VectorStoreRecordDefinition recordDefinition;
+    private final List<String> dataFieldNames;
+    private final byte[][] dataFields;
+    private final ObjectMapper objectMapper;
+    private final RedisIndexState indexState;
+
+    /**
+     * Creates a new instance of the reactive Redis JSON collection.
+     *
+     * @param connection     The Redis connection, using the {@code ByteArrayCodec}.
+     * @param collectionName The name of the collection.
+     * @param options        The options for the collection.
+     */
+    @SuppressFBWarnings("EI_EXPOSE_REP2")
+    public RedisReactiveJsonVectorStoreRecordCollection(
+        @Nonnull StatefulRedisConnection<byte[], byte[]> connection,
+        @Nonnull String collectionName,
+        @Nonnull RedisJsonVectorStoreRecordCollectionOptions<Record> options) {
+        this.commands = connection.reactive();
+        this.moduleCommands = new RedisReactiveModuleCommands(commands);
+        this.collectionName = collectionName;
+        this.options = options;
+        this.indexState = new RedisIndexState(options.getIndexRevalidationInterval());
+
+        // If record definition is not provided, create one from the record class
+        if (options.getRecordDefinition() == null) {
+            this.recordDefinition = VectorStoreRecordDefinition.fromRecordClass(
+                options.getRecordClass());
+        } else {
+            this.recordDefinition = options.getRecordDefinition();
+        }
+
+        // Validate supported types
+        VectorStoreRecordDefinition.validateSupportedTypes(
+            Collections.singletonList(recordDefinition.getKeyField()),
+            supportedKeyTypes);
+        VectorStoreRecordDefinition.validateSupportedTypes(
+            new ArrayList<>(recordDefinition.getVectorFields()),
+            supportedVectorTypes);
+
+        // If object mapper is not provided, set a default one
+        this.objectMapper = options.getObjectMapper() != null ? options.getObjectMapper()
+            : new ObjectMapper();
+
+        // If mapper is not provided, set a default one
+        if (options.getVectorStoreRecordMapper() == null) {
+            vectorStoreRecordMapper = new RedisJsonVectorStoreRecordMapper.Builder<Record>()
+                .withRecordClass(options.getRecordClass())
+                .withRecordDefinition(recordDefinition)
+                .withObjectMapper(objectMapper)
+                .build();
+        } else {
+            vectorStoreRecordMapper = options.getVectorStoreRecordMapper();
+        }
+
+        // Creates a list of paths to retrieve from Redis when no vectors are requested
+        // Paths are in the format of $.field
+        this.dataFieldNames = recordDefinition.getDataFields().stream()
+            .map(VectorStoreRecordDataField::getEffectiveStorageName)
+            .collect(Collectors.toList());
+        this.dataFields = dataFieldNames.stream()
+            .map(name -> RedisReactiveModuleCommands.bytes(REDIS_PATH_PREFIX + name))
+            .toArray(byte[][]::new);
+    }
+
+    /**
+     * Gets the name of the collection.
+     *
+     * @return The name of the collection.
+     */
+    @Override
+    public String getCollectionName() {
+        return collectionName;
+    }
+
+    /**
+     * Checks if the collection exists in the store.
+     *
+     * @return A Mono emitting a boolean indicating if the collection exists.
+     */
+    @Override
+    public Mono<Boolean> collectionExistsAsync() {
+        return moduleCommands.indexExists(collectionName)
+            .doOnNext(indexState::setExists);
+    }
+
+    /**
+     * Creates the collection in the store.
+     *
+     * @return A Mono representing the completion of the creation operation.
+     */
+    @Override
+    public Mono<VectorStoreRecordCollection<String, Record>> createCollectionAsync() {
+        return Mono.defer(() -> {
+            Schema schema = RedisVectorStoreCollectionCreateMapping
+                .mapToSchema(recordDefinition.getAllFields(), RedisStorageType.JSON,
+                    options.getVectorIndexOptions());
+
+            IndexDefinition indexDefinition = new IndexDefinition(IndexDefinition.Type.JSON)
+                .setPrefixes(collectionName + ":");
+
+            return moduleCommands.createIndex(
+                collectionName,
+                IndexOptions.defaultOptions().setDefinition(indexDefinition),
+                schema);
+        })
+            .doOnSuccess(v -> indexState.setExists(true))
+            .then(Mono.just(this));
+    }
+
+    /**
+     * Creates the collection in the store if it does not exist.
+     *
+     * @return A Mono representing the completion of the creation operation.
+     */
+    @Override
+    public Mono<VectorStoreRecordCollection<String, Record>> createCollectionIfNotExistsAsync() {
+        return Mono.defer(() -> {
+            // Skip the FT.INFO round trip when the index is known to exist
+            if (indexState.isKnownToExist()) {
+                if (indexState.startRevalidation()) {
+                    collectionExistsAsync().subscribe(exists -> {
+                    }, error -> indexState.revalidationFailed());
+                }
+                return Mono.just(this);
+            }
+
+            return collectionExistsAsync().flatMap(exists -> {
+                if (!exists) {
+                    return createCollectionAsync();
+                }
+
+                return Mono.just(this);
+            });
+        });
+    }
+
+    /**
+     * Forgets that the search index of the collection exists, so that the next search checks it
+     * again with {@code FT.INFO}, for example after another client dropped the index.
+     */
+    public void invalidateIndexState() {
+        indexState.invalidate();
+    }
+
+    /**
+     * Deletes the collection from the store.
+     *
+     * @return A Mono representing the completion of the deletion operation.
+     */
+    @Override
+    public Mono<Void> deleteCollectionAsync() {
+        return moduleCommands.dropIndex(collectionName)
+            .doFinally(signal -> indexState.invalidate());
+    }
+
+    private byte[] redisKey(String key) {
+        return RedisReactiveModuleCommands.bytes(
+            options.isPrefixCollectionName() ? collectionName + ":" + key : key);
+    }
+
+    private String removeKeyPrefixIfNeeded(String key) {
+        if (options.isPrefixCollectionName() && key.startsWith(collectionName + ":")) {
+            return key.substring(collectionName.length() + 1);
+        }
+        return key;
+    }
+
+    private JsonNode readTree(byte[] json) {
+        try {
+            return objectMapper.readTree(json);
+        } catch (IOException e) {
+            throw new SKException("Failed to read the JSON document returned by Redis", e);
+        }
+    }
+
+    // JSON.GET with several paths returns {"$.field": [value], ...}, and with a single path
+    // only the [value] of that path
+    private JsonNode removeRedisPathPrefix(JsonNode paths) {
+        ObjectNode noPathPrefix = objectMapper.createObjectNode();
+        if (paths.isArray()) {
+            if (paths.size() > 0) {
+                noPathPrefix.set(dataFieldNames.get(0), paths.get(0));
+            }
+            return noPathPrefix;
+        }
+
+        paths.fields().forEachRemaining(path -> {
+            String name = path.getKey().startsWith(REDIS_PATH_PREFIX)
+                ? path.getKey().substring(REDIS_PATH_PREFIX.length())
+                : path.getKey();
+            if (path.getValue().size() > 0) {
+                noPathPrefix.set(name, path.getValue().get(0));
+            }
+        });
+        return noPathPrefix;
+    }
+
+    /**
+     * Gets a record from the store.
+     *
+     * @param key     The key of the record to get.
+     * @param options The options for getting the record.
+     * @return A Mono emitting the record, or empty if it does not exist.
+     */
+    @Override
+    public Mono<Record> getAsync(String key, GetRecordOptions options) {
+        boolean includeVectors = options != null && options.isIncludeVectors();
+
+        Mono<byte[]> value = includeVectors
+            ? moduleCommands.jsonGet(redisKey(key))
+            : moduleCommands.jsonGet(redisKey(key), dataFields);
+
+        return value.map(json -> {
+            JsonNode jsonNode = includeVectors
+                ? readTree(json)
+                : removeRedisPathPrefix(readTree(json));
+
+            return this.vectorStoreRecordMapper
+                .mapStorageModelToRecord(new SimpleEntry<>(key, jsonNode), options);
+        });
+    }
+
+    /**
+     * Gets a batch of records from the store. The commands for all keys are sent without waiting
+     * for each other's replies.
+     *
+     * @param keys    The keys of the records to get.
+     * @param options The options for getting the records.
+     * @return A Mono emitting a list of the records that exist, in the order of the keys.
+     */
+    @Override
+    public Mono<List<Record>> getBatchAsync(List<String> keys,
+        GetRecordOptions options) {
+        return Flux.fromIterable(keys)
+            .flatMapSequential(key -> getAsync(key, options))
+            .collectList();
+    }
+
+    /**
+     * Inserts or updates a record in the store.
+     *
+     * @param data    The record to upsert.
+     * @param options The options for upserting the record.
+     * @return A Mono emitting the key of the upserted record.
+     */
+    @Override
+    public Mono<String> upsertAsync(Record data, UpsertRecordOptions options) {
+        return Mono.defer(() -> {
+            Entry<String, Object> redisObject = this.vectorStoreRecordMapper
+                .mapRecordToStorageModel(data);
+
+            byte[] json;
+            try {
+                json = objectMapper.writeValueAsBytes(redisObject.getValue());
+            } catch (IOException e) {
+                return Mono.error(new SKException("Failed to serialize the record", e));
+            }
+
+            return moduleCommands.jsonSet(redisKey(redisObject.getKey()), json)
+                .thenReturn(redisObject.getKey());
+        });
+    }
+
+    /**
+     * Inserts or updates a batch of records in the store. The commands for all records are sent
+     * without waiting for each other's replies.
+     *
+     * @param data    The records to upsert.
+     * @param options The options for upserting the records.
+     * @return A Mono emitting a collection of keys of the upserted records.
+     */
+    @Override
+    public Mono<List<String>> upsertBatchAsync(List<Record> data, UpsertRecordOptions options) {
+        return Flux.fromIterable(data)
+            .flatMapSequential(record -> upsertAsync(record, options))
+            .collectList();
+    }
+
+    /**
+     * Deletes a record from the store.
+     *
+     * @param key     The key of the record to delete.
+     * @param options The options for deleting the record.
+     * @return A Mono representing the completion of the deletion operation.
+     */
+    @Override
+    public Mono<Void> deleteAsync(String key, DeleteRecordOptions options) {
+        return commands.del(redisKey(key)).then();
+    }
+
+    /**
+     * Deletes a batch of records from the store with a single {@code DEL} command.
+     *
+     * @param strings The keys of the records to delete.
+     * @param options The options for deleting the records.
+     * @return A Mono representing the completion of the deletion operation.
+     */
+    @Override
+    public Mono<Void> deleteBatchAsync(List<String> strings, DeleteRecordOptions options) {
+        if (strings.isEmpty()) {
+            return Mono.empty();
+        }
+
+        byte[][] redisKeys = strings.stream()
+            .map(this::redisKey)
+            .toArray(byte[][]::new);
+        return commands.del(redisKeys).then();
+    }
+
+    /**
+     * Vectorized search. This method searches for records that are similar to the given vector.
+     *
+     * @param vector  The vector to search with.
+     * @param options The options to use for the search.
+     * @return The search results.
+     */
+    @Override
+    public Mono<VectorSearchResults<Record>> searchAsync(List<Float> vector,
+        VectorSearchOptions options) {
+        if (recordDefinition.getVectorFields().isEmpty()) {
+            return Mono
+                .error(new SKException("No vector fields defined. Cannot perform vector search"));
+        }
+
+        Mono<VectorSearchResults<Record>> search = search(vector, options);
+
+        return createCollectionIfNotExistsAsync()
+            .then(search)
+            .onErrorResume(RedisReactiveModuleCommands::isMissingIndex, error -> {
+                // The index was dropped since it was last seen, create it again
+                indexState.invalidate();
+                return createCollectionIfNotExistsAsync().then(search);
+            });
+    }
+
+    /**
+     * Vectorized search of several vectors with the same options. The {@code FT.SEARCH} commands
+     * of all vectors are sent without waiting for each other's replies, so Lettuce pipelines
+     * them on the connection.
+     *
+     * @param vectors The vectors to search with.
+     * @param options The options to use for every search.
+     * @return Vector search results of each vector, in the order of the vectors.
+     */
+    @Override
+    public Mono<List<VectorSearchResults<Record>>> searchBatchAsync(List<List<Float>> vectors,
+        VectorSearchOptions options) {
+        if (recordDefinition.getVectorFields().isEmpty()) {
+            return Mono
+                .error(new SKException("No vector fields defined. Cannot perform vector search"));
+        }
+
+        Mono<List<VectorSearchResults<Record>>> search = Flux.fromIterable(vectors)
+            .flatMapSequential(vector -> search(vector, options))
+            .collectList();
+
+        return createCollectionIfNotExistsAsync()
+            .then(search)
+            .onErrorResume(RedisReactiveModuleCommands::isMissingIndex, error -> {
+                // The index was dropped since it was last seen, create it again
+                indexState.invalidate();
+                return createCollectionIfNotExistsAsync().then(search);
+            });
+    }
+
+    private Mono<VectorSearchResults<Record>> search(List<Float> vector,
+        VectorSearchOptions options) {
+        return Mono.defer(() -> {
+            Pair<String, FTSearchParams> ftSearchParams = RedisVectorStoreCollectionSearchMapping
+                .getInstance().buildQuery(vector, options, recordDefinition, RedisStorageType.JSON,
+                    this.options.getVectorIndexOptions());
+
+            return moduleCommands
+                .search(collectionName, ftSearchParams.getLeft(), ftSearchParams.getRight());
+        }).map(documents -> {
+            GetRecordOptions getRecordOptions = new GetRecordOptions(
+                options != null && options.isIncludeVectors());
+
+            List<VectorSearchResult<Record>> results = documents.stream()
+                .map(doc -> {
+                    String key = removeKeyPrefixIfNeeded(doc.getId());
+                    JsonNode jsonNode = readTree(doc.getFields().get("$"));
+                    double score = Double.parseDouble(RedisReactiveModuleCommands.string(
+                        doc.getFields()
+                            .get(RedisVectorStoreCollectionSearchMapping.VECTOR_SCORE_FIELD)));
+
+                    Record record = this.vectorStoreRecordMapper
+                        .mapStorageModelToRecord(new SimpleEntry<>(key, jsonNode),
+                            getRecordOptions);
+
+                    return new VectorSearchResult<>(record, score);
+                }).collect(Collectors.toList());
+
+            return new VectorSearchResults<>(results);
+        });
+    }
+}
@@ -0,0 +1,290 @@
+// Copyright (c) Microsoft. All rights reserved.
+package com.microsoft.semantickernel.data.redis;
+
+import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
+import io.lettuce.core.RedisCommandExecutionException;
+import io.lettuce.core.api.reactive.RedisReactiveCommands;
+import io.lettuce.core.codec.ByteArrayCodec;
+import io.lettuce.core.output.CommandOutput;
+import io.lettuce.core.output.NestedMultiOutput;
+import io.lettuce.core.output.StatusOutput;
+import io.lettuce.core.output.ValueOutput;
+import io.lettuce.core.protocol.CommandArgs;
+import io.lettuce.core.protocol.ProtocolKeyword;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import reactor.core.publisher.Mono;
+import redis.clients.jedis.CommandArguments;
+import redis.clients.jedis.args.Rawable;
+import redis.clients.jedis.search.FTSearchParams;
+import redis.clients.jedis.search.IndexOptions;
+import redis.clients.jedis.search.Schema;
+import redis.clients.jedis.search.SearchProtocol.SearchCommand;
+import redis.clients.jedis.search.SearchProtocol.SearchKeyword;
+
+/**
+ * Sends the RediSearch and RedisJSON commands that Lettuce has no API for through
+ * {@link RedisReactiveCommands#dispatch}. The arguments of {@code FT.CREATE} and
+ * {@code FT.SEARCH} are rendered from the Jedis schema and search parameters built by
+ * {@link RedisVectorStoreCollectionCreateMapping} and
+ * {@link RedisVectorStoreCollectionSearchMapping}, so both Redis connectors send the same
+ * commands.
+ */
+final class RedisReactiveModuleCommands {
+
+    private static final ByteArrayCodec CODEC = ByteArrayCodec.INSTANCE;
+
+    /**
+     * The module commands sent to Redis.
+     */
+    enum Command implements ProtocolKeyword {
+        FT_CREATE("FT.CREATE"),
+        FT_DROPINDEX("FT.DROPINDEX"),
+        FT_INFO("FT.INFO"),
+        FT_LIST("FT._LIST"),
+        FT_SEARCH("FT.SEARCH"),
+        JSON_GET("JSON.GET"),
+        JSON_SET("JSON.SET");
+
+        private final byte[] bytes;
+
+        Command(String command) {
+            this.bytes = command.getBytes(StandardCharsets.US_ASCII);
+        }
+
+        @Override
+        @SuppressFBWarnings("EI_EXPOSE_REP") // Lettuce only writes the bytes to the connection
+        public byte[] getBytes() {
+            return bytes;
+        }
+    }
+
+    /**
+     * A document found by {@code FT.SEARCH}.
+     */
+    static final class SearchDocument {
+        private final String id;
+        private final Map<String, byte[]> fields;
+
+        SearchDocument(String id, Map<String, byte[]> fields) {
+            this.id = id;
+            this.fields = fields;
+        }
+
+        String getId() {
+            return id;
+        }
+
+        @SuppressFBWarnings("EI_EXPOSE_REP") // The fields are only read by the collections
+        Map<String, byte[]> getFields() {
+            return fields;
+        }
+    }
+
+    private final RedisReactiveCommands<byte[], byte[]> commands;
+
+    @SuppressFBWarnings("EI_EXPOSE_REP2") // The commands are shared with the vector store
+    RedisReactiveModuleCommands(RedisReactiveCommands<byte[], byte[]> commands) {
+        this.commands = commands;
+    }
+
+    static byte[] bytes(String value) {
+        return value.getBytes(StandardCharsets.UTF_8);
+    }
+
+    static String string(byte[] value) {
+        return new String(value, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Checks whether an error reports that the index does not exist.
+     *
+     * @param error the error
+     * @return whether the index does not exist
+     */
+    static boolean isMissingIndex(Throwable error) {
+        return error instanceof RedisCommandExecutionException
+            && RedisIndexState.isMissingIndexMessage(error.getMessage());
+    }
+
+    /**
+     * Checks whether an index exists with {@code FT.INFO}.
+     *
+     * @param indexName the name of the index
+     * @return a Mono emitting whether the index exists
+     */
+    Mono<Boolean> indexExists(String indexName) {
+        return this.<List<Object>>dispatch(Command.FT_INFO, new NestedMultiOutput<>(CODEC),
+            args().add(bytes(indexName)))
+            .map(info -> !info.isEmpty())
+            .defaultIfEmpty(false)
+            .onErrorResume(RedisCommandExecutionException.class, e -> Mono.just(false));
+    }
+
+    /**
+     * Creates an index with {@code FT.CREATE}.
+     *
+     * @param indexName    the name of the index
+     * @param indexOptions the options of the index
+     * @param schema       the schema of the index
+     * @return a Mono completing when the index is created
+     */
+    Mono<Void> createIndex(String indexName, IndexOptions indexOptions, Schema schema) {
+        CommandArguments arguments = new CommandArguments(SearchCommand.CREATE)
+            .add(indexName)
+            .addParams(indexOptions)
+            .add(SearchKeyword.SCHEMA);
+        schema.fields.forEach(arguments::addParams);
+
+        return this.<String>dispatch(Command.FT_CREATE, new StatusOutput<>(CODEC),
+            toCommandArgs(arguments))
+            .then();
+    }
+
+    /**
+     * Drops an index with {@code FT.DROPINDEX}, keeping the indexed documents.
+     *
+     * @param indexName the name of the index
+     * @return a Mono completing when the index is dropped
+     */
+    Mono<Void> dropIndex(String indexName) {
+        return this.<String>dispatch(Command.FT_DROPINDEX, new StatusOutput<>(CODEC),
+            args().add(bytes(indexName)))
+            .then();
+    }
+
+    /**
+     * Lists the indexes with {@code FT._LIST}.
+     *
+     * @return a Mono emitting the names of the indexes
+     */
+    Mono<List<String>> listIndexes() {
+        return this.<List<Object>>dispatch(Command.FT_LIST, new NestedMultiOutput<>(CODEC), args())
+            .map(names -> names.stream()
+                .map(name -> string((byte[]) name))
+                .collect(Collectors.toList()))
+            .defaultIfEmpty(Collections.emptyList());
+    }
+
+    /**
+     * Searches an index with {@code FT.SEARCH}.
+     *
+     * @param indexName    the name of the index
+     * @param query        the query
+     * @param searchParams the search parameters
+     * @return a Mono emitting the documents found, in the order returned by Redis
+     */
+    Mono<List<SearchDocument>> search(String indexName, String query,
+        FTSearchParams searchParams) {
+        CommandArguments arguments = new CommandArguments(SearchCommand.SEARCH)
+            .add(indexName)
+            .add(query)
+            .addParams(searchParams);
+
+        return this.<List<Object>>dispatch(Command.FT_SEARCH, new NestedMultiOutput<>(CODEC),
+            toCommandArgs(arguments))
+            .map(RedisReactiveModuleCommands::parseSearchReply)
+            .defaultIfEmpty(Collections.emptyList());
+    }
+
+    /**
+     * Gets a JSON document, or some of its paths, with {@code JSON.GET}.
+     *
+     * @param key   the key of the document
+     * @param paths the paths to get, or none to get the whole document
+     * @return a Mono emitting the JSON reply, or empty if the document does not exist
+     */
+    Mono<byte[]> jsonGet(byte[] key, byte[]... paths) {
+        CommandArgs<byte[], byte[]> args = args().addKey(key);
+        for (byte[] path : paths) {
+            args.add(path);
+        }
+        return this.<byte[]>dispatch(Command.JSON_GET, new ValueOutput<>(CODEC), args);
+    }
+
+    /**
+     * Sets a JSON document with {@code JSON.SET}.
+     *
+     * @param key  the key of the document
+     * @param json the JSON document
+     * @return a Mono completing when the document is set
+     */
+    Mono<Void> jsonSet(byte[] key, byte[] json) {
+        return this.<String>dispatch(Command.JSON_SET, new StatusOutput<>(CODEC),
+            args().addKey(key).add(bytes("$")).addValue(json))
+            .then();
+    }
+
+    private <T> Mono<T> dispatch(Command command,
+        CommandOutput<byte[], byte[], ?> output,
+        CommandArgs<byte[], byte[]> args) {
+        return commands.<T>dispatch(command, output, args).next();
+    }
+
+    private static CommandArgs<byte[], byte[]> args() {
+        return new CommandArgs<>(CODEC);
+    }
+
+    // Copies the raw arguments rendered by Jedis, skipping the command itself
+    private static CommandArgs<byte[], byte[]> toCommandArgs(CommandArguments arguments) {
+        CommandArgs<byte[], byte[]> args = args();
+        Iterator<Rawable> iterator = arguments.iterator();
+        iterator.next();
+        iterator.forEachRemaining(argument -> args.add(argument.getRaw()));
+        return args;
+    }
+
+    // RESP2 replies are [total, id, [field, value, ...], ...]. RESP3 replies are a map with the
+    // documents in "results", each a map with the id in "id" and the fields in
+    // "extra_attributes". Maps are read as lists of alternating keys and values.
+    @SuppressWarnings("unchecked")
+    private static List<SearchDocument> parseSearchReply(List<Object> reply) {
+        List<SearchDocument> documents = new ArrayList<>();
+        if (!reply.isEmpty() && reply.get(0) instanceof Long) {
+            for (int i = 1; i + 1 < reply.size(); i += 2) {
+                documents.add(new SearchDocument(
+                    string((byte[]) reply.get(i)),
+                    toFieldMap((List<Object>) reply.get(i + 1))));
+            }
+            return documents;
+        }
+
+        Object results = toMap(reply).get("results");
+        if (results instanceof List) {
+            for (Object result : (List<Object>) results) {
+                Map<String, Object> document = toMap((List<Object>) result);
+                Object fields = document.get("extra_attributes");
+                documents.add(new SearchDocument(
+                    string((byte[]) document.get("id")),
+                    fields instanceof List ? toFieldMap((List<Object>) fields)
+                        : Collections.emptyMap()));
+            }
+        }
+        return documents;
+    }
+
+    private static Map<String, Object> toMap(List<Object> entries) {
+        Map<String, Object> map = new HashMap<>();
+        for (int i = 0; i + 1 < entries.size(); i += 2) {
+            map.put(string((byte[]) entries.get(i)), entries.get(i + 1));
+        }
+        return map;
+    }
+
+    private static Map<String, byte[]> toFieldMap(List<Object> entries) {
+        Map<String, byte[]> fields = new HashMap<>();
+        for (int i = 0; i + 1 < entries.size(); i += 2) {
+            Object value = entries.get(i + 1);
+            if (value instanceof byte[]) {
+                fields.put(string((byte[]) entries.get(i)), (byte[]) value);
+            }
+        }
+        return fields;
+    }
+}
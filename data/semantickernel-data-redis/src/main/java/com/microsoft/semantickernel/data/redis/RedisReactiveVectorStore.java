@@ -0,0 +1,148 @@
+// Copyright (c) Microsoft. All rights reserved.
+package com.microsoft.semantickernel.data.redis;
+
+import com.microsoft.semantickernel.builders.SemanticKernelBuilder;
+import com.microsoft.semantickernel.data.vectorstorage.VectorStore;
+import com.microsoft.semantickernel.data.vectorstorage.VectorStoreRecordCollection;
+import com.microsoft.semantickernel.data.vectorstorage.VectorStoreRecordCollectionOptions;
+import com.microsoft.semantickernel.exceptions.SKException;
+import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
+import io.lettuce.core.api.StatefulRedisConnection;
+import java.util.List;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import reactor.core.publisher.Mono;
+
+/**
+ * Represents a Redis vector store accessed with the reactive commands of a Lettuce connection.
+ * <p>
+ * The collections of this store do not block threads while waiting for Redis: all their
+ * operations, including searches, are sent on a single multiplexed connection, so many
+ * concurrent operations share one connection instead of each holding a pooled connection and a
+ * thread. The connection must use the {@code ByteArrayCodec}, for example
+ * {@code redisClient.connect(ByteArrayCodec.INSTANCE)}. Lettuce is an optional dependency of
+ * this module, and must be added to use this store.
+ */
+public class RedisReactiveVectorStore implements VectorStore {
+
+    private final StatefulRedisConnection<byte[], byte[]> connection;
+    private final RedisVectorStoreOptions options;
+    private final RedisReactiveModuleCommands moduleCommands;
+
+    /**
+     * Creates a new instance of the reactive Redis vector store.
+     *
+     * @param connection The Redis connection, using the {@code ByteArrayCodec}.
+     * @param options    The options for the vector store.
+     */
+    @SuppressFBWarnings("EI_EXPOSE_REP2")
+    public RedisReactiveVectorStore(@Nonnull StatefulRedisConnection<byte[], byte[]> connection,
+        @Nonnull RedisVectorStoreOptions options) {
+        if (options.getVectorStoreRecordCollectionFactory() != null) {
+            throw new SKException(
+                "The reactive Redis vector store does not support a vector store record collection factory");
+        }
+
+        this.connection = connection;
+        this.options = options;
+        this.moduleCommands = new RedisReactiveModuleCommands(connection.reactive());
+    }
+
+    /**
+     * Gets a collection from the vector store.
+     *
+     * @param collectionName   The name of the collection.
+     * @param options          The options for the collection.
+     * @param <Key>            The type of key in the collection.
+     * @param <Record>         The type of record in the collection.
+     * @return The collection.
+     */
+    @Override
+    public <Key, Record> VectorStoreRecordCollection<Key, Record> getCollection(
+        @Nonnull String collectionName,
+        @Nonnull VectorStoreRecordCollectionOptions<Key, Record> options) {
+        if (!options.getKeyClass().equals(String.class)) {
+            throw new SKException("Redis only supports string keys");
+        }
+        if (options.getRecordClass() == null) {
+            throw new SKException("Record class is required");
+        }
+
+        if (this.options.getStorageType() == RedisStorageType.JSON) {
+            return (VectorStoreRecordCollection<Key, Record>) new RedisReactiveJsonVectorStoreRecordCollection<>(
+                connection,
+                collectionName,
+                (RedisJsonVectorStoreRecordCollectionOptions<Record>) options);
+        } else {
+            return (VectorStoreRecordCollection<Key, Record>) new RedisReactiveHashSetVectorStoreRecordCollection<>(
+                connection,
+                collectionName,
+                (RedisHashSetVectorStoreRecordCollectionOptions<Record>) options);
+        }
+    }
+
+    /**
+     * Gets the names of all collections in the vector store.
+     *
+     * @return A list of collection names.
+     */
+    @Override
+    public Mono<List<String>> getCollectionNamesAsync() {
+        return moduleCommands.listIndexes();
+    }
+
+    /**
+     * Create a builder for the reactive Redis vector store.
+     * @return A new builder
+     */
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * Builder for the reactive Redis vector store.
+     */
+    public static class Builder implements SemanticKernelBuilder<RedisReactiveVectorStore> {
+
+        @Nullable
+        private StatefulRedisConnection<byte[], byte[]> connection;
+        @Nullable
+        private RedisVectorStoreOptions options;
+
+        /**
+         * Sets the Redis connection, which must use the {@code ByteArrayCodec}.
+         *
+         * @param connection the Redis connection
+         * @return the builder
+         */
+        @SuppressFBWarnings("EI_EXPOSE_REP2")
+        public Builder withConnection(StatefulRedisConnection<byte[], byte[]> connection) {
+            this.connection = connection;
+            return this;
+        }
+
+        /**
+         * Sets the options for the vector store.
+         *
+         * @param options the options for the vector store
+         * @return the builder
+         */
+        public Builder withOptions(RedisVectorStoreOptions options) {
+            this.options = options;
+            return this;
+        }
+
+        @Override
+        public RedisReactiveVectorStore build() {
+            if (connection == null) {
+                throw new SKException("connection is required");
+            }
+
+            if (options == null) {
+                throw new SKException("options is required");
+            }
+
+            return new RedisReactiveVectorStore(connection, options);
+        }
+    }
+}
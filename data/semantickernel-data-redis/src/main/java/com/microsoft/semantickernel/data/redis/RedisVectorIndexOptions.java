@@ -0,0 +1,222 @@
+// Copyright (c) Microsoft. All rights reserved.
+package com.microsoft.semantickernel.data.redis;
+
+import com.microsoft.semantickernel.data.vectorstorage.definition.VectorStoreRecordVectorField;
+import com.microsoft.semantickernel.exceptions.SKException;
+
+import javax.annotation.Nonnull;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Options for the vector fields of the search index of a Redis collection: the type of the
+ * vector elements and the parameters of HNSW indexes. Trading memory and recall for latency,
+ * half precision vectors halve the memory of vectors, and larger HNSW parameters improve recall
+ * at the cost of indexing and search time.
+ * <p>
+ * The options apply when the index is created, except for the vector types, which also set the
+ * format of the vector blobs stored in hash sets and sent with queries. A collection must always
+ * be used with the options its index was created with.
+ */
+public class RedisVectorIndexOptions {
+
+    private static final RedisVectorIndexOptions DEFAULT = builder().build();
+
+    @Nonnull
+    private final RedisVectorType vectorType;
+    private final Map<String, RedisVectorType> fieldVectorTypes;
+    private final int hnswM;
+    private final int hnswEfConstruction;
+    private final int hnswEfRuntime;
+    private final int initialCapacity;
+
+    private RedisVectorIndexOptions(
+        @Nonnull RedisVectorType vectorType,
+        Map<String, RedisVectorType> fieldVectorTypes,
+        int hnswM,
+        int hnswEfConstruction,
+        int hnswEfRuntime,
+        int initialCapacity) {
+        this.vectorType = vectorType;
+        this.fieldVectorTypes = Collections.unmodifiableMap(new HashMap<>(fieldVectorTypes));
+        this.hnswM = hnswM;
+        this.hnswEfConstruction = hnswEfConstruction;
+        this.hnswEfRuntime = hnswEfRuntime;
+        this.initialCapacity = initialCapacity;
+    }
+
+    /**
+     * Gets the default options, which index {@link RedisVectorType#FLOAT32} vectors with the
+     * default HNSW parameters of Redis.
+     *
+     * @return the default options
+     */
+    public static RedisVectorIndexOptions createDefault() {
+        return DEFAULT;
+    }
+
+    /**
+     * Creates a new builder.
+     *
+     * @return the builder
+     */
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * Gets the vector type of a vector field.
+     *
+     * @param field the vector field
+     * @return the vector type
+     */
+    @Nonnull
+    public RedisVectorType getVectorType(VectorStoreRecordVectorField field) {
+        return fieldVectorTypes.getOrDefault(field.getEffectiveStorageName(), vectorType);
+    }
+
+    /**
+     * Gets the maximum number of outgoing edges of each node of the HNSW indexes, the {@code M}
+     * parameter of Redis.
+     *
+     * @return the number of edges, or 0 for the default of Redis
+     */
+    public int getHnswM() {
+        return hnswM;
+    }
+
+    /**
+     * Gets the size of the dynamic candidate list used to build the HNSW indexes, the
+     * {@code EF_CONSTRUCTION} parameter of Redis.
+     *
+     * @return the size of the candidate list, or 0 for the default of Redis
+     */
+    public int getHnswEfConstruction() {
+        return hnswEfConstruction;
+    }
+
+    /**
+     * Gets the default size of the dynamic candidate list of HNSW index searches, the
+     * {@code EF_RUNTIME} parameter of Redis. Searches override it with
+     * {@link com.microsoft.semantickernel.data.vectorstorage.options.VectorSearchOptions#getEfSearch()}.
+     *
+     * @return the size of the candidate list, or 0 for the default of Redis
+     */
+    public int getHnswEfRuntime() {
+        return hnswEfRuntime;
+    }
+
+    /**
+     * Gets the number of vectors the vector indexes are initially sized for, the
+     * {@code INITIAL_CAP} parameter of Redis.
+     *
+     * @return the initial capacity, or 0 for the default of Redis
+     */
+    public int getInitialCapacity() {
+        return initialCapacity;
+    }
+
+    /**
+     * Builder for {@link RedisVectorIndexOptions}.
+     */
+    public static class Builder {
+        private RedisVectorType vectorType = RedisVectorType.FLOAT32;
+        private final Map<String, RedisVectorType> fieldVectorTypes = new HashMap<>();
+        private int hnswM;
+        private int hnswEfConstruction;
+        private int hnswEfRuntime;
+        private int initialCapacity;
+
+        /**
+         * Sets the vector type of the vector fields. Defaults to {@link RedisVectorType#FLOAT32}.
+         *
+         * @param vectorType the vector type
+         * @return the builder
+         */
+        public Builder withVectorType(RedisVectorType vectorType) {
+            this.vectorType = vectorType;
+            return this;
+        }
+
+        /**
+         * Sets the vector type of a vector field, overriding the type set with
+         * {@link #withVectorType(RedisVectorType)}.
+         *
+         * @param storageName the storage name of the vector field
+         * @param vectorType  the vector type
+         * @return the builder
+         */
+        public Builder withVectorType(String storageName, RedisVectorType vectorType) {
+            this.fieldVectorTypes.put(storageName, vectorType);
+            return this;
+        }
+
+        /**
+         * Sets the maximum number of outgoing edges of each node of the HNSW indexes, the
+         * {@code M} parameter of Redis. Defaults to 0, which uses the default of Redis.
+         *
+         * @param hnswM the number of edges
+         * @return the builder
+         */
+        public Builder withHnswM(int hnswM) {
+            this.hnswM = hnswM;
+            return this;
+        }
+
+        /**
+         * Sets the size of the dynamic candidate list used to build the HNSW indexes, the
+         * {@code EF_CONSTRUCTION} parameter of Redis. Defaults to 0, which uses the default of
+         * Redis.
+         *
+         * @param hnswEfConstruction the size of the candidate list
+         * @return the builder
+         */
+        public Builder withHnswEfConstruction(int hnswEfConstruction) {
+            this.hnswEfConstruction = hnswEfConstruction;
+            return this;
+        }
+
+        /**
+         * Sets the default size of the dynamic candidate list of HNSW index searches, the
+         * {@code EF_RUNTIME} parameter of Redis. Defaults to 0, which uses the default of Redis.
+         *
+         * @param hnswEfRuntime the size of the candidate list
+         * @return the builder
+         */
+        public Builder withHnswEfRuntime(int hnswEfRuntime) {
+            this.hnswEfRuntime = hnswEfRuntime;
+            return this;
+        }
+
+        /**
+         * Sets the number of vectors the vector indexes are initially sized for, the
+         * {@code INITIAL_CAP} parameter of Redis. Defaults to 0, which uses the default of Redis.
+         *
+         * @param initialCapacity the initial capacity
+         * @return the builder
+         */
+        public Builder withInitialCapacity(int initialCapacity) {
+            this.initialCapacity = initialCapacity;
+            return this;
+        }
+
+        /**
+         * Builds the options.
+         *
+         * @return the options
+         */
+        public RedisVectorIndexOptions build() {
+            if (vectorType == null || fieldVectorTypes.containsValue(null)) {
+                throw new SKException("vectorType is required");
+            }
+            if (hnswM < 0 || hnswEfConstruction < 0 || hnswEfRuntime < 0
+                || initialCapacity < 0) {
+                throw new SKException("Index parameters must not be negative");
+            }
+
+            return new RedisVectorIndexOptions(vectorType, fieldVectorTypes, hnswM,
+                hnswEfConstruction, hnswEfRuntime, initialCapacity);
+        }
+    }
+}
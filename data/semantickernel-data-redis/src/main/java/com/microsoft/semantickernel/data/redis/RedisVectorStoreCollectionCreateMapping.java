@@ -54,7 +54,7 @@ public class RedisVectorStoreCollectionCreateMapping {
         }
     }
 
-    private static Schema.VectorField.VectorAlgo getAlgorithmConfig(
+    static Schema.VectorField.VectorAlgo getAlgorithmConfig(
         VectorStoreRecordVectorField vectorField) {
         if (vectorField.getIndexKind() == IndexKind.UNDEFINED) {
             return Schema.VectorField.VectorAlgo.HNSW;
@@ -84,6 +84,20 @@ public class RedisVectorStoreCollectionCreateMapping {
      */
     public static Schema mapToSchema(List<VectorStoreRecordField> fields,
         RedisStorageType storageType) {
+        return mapToSchema(fields, storageType, RedisVectorIndexOptions.createDefault());
+    }
+
+    /**
+     * Maps a vector store record collection to a Redis schema, with the given vector types and
+     * HNSW parameters.
+     *
+     * @param fields the fields
+     * @param storageType the Redis storage type
+     * @param vectorIndexOptions the options of the vector fields
+     * @return the schema
+     */
+    public static Schema mapToSchema(List<VectorStoreRecordField> fields,
+        RedisStorageType storageType, RedisVectorIndexOptions vectorIndexOptions) {
         Schema schema = new Schema();
         boolean withRedisJsonRoot = storageType == RedisStorageType.JSON;
 
@@ -132,9 +146,27 @@ public class RedisVectorStoreCollectionCreateMapping {
                 String metric = getAlgorithmMetric(vectorField);
 
                 Map<String, Object> attributes = new HashMap<>();
-                attributes.put(RedisIndexSchemaParams.TYPE, "FLOAT32");
+                attributes.put(RedisIndexSchemaParams.TYPE,
+                    vectorIndexOptions.getVectorType(vectorField).getValue());
                 attributes.put(RedisIndexSchemaParams.DIMENSIONS, vectorField.getDimensions());
                 attributes.put(RedisIndexSchemaParams.DISTANCE_METRIC, metric);
+                if (vectorIndexOptions.getInitialCapacity() > 0) {
+                    attributes.put(RedisIndexSchemaParams.INITIAL_CAP,
+                        vectorIndexOptions.getInitialCapacity());
+                }
+                if (algorithm == Schema.VectorField.VectorAlgo.HNSW) {
+                    if (vectorIndexOptions.getHnswM() > 0) {
+                        attributes.put(RedisIndexSchemaParams.M, vectorIndexOptions.getHnswM());
+                    }
+                    if (vectorIndexOptions.getHnswEfConstruction() > 0) {
+                        attributes.put(RedisIndexSchemaParams.EF_CONSTRUCTION,
+                            vectorIndexOptions.getHnswEfConstruction());
+                    }
+                    if (vectorIndexOptions.getHnswEfRuntime() > 0) {
+                        attributes.put(RedisIndexSchemaParams.EF_RUNTIME,
+                            vectorIndexOptions.getHnswEfRuntime());
+                    }
+                }
 
                 schema.addVectorField(
                     getRedisPath(vectorField.getEffectiveStorageName(), withRedisJsonRoot),
@@ -149,6 +181,10 @@ public class RedisVectorStoreCollectionCreateMapping {
         public static final String TYPE = "TYPE";
         public static final String DIMENSIONS = "DIM";
         public static final String DISTANCE_METRIC = "DISTANCE_METRIC";
+        public static final String INITIAL_CAP = "INITIAL_CAP";
+        public static final String M = "M";
+        public static final String EF_CONSTRUCTION = "EF_CONSTRUCTION";
+        public static final String EF_RUNTIME = "EF_RUNTIME";
     }
 
     static class RedisVectorDistanceMetric {
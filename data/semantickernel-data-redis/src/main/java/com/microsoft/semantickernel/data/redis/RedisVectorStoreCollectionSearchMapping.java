@@ -4,6 +4,7 @@ package com.microsoft.semantickernel.data.redis;
 import com.microsoft.semantickernel.data.filter.AnyTagEqualToFilterClause;
 import com.microsoft.semantickernel.data.filter.EqualToFilterClause;
 import com.microsoft.semantickernel.data.vectorsearch.VectorSearchFilter;
+import com.microsoft.semantickernel.data.vectorstorage.VectorStoreRecordBinding;
 import com.microsoft.semantickernel.data.filter.FilterMapping;
 import com.microsoft.semantickernel.data.vectorstorage.definition.VectorStoreRecordDataField;
 import com.microsoft.semantickernel.data.vectorstorage.definition.VectorStoreRecordDefinition;
@@ -12,11 +13,14 @@ import com.microsoft.semantickernel.data.vectorstorage.options.VectorSearchOptio
 import com.microsoft.semantickernel.exceptions.SKException;
 import java.nio.ByteBuffer;
 import java.nio.ByteOrder;
+import java.nio.FloatBuffer;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.stream.Collectors;
 import org.apache.commons.lang3.tuple.Pair;
 import redis.clients.jedis.args.SortingOrder;
 import redis.clients.jedis.search.FTSearchParams;
+import redis.clients.jedis.search.Schema;
 
 /**
  * A mapping for searching a collection of vector records in Redis.
@@ -48,6 +52,28 @@ public class RedisVectorStoreCollectionSearchMapping implements FilterMapping {
         VectorSearchOptions options,
         VectorStoreRecordDefinition recordDefinition,
         RedisStorageType storageType) {
+        return buildQuery(vector, options, recordDefinition, storageType,
+            RedisVectorIndexOptions.createDefault());
+    }
+
+    /**
+     * Builds a query for searching a collection of vector records in Redis, with the vector
+     * types and HNSW parameters of its index. The query finds the nearest records with
+     * {@code KNN}, with the {@code EF_RUNTIME} of {@link VectorSearchOptions#getEfSearch()} for
+     * HNSW indexes, or the records within {@link VectorSearchOptions#getScoreThreshold()} with
+     * {@code VECTOR_RANGE}.
+     * @param vector the vector to search for
+     * @param options the search options
+     * @param recordDefinition the record definition
+     * @param storageType the storage type
+     * @param vectorIndexOptions the options of the vector fields of the index
+     * @return the query and search parameters
+     */
+    public Pair<String, FTSearchParams> buildQuery(List<Float> vector,
+        VectorSearchOptions options,
+        VectorStoreRecordDefinition recordDefinition,
+        RedisStorageType storageType,
+        RedisVectorIndexOptions vectorIndexOptions) {
         VectorStoreRecordVectorField firstVectorField = recordDefinition.getVectorFields().get(0);
         if (options == null) {
             options = VectorSearchOptions.createDefault(firstVectorField.getName());
@@ -60,12 +86,34 @@ public class RedisVectorStoreCollectionSearchMapping implements FilterMapping {
 
         String filter = getFilter(options.getVectorSearchFilter(), recordDefinition);
 
-        String knn = String.format("%s=>[KNN $K @%s $BLOB AS %s]", filter,
-            vectorField.getEffectiveStorageName(), VECTOR_SCORE_FIELD);
-
+        byte[] blob = vectorIndexOptions.getVectorType(vectorField)
+            .toBlob(VectorStoreRecordBinding.toVector(vector));
         FTSearchParams searchParams = new FTSearchParams()
-            .addParam("K", options.getTop() + options.getSkip())
-            .addParam("BLOB", convertListToByteArray(vector))
+            .addParam("BLOB", blob);
+
+        String query;
+        if (options.getScoreThreshold() != null) {
+            // Records within the threshold, ranked by score below
+            String range = String.format(
+                "@%s:[VECTOR_RANGE $RADIUS $BLOB]=>{$YIELD_DISTANCE_AS: %s}",
+                vectorField.getEffectiveStorageName(), VECTOR_SCORE_FIELD);
+            query = "*".equals(filter) ? range : String.format("%s (%s)", filter, range);
+            searchParams.addParam("RADIUS", options.getScoreThreshold());
+        } else {
+            // The candidate list size of HNSW searches, FLAT indexes reject it
+            boolean efRuntime = options.getEfSearch() > 0
+                && RedisVectorStoreCollectionCreateMapping
+                    .getAlgorithmConfig(vectorField) == Schema.VectorField.VectorAlgo.HNSW;
+            query = String.format("%s=>[KNN $K @%s $BLOB%s AS %s]", filter,
+                vectorField.getEffectiveStorageName(), efRuntime ? " EF_RUNTIME $EF" : "",
+                VECTOR_SCORE_FIELD);
+            searchParams.addParam("K", options.getTop() + options.getSkip());
+            if (efRuntime) {
+                searchParams.addParam("EF", options.getEfSearch());
+            }
+        }
+
+        searchParams
             .limit(options.getSkip(), options.getTop())
             .sortBy(VECTOR_SCORE_FIELD, SortingOrder.ASC)
             .dialect(2);
@@ -87,7 +135,7 @@ public class RedisVectorStoreCollectionSearchMapping implements FilterMapping {
             searchParams.returnField(VECTOR_SCORE_FIELD, true);
         }
 
-        return Pair.of(knn, searchParams);
+        return Pair.of(query, searchParams);
     }
 
     /**
@@ -102,17 +150,42 @@ public class RedisVectorStoreCollectionSearchMapping implements FilterMapping {
         return bytes.array();
     }
 
+    /**
+     * Converts an array of floats to a byte array, with a single bulk copy.
+     * @param embeddings the embeddings
+     * @return the byte array
+     */
+    public static byte[] convertFloatArrayToByteArray(float[] embeddings) {
+        ByteBuffer bytes = ByteBuffer.allocate(Float.BYTES * embeddings.length)
+            .order(ByteOrder.LITTLE_ENDIAN);
+        bytes.asFloatBuffer().put(embeddings);
+        return bytes.array();
+    }
+
     /**
      * Converts a byte array to a list of floats.
      * @param bytes the byte array
      * @return the list of floats
      */
     public static List<Float> convertByteArrayToList(byte[] bytes) {
-        ByteBuffer buffer = ByteBuffer.wrap(bytes).order(ByteOrder.LITTLE_ENDIAN);
-        List<Float> embeddings = new java.util.ArrayList<>();
-        while (buffer.hasRemaining()) {
-            embeddings.add(buffer.getFloat());
+        float[] embeddings = convertByteArrayToFloatArray(bytes);
+        List<Float> list = new ArrayList<>(embeddings.length);
+        for (float embedding : embeddings) {
+            list.add(embedding);
         }
+        return list;
+    }
+
+    /**
+     * Converts a byte array to an array of floats, with a single bulk copy.
+     * @param bytes the byte array
+     * @return the array of floats
+     */
+    public static float[] convertByteArrayToFloatArray(byte[] bytes) {
+        FloatBuffer buffer = ByteBuffer.wrap(bytes).order(ByteOrder.LITTLE_ENDIAN)
+            .asFloatBuffer();
+        float[] embeddings = new float[buffer.remaining()];
+        buffer.get(embeddings);
         return embeddings;
     }
 
@@ -0,0 +1,89 @@
+// Copyright (c) Microsoft. All rights reserved.
+package com.microsoft.semantickernel.data.redis;
+
+import com.microsoft.semantickernel.data.vectorsearch.FloatConversions;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.ShortBuffer;
+
+/**
+ * Represents the type of the elements of the vectors of a Redis vector field, which is the
+ * {@code TYPE} of the field in the search index and the format of the vector blobs of hash sets
+ * and queries.
+ */
+public enum RedisVectorType {
+    /**
+     * Single precision vectors.
+     */
+    FLOAT32("FLOAT32"),
+    /**
+     * Half precision vectors, taking half the memory of {@link #FLOAT32} with a 10-bit
+     * mantissa. Elements beyond the range of half precision, about 65,504, become infinite.
+     * Requires Redis Stack 7.4 or later.
+     */
+    FLOAT16("FLOAT16"),
+    /**
+     * Brain floating point vectors, taking half the memory of {@link #FLOAT32} with the range of
+     * single precision and a 7-bit mantissa. Requires Redis Stack 7.4 or later.
+     */
+    BFLOAT16("BFLOAT16");
+
+    private final String value;
+
+    RedisVectorType(String value) {
+        this.value = value;
+    }
+
+    /**
+     * Gets the Redis name of the vector type.
+     * @return the Redis name of the vector type
+     */
+    public String getValue() {
+        return value;
+    }
+
+    /**
+     * Converts a vector to a little-endian blob of this type.
+     * @param vector the vector
+     * @return the blob
+     */
+    public byte[] toBlob(float[] vector) {
+        if (this == FLOAT32) {
+            return RedisVectorStoreCollectionSearchMapping.convertFloatArrayToByteArray(vector);
+        }
+
+        short[] elements = new short[vector.length];
+        for (int i = 0; i < vector.length; ++i) {
+            elements[i] = this == FLOAT16
+                ? FloatConversions.toHalf(vector[i])
+                : FloatConversions.toBFloat16(vector[i]);
+        }
+        ByteBuffer bytes = ByteBuffer.allocate(Short.BYTES * elements.length)
+            .order(ByteOrder.LITTLE_ENDIAN);
+        bytes.asShortBuffer().put(elements);
+        return bytes.array();
+    }
+
+    /**
+     * Converts a little-endian blob of this type to a vector.
+     * @param blob the blob
+     * @return the vector
+     */
+    public float[] fromBlob(byte[] blob) {
+        if (this == FLOAT32) {
+            return RedisVectorStoreCollectionSearchMapping.convertByteArrayToFloatArray(blob);
+        }
+
+        ShortBuffer buffer = ByteBuffer.wrap(blob).order(ByteOrder.LITTLE_ENDIAN)
+            .asShortBuffer();
+        short[] elements = new short[buffer.remaining()];
+        buffer.get(elements);
+        float[] vector = new float[elements.length];
+        for (int i = 0; i < elements.length; ++i) {
+            vector[i] = this == FLOAT16
+                ? FloatConversions.fromHalf(elements[i])
+                : FloatConversions.fromBFloat16(elements[i]);
+        }
+        return vector;
+    }
+}
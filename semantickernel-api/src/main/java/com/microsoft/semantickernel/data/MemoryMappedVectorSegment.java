@@ -0,0 +1,192 @@
+// Copyright (c) Microsoft. All rights reserved.
+package com.microsoft.semantickernel.data;
+
+import com.microsoft.semantickernel.exceptions.SKException;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.FloatBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A file of fixed-stride float32 rows, mapped into memory.
+ * <p>
+ * The file starts with a header holding a magic number, the format version and the number of
+ * dimensions, followed by one row of {@code dimensions} little-endian floats per slot. The rows
+ * are mapped in chunks of at most {@link #CHUNK_SIZE} bytes, which keeps every mapping under the
+ * 2 GB limit of a {@link MappedByteBuffer}. Chunks are added as slots are allocated.
+ * <p>
+ * The rows live outside the Java heap, so the garbage collector does not trace them, and reopening
+ * the file maps it instead of reading it.
+ * <p>
+ * This class is not thread safe. Callers serialize writes against reads.
+ */
+final class MemoryMappedVectorSegment implements Closeable {
+
+    private static final int MAGIC = 0x534B5653;
+    private static final int VERSION = 1;
+    private static final int HEADER_SIZE = 16;
+    static final int CHUNK_SIZE = 8 << 20;
+
+    private final FileChannel channel;
+    private final int dimensions;
+    private final int rowsPerChunk;
+    private final List<MappedByteBuffer> chunks;
+    private final List<FloatBuffer> rows;
+
+    private MemoryMappedVectorSegment(FileChannel channel, int dimensions) {
+        this.channel = channel;
+        this.dimensions = dimensions;
+        this.rowsPerChunk = Math.max(1, CHUNK_SIZE / (dimensions * Float.BYTES));
+        this.chunks = new ArrayList<>();
+        this.rows = new ArrayList<>();
+    }
+
+    /**
+     * Opens a segment file, creating it if it does not exist.
+     *
+     * @param path       the path of the file
+     * @param dimensions the number of dimensions of the rows
+     * @return the segment
+     * @throws IOException if the file cannot be opened or mapped
+     */
+    static MemoryMappedVectorSegment open(Path path, int dimensions) throws IOException {
+        FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE,
+            StandardOpenOption.READ, StandardOpenOption.WRITE);
+        try {
+            MemoryMappedVectorSegment segment = new MemoryMappedVectorSegment(channel, dimensions);
+            segment.init(path);
+            return segment;
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    private void init(Path path) throws IOException {
+        ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+        if (channel.size() == 0) {
+            header.putInt(MAGIC).putInt(VERSION).putInt(dimensions).putInt(0).flip();
+            while (header.hasRemaining()) {
+                channel.write(header, header.position());
+            }
+            return;
+        }
+
+        while (header.hasRemaining()) {
+            if (channel.read(header, header.position()) < 0) {
+                throw new SKException("Invalid vector segment " + path);
+            }
+        }
+        header.flip();
+        if (header.getInt() != MAGIC || header.getInt() != VERSION) {
+            throw new SKException("Invalid vector segment " + path);
+        }
+        int fileDimensions = header.getInt();
+        if (fileDimensions != dimensions) {
+            throw new SKException(String.format(
+                "Vector segment %s has %d dimensions, but the vector field has %d",
+                path, fileDimensions, dimensions));
+        }
+
+        long chunkBytes = (long) rowsPerChunk * dimensions * Float.BYTES;
+        long rowBytes = channel.size() - HEADER_SIZE;
+        for (long mapped = 0; mapped < rowBytes; mapped += chunkBytes) {
+            addChunk();
+        }
+    }
+
+    private void addChunk() throws IOException {
+        long chunkBytes = (long) rowsPerChunk * dimensions * Float.BYTES;
+        MappedByteBuffer chunk = channel.map(FileChannel.MapMode.READ_WRITE,
+            HEADER_SIZE + chunks.size() * chunkBytes, chunkBytes);
+        chunk.order(ByteOrder.LITTLE_ENDIAN);
+        chunks.add(chunk);
+        rows.add(chunk.asFloatBuffer());
+    }
+
+    /**
+     * Gets the number of dimensions of the rows.
+     *
+     * @return the number of dimensions
+     */
+    int getDimensions() {
+        return dimensions;
+    }
+
+    /**
+     * Gets the number of slots currently mapped.
+     *
+     * @return the number of slots
+     */
+    int getCapacity() {
+        return chunks.size() * rowsPerChunk;
+    }
+
+    /**
+     * Writes the row of a slot, mapping more of the file if needed.
+     *
+     * @param slot   the slot
+     * @param vector the vector
+     * @throws IOException if the file cannot be grown
+     */
+    void write(int slot, float[] vector) throws IOException {
+        if (vector.length != dimensions) {
+            throw new SKException(String.format(
+                "Vector has %d dimensions, but the vector field has %d",
+                vector.length, dimensions));
+        }
+        while (slot >= getCapacity()) {
+            addChunk();
+        }
+
+        FloatBuffer chunk = rows.get(slot / rowsPerChunk).duplicate();
+        chunk.position((slot % rowsPerChunk) * dimensions);
+        chunk.put(vector);
+    }
+
+    /**
+     * Reads the row of a slot.
+     *
+     * @param slot the slot
+     * @return the vector
+     */
+    float[] read(int slot) {
+        float[] vector = new float[dimensions];
+        read(slot, vector);
+        return vector;
+    }
+
+    /**
+     * Reads the row of a slot into an array, so that scans can reuse the same array.
+     *
+     * @param slot   the slot
+     * @param vector the array receiving the row
+     */
+    void read(int slot, float[] vector) {
+        FloatBuffer chunk = rows.get(slot / rowsPerChunk).duplicate();
+        chunk.position((slot % rowsPerChunk) * dimensions);
+        chunk.get(vector, 0, dimensions);
+    }
+
+    /**
+     * Flushes the rows written so far to the storage device.
+     */
+    void force() {
+        chunks.forEach(MappedByteBuffer::force);
+    }
+
+    @Override
+    public void close() throws IOException {
+        chunks.clear();
+        rows.clear();
+        channel.close();
+    }
+}
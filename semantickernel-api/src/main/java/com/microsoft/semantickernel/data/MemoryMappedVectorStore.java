@@ -0,0 +1,120 @@
+// Copyright (c) Microsoft. All rights reserved.
+package com.microsoft.semantickernel.data;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import javax.annotation.Nonnull;
+
+import com.microsoft.semantickernel.data.vectorstorage.VectorStore;
+import com.microsoft.semantickernel.data.vectorstorage.VectorStoreRecordCollection;
+import com.microsoft.semantickernel.data.vectorstorage.VectorStoreRecordCollectionOptions;
+import com.microsoft.semantickernel.exceptions.SKException;
+import reactor.core.publisher.Mono;
+
+/**
+ * Represents a memory-mapped vector store.
+ * A memory-mapped vector store keeps each collection in a directory, with the vectors in
+ * memory-mapped files outside the Java heap and the records in a log on disk. Collections
+ * are reopened from their files, so their content survives restarts.
+ * <p>
+ * The files of the collections stay open until the store is closed. Closing the store closes
+ * the files, but the memory mappings of the vectors are only released once garbage collected.
+ * Collections are reopened by their next operation after the store is closed.
+ */
+public class MemoryMappedVectorStore implements VectorStore, AutoCloseable {
+
+    private final Path directory;
+    private final Map<String, MemoryMappedVectorStoreCollectionState<?>> collections;
+
+    /**
+     * Creates a new instance of the memory-mapped vector store.
+     *
+     * @param directory The directory holding the collections.
+     */
+    public MemoryMappedVectorStore(@Nonnull Path directory) {
+        this.directory = directory;
+        this.collections = new ConcurrentHashMap<>();
+    }
+
+    /**
+     * Gets a collection from the vector store.
+     *
+     * @param collectionName The name of the collection.
+     * @param options        The options for the collection.
+     * @return The collection.
+     */
+    @Override
+    public <Key, Record> VectorStoreRecordCollection<Key, Record> getCollection(
+        @Nonnull String collectionName,
+        @Nonnull VectorStoreRecordCollectionOptions<Key, Record> options) {
+        if (options.getKeyClass() != String.class) {
+            throw new SKException("Memory-mapped vector store only supports string keys");
+        }
+        if (options.getRecordClass() == null) {
+            throw new SKException("Record class is required");
+        }
+
+        return (VectorStoreRecordCollection<Key, Record>) new MemoryMappedVectorStoreRecordCollection<>(
+            directory,
+            collectionName,
+            collections,
+            (MemoryMappedVectorStoreRecordCollectionOptions<Record>) options);
+    }
+
+    /**
+     * Gets the names of all collections in the vector store.
+     *
+     * @return A list of collection names.
+     */
+    @Override
+    public Mono<List<String>> getCollectionNamesAsync() {
+        return Mono.fromCallable(() -> {
+            if (!Files.isDirectory(directory)) {
+                return new ArrayList<String>();
+            }
+            try (Stream<Path> paths = Files.list(directory)) {
+                return paths
+                    .filter(MemoryMappedVectorStoreCollectionState::exists)
+                    .map(path -> path.getFileName().toString())
+                    .collect(Collectors.toList());
+            } catch (IOException e) {
+                throw new SKException("Failed to list collections in " + directory, e);
+            }
+        });
+    }
+
+    /**
+     * Closes the files of the collections opened by the vector store.
+     *
+     * @throws SKException if the files of a collection cannot be closed
+     */
+    @Override
+    public void close() {
+        IOException failure = null;
+        for (String collectionName : collections.keySet()) {
+            MemoryMappedVectorStoreCollectionState<?> state = collections.remove(collectionName);
+            if (state == null) {
+                continue;
+            }
+            try {
+                state.close();
+            } catch (IOException e) {
+                if (failure == null) {
+                    failure = e;
+                } else {
+                    failure.addSuppressed(e);
+                }
+            }
+        }
+        if (failure != null) {
+            throw new SKException("Failed to close collections in " + directory, failure);
+        }
+    }
+}
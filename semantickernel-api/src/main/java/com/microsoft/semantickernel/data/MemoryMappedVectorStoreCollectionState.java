@@ -0,0 +1,775 @@
+// Copyright (c) Microsoft. All rights reserved.
+package com.microsoft.semantickernel.data;
+
+import com.fasterxml.jackson.databind.BeanDescription;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.introspect.BeanPropertyDefinition;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.microsoft.semantickernel.data.vectorsearch.VectorOperations;
+import com.microsoft.semantickernel.data.vectorsearch.VectorSearchResult;
+import com.microsoft.semantickernel.data.vectorsearch.VectorSearchTopK;
+import com.microsoft.semantickernel.data.vectorstorage.VectorStoreRecordFieldAccessor;
+import com.microsoft.semantickernel.data.vectorstorage.definition.DistanceFunction;
+import com.microsoft.semantickernel.data.vectorstorage.definition.VectorStoreRecordDefinition;
+import com.microsoft.semantickernel.data.vectorstorage.definition.VectorStoreRecordVectorField;
+import com.microsoft.semantickernel.data.vectorstorage.options.VectorSearchOptions;
+import com.microsoft.semantickernel.exceptions.SKException;
+
+import javax.annotation.Nullable;
+import java.io.BufferedInputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Predicate;
+import java.util.zip.CRC32;
+
+/**
+ * The state of a memory-mapped collection, stored in its own directory.
+ * <p>
+ * Each vector field has a {@link MemoryMappedVectorSegment} holding one row per slot. The records,
+ * without their vectors, are appended as JSON to a log whose entries also hold the slots of the
+ * record's vectors. Opening a collection maps the segments and replays the log into an index of
+ * keys, so the records stay on disk until they are read. Closing a collection writes that index
+ * and the size of the log it covers to a checkpoint, which the next opening reads instead of
+ * replaying the log up to that size. The checkpoint is deleted once read, so a collection that
+ * was not closed, for example because the process was killed, replays its whole log. Once the log
+ * holds more superseded
+ * entries than live ones, it is compacted, when it is opened or after the write that crossed that
+ * point, so it stays within about twice the size of the live records.
+ * <p>
+ * Log entries are an int length, an int CRC-32 and a payload of an operation byte, the key and,
+ * for upserts, the slots and the JSON. An entry that was only partially written, for example
+ * because the process was killed, fails its checksum and is truncated when the log is replayed.
+ * Vectors are written to their slots before the entry referencing them is appended, and slots are
+ * only reused once an entry superseding them is in the log.
+ * <p>
+ * Writes reach the operating system before an operation completes, so they survive the process
+ * exiting. Call {@link #force()} to also flush them to the storage device.
+ *
+ * @param <Record> the record type
+ */
+final class MemoryMappedVectorStoreCollectionState<Record> implements Closeable {
+
+    static final String LOG_FILE_NAME = "records.log";
+    private static final String COMPACTED_LOG_FILE_NAME = "records.log.compacted";
+    private static final String CHECKPOINT_FILE_NAME = "records.checkpoint";
+    private static final String NEW_CHECKPOINT_FILE_NAME = "records.checkpoint.new";
+    private static final String SEGMENT_FILE_EXTENSION = ".vectors";
+    private static final byte PUT = 1;
+    private static final byte DELETE = 2;
+    private static final long MIN_COMPACTION_SIZE = 1 << 20;
+
+    private final Path directory;
+    private final Class<Record> recordClass;
+    private final ObjectMapper objectMapper;
+    private final String keyStorageName;
+    private final List<VectorStoreRecordVectorField> vectorFields;
+    private final List<VectorStoreRecordFieldAccessor<Record>> vectorAccessors;
+    private final List<String> vectorPropertyNames;
+    private final List<MemoryMappedVectorSegment> segments;
+    private final List<List<String>> slotKeys;
+    private final List<BitSet> freeSlots;
+    private final Map<String, Entry> entries;
+    private final ReadWriteLock lock;
+
+    private FileChannel log;
+    // Identifies the file of the log when it was opened, null if the platform has no such key
+    @Nullable
+    private Object logFileKey;
+    private long liveBytes;
+    private boolean closed;
+
+    private MemoryMappedVectorStoreCollectionState(Path directory, Class<Record> recordClass,
+        VectorStoreRecordDefinition recordDefinition, ObjectMapper objectMapper) {
+        this.directory = directory;
+        this.recordClass = recordClass;
+        this.objectMapper = objectMapper;
+        this.keyStorageName = recordDefinition.getKeyField().getEffectiveStorageName();
+        this.vectorFields = recordDefinition.getVectorFields();
+        this.vectorAccessors = new ArrayList<>();
+        this.vectorPropertyNames = new ArrayList<>();
+        this.segments = new ArrayList<>();
+        this.slotKeys = new ArrayList<>();
+        this.freeSlots = new ArrayList<>();
+        this.entries = new HashMap<>();
+        this.lock = new ReentrantReadWriteLock();
+    }
+
+    /**
+     * Checks whether a directory holds a collection.
+     *
+     * @param directory the directory of the collection
+     * @return {@code true} if the collection exists
+     */
+    static boolean exists(Path directory) {
+        return Files.isRegularFile(directory.resolve(LOG_FILE_NAME));
+    }
+
+    /**
+     * Opens the collection stored in a directory, creating it if it does not exist.
+     *
+     * @param directory        the directory of the collection
+     * @param recordClass      the record class
+     * @param recordDefinition the record definition
+     * @param objectMapper     the object mapper used to serialize records
+     * @param <Record>         the record type
+     * @return the state of the collection
+     */
+    static <Record> MemoryMappedVectorStoreCollectionState<Record> open(Path directory,
+        Class<Record> recordClass, VectorStoreRecordDefinition recordDefinition,
+        ObjectMapper objectMapper) {
+        MemoryMappedVectorStoreCollectionState<Record> state = new MemoryMappedVectorStoreCollectionState<>(
+            directory, recordClass, recordDefinition, objectMapper);
+        try {
+            state.init();
+            return state;
+        } catch (IOException e) {
+            state.closeQuietly();
+            throw new SKException("Failed to open collection " + directory, e);
+        } catch (RuntimeException e) {
+            state.closeQuietly();
+            throw e;
+        }
+    }
+
+    private void init() throws IOException {
+        Files.createDirectories(directory);
+
+        for (VectorStoreRecordVectorField vectorField : vectorFields) {
+            vectorAccessors.add(VectorStoreRecordFieldAccessor.create(recordClass, vectorField,
+                objectMapper));
+            vectorPropertyNames.add(getPropertyName(vectorField));
+            segments.add(MemoryMappedVectorSegment.open(
+                directory.resolve(vectorField.getName() + SEGMENT_FILE_EXTENSION),
+                vectorField.getDimensions()));
+            slotKeys.add(new ArrayList<>());
+            freeSlots.add(new BitSet());
+        }
+
+        Path logPath = directory.resolve(LOG_FILE_NAME);
+        log = FileChannel.open(logPath, StandardOpenOption.CREATE, StandardOpenOption.READ,
+            StandardOpenOption.WRITE);
+        logFileKey = getFileKey(logPath);
+        long validSize = replay(readCheckpoint());
+        if (validSize < log.size()) {
+            // Drop an entry that was only partially written
+            log.truncate(validSize);
+        }
+        log.position(validSize);
+
+        compactIfNeeded();
+    }
+
+    /**
+     * Gets the name of the JSON property Jackson maps a field to, which may differ from its
+     * storage name.
+     */
+    private String getPropertyName(VectorStoreRecordVectorField vectorField) {
+        BeanDescription description = objectMapper.getSerializationConfig()
+            .introspect(objectMapper.constructType(recordClass));
+        for (BeanPropertyDefinition property : description.findProperties()) {
+            if (property.getInternalName().equals(vectorField.getName())) {
+                return property.getName();
+            }
+        }
+        return vectorField.getEffectiveStorageName();
+    }
+
+    /**
+     * Reads the index of the checkpoint, if there is a valid one, and deletes the checkpoint as
+     * the log is about to change.
+     *
+     * @return the size of the log covered by the index, or 0 if the log must be replayed in full
+     */
+    private long readCheckpoint() throws IOException {
+        Path checkpointPath = directory.resolve(CHECKPOINT_FILE_NAME);
+        if (!Files.isRegularFile(checkpointPath)) {
+            return 0;
+        }
+        byte[] bytes = Files.readAllBytes(checkpointPath);
+        Files.delete(checkpointPath);
+
+        try {
+            ByteBuffer checkpoint = ByteBuffer.wrap(bytes, 0, bytes.length - 4);
+            if (ByteBuffer.wrap(bytes, bytes.length - 4, 4).getInt() != checksum(bytes,
+                bytes.length - 4)) {
+                return 0;
+            }
+            long logSize = checkpoint.getLong();
+            if (logSize > log.size()) {
+                return 0;
+            }
+            int count = checkpoint.getInt();
+            for (int i = 0; i < count; i++) {
+                byte[] keyBytes = new byte[checkpoint.getInt()];
+                checkpoint.get(keyBytes);
+                long jsonPosition = checkpoint.getLong();
+                int jsonLength = checkpoint.getInt();
+                int size = checkpoint.getInt();
+                int[] slots = new int[checkpoint.getInt()];
+                if (slots.length != vectorFields.size()) {
+                    // Let the replay report the mismatch
+                    clearIndex();
+                    return 0;
+                }
+                for (int j = 0; j < slots.length; j++) {
+                    slots[j] = checkpoint.getInt();
+                }
+                put(new String(keyBytes, StandardCharsets.UTF_8),
+                    new Entry(jsonPosition, jsonLength, slots, size));
+            }
+            return logSize;
+        } catch (RuntimeException e) {
+            // A truncated or corrupted checkpoint
+            clearIndex();
+            return 0;
+        }
+    }
+
+    private void clearIndex() {
+        entries.clear();
+        slotKeys.forEach(List::clear);
+        freeSlots.forEach(BitSet::clear);
+        liveBytes = 0;
+    }
+
+    private void writeCheckpoint() throws IOException {
+        Path logPath = directory.resolve(LOG_FILE_NAME);
+        if (!Files.isRegularFile(logPath) || !Objects.equals(logFileKey, getFileKey(logPath))) {
+            // The log was replaced, for example compacted by another store
+            return;
+        }
+
+        int length = 8 + 4 + 4;
+        Map<String, byte[]> keys = new HashMap<>();
+        for (Map.Entry<String, Entry> entry : entries.entrySet()) {
+            byte[] keyBytes = entry.getKey().getBytes(StandardCharsets.UTF_8);
+            keys.put(entry.getKey(), keyBytes);
+            length += 4 + keyBytes.length + 8 + 4 + 4 + 4 + 4 * vectorFields.size();
+        }
+
+        ByteBuffer checkpoint = ByteBuffer.allocate(length);
+        // Entries appended by another store past the position of this one are replayed
+        checkpoint.putLong(log.position()).putInt(entries.size());
+        for (Map.Entry<String, Entry> entry : entries.entrySet()) {
+            byte[] keyBytes = keys.get(entry.getKey());
+            Entry value = entry.getValue();
+            checkpoint.putInt(keyBytes.length).put(keyBytes)
+                .putLong(value.jsonPosition).putInt(value.jsonLength).putInt(value.size)
+                .putInt(value.slots.length);
+            for (int slot : value.slots) {
+                checkpoint.putInt(slot);
+            }
+        }
+        checkpoint.putInt(checksum(checkpoint.array(), length - 4));
+
+        Path newCheckpointPath = directory.resolve(NEW_CHECKPOINT_FILE_NAME);
+        Files.write(newCheckpointPath, checkpoint.array());
+        Files.move(newCheckpointPath, directory.resolve(CHECKPOINT_FILE_NAME),
+            StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    private long replay(long start) throws IOException {
+        InputStream stream = new BufferedInputStream(
+            Channels.newInputStream(log.position(start)), 1 << 16);
+        DataInputStream input = new DataInputStream(stream);
+        long offset = start;
+        while (true) {
+            byte[] payload;
+            try {
+                int length = input.readInt();
+                int checksum = input.readInt();
+                if (length <= 0 || length > log.size() - offset - 8) {
+                    return offset;
+                }
+                payload = new byte[length];
+                input.readFully(payload);
+                if (checksum(payload, payload.length) != checksum) {
+                    return offset;
+                }
+            } catch (EOFException e) {
+                return offset;
+            }
+
+            apply(ByteBuffer.wrap(payload), offset + 8);
+            offset += 8 + payload.length;
+        }
+    }
+
+    private void apply(ByteBuffer payload, long payloadPosition) {
+        byte operation = payload.get();
+        byte[] keyBytes = new byte[payload.getInt()];
+        payload.get(keyBytes);
+        String key = new String(keyBytes, StandardCharsets.UTF_8);
+
+        if (operation == DELETE) {
+            remove(key);
+            return;
+        }
+
+        int slotCount = payload.getInt();
+        if (slotCount != vectorFields.size()) {
+            throw new SKException(String.format(
+                "Collection %s was written with %d vector fields, but the record definition has %d",
+                directory, slotCount, vectorFields.size()));
+        }
+        int[] slots = new int[slotCount];
+        for (int i = 0; i < slotCount; i++) {
+            slots[i] = payload.getInt();
+        }
+        int jsonLength = payload.getInt();
+        put(key, new Entry(payloadPosition + payload.position(), jsonLength, slots,
+            8 + payload.limit()));
+    }
+
+    private void put(String key, Entry entry) {
+        int[] slots = entry.slots;
+        remove(key);
+        entries.put(key, entry);
+        liveBytes += entry.size;
+        for (int i = 0; i < slots.length; i++) {
+            if (slots[i] >= 0) {
+                List<String> keys = slotKeys.get(i);
+                while (keys.size() <= slots[i]) {
+                    freeSlots.get(i).set(keys.size());
+                    keys.add(null);
+                }
+                keys.set(slots[i], key);
+                freeSlots.get(i).clear(slots[i]);
+            }
+        }
+    }
+
+    private void remove(String key) {
+        Entry previous = entries.remove(key);
+        if (previous == null) {
+            return;
+        }
+        liveBytes -= previous.size;
+        for (int i = 0; i < previous.slots.length; i++) {
+            if (previous.slots[i] >= 0) {
+                slotKeys.get(i).set(previous.slots[i], null);
+                freeSlots.get(i).set(previous.slots[i]);
+            }
+        }
+    }
+
+    private void compactIfNeeded() throws IOException {
+        long size = log.size();
+        if (size >= MIN_COMPACTION_SIZE && size - liveBytes > liveBytes) {
+            compact(directory.resolve(LOG_FILE_NAME));
+        }
+    }
+
+    private void compact(Path logPath) throws IOException {
+        Path compactedPath = directory.resolve(COMPACTED_LOG_FILE_NAME);
+        Map<String, Entry> compacted = new HashMap<>();
+        try (FileChannel output = FileChannel.open(compactedPath, StandardOpenOption.CREATE,
+            StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            for (Map.Entry<String, Entry> entry : entries.entrySet()) {
+                ByteBuffer buffer = encodePut(entry.getKey(), entry.getValue().slots,
+                    readJson(entry.getValue()));
+                long position = output.position();
+                writeFully(output, buffer);
+                compacted.put(entry.getKey(), entry.getValue().moveTo(position));
+            }
+            output.force(true);
+        }
+
+        // Some platforms cannot replace a file that is open
+        log.close();
+        try {
+            Files.move(compactedPath, logPath, StandardCopyOption.REPLACE_EXISTING,
+                StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException | RuntimeException e) {
+            // The log was not replaced, so its entries are still valid
+            try {
+                Files.deleteIfExists(compactedPath);
+                reopenLog(logPath);
+            } catch (IOException | RuntimeException reopenFailure) {
+                closeQuietly();
+                e.addSuppressed(reopenFailure);
+            }
+            throw e;
+        }
+
+        try {
+            reopenLog(logPath);
+        } catch (IOException | RuntimeException e) {
+            // The entries no longer match the log in place, so the collection must be reopened
+            closeQuietly();
+            throw e;
+        }
+        entries.putAll(compacted);
+    }
+
+    private void reopenLog(Path logPath) throws IOException {
+        FileChannel reopened = FileChannel.open(logPath, StandardOpenOption.READ,
+            StandardOpenOption.WRITE);
+        try {
+            reopened.position(reopened.size());
+        } catch (IOException e) {
+            reopened.close();
+            throw e;
+        }
+        log = reopened;
+        logFileKey = getFileKey(logPath);
+    }
+
+    @Nullable
+    private static Object getFileKey(Path path) throws IOException {
+        return Files.readAttributes(path, BasicFileAttributes.class).fileKey();
+    }
+
+    private static int checksum(byte[] payload, int length) {
+        CRC32 crc = new CRC32();
+        crc.update(payload, 0, length);
+        return (int) crc.getValue();
+    }
+
+    private static ByteBuffer encode(byte operation, String key, @Nullable int[] slots,
+        @Nullable byte[] json) {
+        byte[] keyBytes = key.getBytes(StandardCharsets.UTF_8);
+        int length = 1 + 4 + keyBytes.length;
+        if (operation == PUT) {
+            length += 4 + slots.length * 4 + 4 + json.length;
+        }
+
+        ByteBuffer payload = ByteBuffer.allocate(length);
+        payload.put(operation).putInt(keyBytes.length).put(keyBytes);
+        if (operation == PUT) {
+            payload.putInt(slots.length);
+            for (int slot : slots) {
+                payload.putInt(slot);
+            }
+            payload.putInt(json.length).put(json);
+        }
+
+        ByteBuffer buffer = ByteBuffer.allocate(8 + length);
+        buffer.putInt(length).putInt(checksum(payload.array(), length)).put(payload.array()).flip();
+        return buffer;
+    }
+
+    private static ByteBuffer encodePut(String key, int[] slots, byte[] json) {
+        return encode(PUT, key, slots, json);
+    }
+
+    private static void writeFully(FileChannel channel, ByteBuffer buffer) throws IOException {
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+    }
+
+    private byte[] readJson(Entry entry) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(entry.jsonLength);
+        while (buffer.hasRemaining()) {
+            if (log.read(buffer, entry.jsonPosition + buffer.position()) < 0) {
+                throw new EOFException("Unexpected end of log " + directory);
+            }
+        }
+        return buffer.array();
+    }
+
+    /**
+     * Inserts or replaces a record.
+     *
+     * @param record the record
+     * @return the key of the record
+     */
+    String upsert(Record record) {
+        ObjectNode node = objectMapper.valueToTree(record);
+        String key = node.get(keyStorageName).asText();
+        float[][] vectors = new float[vectorFields.size()][];
+        for (int i = 0; i < vectorFields.size(); i++) {
+            vectors[i] = vectorAccessors.get(i).getVector(record);
+            node.remove(vectorPropertyNames.get(i));
+            if (vectors[i] != null && vectors[i].length != vectorFields.get(i).getDimensions()) {
+                throw new SKException(String.format(
+                    "Vector field %s has %d dimensions, but the vector of record %s has %d",
+                    vectorFields.get(i).getName(), vectorFields.get(i).getDimensions(), key,
+                    vectors[i].length));
+            }
+        }
+
+        lock.writeLock().lock();
+        try {
+            ensureOpen();
+            byte[] json = objectMapper.writeValueAsBytes(node);
+            int[] slots = new int[vectorFields.size()];
+            for (int i = 0; i < slots.length; i++) {
+                slots[i] = -1;
+                if (vectors[i] != null) {
+                    slots[i] = allocateSlot(i);
+                    segments.get(i).write(slots[i], vectors[i]);
+                }
+            }
+
+            ByteBuffer buffer = encodePut(key, slots, json);
+            long position = log.position();
+            writeFully(log, buffer);
+            apply(ByteBuffer.wrap(buffer.array(), 8, buffer.limit() - 8).slice(), position + 8);
+            compactIfNeeded();
+        } catch (IOException e) {
+            throw new SKException("Failed to write record " + key, e);
+        } finally {
+            lock.writeLock().unlock();
+        }
+        return key;
+    }
+
+    /**
+     * Checks whether the collection was closed, either explicitly or after failing to reopen its
+     * log.
+     *
+     * @return {@code true} if the collection is closed
+     */
+    boolean isClosed() {
+        lock.readLock().lock();
+        try {
+            return closed;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void ensureOpen() {
+        if (closed) {
+            throw new SKException("Collection " + directory + " is closed");
+        }
+    }
+
+    private int allocateSlot(int field) {
+        // A slot still referenced by the log cannot be reused, so new vectors never overwrite
+        // the previous version of the record before the new entry is written.
+        BitSet free = freeSlots.get(field);
+        int slot = free.nextSetBit(0);
+        if (slot >= 0) {
+            free.clear(slot);
+            return slot;
+        }
+        List<String> keys = slotKeys.get(field);
+        keys.add(null);
+        return keys.size() - 1;
+    }
+
+    /**
+     * Deletes a record.
+     *
+     * @param key the key of the record
+     */
+    void delete(String key) {
+        lock.writeLock().lock();
+        try {
+            ensureOpen();
+            if (!entries.containsKey(key)) {
+                return;
+            }
+            writeFully(log, encode(DELETE, key, null, null));
+            remove(key);
+            compactIfNeeded();
+        } catch (IOException e) {
+            throw new SKException("Failed to delete record " + key, e);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Gets a record.
+     *
+     * @param key the key of the record
+     * @return the record, or {@code null} if it does not exist
+     */
+    @Nullable
+    Record get(String key) {
+        lock.readLock().lock();
+        try {
+            ensureOpen();
+            Entry entry = entries.get(key);
+            return entry == null ? null : read(entry, true);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private Record read(Entry entry, boolean withVectors) {
+        try {
+            ObjectNode node = (ObjectNode) objectMapper.readTree(readJson(entry));
+            if (withVectors) {
+                for (int i = 0; i < vectorFields.size(); i++) {
+                    if (entry.slots[i] >= 0) {
+                        ArrayNode array = node.putArray(vectorPropertyNames.get(i));
+                        for (float value : segments.get(i).read(entry.slots[i])) {
+                            array.add(value);
+                        }
+                    }
+                }
+            }
+            return objectMapper.treeToValue(node, recordClass);
+        } catch (IOException e) {
+            throw new SKException("Failed to read record from " + directory, e);
+        }
+    }
+
+    /**
+     * Performs an exact similarity search over a vector field.
+     * <p>
+     * Records are only read from the log once their score makes them a candidate, and if there
+     * is a filter, it is tested on a record read without its vectors.
+     *
+     * @param vectorField      the vector field
+     * @param distanceFunction the distance function
+     * @param query            the query vector
+     * @param options          the search options
+     * @param filter           accepts the records that may be returned, or {@code null}
+     * @return the search results
+     */
+    List<VectorSearchResult<Record>> search(VectorStoreRecordVectorField vectorField,
+        DistanceFunction distanceFunction, float[] query, VectorSearchOptions options,
+        @Nullable Predicate<Record> filter) {
+        int field = 0;
+        while (!vectorFields.get(field).getName().equals(vectorField.getName())) {
+            field++;
+        }
+        MemoryMappedVectorSegment segment = segments.get(field);
+        if (query.length != segment.getDimensions()) {
+            throw new SKException("Vectors lengths must be equal");
+        }
+
+        lock.readLock().lock();
+        try {
+            ensureOpen();
+            List<String> keys = slotKeys.get(field);
+            VectorSearchTopK<String> topK = VectorSearchTopK.create(distanceFunction, options);
+            float[] row = new float[segment.getDimensions()];
+            for (int slot = 0; slot < keys.size(); slot++) {
+                String key = keys.get(slot);
+                if (key == null) {
+                    continue;
+                }
+
+                segment.read(slot, row);
+                double score = VectorOperations.score(distanceFunction, query, row);
+                if (!topK.isCandidate(score)) {
+                    continue;
+                }
+                if (filter != null && !filter.test(read(entries.get(key), false))) {
+                    continue;
+                }
+                topK.add(key, score);
+            }
+
+            List<VectorSearchResult<Record>> results = new ArrayList<>();
+            for (VectorSearchResult<String> result : topK.getResults(options.getSkip())) {
+                results.add(new VectorSearchResult<>(read(entries.get(result.getRecord()), true),
+                    result.getScore()));
+            }
+            return results;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Flushes the vectors and the log to the storage device.
+     */
+    void force() {
+        lock.readLock().lock();
+        try {
+            ensureOpen();
+            segments.forEach(MemoryMappedVectorSegment::force);
+            log.force(true);
+        } catch (IOException e) {
+            throw new SKException("Failed to flush collection " + directory, e);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Writes the checkpoint of the collection and closes its files. The mappings of the vectors
+     * are released once they are garbage collected, as Java offers no way to unmap them, so until
+     * then the segment files may not be deleted or replaced on some platforms, such as Windows.
+     *
+     * @throws IOException if the checkpoint cannot be written or a file cannot be closed
+     */
+    @Override
+    public void close() throws IOException {
+        close(true);
+    }
+
+    private void close(boolean checkpoint) throws IOException {
+        lock.writeLock().lock();
+        try {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            try {
+                if (checkpoint && log != null) {
+                    writeCheckpoint();
+                }
+            } finally {
+                for (MemoryMappedVectorSegment segment : segments) {
+                    segment.close();
+                }
+                if (log != null) {
+                    log.close();
+                }
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // Closes the files after a failure, without a checkpoint as the index may not match the log
+    private void closeQuietly() {
+        try {
+            close(false);
+        } catch (IOException e) {
+            // The original failure is more relevant
+        }
+    }
+
+    /**
+     * The position of a record in the log and the slots of its vectors.
+     */
+    private static final class Entry {
+
+        private final long jsonPosition;
+        private final int jsonLength;
+        private final int[] slots;
+        private final int size;
+
+        private Entry(long jsonPosition, int jsonLength, int[] slots, int size) {
+            this.jsonPosition = jsonPosition;
+            this.jsonLength = jsonLength;
+            this.slots = slots;
+            this.size = size;
+        }
+
+        private Entry moveTo(long entryPosition) {
+            return new Entry(entryPosition + size - jsonLength, jsonLength, slots, size);
+        }
+    }
+}
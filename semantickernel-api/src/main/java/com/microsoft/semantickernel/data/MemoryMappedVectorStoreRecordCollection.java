@@ -0,0 +1,363 @@
+// Copyright (c) Microsoft. All rights reserved.
+package com.microsoft.semantickernel.data;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.microsoft.semantickernel.data.vectorsearch.VectorOperations;
+import com.microsoft.semantickernel.data.vectorsearch.VectorSearchResults;
+import com.microsoft.semantickernel.data.vectorstorage.VectorStoreRecordCollection;
+import com.microsoft.semantickernel.data.vectorstorage.VectorStoreRecordFieldAccessor;
+import com.microsoft.semantickernel.data.vectorstorage.definition.DistanceFunction;
+import com.microsoft.semantickernel.data.vectorstorage.definition.VectorStoreRecordDefinition;
+import com.microsoft.semantickernel.data.vectorstorage.definition.VectorStoreRecordVectorField;
+import com.microsoft.semantickernel.data.vectorstorage.options.DeleteRecordOptions;
+import com.microsoft.semantickernel.data.vectorstorage.options.GetRecordOptions;
+import com.microsoft.semantickernel.data.vectorstorage.options.UpsertRecordOptions;
+import com.microsoft.semantickernel.data.vectorstorage.options.VectorSearchOptions;
+import com.microsoft.semantickernel.exceptions.SKException;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Predicate;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+/**
+ * Represents a memory-mapped vector store record collection.
+ * <p>
+ * The collection is stored in a directory named after it. Its vectors are kept in memory-mapped
+ * files, one per vector field, and its records, without their vectors, in an append-only log.
+ * Opening an existing collection maps its files and indexes its log, without reading the records
+ * themselves, which are only read when they are returned. The index is read from the checkpoint
+ * written when the collection was last closed, if any, so only the log past it is replayed.
+ * <p>
+ * The files of the collection stay open until the collection or its vector store is closed. The
+ * memory mappings of the vectors are only released once garbage collected.
+ *
+ * @param <Record> The type of record in the collection.
+ */
+public class MemoryMappedVectorStoreRecordCollection<Record> implements
+    VectorStoreRecordCollection<String, Record>, AutoCloseable {
+
+    private static final HashSet<Class<?>> supportedKeyTypes = new HashSet<>(
+        Collections.singletonList(String.class));
+    private static final Pattern COLLECTION_NAME_PATTERN = Pattern.compile("[A-Za-z0-9_\\-.]+");
+
+    private final Path directory;
+    private final String collectionName;
+    private final Map<String, MemoryMappedVectorStoreCollectionState<?>> collections;
+    private final MemoryMappedVectorStoreRecordCollectionOptions<Record> options;
+    private final VectorStoreRecordDefinition recordDefinition;
+    private final ObjectMapper objectMapper;
+    private final Map<String, VectorStoreRecordFieldAccessor<Record>> fieldAccessors;
+
+    /**
+     * Creates a new instance of the memory-mapped vector store record collection.
+     *
+     * @param directory      The directory holding the collections.
+     * @param collectionName The name of the collection.
+     * @param options        The options for the collection.
+     */
+    public MemoryMappedVectorStoreRecordCollection(Path directory, String collectionName,
+        MemoryMappedVectorStoreRecordCollectionOptions<Record> options) {
+        this(directory, collectionName, new ConcurrentHashMap<>(), options);
+    }
+
+    MemoryMappedVectorStoreRecordCollection(Path directory, String collectionName,
+        Map<String, MemoryMappedVectorStoreCollectionState<?>> collections,
+        MemoryMappedVectorStoreRecordCollectionOptions<Record> options) {
+        if (!COLLECTION_NAME_PATTERN.matcher(collectionName).matches()
+            || collectionName.equals(".") || collectionName.equals("..")) {
+            throw new SKException("Invalid collection name " + collectionName
+                + ". Collection names can only contain letters, digits, '_', '-' and '.'");
+        }
+
+        this.directory = directory;
+        this.collectionName = collectionName;
+        this.collections = collections;
+        this.options = options;
+
+        if (options.getRecordDefinition() != null) {
+            this.recordDefinition = options.getRecordDefinition();
+        } else {
+            this.recordDefinition = VectorStoreRecordDefinition
+                .fromRecordClass(this.options.getRecordClass());
+        }
+
+        if (options.getObjectMapper() == null) {
+            this.objectMapper = new ObjectMapper();
+        } else {
+            this.objectMapper = options.getObjectMapper();
+        }
+
+        this.fieldAccessors = VolatileVectorStoreCollectionSearchMapping.createAccessors(
+            options.getRecordClass(), recordDefinition, objectMapper);
+
+        // Validate the key type
+        VectorStoreRecordDefinition.validateSupportedTypes(
+            Collections.singletonList(recordDefinition.getKeyField()),
+            supportedKeyTypes);
+    }
+
+    /**
+     * Gets the name of the collection.
+     *
+     * @return The name of the collection.
+     */
+    @Override
+    public String getCollectionName() {
+        return collectionName;
+    }
+
+    private Path getCollectionDirectory() {
+        return directory.resolve(collectionName);
+    }
+
+    /**
+     * Checks if the collection exists in the store.
+     *
+     * @return A Mono emitting a boolean indicating if the collection exists.
+     */
+    @Override
+    public Mono<Boolean> collectionExistsAsync() {
+        return Mono.fromCallable(() -> collections.containsKey(collectionName)
+            || MemoryMappedVectorStoreCollectionState.exists(getCollectionDirectory()));
+    }
+
+    /**
+     * Creates the collection in the store. An existing collection is opened with its content.
+     *
+     * @return A Mono representing the completion of the creation operation.
+     */
+    @Override
+    public Mono<VectorStoreRecordCollection<String, Record>> createCollectionAsync() {
+        return createCollectionIfNotExistsAsync();
+    }
+
+    /**
+     * Creates the collection in the store if it does not exist.
+     *
+     * @return A Mono representing the completion of the creation operation.
+     */
+    @Override
+    public Mono<VectorStoreRecordCollection<String, Record>> createCollectionIfNotExistsAsync() {
+        return Mono.fromRunnable(() -> collections.computeIfAbsent(collectionName,
+            k -> openCollectionState()))
+            .subscribeOn(Schedulers.boundedElastic())
+            .then(Mono.just(this));
+    }
+
+    /**
+     * Deletes the collection and its files from the store.
+     *
+     * @return A Mono representing the completion of the deletion operation.
+     */
+    @Override
+    public Mono<Void> deleteCollectionAsync() {
+        return Mono.<Void>fromRunnable(() -> {
+            MemoryMappedVectorStoreCollectionState<?> state = collections.remove(collectionName);
+            try {
+                if (state != null) {
+                    state.close();
+                }
+                Path collectionDirectory = getCollectionDirectory();
+                if (Files.exists(collectionDirectory)) {
+                    try (Stream<Path> paths = Files.walk(collectionDirectory)) {
+                        for (Path path : paths.sorted(Comparator.reverseOrder())
+                            .collect(Collectors.toList())) {
+                            Files.delete(path);
+                        }
+                    }
+                }
+            } catch (IOException e) {
+                throw new SKException("Failed to delete collection " + collectionName, e);
+            }
+        }).subscribeOn(Schedulers.boundedElastic());
+    }
+
+    /**
+     * Flushes the collection to the storage device. Completed operations already survive the
+     * process exiting; flushing also makes them survive an operating system failure.
+     *
+     * @return A Mono representing the completion of the flush operation.
+     */
+    public Mono<Void> flushAsync() {
+        return Mono.<Void>fromRunnable(() -> getCollection().force())
+            .subscribeOn(Schedulers.boundedElastic());
+    }
+
+    /**
+     * Closes the files of the collection. The collection is reopened by its next operation.
+     *
+     * @throws SKException if the files cannot be closed
+     */
+    @Override
+    public void close() {
+        MemoryMappedVectorStoreCollectionState<?> state = collections.remove(collectionName);
+        if (state == null) {
+            return;
+        }
+        try {
+            state.close();
+        } catch (IOException e) {
+            throw new SKException("Failed to close collection " + collectionName, e);
+        }
+    }
+
+    /**
+     * Gets a record from the store.
+     *
+     * @param key     The key of the record to get.
+     * @param options The options for getting the record.
+     * @return A Mono emitting the record.
+     */
+    @Override
+    public Mono<Record> getAsync(String key, GetRecordOptions options) {
+        return Mono.fromCallable(() -> getCollection().get(key))
+            .subscribeOn(Schedulers.boundedElastic());
+    }
+
+    /**
+     * Gets a batch of records from the store.
+     *
+     * @param keys    The keys of the records to get.
+     * @param options The options for getting the records.
+     * @return A Mono emitting a list of records.
+     */
+    @Override
+    public Mono<List<Record>> getBatchAsync(List<String> keys, GetRecordOptions options) {
+        return Mono.fromCallable(() -> {
+            MemoryMappedVectorStoreCollectionState<Record> collection = getCollection();
+            return keys.stream().map(collection::get).collect(Collectors.toList());
+        }).subscribeOn(Schedulers.boundedElastic());
+    }
+
+    /**
+     * Inserts or updates a record in the store.
+     *
+     * @param data    The record to upsert.
+     * @param options The options for upserting the record.
+     * @return A Mono emitting the key of the upserted record.
+     */
+    @Override
+    public Mono<String> upsertAsync(Record data, UpsertRecordOptions options) {
+        return Mono.fromCallable(() -> getCollection().upsert(data))
+            .subscribeOn(Schedulers.boundedElastic());
+    }
+
+    /**
+     * Inserts or updates a batch of records in the store.
+     *
+     * @param data    The records to upsert.
+     * @param options The options for upserting the records.
+     * @return A Mono emitting a list of keys of the upserted records.
+     */
+    @Override
+    public Mono<List<String>> upsertBatchAsync(List<Record> data, UpsertRecordOptions options) {
+        return Mono.fromCallable(() -> {
+            MemoryMappedVectorStoreCollectionState<Record> collection = getCollection();
+            return data.stream().map(collection::upsert).collect(Collectors.toList());
+        }).subscribeOn(Schedulers.boundedElastic());
+    }
+
+    /**
+     * Deletes a record from the store.
+     *
+     * @param key     The key of the record to delete.
+     * @param options The options for deleting the record.
+     * @return A Mono representing the completion of the deletion operation.
+     */
+    @Override
+    public Mono<Void> deleteAsync(String key, DeleteRecordOptions options) {
+        return Mono.<Void>fromRunnable(() -> getCollection().delete(key))
+            .subscribeOn(Schedulers.boundedElastic());
+    }
+
+    /**
+     * Deletes a batch of records from the store.
+     *
+     * @param strings The keys of the records to delete.
+     * @param options The options for deleting the records.
+     * @return A Mono representing the completion of the deletion operation.
+     */
+    @Override
+    public Mono<Void> deleteBatchAsync(List<String> strings, DeleteRecordOptions options) {
+        return Mono.<Void>fromRunnable(() -> {
+            MemoryMappedVectorStoreCollectionState<Record> collection = getCollection();
+            strings.forEach(collection::delete);
+        }).subscribeOn(Schedulers.boundedElastic());
+    }
+
+    private MemoryMappedVectorStoreCollectionState<Record> getCollection() {
+        if (!collections.containsKey(collectionName)
+            && !MemoryMappedVectorStoreCollectionState.exists(getCollectionDirectory())) {
+            throw new IllegalStateException(
+                String.format("Collection %s does not exist.", collectionName));
+        }
+        MemoryMappedVectorStoreCollectionState<?> state = collections.get(collectionName);
+        if (state == null || state.isClosed()) {
+            // A collection that failed to reopen its log after compacting it is opened again
+            state = collections.compute(collectionName,
+                (k, current) -> current == null || current.isClosed()
+                    ? openCollectionState()
+                    : current);
+        }
+        return (MemoryMappedVectorStoreCollectionState<Record>) state;
+    }
+
+    private MemoryMappedVectorStoreCollectionState<Record> openCollectionState() {
+        return MemoryMappedVectorStoreCollectionState.open(getCollectionDirectory(),
+            options.getRecordClass(), recordDefinition, objectMapper);
+    }
+
+    /**
+     * Vectorized search. This method searches for records that are similar to the given vector.
+     *
+     * @param vector  The vector to search with.
+     * @param options The options to use for the search.
+     * @return A list of search results.
+     */
+    @Override
+    public Mono<VectorSearchResults<Record>> searchAsync(List<Float> vector,
+        final VectorSearchOptions options) {
+        if (recordDefinition.getVectorFields().isEmpty()) {
+            throw new SKException("No vector fields defined. Cannot perform vector search");
+        }
+
+        return Mono.fromCallable(() -> {
+            VectorStoreRecordVectorField firstVectorField = recordDefinition.getVectorFields()
+                .get(0);
+            VectorSearchOptions effectiveOptions = options == null
+                ? VectorSearchOptions.createDefault(firstVectorField.getName())
+                : options;
+
+            VectorStoreRecordVectorField vectorField = effectiveOptions.getVectorFieldName() == null
+                ? firstVectorField
+                : (VectorStoreRecordVectorField) recordDefinition
+                    .getField(effectiveOptions.getVectorFieldName());
+
+            DistanceFunction distanceFunction = vectorField
+                .getDistanceFunction() == DistanceFunction.UNDEFINED
+                    ? DistanceFunction.EUCLIDEAN_DISTANCE
+                    : vectorField.getDistanceFunction();
+
+            Predicate<Record> filter = VolatileVectorStoreCollectionSearchMapping.createFilter(
+                effectiveOptions.getVectorSearchFilter(), recordDefinition, fieldAccessors,
+                objectMapper);
+
+            return new VectorSearchResults<>(getCollection().search(vectorField,
+                distanceFunction, VectorOperations.toFloatArray(vector), effectiveOptions,
+                filter));
+        }).subscribeOn(Schedulers.boundedElastic());
+    }
+}
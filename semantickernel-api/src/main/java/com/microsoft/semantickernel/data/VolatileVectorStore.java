@@ -20,7 +20,7 @@ import reactor.core.publisher.Mono;
  */
 public class VolatileVectorStore implements VectorStore {
 
-    private final Map<String, Map<String, ?>> collections;
+    private final Map<String, VolatileVectorStoreCollectionState<?>> collections;
 
     /**
      * Creates a new instance of the volatile vector store.
@@ -1,20 +1,35 @@
 // Copyright (c) Microsoft. All rights reserved.
 package com.microsoft.semantickernel.data;
 
-import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.microsoft.semantickernel.data.filter.AnyTagEqualToFilterClause;
 import com.microsoft.semantickernel.data.filter.EqualToFilterClause;
 import com.microsoft.semantickernel.data.filter.FilterClause;
 import com.microsoft.semantickernel.data.vectorsearch.VectorSearchFilter;
+import com.microsoft.semantickernel.data.vectorstorage.VectorStoreRecordBinding;
+import com.microsoft.semantickernel.data.vectorstorage.VectorStoreRecordFieldAccessor;
 import com.microsoft.semantickernel.data.vectorstorage.definition.VectorStoreRecordDefinition;
 import com.microsoft.semantickernel.data.vectorstorage.definition.VectorStoreRecordField;
 import com.microsoft.semantickernel.exceptions.SKException;
 
+import javax.annotation.Nullable;
+import java.lang.reflect.Array;
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Predicate;
 import java.util.stream.Collectors;
 
 /**
  * Provides methods to filter records based on a {@link VectorSearchFilter}.
+ * <p>
+ * A filter is compiled once per search into a predicate reading the filtered fields with
+ * {@link VectorStoreRecordFieldAccessor field accessors}, so testing a record does not serialize
+ * it. Collections pass the accessors they create once for their record class, so that the
+ * predicate can be tested inside the scoring loop before a record is scored.
  */
 public class VolatileVectorStoreCollectionSearchMapping {
 
@@ -31,31 +46,193 @@ public class VolatileVectorStoreCollectionSearchMapping {
     public static <Record> List<Record> filterRecords(List<Record> records,
         VectorSearchFilter filter,
         VectorStoreRecordDefinition recordDefinition, ObjectMapper objectMapper) {
-        if (filter == null || filter.getFilterClauses().isEmpty()) {
+        Predicate<Record> predicate = createFilter(filter, recordDefinition, objectMapper);
+        if (predicate == null) {
             return records;
         }
 
-        return records.stream().filter(
-            record -> {
-                JsonNode recordNode = objectMapper.valueToTree(record);
-
-                for (FilterClause filterClause : filter.getFilterClauses()) {
-                    if (filterClause instanceof EqualToFilterClause) {
-                        EqualToFilterClause equalToFilterClause = (EqualToFilterClause) filterClause;
-                        VectorStoreRecordField field = recordDefinition
-                            .getField(equalToFilterClause.getFieldName());
-
-                        Object value = objectMapper.convertValue(
-                            recordNode.get(field.getEffectiveStorageName()), field.getFieldType());
-                        if (!equalToFilterClause.getValue().equals(value)) {
-                            return false;
-                        }
-                    } else {
-                        throw new SKException(String.format("Unsupported filter clause type '%s'.",
-                            filterClause.getClass().getSimpleName()));
-                    }
+        return records.stream().filter(predicate).collect(Collectors.toList());
+    }
+
+    /**
+     * Creates a predicate that accepts the records matching the given {@link VectorSearchFilter}.
+     * The field accessors are created for the class of the first tested record.
+     *
+     * @param filter The filter to apply.
+     * @param recordDefinition The record definition.
+     * @param objectMapper The object mapper.
+     * @param <Record> The record type.
+     * @return The predicate, or {@code null} if the filter accepts every record.
+     */
+    @Nullable
+    public static <Record> Predicate<Record> createFilter(
+        @Nullable VectorSearchFilter filter,
+        VectorStoreRecordDefinition recordDefinition, ObjectMapper objectMapper) {
+        if (filter == null || filter.getFilterClauses().isEmpty()) {
+            return null;
+        }
+
+        Map<Class<?>, Predicate<Record>> predicates = new ConcurrentHashMap<>();
+        return record -> predicates
+            .computeIfAbsent(record.getClass(), recordClass -> createFilter(filter,
+                recordDefinition, createAccessors(recordClass, recordDefinition, objectMapper),
+                objectMapper))
+            .test(record);
+    }
+
+    /**
+     * Creates a predicate that accepts the records matching the given {@link VectorSearchFilter},
+     * reading the record fields with the given accessors.
+     *
+     * @param filter The filter to apply.
+     * @param recordDefinition The record definition.
+     * @param accessors The field accessors, by field name.
+     * @param objectMapper The object mapper, used to convert filter values to the field types.
+     * @param <Record> The record type.
+     * @return The predicate, or {@code null} if the filter accepts every record.
+     */
+    @Nullable
+    public static <Record> Predicate<Record> createFilter(
+        @Nullable VectorSearchFilter filter,
+        VectorStoreRecordDefinition recordDefinition,
+        Map<String, VectorStoreRecordFieldAccessor<Record>> accessors,
+        ObjectMapper objectMapper) {
+        if (filter == null || filter.getFilterClauses().isEmpty()) {
+            return null;
+        }
+
+        List<Predicate<Record>> predicates = new ArrayList<>();
+        for (FilterClause filterClause : filter.getFilterClauses()) {
+            predicates.add(createClausePredicate(filterClause, recordDefinition, accessors,
+                objectMapper));
+        }
+
+        if (predicates.size() == 1) {
+            return predicates.get(0);
+        }
+        return record -> {
+            for (Predicate<Record> predicate : predicates) {
+                if (!predicate.test(record)) {
+                    return false;
                 }
-                return true;
-            }).collect(Collectors.toList());
+            }
+            return true;
+        };
+    }
+
+    /**
+     * Creates the accessors of every field of the record definition.
+     *
+     * @param recordClass The record class.
+     * @param recordDefinition The record definition.
+     * @param objectMapper The object mapper configured for the record class.
+     * @param <Record> The record type.
+     * @return The field accessors, by field name.
+     */
+    @SuppressWarnings("unchecked")
+    public static <Record> Map<String, VectorStoreRecordFieldAccessor<Record>> createAccessors(
+        Class<?> recordClass, VectorStoreRecordDefinition recordDefinition,
+        ObjectMapper objectMapper) {
+        return VectorStoreRecordFieldAccessor.create(
+            VectorStoreRecordBinding.create((Class<Record>) recordClass, recordDefinition,
+                objectMapper),
+            objectMapper);
+    }
+
+    private static <Record> Predicate<Record> createClausePredicate(FilterClause filterClause,
+        VectorStoreRecordDefinition recordDefinition,
+        Map<String, VectorStoreRecordFieldAccessor<Record>> accessors,
+        ObjectMapper objectMapper) {
+        if (filterClause instanceof EqualToFilterClause) {
+            EqualToFilterClause equalToFilterClause = (EqualToFilterClause) filterClause;
+            VectorStoreRecordFieldAccessor<Record> accessor = getAccessor(
+                equalToFilterClause.getFieldName(), recordDefinition, accessors);
+            Object value = toFieldType(equalToFilterClause.getValue(),
+                accessor.getField().getFieldType(), objectMapper);
+
+            return record -> Objects.equals(value, accessor.get(record));
+        } else if (filterClause instanceof AnyTagEqualToFilterClause) {
+            AnyTagEqualToFilterClause anyTagEqualToFilterClause = (AnyTagEqualToFilterClause) filterClause;
+            VectorStoreRecordFieldAccessor<Record> accessor = getAccessor(
+                anyTagEqualToFilterClause.getFieldName(), recordDefinition, accessors);
+            Object value = anyTagEqualToFilterClause.getValue();
+
+            return record -> containsTag(accessor.get(record), value);
+        } else {
+            throw new SKException(String.format("Unsupported filter clause type '%s'.",
+                filterClause.getClass().getSimpleName()));
+        }
+    }
+
+    private static <Record> VectorStoreRecordFieldAccessor<Record> getAccessor(String fieldName,
+        VectorStoreRecordDefinition recordDefinition,
+        Map<String, VectorStoreRecordFieldAccessor<Record>> accessors) {
+        VectorStoreRecordField field = recordDefinition.getField(fieldName);
+        VectorStoreRecordFieldAccessor<Record> accessor = accessors.get(field.getName());
+        if (accessor == null) {
+            throw new SKException(String.format("Field '%s' is not in the record definition.",
+                fieldName));
+        }
+        return accessor;
+    }
+
+    /**
+     * Converts a filter value to the type of the field once, so that for example an integer
+     * filter value matches a double field.
+     */
+    @Nullable
+    static Object toFieldType(@Nullable Object value, Class<?> fieldType,
+        ObjectMapper objectMapper) {
+        Class<?> boxedType = box(fieldType);
+        if (value == null || boxedType.isInstance(value)) {
+            return value;
+        }
+        try {
+            return objectMapper.convertValue(value, boxedType);
+        } catch (IllegalArgumentException e) {
+            return value;
+        }
+    }
+
+    private static Class<?> box(Class<?> type) {
+        if (!type.isPrimitive()) {
+            return type;
+        }
+        if (type == int.class) {
+            return Integer.class;
+        } else if (type == long.class) {
+            return Long.class;
+        } else if (type == double.class) {
+            return Double.class;
+        } else if (type == float.class) {
+            return Float.class;
+        } else if (type == boolean.class) {
+            return Boolean.class;
+        } else if (type == short.class) {
+            return Short.class;
+        } else if (type == byte.class) {
+            return Byte.class;
+        } else if (type == char.class) {
+            return Character.class;
+        }
+        return type;
+    }
+
+    private static boolean containsTag(@Nullable Object tags, @Nullable Object value) {
+        if (tags == null) {
+            return false;
+        }
+        if (tags instanceof Collection) {
+            return ((Collection<?>) tags).contains(value);
+        }
+        if (tags.getClass().isArray()) {
+            for (int i = 0; i < Array.getLength(tags); i++) {
+                if (Objects.equals(value, Array.get(tags, i))) {
+                    return true;
+                }
+            }
+            return false;
+        }
+        return Objects.equals(value, tags);
     }
 }
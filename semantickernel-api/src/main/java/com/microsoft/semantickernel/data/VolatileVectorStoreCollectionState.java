@@ -0,0 +1,123 @@
+// Copyright (c) Microsoft. All rights reserved.
+package com.microsoft.semantickernel.data;
+
+import com.microsoft.semantickernel.data.vectorstorage.VectorStoreRecordFieldAccessor;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * The state of a volatile collection: its records and the indexes kept alongside them.
+ * <p>
+ * The state is shared by every {@link VolatileVectorStoreRecordCollection} instance pointing at
+ * the same collection name, so indexes are created once with the collection and maintained on
+ * every upsert and delete. Vector fields without an HNSW index keep their vectors in a
+ * {@link VolatileVectorStoreVectorColumn} instead, read once per upsert rather than per search.
+ * Filterable data fields have a {@link VolatileVectorStoreDataIndex}, used to narrow the records
+ * scored by filtered searches.
+ *
+ * @param <Record> the record type
+ */
+final class VolatileVectorStoreCollectionState<Record> {
+
+    private final ConcurrentHashMap<String, Record> records;
+    private final Map<String, VolatileVectorStoreHnswIndex> hnswIndexes;
+    private final Map<String, VolatileVectorStoreVectorColumn<Record>> vectorColumns;
+    private final Map<String, VectorStoreRecordFieldAccessor<Record>> vectorAccessors;
+    private final Map<String, VolatileVectorStoreDataIndex<Record>> dataIndexes;
+
+    /**
+     * Creates the state of a new collection.
+     *
+     * @param hnswIndexes     the HNSW indexes, by vector field name
+     * @param vectorColumns   the vector columns, by vector field name
+     * @param vectorAccessors the vector accessors, by vector field name
+     * @param dataIndexes     the inverted indexes, by data field name
+     */
+    VolatileVectorStoreCollectionState(
+        Map<String, VolatileVectorStoreHnswIndex> hnswIndexes,
+        Map<String, VolatileVectorStoreVectorColumn<Record>> vectorColumns,
+        Map<String, VectorStoreRecordFieldAccessor<Record>> vectorAccessors,
+        Map<String, VolatileVectorStoreDataIndex<Record>> dataIndexes) {
+        this.records = new ConcurrentHashMap<>();
+        this.hnswIndexes = Collections.unmodifiableMap(hnswIndexes);
+        this.vectorColumns = Collections.unmodifiableMap(vectorColumns);
+        this.vectorAccessors = Collections.unmodifiableMap(vectorAccessors);
+        this.dataIndexes = Collections.unmodifiableMap(dataIndexes);
+    }
+
+    /**
+     * Gets the records of the collection, by key.
+     *
+     * @return the records
+     */
+    Map<String, Record> getRecords() {
+        return records;
+    }
+
+    /**
+     * Gets the HNSW index of a vector field.
+     *
+     * @param vectorFieldName the name of the vector field
+     * @return the index, or {@code null} if the field is not indexed
+     */
+    VolatileVectorStoreHnswIndex getHnswIndex(String vectorFieldName) {
+        return hnswIndexes.get(vectorFieldName);
+    }
+
+    /**
+     * Gets the vector column of a vector field.
+     *
+     * @param vectorFieldName the name of the vector field
+     * @return the column, or {@code null} if the field has an HNSW index instead
+     */
+    VolatileVectorStoreVectorColumn<Record> getVectorColumn(String vectorFieldName) {
+        return vectorColumns.get(vectorFieldName);
+    }
+
+    /**
+     * Gets the inverted index of a data field.
+     *
+     * @param dataFieldName the name of the data field
+     * @return the index, or {@code null} if the field is not filterable
+     */
+    VolatileVectorStoreDataIndex<Record> getDataIndex(String dataFieldName) {
+        return dataIndexes.get(dataFieldName);
+    }
+
+    /**
+     * Inserts or replaces a record and updates the indexes.
+     *
+     * @param key    the key of the record
+     * @param record the record
+     */
+    void upsert(String key, Record record) {
+        // The columns and data indexes are updated while the key is locked, so concurrent upserts
+        // of the same key cannot leave them pointing at another version of the record.
+        records.compute(key, (k, previous) -> {
+            vectorColumns.forEach((fieldName, column) -> column.put(k, record,
+                vectorAccessors.get(fieldName).getVector(record)));
+            dataIndexes.values().forEach(index -> index.put(k, previous, record));
+            return record;
+        });
+        // Inserting in a graph walks it, so the graphs are updated once the key is unlocked,
+        // unless the record was replaced or deleted meanwhile
+        hnswIndexes.forEach((fieldName, index) -> index.put(key,
+            vectorAccessors.get(fieldName).getVector(record), () -> records.get(key) == record));
+    }
+
+    /**
+     * Removes a record and updates the indexes.
+     *
+     * @param key the key of the record
+     */
+    void delete(String key) {
+        records.computeIfPresent(key, (k, previous) -> {
+            vectorColumns.values().forEach(column -> column.remove(k));
+            dataIndexes.values().forEach(index -> index.remove(k, previous));
+            return null;
+        });
+        hnswIndexes.values().forEach(index -> index.remove(key, () -> !records.containsKey(key)));
+    }
+}
@@ -0,0 +1,136 @@
+// Copyright (c) Microsoft. All rights reserved.
+package com.microsoft.semantickernel.data;
+
+import com.microsoft.semantickernel.data.vectorstorage.VectorStoreRecordFieldAccessor;
+
+import javax.annotation.Nullable;
+import java.lang.reflect.Array;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * An inverted index over one filterable data field of a volatile collection.
+ * <p>
+ * The index maps each value of the field to the keys of the records holding it. Collection and
+ * array values are indexed element by element, so the index answers both equality and
+ * any-tag-equal-to lookups with a hash lookup instead of a scan of the records.
+ * <p>
+ * The index is updated while the key of the record is locked by the collection, and read
+ * concurrently by searches. Searches still test their filter against the records they score, so
+ * a lookup racing with an update cannot return a record that does not match.
+ *
+ * @param <Record> the record type
+ */
+final class VolatileVectorStoreDataIndex<Record> {
+
+    private final VectorStoreRecordFieldAccessor<Record> accessor;
+    private final boolean tags;
+    private final ConcurrentHashMap<Object, Set<String>> postings;
+
+    /**
+     * Creates a new index.
+     *
+     * @param accessor the accessor of the indexed field
+     */
+    VolatileVectorStoreDataIndex(VectorStoreRecordFieldAccessor<Record> accessor) {
+        Class<?> fieldType = accessor.getField().getFieldType();
+        this.accessor = accessor;
+        this.tags = Collection.class.isAssignableFrom(fieldType) || fieldType.isArray();
+        this.postings = new ConcurrentHashMap<>();
+    }
+
+    /**
+     * Gets whether the field holds collections or arrays, indexed element by element.
+     *
+     * @return {@code true} if the values of the field are indexed element by element
+     */
+    boolean isTags() {
+        return tags;
+    }
+
+    /**
+     * Indexes a record, replacing the values of its previous version.
+     *
+     * @param key      the key of the record
+     * @param previous the previous version of the record, or {@code null} if there is none
+     * @param record   the record
+     */
+    void put(String key, @Nullable Record previous, Record record) {
+        Set<Object> values = values(record);
+        // Add the new values before removing the old ones, so that a concurrent lookup of a value
+        // held by both versions does not miss the record.
+        for (Object value : values) {
+            // Added inside compute, so that a concurrent removal cannot drop the posting list
+            // between its lookup and the addition
+            postings.compute(value, (v, keys) -> {
+                Set<String> posting = keys == null ? ConcurrentHashMap.newKeySet() : keys;
+                posting.add(key);
+                return posting;
+            });
+        }
+        if (previous != null) {
+            for (Object value : values(previous)) {
+                if (!values.contains(value)) {
+                    removePosting(value, key);
+                }
+            }
+        }
+    }
+
+    /**
+     * Removes a record from the index.
+     *
+     * @param key      the key of the record
+     * @param previous the record
+     */
+    void remove(String key, Record previous) {
+        for (Object value : values(previous)) {
+            removePosting(value, key);
+        }
+    }
+
+    /**
+     * Gets the keys of the records holding a value. For a field indexed element by element, these
+     * are the records whose collection contains the value.
+     *
+     * @param value the value
+     * @return the keys, a live view which must not be modified
+     */
+    Set<String> get(Object value) {
+        Set<String> keys = postings.get(value);
+        return keys == null ? Collections.emptySet() : keys;
+    }
+
+    private void removePosting(Object value, String key) {
+        postings.computeIfPresent(value, (v, keys) -> {
+            keys.remove(key);
+            return keys.isEmpty() ? null : keys;
+        });
+    }
+
+    private Set<Object> values(Record record) {
+        Object value = accessor.get(record);
+        if (value == null) {
+            return Collections.emptySet();
+        }
+        if (!tags) {
+            return Collections.singleton(value);
+        }
+
+        Set<Object> values = new HashSet<>();
+        if (value instanceof Collection) {
+            values.addAll((Collection<?>) value);
+        } else if (value.getClass().isArray()) {
+            for (int i = 0; i < Array.getLength(value); i++) {
+                values.add(Array.get(value, i));
+            }
+        } else {
+            values.add(value);
+        }
+        values.remove(null);
+        return values;
+    }
+}
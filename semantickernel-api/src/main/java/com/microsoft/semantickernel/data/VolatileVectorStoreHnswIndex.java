@@ -0,0 +1,691 @@
+// Copyright (c) Microsoft. All rights reserved.
+package com.microsoft.semantickernel.data;
+
+import com.microsoft.semantickernel.data.vectorstorage.definition.DistanceFunction;
+import com.microsoft.semantickernel.exceptions.SKException;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.BooleanSupplier;
+import java.util.function.IntPredicate;
+import java.util.function.Predicate;
+import javax.annotation.Nullable;
+
+/**
+ * An in-memory Hierarchical Navigable Small World (HNSW) graph over the vectors of one vector
+ * field of a volatile collection.
+ * <p>
+ * The graph is built incrementally as records are added. Removed records are marked as deleted
+ * and skipped in results while still being used for navigation. Once deleted nodes outnumber the
+ * live ones, a new graph is built from the live nodes by the compaction executor, without holding
+ * the lock of the index, then swapped in after replaying the changes made in the meantime.
+ * <p>
+ * Filtered searches walk the graph until enough accepted nodes are found, which a selective
+ * filter would drag through most of the graph. Past a number of visited nodes proportional to
+ * the candidate list, they scan the vectors exactly instead, as they do up front when the
+ * candidate keys of the filter are fewer than that.
+ * <p>
+ * Under cosine distance functions, zero norm vectors are kept out of the graph, and searches
+ * that may return them fail like exact searches do.
+ */
+final class VolatileVectorStoreHnswIndex {
+
+    private static final int MIN_NODES_TO_COMPACT = 64;
+
+    // The number of nodes a filtered search may visit per slot of the candidate list
+    private static final int FILTERED_SEARCH_VISITS_PER_SLOT = 64;
+
+    private static final Comparator<Candidate> NEAREST_FIRST = Comparator
+        .comparingDouble(c -> c.distance);
+    private static final Comparator<Candidate> FURTHEST_FIRST = NEAREST_FIRST.reversed();
+
+    private final DistanceFunction distanceFunction;
+    private final int m;
+    private final int maxM0;
+    private final int efConstruction;
+    private final double levelMultiplier;
+    private final Random random;
+    private final Executor compactionExecutor;
+    private final ReadWriteLock lock;
+
+    private Graph graph;
+    private final Set<String> zeroNormKeys;
+    // Keys changed while a new graph is built, null if no graph is being built
+    @Nullable
+    private Set<String> changedKeys;
+
+    /**
+     * A node of the graph.
+     */
+    private static final class Node {
+        private final String key;
+        private final float[] vector;
+        private final int[][] neighbors;
+        private final int[] neighborCounts;
+        private boolean deleted;
+
+        private Node(String key, float[] vector, int level, int m, int maxM0) {
+            this.key = key;
+            this.vector = vector;
+            this.neighbors = new int[level + 1][];
+            this.neighborCounts = new int[level + 1];
+            for (int i = 0; i <= level; i++) {
+                // One extra slot so a link can be added before the list is pruned
+                this.neighbors[i] = new int[(i == 0 ? maxM0 : m) + 1];
+            }
+        }
+    }
+
+    /**
+     * A node id paired with its distance to a query.
+     */
+    static final class Candidate {
+        private final int node;
+        private final float distance;
+
+        private Candidate(int node, float distance) {
+            this.node = node;
+            this.distance = distance;
+        }
+    }
+
+    /**
+     * A search hit.
+     */
+    static final class Hit {
+        private final String key;
+        private final double score;
+
+        private Hit(String key, double score) {
+            this.key = key;
+            this.score = score;
+        }
+
+        /**
+         * Gets the key of the record.
+         *
+         * @return the key
+         */
+        String getKey() {
+            return key;
+        }
+
+        /**
+         * Gets the score of the record, as computed by the distance function of the index.
+         *
+         * @return the score
+         */
+        double getScore() {
+            return score;
+        }
+    }
+
+    /**
+     * Creates a new HNSW index.
+     *
+     * @param distanceFunction   the distance function used to compare vectors
+     * @param m                  the maximum number of links per node on the upper layers
+     * @param efConstruction     the size of the dynamic candidate list used while inserting
+     * @param compactionExecutor the executor building the graph that replaces one with too many
+     *                           deleted nodes
+     */
+    VolatileVectorStoreHnswIndex(DistanceFunction distanceFunction, int m, int efConstruction,
+        Executor compactionExecutor) {
+        if (m < 2) {
+            throw new IllegalArgumentException("HNSW M must be at least 2");
+        }
+        if (efConstruction < 1) {
+            throw new IllegalArgumentException("HNSW efConstruction must be at least 1");
+        }
+        this.distanceFunction = distanceFunction == DistanceFunction.UNDEFINED
+            ? DistanceFunction.EUCLIDEAN_DISTANCE
+            : distanceFunction;
+        this.m = m;
+        this.maxM0 = 2 * m;
+        this.efConstruction = efConstruction;
+        this.levelMultiplier = 1 / Math.log(m);
+        this.random = new Random();
+        this.compactionExecutor = compactionExecutor;
+        this.lock = new ReentrantReadWriteLock();
+        this.graph = new Graph();
+        this.zeroNormKeys = new HashSet<>();
+    }
+
+    /**
+     * Gets the number of live vectors in the index.
+     *
+     * @return the number of live vectors
+     */
+    int size() {
+        lock.readLock().lock();
+        try {
+            return graph.nodeIds.size() + zeroNormKeys.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Adds or replaces the vector of a record.
+     *
+     * @param key     the key of the record
+     * @param vector  the vector of the record, or {@code null} to only remove the previous one
+     * @param current tells, while the index is locked, whether the vector is still the current
+     *                one of the record, so that a concurrent update of the same key is not
+     *                overwritten by an older one
+     */
+    void put(String key, float[] vector, BooleanSupplier current) {
+        float[] preparedVector = vector == null ? null : prepare(vector);
+        Graph compacted;
+        lock.writeLock().lock();
+        try {
+            if (!current.getAsBoolean()) {
+                return;
+            }
+            markDeleted(key);
+            if (preparedVector != null) {
+                if (isCosine() && isZero(preparedVector)) {
+                    graph.checkLength(preparedVector);
+                    zeroNormKeys.add(key);
+                } else {
+                    graph.insert(key, preparedVector);
+                }
+            }
+            compacted = startCompactionIfNeeded();
+        } finally {
+            lock.writeLock().unlock();
+        }
+        compact(compacted);
+    }
+
+    /**
+     * Removes the vector of a record.
+     *
+     * @param key     the key of the record
+     * @param current tells, while the index is locked, whether the record is still deleted
+     */
+    void remove(String key, BooleanSupplier current) {
+        Graph compacted;
+        lock.writeLock().lock();
+        try {
+            if (!current.getAsBoolean()) {
+                return;
+            }
+            markDeleted(key);
+            compacted = startCompactionIfNeeded();
+        } finally {
+            lock.writeLock().unlock();
+        }
+        compact(compacted);
+    }
+
+    /**
+     * Searches the approximate nearest neighbours of the query vector.
+     *
+     * @param query         the query vector
+     * @param k             the number of results to return
+     * @param ef            the size of the dynamic candidate list, at least {@code k}
+     * @param candidateKeys the keys of the only records that may be returned, or {@code null} if
+     *                      any key may be returned
+     * @param filter        accepts the keys that may be returned, or {@code null} to accept all
+     *                      keys
+     * @return the hits, best first
+     */
+    List<Hit> search(float[] query, int k, int ef, Collection<String> candidateKeys,
+        Predicate<String> filter) {
+        float[] preparedQuery = prepare(query);
+        if (isCosine() && isZero(preparedQuery)) {
+            throw new SKException("Vectors cannot have zero norm");
+        }
+
+        lock.readLock().lock();
+        try {
+            for (String key : zeroNormKeys) {
+                if ((candidateKeys == null || candidateKeys.contains(key))
+                    && (filter == null || filter.test(key))) {
+                    throw new SKException("Vectors cannot have zero norm");
+                }
+            }
+            return graph.search(preparedQuery, k, ef, candidateKeys, filter);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private boolean isCosine() {
+        return distanceFunction == DistanceFunction.COSINE_SIMILARITY
+            || distanceFunction == DistanceFunction.COSINE_DISTANCE;
+    }
+
+    private static boolean isZero(float[] vector) {
+        for (float value : vector) {
+            if (value != 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Cosine vectors are normalized once so that comparing them is a dot product.
+     */
+    private float[] prepare(float[] vector) {
+        if (!isCosine()) {
+            return vector;
+        }
+
+        double norm = 0;
+        for (float value : vector) {
+            norm += value * value;
+        }
+        if (norm == 0) {
+            return vector.clone();
+        }
+
+        float inverseNorm = (float) (1 / Math.sqrt(norm));
+        float[] normalized = new float[vector.length];
+        for (int i = 0; i < vector.length; i++) {
+            normalized[i] = vector[i] * inverseNorm;
+        }
+        return normalized;
+    }
+
+    /**
+     * Internal distance, where lower is always better.
+     */
+    private float distance(float[] x, float[] y) {
+        switch (distanceFunction) {
+            case COSINE_SIMILARITY:
+            case COSINE_DISTANCE:
+                return 1 - dot(x, y);
+            case DOT_PRODUCT:
+                return -dot(x, y);
+            case EUCLIDEAN_DISTANCE:
+                float sumOfSquaredDifferences = 0;
+                for (int i = 0; i < x.length; i++) {
+                    float difference = x[i] - y[i];
+                    sumOfSquaredDifferences += difference * difference;
+                }
+                return sumOfSquaredDifferences;
+            default:
+                throw new SKException("Unsupported distance function");
+        }
+    }
+
+    private static float dot(float[] x, float[] y) {
+        float result = 0;
+        for (int i = 0; i < x.length; i++) {
+            result += x[i] * y[i];
+        }
+        return result;
+    }
+
+    private double toScore(float distance) {
+        switch (distanceFunction) {
+            case COSINE_SIMILARITY:
+                return 1 - distance;
+            case COSINE_DISTANCE:
+                return distance;
+            case DOT_PRODUCT:
+                return -distance;
+            case EUCLIDEAN_DISTANCE:
+                return Math.sqrt(distance);
+            default:
+                throw new SKException("Unsupported distance function");
+        }
+    }
+
+    private void markDeleted(String key) {
+        zeroNormKeys.remove(key);
+        graph.markDeleted(key);
+        if (changedKeys != null) {
+            changedKeys.add(key);
+        }
+    }
+
+    /**
+     * Starts recording the changed keys if the graph should be rebuilt, called with the write
+     * lock held.
+     *
+     * @return the graph to rebuild, or {@code null} if it should not be rebuilt
+     */
+    @Nullable
+    private Graph startCompactionIfNeeded() {
+        if (changedKeys != null || graph.nodes.size() < MIN_NODES_TO_COMPACT
+            || graph.deletedCount <= graph.nodeIds.size()) {
+            return null;
+        }
+        changedKeys = new HashSet<>();
+        return graph;
+    }
+
+    private void compact(@Nullable Graph compacted) {
+        if (compacted == null) {
+            return;
+        }
+        try {
+            compactionExecutor.execute(() -> rebuild(compacted));
+        } catch (RejectedExecutionException e) {
+            lock.writeLock().lock();
+            try {
+                changedKeys = null;
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+    }
+
+    /**
+     * Builds a new graph from the live nodes of the given one, and swaps it in once the changes
+     * made meanwhile are replayed on it.
+     */
+    private void rebuild(Graph compacted) {
+        Graph rebuilt = null;
+        try {
+            List<Node> liveNodes = new ArrayList<>();
+            lock.readLock().lock();
+            try {
+                for (Node node : compacted.nodes) {
+                    if (!node.deleted) {
+                        liveNodes.add(node);
+                    }
+                }
+            } finally {
+                lock.readLock().unlock();
+            }
+
+            Graph graph = new Graph();
+            for (Node node : liveNodes) {
+                graph.insert(node.key, node.vector);
+            }
+            rebuilt = graph;
+        } finally {
+            lock.writeLock().lock();
+            try {
+                if (rebuilt != null && this.graph == compacted) {
+                    for (String key : changedKeys) {
+                        rebuilt.markDeleted(key);
+                        Integer node = compacted.nodeIds.get(key);
+                        if (node != null) {
+                            rebuilt.insert(key, compacted.nodes.get(node).vector);
+                        }
+                    }
+                    this.graph = rebuilt;
+                }
+                changedKeys = null;
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+    }
+
+    /**
+     * The nodes and links of a graph, guarded by the lock of the index, except for a graph being
+     * built by a compaction.
+     */
+    private final class Graph {
+
+        private final List<Node> nodes = new ArrayList<>();
+        private final Map<String, Integer> nodeIds = new HashMap<>();
+        private int entryPoint = -1;
+        private int maxLevel = -1;
+        private int deletedCount;
+
+        private List<Hit> search(float[] query, int k, int ef, Collection<String> candidateKeys,
+            Predicate<String> filter) {
+            if (entryPoint < 0) {
+                return new ArrayList<>();
+            }
+            checkLength(query);
+
+            int candidateCount = Math.max(ef, k);
+            int maxVisits = filter == null && candidateKeys == null ? Integer.MAX_VALUE
+                : candidateCount * FILTERED_SEARCH_VISITS_PER_SLOT;
+            PriorityQueue<Candidate> candidates = null;
+            if (candidateKeys == null || candidateKeys.size() > maxVisits) {
+                int current = greedySearch(query, entryPoint, maxLevel, 1);
+                candidates = searchLayer(query, current, candidateCount, 0,
+                    node -> !nodes.get(node).deleted
+                        && (candidateKeys == null
+                            || candidateKeys.contains(nodes.get(node).key))
+                        && (filter == null || filter.test(nodes.get(node).key)),
+                    maxVisits);
+            }
+            if (candidates == null) {
+                candidates = exactSearch(query, k, candidateKeys, filter);
+            }
+
+            List<Candidate> sorted = new ArrayList<>(candidates);
+            sorted.sort(NEAREST_FIRST);
+
+            List<Hit> hits = new ArrayList<>(Math.min(k, sorted.size()));
+            for (int i = 0; i < sorted.size() && i < k; i++) {
+                Candidate candidate = sorted.get(i);
+                hits.add(new Hit(nodes.get(candidate.node).key, toScore(candidate.distance)));
+            }
+            return hits;
+        }
+
+        /**
+         * Scans the live vectors of the candidate keys, or of all keys, keeping the {@code k}
+         * nearest accepted ones.
+         */
+        private PriorityQueue<Candidate> exactSearch(float[] query, int k,
+            Collection<String> candidateKeys, Predicate<String> filter) {
+            PriorityQueue<Candidate> results = new PriorityQueue<>(FURTHEST_FIRST);
+            for (String key : candidateKeys == null ? nodeIds.keySet() : candidateKeys) {
+                Integer node = nodeIds.get(key);
+                if (node == null || (filter != null && !filter.test(key))) {
+                    continue;
+                }
+
+                float distance = distance(query, node);
+                if (results.size() < k || distance < results.peek().distance) {
+                    results.add(new Candidate(node, distance));
+                    if (results.size() > k) {
+                        results.poll();
+                    }
+                }
+            }
+            return results;
+        }
+
+        private void checkLength(float[] vector) {
+            if (entryPoint >= 0 && vector.length != nodes.get(entryPoint).vector.length) {
+                throw new SKException("Vectors lengths must be equal");
+            }
+        }
+
+        private float distance(float[] query, int node) {
+            return VolatileVectorStoreHnswIndex.this.distance(query, nodes.get(node).vector);
+        }
+
+        private void markDeleted(String key) {
+            Integer existing = nodeIds.remove(key);
+            if (existing != null) {
+                nodes.get(existing).deleted = true;
+                deletedCount++;
+            }
+        }
+
+        private int randomLevel() {
+            double uniform = 1.0 - random.nextDouble();
+            return (int) Math.floor(-Math.log(uniform) * levelMultiplier);
+        }
+
+        private void insert(String key, float[] vector) {
+            checkLength(vector);
+
+            int level = randomLevel();
+            int id = nodes.size();
+            nodes.add(new Node(key, vector, level, m, maxM0));
+            nodeIds.put(key, id);
+
+            if (entryPoint < 0) {
+                entryPoint = id;
+                maxLevel = level;
+                return;
+            }
+
+            int current = greedySearch(vector, entryPoint, maxLevel, level + 1);
+
+            for (int layer = Math.min(level, maxLevel); layer >= 0; layer--) {
+                PriorityQueue<Candidate> candidates = searchLayer(vector, current, efConstruction,
+                    layer, null, Integer.MAX_VALUE);
+                List<Candidate> sorted = new ArrayList<>(candidates);
+                sorted.sort(NEAREST_FIRST);
+
+                List<Candidate> selected = selectNeighbors(sorted, m);
+                for (Candidate neighbor : selected) {
+                    addLink(id, neighbor.node, layer);
+                    addLink(neighbor.node, id, layer);
+                }
+                current = sorted.get(0).node;
+            }
+
+            if (level > maxLevel) {
+                entryPoint = id;
+                maxLevel = level;
+            }
+        }
+
+        /**
+         * Walks greedily from the top layer down to {@code bottomLayer}, returning the closest node.
+         */
+        private int greedySearch(float[] query, int start, int topLayer, int bottomLayer) {
+            int current = start;
+            float currentDistance = distance(query, current);
+
+            for (int layer = topLayer; layer >= bottomLayer; layer--) {
+                boolean changed = true;
+                while (changed) {
+                    changed = false;
+                    Node node = nodes.get(current);
+                    for (int i = 0; i < node.neighborCounts[layer]; i++) {
+                        int neighbor = node.neighbors[layer][i];
+                        float neighborDistance = distance(query, neighbor);
+                        if (neighborDistance < currentDistance) {
+                            current = neighbor;
+                            currentDistance = neighborDistance;
+                            changed = true;
+                        }
+                    }
+                }
+            }
+            return current;
+        }
+
+        /**
+         * Searches one layer of the graph, returning at most {@code ef} accepted nodes, or
+         * {@code null} if more than {@code maxVisits} nodes are visited.
+         */
+        private PriorityQueue<Candidate> searchLayer(float[] query, int start, int ef, int layer,
+            IntPredicate accept, int maxVisits) {
+            BitSet visited = new BitSet(nodes.size());
+            int visitCount = 1;
+            PriorityQueue<Candidate> candidates = new PriorityQueue<>(NEAREST_FIRST);
+            PriorityQueue<Candidate> results = new PriorityQueue<>(FURTHEST_FIRST);
+
+            Candidate first = new Candidate(start, distance(query, start));
+            visited.set(start);
+            candidates.add(first);
+            if (accept == null || accept.test(start)) {
+                results.add(first);
+            }
+
+            while (!candidates.isEmpty()) {
+                Candidate closest = candidates.poll();
+                if (results.size() >= ef && closest.distance > results.peek().distance) {
+                    break;
+                }
+
+                Node node = nodes.get(closest.node);
+                for (int i = 0; i < node.neighborCounts[layer]; i++) {
+                    int neighbor = node.neighbors[layer][i];
+                    if (visited.get(neighbor)) {
+                        continue;
+                    }
+                    visited.set(neighbor);
+                    if (++visitCount > maxVisits) {
+                        return null;
+                    }
+
+                    float neighborDistance = distance(query, neighbor);
+                    if (results.size() < ef || neighborDistance < results.peek().distance) {
+                        Candidate candidate = new Candidate(neighbor, neighborDistance);
+                        candidates.add(candidate);
+                        if (accept == null || accept.test(neighbor)) {
+                            results.add(candidate);
+                            if (results.size() > ef) {
+                                results.poll();
+                            }
+                        }
+                    }
+                }
+            }
+            return results;
+        }
+
+        /**
+         * Selects up to {@code count} neighbours from candidates sorted nearest first, preferring
+         * candidates that are closer to the base node than to any already selected neighbour.
+         */
+        private List<Candidate> selectNeighbors(List<Candidate> sorted, int count) {
+            List<Candidate> selected = new ArrayList<>(count);
+            for (Candidate candidate : sorted) {
+                if (selected.size() >= count) {
+                    break;
+                }
+
+                boolean diverse = true;
+                float[] vector = nodes.get(candidate.node).vector;
+                for (Candidate other : selected) {
+                    if (distance(vector, other.node) < candidate.distance) {
+                        diverse = false;
+                        break;
+                    }
+                }
+                if (diverse) {
+                    selected.add(candidate);
+                }
+            }
+            return selected;
+        }
+
+        private void addLink(int from, int to, int layer) {
+            Node node = nodes.get(from);
+            int maxLinks = layer == 0 ? maxM0 : m;
+
+            node.neighbors[layer][node.neighborCounts[layer]++] = to;
+            if (node.neighborCounts[layer] <= maxLinks) {
+                return;
+            }
+
+            List<Candidate> sorted = new ArrayList<>(node.neighborCounts[layer]);
+            for (int i = 0; i < node.neighborCounts[layer]; i++) {
+                int neighbor = node.neighbors[layer][i];
+                sorted.add(new Candidate(neighbor, distance(node.vector, neighbor)));
+            }
+            sorted.sort(NEAREST_FIRST);
+
+            List<Candidate> selected = selectNeighbors(sorted, maxLinks);
+            node.neighborCounts[layer] = selected.size();
+            for (int i = 0; i < selected.size(); i++) {
+                node.neighbors[layer][i] = selected.get(i).node;
+            }
+        }
+    }
+}
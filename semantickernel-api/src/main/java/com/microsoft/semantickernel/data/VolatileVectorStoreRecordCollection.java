@@ -3,12 +3,22 @@ package com.microsoft.semantickernel.data;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.node.ArrayNode;
-import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.microsoft.semantickernel.data.filter.AnyTagEqualToFilterClause;
+import com.microsoft.semantickernel.data.filter.EqualToFilterClause;
+import com.microsoft.semantickernel.data.filter.FilterClause;
 import com.microsoft.semantickernel.data.vectorsearch.VectorOperations;
+import com.microsoft.semantickernel.data.vectorsearch.VectorSearchFilter;
+import com.microsoft.semantickernel.data.vectorsearch.VectorSearchResult;
 import com.microsoft.semantickernel.data.vectorsearch.VectorSearchResults;
+import com.microsoft.semantickernel.data.vectorstorage.VectorStoreRecordBinding;
+import com.microsoft.semantickernel.data.vectorstorage.VectorStoreRecordFieldAccessor;
 import com.microsoft.semantickernel.data.vectorstorage.VectorStoreRecordCollection;
 import com.microsoft.semantickernel.data.vectorstorage.definition.DistanceFunction;
+import com.microsoft.semantickernel.data.vectorstorage.definition.IndexKind;
+import com.microsoft.semantickernel.data.vectorstorage.definition.VectorStoreRecordDataField;
 import com.microsoft.semantickernel.data.vectorstorage.definition.VectorStoreRecordDefinition;
+import com.microsoft.semantickernel.data.vectorstorage.definition.VectorStoreRecordField;
+import com.microsoft.semantickernel.data.vectorstorage.definition.VectorQuantization;
 import com.microsoft.semantickernel.data.vectorstorage.definition.VectorStoreRecordVectorField;
 import com.microsoft.semantickernel.data.vectorstorage.options.DeleteRecordOptions;
 import com.microsoft.semantickernel.data.vectorstorage.options.GetRecordOptions;
@@ -16,13 +26,25 @@ import com.microsoft.semantickernel.data.vectorstorage.options.UpsertRecordOptio
 import com.microsoft.semantickernel.data.vectorstorage.options.VectorSearchOptions;
 import com.microsoft.semantickernel.exceptions.SKException;
 
+import javax.annotation.Nullable;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
 import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.function.Predicate;
 import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 import java.util.stream.Stream;
 
 import reactor.core.publisher.Mono;
@@ -30,6 +52,12 @@ import reactor.core.scheduler.Schedulers;
 
 /**
  * Represents a volatile vector store record collection.
+ * <p>
+ * The vectors of quantized vector fields without an HNSW index are kept as {@code float[]} by
+ * the collection to rescore searches. When the record class is mapped with compiled accessors
+ * and every field of the record class is in the record definition, the collection stores a copy
+ * of each upserted record whose quantized vectors are backed by these arrays rather than boxed,
+ * so records returned by the collection are not the upserted instances.
  *
  * @param <Record> The type of record in the collection.
  */
@@ -38,11 +66,19 @@ public class VolatileVectorStoreRecordCollection<Record> implements
 
     private static final HashSet<Class<?>> supportedKeyTypes = new HashSet<>(
         Collections.singletonList(String.class));
-    private Map<String, Map<String, ?>> collections;
+    private Map<String, VolatileVectorStoreCollectionState<?>> collections;
     private final String collectionName;
     private final VolatileVectorStoreRecordCollectionOptions<Record> options;
     private final VectorStoreRecordDefinition recordDefinition;
     private final ObjectMapper objectMapper;
+    private final Map<String, VectorStoreRecordFieldAccessor<Record>> fieldAccessors;
+    private final Map<String, VectorStoreRecordFieldAccessor<Record>> vectorAccessors;
+    private final VectorStoreRecordFieldAccessor<Record> keyAccessor;
+    // Binding copying records without boxed quantized vectors, null if records are kept as is
+    @Nullable
+    private final VectorStoreRecordBinding<Record> compactBinding;
+    // Index of each quantized vector field in the fields of the compact binding
+    private final int[] quantizedFields;
 
     /**
      * Creates a new instance of the volatile vector store record collection.
@@ -69,6 +105,24 @@ public class VolatileVectorStoreRecordCollection<Record> implements
             this.objectMapper = options.getObjectMapper();
         }
 
+        VectorStoreRecordBinding<Record> binding = VectorStoreRecordBinding.create(
+            options.getRecordClass(), recordDefinition, objectMapper);
+        this.fieldAccessors = VectorStoreRecordFieldAccessor.create(binding, objectMapper);
+        this.vectorAccessors = new HashMap<>();
+        for (VectorStoreRecordVectorField vectorField : recordDefinition.getVectorFields()) {
+            vectorAccessors.put(vectorField.getName(), fieldAccessors.get(vectorField.getName()));
+        }
+        this.keyAccessor = fieldAccessors.get(recordDefinition.getKeyField().getName());
+
+        List<VectorStoreRecordField> bindingFields = binding.getFields();
+        this.quantizedFields = IntStream.range(0, bindingFields.size())
+            .filter(i -> isQuantizedColumn(bindingFields.get(i)))
+            .toArray();
+        this.compactBinding = binding.isCompiled() && quantizedFields.length > 0
+            && isCoveredByDefinition(options.getRecordClass(), recordDefinition)
+                ? binding
+                : null;
+
         // Validate the key type
         VectorStoreRecordDefinition.validateSupportedTypes(
             Collections.singletonList(recordDefinition.getKeyField()),
@@ -76,7 +130,7 @@ public class VolatileVectorStoreRecordCollection<Record> implements
     }
 
     VolatileVectorStoreRecordCollection(String collectionName,
-        Map<String, Map<String, ?>> collections,
+        Map<String, VolatileVectorStoreCollectionState<?>> collections,
         VolatileVectorStoreRecordCollectionOptions<Record> options) {
         this(collectionName, options);
         this.collections = collections;
@@ -109,7 +163,7 @@ public class VolatileVectorStoreRecordCollection<Record> implements
      */
     @Override
     public Mono<VectorStoreRecordCollection<String, Record>> createCollectionAsync() {
-        return Mono.fromRunnable(() -> collections.put(collectionName, new ConcurrentHashMap<>()))
+        return Mono.fromRunnable(() -> collections.put(collectionName, createCollectionState()))
             .then(Mono.just(this));
     }
 
@@ -121,7 +175,8 @@ public class VolatileVectorStoreRecordCollection<Record> implements
     @Override
     public Mono<VectorStoreRecordCollection<String, Record>> createCollectionIfNotExistsAsync() {
         return Mono
-            .fromRunnable(() -> collections.putIfAbsent(collectionName, new ConcurrentHashMap<>()))
+            .fromRunnable(
+                () -> collections.computeIfAbsent(collectionName, k -> createCollectionState()))
             .then(Mono.just(this));
     }
 
@@ -144,7 +199,7 @@ public class VolatileVectorStoreRecordCollection<Record> implements
      */
     @Override
     public Mono<Record> getAsync(String key, GetRecordOptions options) {
-        return Mono.fromCallable(() -> getCollection().get(key));
+        return Mono.fromCallable(() -> getCollection().getRecords().get(key));
     }
 
     /**
@@ -157,7 +212,7 @@ public class VolatileVectorStoreRecordCollection<Record> implements
     @Override
     public Mono<List<Record>> getBatchAsync(List<String> keys, GetRecordOptions options) {
         return Mono.fromCallable(() -> {
-            Map<String, Record> collection = getCollection();
+            Map<String, Record> collection = getCollection().getRecords();
             return keys.stream().map(collection::get).collect(Collectors.toList());
         });
     }
@@ -173,11 +228,9 @@ public class VolatileVectorStoreRecordCollection<Record> implements
     public Mono<String> upsertAsync(Record data, UpsertRecordOptions options) {
         return Mono.fromCallable(() -> {
             try {
-                ObjectNode objectNode = objectMapper.valueToTree(data);
-                String key = objectNode
-                    .get(recordDefinition.getKeyField().getEffectiveStorageName()).asText();
+                String key = getKey(data);
 
-                getCollection().put(key, data);
+                getCollection().upsert(key, compact(data));
                 return key;
             } catch (Exception e) {
                 throw new SKException(
@@ -197,14 +250,12 @@ public class VolatileVectorStoreRecordCollection<Record> implements
     @Override
     public Mono<List<String>> upsertBatchAsync(List<Record> data, UpsertRecordOptions options) {
         return Mono.fromCallable(() -> {
-            Map<String, Record> collection = getCollection();
+            VolatileVectorStoreCollectionState<Record> collection = getCollection();
             return data.stream().map(record -> {
                 try {
-                    ObjectNode objectNode = objectMapper.valueToTree(record);
-                    String key = objectNode
-                        .get(recordDefinition.getKeyField().getEffectiveStorageName()).asText();
+                    String key = getKey(record);
 
-                    collection.put(key, record);
+                    collection.upsert(key, compact(record));
                     return key;
                 } catch (Exception e) {
                     throw new SKException(
@@ -215,6 +266,14 @@ public class VolatileVectorStoreRecordCollection<Record> implements
         });
     }
 
+    private String getKey(Record record) {
+        Object key = keyAccessor.get(record);
+        if (key == null) {
+            throw new SKException("Record key cannot be null");
+        }
+        return key.toString();
+    }
+
     /**
      * Deletes a record from the store.
      *
@@ -224,7 +283,7 @@ public class VolatileVectorStoreRecordCollection<Record> implements
      */
     @Override
     public Mono<Void> deleteAsync(String key, DeleteRecordOptions options) {
-        return Mono.fromRunnable(() -> getCollection().remove(key));
+        return Mono.fromRunnable(() -> getCollection().delete(key));
     }
 
     /**
@@ -237,17 +296,164 @@ public class VolatileVectorStoreRecordCollection<Record> implements
     @Override
     public Mono<Void> deleteBatchAsync(List<String> strings, DeleteRecordOptions options) {
         return Mono.fromRunnable(() -> {
-            Map<String, Record> collection = getCollection();
-            strings.forEach(collection::remove);
+            VolatileVectorStoreCollectionState<Record> collection = getCollection();
+            strings.forEach(collection::delete);
         });
     }
 
-    private Map<String, Record> getCollection() {
+    private static boolean isQuantizedColumn(VectorStoreRecordField field) {
+        return field instanceof VectorStoreRecordVectorField
+            && ((VectorStoreRecordVectorField) field).getIndexKind() != IndexKind.HNSW
+            && ((VectorStoreRecordVectorField) field)
+                .getQuantization() != VectorQuantization.NONE;
+    }
+
+    // Whether a copy of the record made from the fields of the definition loses nothing
+    private static boolean isCoveredByDefinition(Class<?> recordClass,
+        VectorStoreRecordDefinition recordDefinition) {
+        Set<String> fieldNames = recordDefinition.getAllFields().stream()
+            .map(VectorStoreRecordField::getName)
+            .collect(Collectors.toSet());
+        for (Class<?> clazz = recordClass; clazz != null
+            && clazz != Object.class; clazz = clazz.getSuperclass()) {
+            for (Field field : clazz.getDeclaredFields()) {
+                int modifiers = field.getModifiers();
+                if (!Modifier.isStatic(modifiers) && !Modifier.isTransient(modifiers)
+                    && !field.isSynthetic() && !fieldNames.contains(field.getName())) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Copies a record with its quantized vectors as lists backed by {@code float[]}, which the
+     * vector columns keep to rescore searches, so the collection does not hold the vectors twice.
+     */
+    private Record compact(Record record) {
+        if (compactBinding == null) {
+            return record;
+        }
+        Object[] values = compactBinding.getValues(record);
+        for (int field : quantizedFields) {
+            values[field] = VectorStoreRecordBinding.toVector(values[field]);
+        }
+        boolean[] selected = new boolean[values.length];
+        Arrays.fill(selected, true);
+        return compactBinding.newRecord(values, selected);
+    }
+
+    private VolatileVectorStoreCollectionState<Record> getCollection() {
         if (!collections.containsKey(collectionName)) {
             throw new IllegalStateException(
                 String.format("Collection %s does not exist.", collectionName));
         }
-        return (Map<String, Record>) collections.get(collectionName);
+        return (VolatileVectorStoreCollectionState<Record>) collections.get(collectionName);
+    }
+
+    private VolatileVectorStoreCollectionState<Record> createCollectionState() {
+        Map<String, VolatileVectorStoreHnswIndex> hnswIndexes = new HashMap<>();
+        Map<String, VolatileVectorStoreVectorColumn<Record>> vectorColumns = new HashMap<>();
+        for (VectorStoreRecordVectorField vectorField : recordDefinition.getVectorFields()) {
+            if (vectorField.getIndexKind() == IndexKind.HNSW) {
+                hnswIndexes.put(vectorField.getName(),
+                    new VolatileVectorStoreHnswIndex(getDistanceFunction(vectorField),
+                        options.getHnswM(), options.getHnswEfConstruction(),
+                        options.getParallelSearchPool()));
+            } else {
+                vectorColumns.put(vectorField.getName(),
+                    new VolatileVectorStoreVectorColumn<>(getDistanceFunction(vectorField),
+                        vectorField.getQuantization(),
+                        options.getRescoreMultiplier()));
+            }
+        }
+
+        Map<String, VolatileVectorStoreDataIndex<Record>> dataIndexes = new HashMap<>();
+        for (VectorStoreRecordDataField dataField : recordDefinition.getDataFields()) {
+            if (dataField.isFilterable()) {
+                dataIndexes.put(dataField.getName(),
+                    new VolatileVectorStoreDataIndex<>(fieldAccessors.get(dataField.getName())));
+            }
+        }
+        return new VolatileVectorStoreCollectionState<>(hnswIndexes, vectorColumns,
+            vectorAccessors, dataIndexes);
+    }
+
+    /**
+     * Finds the keys of the records matching the clauses of a filter that have an inverted index,
+     * by intersecting their posting lists from the smallest one. The other clauses are left to the
+     * filter predicate.
+     *
+     * @return the candidate keys, or {@code null} if no clause of the filter is indexed
+     */
+    @Nullable
+    private Collection<String> findCandidateKeys(
+        VolatileVectorStoreCollectionState<Record> collection,
+        @Nullable VectorSearchFilter filter) {
+        if (filter == null) {
+            return null;
+        }
+
+        List<Set<String>> postings = new ArrayList<>();
+        for (FilterClause filterClause : filter.getFilterClauses()) {
+            Set<String> posting = findPosting(collection, filterClause);
+            if (posting == null) {
+                continue;
+            }
+            if (posting.isEmpty()) {
+                return Collections.emptyList();
+            }
+            postings.add(posting);
+        }
+        if (postings.isEmpty()) {
+            return null;
+        }
+
+        postings.sort(Comparator.comparingInt(Set::size));
+        List<String> candidates = new ArrayList<>();
+        for (String key : postings.get(0)) {
+            boolean matches = true;
+            for (int i = 1; i < postings.size() && matches; i++) {
+                matches = postings.get(i).contains(key);
+            }
+            if (matches) {
+                candidates.add(key);
+            }
+        }
+        return candidates;
+    }
+
+    @Nullable
+    private Set<String> findPosting(VolatileVectorStoreCollectionState<Record> collection,
+        FilterClause filterClause) {
+        if (filterClause instanceof EqualToFilterClause) {
+            EqualToFilterClause equalToFilterClause = (EqualToFilterClause) filterClause;
+            VectorStoreRecordField field = recordDefinition
+                .getField(equalToFilterClause.getFieldName());
+            VolatileVectorStoreDataIndex<Record> index = collection.getDataIndex(field.getName());
+            // Collection fields are indexed by element, which does not answer equality
+            if (index == null || index.isTags() || equalToFilterClause.getValue() == null) {
+                return null;
+            }
+            return index.get(VolatileVectorStoreCollectionSearchMapping.toFieldType(
+                equalToFilterClause.getValue(), field.getFieldType(), objectMapper));
+        } else if (filterClause instanceof AnyTagEqualToFilterClause) {
+            AnyTagEqualToFilterClause anyTagEqualToFilterClause = (AnyTagEqualToFilterClause) filterClause;
+            VolatileVectorStoreDataIndex<Record> index = collection.getDataIndex(recordDefinition
+                .getField(anyTagEqualToFilterClause.getFieldName()).getName());
+            if (index == null || anyTagEqualToFilterClause.getValue() == null) {
+                return null;
+            }
+            return index.get(anyTagEqualToFilterClause.getValue());
+        }
+        return null;
+    }
+
+    private static DistanceFunction getDistanceFunction(VectorStoreRecordVectorField vectorField) {
+        return vectorField.getDistanceFunction() == DistanceFunction.UNDEFINED
+            ? DistanceFunction.EUCLIDEAN_DISTANCE
+            : vectorField.getDistanceFunction();
     }
 
     private List<Float> arrayNodeToFloatList(ArrayNode arrayNode) {
@@ -271,30 +477,109 @@ public class VolatileVectorStoreRecordCollection<Record> implements
             throw new SKException("No vector fields defined. Cannot perform vector search");
         }
 
+        return Mono.fromCallable(() -> search(vector, options))
+            .subscribeOn(Schedulers.boundedElastic());
+    }
+
+    /**
+     * Vectorized search of several vectors with the same options. The searches run in parallel
+     * on the parallel search pool of the collection.
+     *
+     * @param vectors The vectors to search with.
+     * @param options The options to use for every search.
+     * @return Vector search results of each vector, in the order of the vectors.
+     */
+    @Override
+    public Mono<List<VectorSearchResults<Record>>> searchBatchAsync(List<List<Float>> vectors,
+        final VectorSearchOptions options) {
+        if (recordDefinition.getVectorFields().isEmpty()) {
+            throw new SKException("No vector fields defined. Cannot perform vector search");
+        }
+
         return Mono.fromCallable(() -> {
-            VectorStoreRecordVectorField firstVectorField = recordDefinition.getVectorFields()
-                .get(0);
-            VectorSearchOptions effectiveOptions = options == null
-                ? VectorSearchOptions.createDefault(firstVectorField.getName())
-                : options;
-
-            VectorStoreRecordVectorField vectorField = effectiveOptions.getVectorFieldName() == null
-                ? firstVectorField
-                : (VectorStoreRecordVectorField) recordDefinition
-                    .getField(effectiveOptions.getVectorFieldName());
-
-            DistanceFunction distanceFunction = vectorField
-                .getDistanceFunction() == DistanceFunction.UNDEFINED
-                    ? DistanceFunction.EUCLIDEAN_DISTANCE
-                    : vectorField.getDistanceFunction();
-
-            List<Record> records = VolatileVectorStoreCollectionSearchMapping.filterRecords(
-                new ArrayList<>(getCollection().values()), effectiveOptions.getVectorSearchFilter(),
-                recordDefinition, objectMapper);
+            if (vectors.size() <= 1) {
+                return vectors.stream()
+                    .map(vector -> search(vector, options))
+                    .collect(Collectors.toList());
+            }
 
-            return new VectorSearchResults<>(
-                VectorOperations.exactSimilaritySearch(records, vector, vectorField,
-                    distanceFunction, effectiveOptions));
+            ForkJoinPool pool = this.options.getParallelSearchPool();
+            List<ForkJoinTask<VectorSearchResults<Record>>> searches = vectors.stream()
+                .map(vector -> ForkJoinTask.adapt(() -> search(vector, options)))
+                .collect(Collectors.toList());
+            searches.forEach(pool::execute);
+
+            return searches.stream()
+                .map(ForkJoinTask::join)
+                .collect(Collectors.toList());
         }).subscribeOn(Schedulers.boundedElastic());
     }
+
+    private VectorSearchResults<Record> search(List<Float> vector,
+        @Nullable VectorSearchOptions options) {
+        VectorStoreRecordVectorField firstVectorField = recordDefinition.getVectorFields()
+            .get(0);
+        VectorSearchOptions effectiveOptions = options == null
+            ? VectorSearchOptions.createDefault(firstVectorField.getName())
+            : options;
+
+        VectorStoreRecordVectorField vectorField = effectiveOptions.getVectorFieldName() == null
+            ? firstVectorField
+            : (VectorStoreRecordVectorField) recordDefinition
+                .getField(effectiveOptions.getVectorFieldName());
+
+        VolatileVectorStoreCollectionState<Record> collection = getCollection();
+
+        VolatileVectorStoreHnswIndex hnswIndex = collection
+            .getHnswIndex(vectorField.getName());
+        if (hnswIndex != null) {
+            return new VectorSearchResults<>(
+                approximateSimilaritySearch(collection, hnswIndex, vector, effectiveOptions));
+        }
+
+        Predicate<Record> filter = VolatileVectorStoreCollectionSearchMapping.createFilter(
+            effectiveOptions.getVectorSearchFilter(), recordDefinition, fieldAccessors,
+            objectMapper);
+        Collection<String> candidateKeys = findCandidateKeys(collection,
+            effectiveOptions.getVectorSearchFilter());
+
+        return new VectorSearchResults<>(collection.getVectorColumn(vectorField.getName())
+            .search(VectorOperations.toFloatArray(vector), effectiveOptions, candidateKeys,
+                filter, this.options.getParallelSearchThreshold(),
+                this.options.getParallelSearchPool()));
+    }
+
+    private List<VectorSearchResult<Record>> approximateSimilaritySearch(
+        VolatileVectorStoreCollectionState<Record> collection,
+        VolatileVectorStoreHnswIndex hnswIndex,
+        List<Float> vector,
+        VectorSearchOptions options) {
+        Map<String, Record> records = collection.getRecords();
+        Predicate<Record> filter = VolatileVectorStoreCollectionSearchMapping.createFilter(
+            options.getVectorSearchFilter(), recordDefinition, fieldAccessors, objectMapper);
+        Collection<String> candidateKeys = findCandidateKeys(collection,
+            options.getVectorSearchFilter());
+        Set<String> candidates = candidateKeys == null ? null : new HashSet<>(candidateKeys);
+        Predicate<String> keyFilter = filter == null ? null : key -> {
+            Record record = records.get(key);
+            return record != null && filter.test(record);
+        };
+
+        int k = options.getSkip() + options.getTop();
+        int efSearch = options.getEfSearch() > 0 ? options.getEfSearch()
+            : this.options.getHnswEfSearch();
+        List<VolatileVectorStoreHnswIndex.Hit> hits = hnswIndex.search(
+            VectorOperations.toFloatArray(vector), k, Math.max(efSearch, k), candidates,
+            keyFilter);
+
+        List<VectorSearchResult<Record>> results = new ArrayList<>(options.getTop());
+        for (int i = options.getSkip(); i < hits.size(); i++) {
+            Record record = records.get(hits.get(i).getKey());
+            // The record may have been deleted since the index was searched
+            if (record != null) {
+                results.add(new VectorSearchResult<>(record, hits.get(i).getScore()));
+            }
+        }
+        return results;
+    }
 }
@@ -8,6 +8,7 @@ import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
 
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
+import java.util.concurrent.ForkJoinPool;
 
 /**
  * Represents the options for a volatile vector store record collection.
@@ -16,11 +17,46 @@ import javax.annotation.Nullable;
  */
 public class VolatileVectorStoreRecordCollectionOptions<Record>
     implements VectorStoreRecordCollectionOptions<String, Record> {
+
+    /**
+     * The default maximum number of links per node in an HNSW index.
+     */
+    public static final int DEFAULT_HNSW_M = 16;
+
+    /**
+     * The default size of the dynamic candidate list used while building an HNSW index.
+     */
+    public static final int DEFAULT_HNSW_EF_CONSTRUCTION = 200;
+
+    /**
+     * The default size of the dynamic candidate list used while searching an HNSW index.
+     */
+    public static final int DEFAULT_HNSW_EF_SEARCH = 100;
+
+    /**
+     * The default number of records from which exact searches are parallelized. Zero disables
+     * parallel searches.
+     */
+    public static final int DEFAULT_PARALLEL_SEARCH_THRESHOLD = 0;
+
+    /**
+     * The default multiplier applied to the number of requested results to get the number of
+     * candidates rescored with full precision when searching quantized vector fields.
+     */
+    public static final int DEFAULT_RESCORE_MULTIPLIER = 4;
+
     private final Class<Record> recordClass;
     @Nullable
     private final VectorStoreRecordDefinition recordDefinition;
     @Nullable
     private final ObjectMapper objectMapper;
+    private final int hnswM;
+    private final int hnswEfConstruction;
+    private final int hnswEfSearch;
+    private final int parallelSearchThreshold;
+    @Nullable
+    private final ForkJoinPool parallelSearchPool;
+    private final int rescoreMultiplier;
 
     /**
      * Creates a new instance of the Volatile vector store record collection options.
@@ -29,12 +65,41 @@ public class VolatileVectorStoreRecordCollectionOptions<Record>
      * @param recordDefinition The record definition.
      * @param objectMapper An instanc of Jackson ObjectMapper.
      */
-    @SuppressFBWarnings("EI_EXPOSE_REP2") // ObjectMapper only has package visibility
     public VolatileVectorStoreRecordCollectionOptions(@Nonnull Class<Record> recordClass,
         @Nullable VectorStoreRecordDefinition recordDefinition, ObjectMapper objectMapper) {
+        this(recordClass, recordDefinition, objectMapper, DEFAULT_HNSW_M,
+            DEFAULT_HNSW_EF_CONSTRUCTION, DEFAULT_HNSW_EF_SEARCH,
+            DEFAULT_PARALLEL_SEARCH_THRESHOLD, null, DEFAULT_RESCORE_MULTIPLIER);
+    }
+
+    /**
+     * Creates a new instance of the Volatile vector store record collection options.
+     *
+     * @param recordClass The record class.
+     * @param recordDefinition The record definition.
+     * @param objectMapper An instanc of Jackson ObjectMapper.
+     * @param hnswM The maximum number of links per node in an HNSW index.
+     * @param hnswEfConstruction The size of the dynamic candidate list used while building an HNSW index.
+     * @param hnswEfSearch The size of the dynamic candidate list used while searching an HNSW index.
+     * @param parallelSearchThreshold The number of records from which exact searches are parallelized, or zero to disable parallel searches.
+     * @param parallelSearchPool The pool running parallel searches, or {@code null} to use the common pool.
+     * @param rescoreMultiplier The multiplier giving the number of candidates rescored with full precision when searching quantized vector fields.
+     */
+    @SuppressFBWarnings("EI_EXPOSE_REP2") // ObjectMapper only has package visibility
+    public VolatileVectorStoreRecordCollectionOptions(@Nonnull Class<Record> recordClass,
+        @Nullable VectorStoreRecordDefinition recordDefinition, ObjectMapper objectMapper,
+        int hnswM, int hnswEfConstruction, int hnswEfSearch,
+        int parallelSearchThreshold, @Nullable ForkJoinPool parallelSearchPool,
+        int rescoreMultiplier) {
         this.recordClass = recordClass;
         this.recordDefinition = recordDefinition;
         this.objectMapper = objectMapper;
+        this.hnswM = hnswM;
+        this.hnswEfConstruction = hnswEfConstruction;
+        this.hnswEfSearch = hnswEfSearch;
+        this.parallelSearchThreshold = parallelSearchThreshold;
+        this.parallelSearchPool = parallelSearchPool;
+        this.rescoreMultiplier = rescoreMultiplier;
     }
 
     /**
@@ -84,6 +149,69 @@ public class VolatileVectorStoreRecordCollectionOptions<Record>
         return recordDefinition;
     }
 
+    /**
+     * Gets the maximum number of links per node in an HNSW index.
+     * Vector fields with {@link com.microsoft.semantickernel.data.vectorstorage.definition.IndexKind#HNSW}
+     * are searched using an HNSW index.
+     *
+     * @return the maximum number of links per node
+     */
+    public int getHnswM() {
+        return hnswM;
+    }
+
+    /**
+     * Gets the size of the dynamic candidate list used while building an HNSW index.
+     *
+     * @return the size of the dynamic candidate list used while building
+     */
+    public int getHnswEfConstruction() {
+        return hnswEfConstruction;
+    }
+
+    /**
+     * Gets the size of the dynamic candidate list used while searching an HNSW index.
+     * Larger values improve recall at the cost of latency.
+     *
+     * @return the size of the dynamic candidate list used while searching
+     */
+    public int getHnswEfSearch() {
+        return hnswEfSearch;
+    }
+
+    /**
+     * Gets the number of records from which exact searches are split across
+     * {@link #getParallelSearchPool()}. Zero disables parallel searches.
+     *
+     * @return the parallel search threshold
+     */
+    public int getParallelSearchThreshold() {
+        return parallelSearchThreshold;
+    }
+
+    /**
+     * Gets the pool running parallel searches, the searches of
+     * {@link VolatileVectorStoreRecordCollection#searchBatchAsync} and the rebuilds of HNSW
+     * graphs with too many deleted nodes.
+     *
+     * @return the pool running parallel searches
+     */
+    @SuppressFBWarnings("EI_EXPOSE_REP") // The pool is shared on purpose
+    public ForkJoinPool getParallelSearchPool() {
+        return parallelSearchPool != null ? parallelSearchPool : ForkJoinPool.commonPool();
+    }
+
+    /**
+     * Gets the multiplier applied to the number of requested results to get the number of
+     * candidates rescored with full precision when searching vector fields with a
+     * {@link com.microsoft.semantickernel.data.vectorstorage.definition.VectorQuantization}.
+     *
+     * @return the rescore multiplier
+     */
+    public int getRescoreMultiplier() {
+        return rescoreMultiplier;
+    }
+
     /**
      * Builder for Volatile vector store record collection options.
      *
@@ -96,6 +224,13 @@ public class VolatileVectorStoreRecordCollectionOptions<Record>
         private VectorStoreRecordDefinition recordDefinition;
         @Nullable
         private ObjectMapper objectMapper;
+        private int hnswM = DEFAULT_HNSW_M;
+        private int hnswEfConstruction = DEFAULT_HNSW_EF_CONSTRUCTION;
+        private int hnswEfSearch = DEFAULT_HNSW_EF_SEARCH;
+        private int parallelSearchThreshold = DEFAULT_PARALLEL_SEARCH_THRESHOLD;
+        @Nullable
+        private ForkJoinPool parallelSearchPool;
+        private int rescoreMultiplier = DEFAULT_RESCORE_MULTIPLIER;
 
         /**
          * Sets the record class.
@@ -131,6 +266,76 @@ public class VolatileVectorStoreRecordCollectionOptions<Record>
             return this;
         }
 
+        /**
+         * Sets the maximum number of links per node in an HNSW index.
+         *
+         * @param hnswM the maximum number of links per node
+         * @return the builder
+         */
+        public Builder<Record> withHnswM(int hnswM) {
+            this.hnswM = hnswM;
+            return this;
+        }
+
+        /**
+         * Sets the size of the dynamic candidate list used while building an HNSW index.
+         *
+         * @param hnswEfConstruction the size of the dynamic candidate list used while building
+         * @return the builder
+         */
+        public Builder<Record> withHnswEfConstruction(int hnswEfConstruction) {
+            this.hnswEfConstruction = hnswEfConstruction;
+            return this;
+        }
+
+        /**
+         * Sets the size of the dynamic candidate list used while searching an HNSW index.
+         *
+         * @param hnswEfSearch the size of the dynamic candidate list used while searching
+         * @return the builder
+         */
+        public Builder<Record> withHnswEfSearch(int hnswEfSearch) {
+            this.hnswEfSearch = hnswEfSearch;
+            return this;
+        }
+
+        /**
+         * Sets the number of records from which exact searches are parallelized.
+         * Zero disables parallel searches.
+         *
+         * @param parallelSearchThreshold the parallel search threshold
+         * @return the builder
+         */
+        public Builder<Record> withParallelSearchThreshold(int parallelSearchThreshold) {
+            this.parallelSearchThreshold = parallelSearchThreshold;
+            return this;
+        }
+
+        /**
+         * Sets the pool running parallel searches and HNSW graph rebuilds. Defaults to the
+         * common pool.
+         *
+         * @param parallelSearchPool the pool running parallel searches
+         * @return the builder
+         */
+        @SuppressFBWarnings("EI_EXPOSE_REP2") // The pool is shared on purpose
+        public Builder<Record> withParallelSearchPool(ForkJoinPool parallelSearchPool) {
+            this.parallelSearchPool = parallelSearchPool;
+            return this;
+        }
+
+        /**
+         * Sets the multiplier applied to the number of requested results to get the number of
+         * candidates rescored with full precision when searching quantized vector fields.
+         *
+         * @param rescoreMultiplier the rescore multiplier
+         * @return the builder
+         */
+        public Builder<Record> withRescoreMultiplier(int rescoreMultiplier) {
+            this.rescoreMultiplier = rescoreMultiplier;
+            return this;
+        }
+
         /**
          * Builds the options.
          *
@@ -140,9 +345,25 @@ public class VolatileVectorStoreRecordCollectionOptions<Record>
             if (recordClass == null) {
                 throw new IllegalArgumentException("recordClass is required");
             }
+            if (hnswM < 2) {
+                throw new IllegalArgumentException("hnswM must be at least 2");
+            }
+            if (hnswEfConstruction < 1) {
+                throw new IllegalArgumentException("hnswEfConstruction must be at least 1");
+            }
+            if (hnswEfSearch < 1) {
+                throw new IllegalArgumentException("hnswEfSearch must be at least 1");
+            }
+            if (parallelSearchThreshold < 0) {
+                throw new IllegalArgumentException("parallelSearchThreshold must not be negative");
+            }
+            if (rescoreMultiplier < 1) {
+                throw new IllegalArgumentException("rescoreMultiplier must be at least 1");
+            }
 
             return new VolatileVectorStoreRecordCollectionOptions<>(recordClass, recordDefinition,
-                objectMapper);
+                objectMapper, hnswM, hnswEfConstruction, hnswEfSearch, parallelSearchThreshold,
+                parallelSearchPool, rescoreMultiplier);
         }
     }
 }
@@ -0,0 +1,525 @@
+// Copyright (c) Microsoft. All rights reserved.
+package com.microsoft.semantickernel.data;
+
+import com.microsoft.semantickernel.data.vectorsearch.VectorOperations;
+import com.microsoft.semantickernel.data.vectorsearch.VectorSearchResult;
+import com.microsoft.semantickernel.data.vectorsearch.VectorSearchTopK;
+import com.microsoft.semantickernel.data.vectorstorage.definition.DistanceFunction;
+import com.microsoft.semantickernel.data.vectorstorage.definition.VectorQuantization;
+import com.microsoft.semantickernel.data.vectorstorage.options.VectorSearchOptions;
+import com.microsoft.semantickernel.exceptions.SKException;
+
+import javax.annotation.Nullable;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Predicate;
+
+/**
+ * The vectors of one vector field of a volatile collection, read once when records are upserted.
+ * <p>
+ * Vectors are kept in slot-indexed parallel arrays next to the record they belong to, so an exact
+ * search scans primitive arrays without reading record fields. For cosine distance functions the
+ * vectors are stored normalized, so scoring a record is a single dot product against the
+ * normalized query vector.
+ * <p>
+ * A quantized column scans codes rather than full precision vectors: {@link
+ * VectorQuantization#SCALAR_INT8} keeps one byte per dimension and a scale per vector, and
+ * {@link VectorQuantization#BINARY} keeps the sign of each dimension in a bit. A search scans the
+ * codes for {@code rescoreMultiplier} times the requested number of candidates, then rescores
+ * those with the full precision vectors, which the column keeps as the {@code float[]} given to
+ * {@link #put}. Quantization therefore speeds up the scan, it does not reduce the memory used by
+ * the column.
+ *
+ * @param <Record> the record type
+ */
+final class VolatileVectorStoreVectorColumn<Record> {
+
+    private static final int INITIAL_CAPACITY = 16;
+    private static final int MIN_PARALLEL_PARTITION_SIZE = 1024;
+
+    private final DistanceFunction distanceFunction;
+    private final VectorQuantization quantization;
+    private final int rescoreMultiplier;
+    private final ReadWriteLock lock;
+    private final Map<String, Integer> slots;
+    private final Deque<Integer> freeSlots;
+
+    // float[] vectors, byte[] scalar codes or long[] binary codes, depending on the quantization
+    private Object[] rows;
+    private float[] norms;
+    private float[] scales;
+    // Full precision vectors rescoring the candidates of quantized columns, null otherwise
+    @Nullable
+    private float[][] vectors;
+    private Object[] records;
+    private int highWaterMark;
+    private int dimensions;
+
+    /**
+     * Creates a new column.
+     *
+     * @param distanceFunction  the distance function of the vector field
+     * @param quantization      the quantization of the vector field
+     * @param rescoreMultiplier the multiplier applied to the number of requested results to get
+     *                          the number of rescored candidates
+     */
+    VolatileVectorStoreVectorColumn(DistanceFunction distanceFunction,
+        VectorQuantization quantization,
+        int rescoreMultiplier) {
+        this.distanceFunction = distanceFunction == DistanceFunction.UNDEFINED
+            ? DistanceFunction.EUCLIDEAN_DISTANCE
+            : distanceFunction;
+        this.quantization = quantization;
+        this.rescoreMultiplier = rescoreMultiplier;
+        this.lock = new ReentrantReadWriteLock();
+        this.slots = new HashMap<>();
+        this.freeSlots = new ArrayDeque<>();
+        this.rows = new Object[INITIAL_CAPACITY];
+        this.norms = new float[INITIAL_CAPACITY];
+        this.scales = new float[INITIAL_CAPACITY];
+        this.vectors = quantization == VectorQuantization.NONE
+            ? null
+            : new float[INITIAL_CAPACITY][];
+        this.records = new Object[INITIAL_CAPACITY];
+        this.highWaterMark = 0;
+        this.dimensions = -1;
+    }
+
+    private boolean isCosine() {
+        return distanceFunction == DistanceFunction.COSINE_SIMILARITY
+            || distanceFunction == DistanceFunction.COSINE_DISTANCE;
+    }
+
+    /**
+     * Gets the number of vectors in the column.
+     *
+     * @return the number of vectors
+     */
+    int size() {
+        lock.readLock().lock();
+        try {
+            return slots.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Adds or replaces the vector of a record.
+     *
+     * @param key    the key of the record
+     * @param record the record
+     * @param vector the vector of the record, or {@code null} if the record has no vector. A
+     *               quantized column keeps the array to rescore candidates, so it must not be
+     *               modified afterwards.
+     */
+    void put(String key, Record record, @Nullable float[] vector) {
+        float norm = 0;
+        float scale = 0;
+        Object row = null;
+        if (vector != null) {
+            norm = VectorOperations.euclideanLength(vector);
+            float[] prepared = isCosine() ? normalize(vector, norm) : vector;
+            switch (quantization) {
+                case SCALAR_INT8:
+                    scale = maxAbs(prepared) / Byte.MAX_VALUE;
+                    row = quantizeScalar(prepared, scale);
+                    break;
+                case BINARY:
+                    row = quantizeBinary(prepared);
+                    break;
+                default:
+                    row = prepared;
+                    break;
+            }
+        }
+
+        lock.writeLock().lock();
+        try {
+            if (row == null) {
+                removeSlot(key);
+                return;
+            }
+            if (quantization != VectorQuantization.NONE) {
+                checkDimensions(vector.length);
+            }
+
+            Integer slot = slots.get(key);
+            if (slot == null) {
+                slot = freeSlots.isEmpty() ? highWaterMark++ : freeSlots.pop();
+                ensureCapacity(slot + 1);
+                slots.put(key, slot);
+            }
+            rows[slot] = row;
+            norms[slot] = norm;
+            scales[slot] = scale;
+            if (vectors != null) {
+                vectors[slot] = vector;
+            }
+            records[slot] = record;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void checkDimensions(int length) {
+        if (slots.isEmpty()) {
+            dimensions = length;
+        } else if (dimensions != length) {
+            throw new SKException("Vectors lengths must be equal");
+        }
+    }
+
+    /**
+     * Removes the vector of a record.
+     *
+     * @param key the key of the record
+     */
+    void remove(String key) {
+        lock.writeLock().lock();
+        try {
+            removeSlot(key);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void removeSlot(String key) {
+        Integer slot = slots.remove(key);
+        if (slot != null) {
+            rows[slot] = null;
+            if (vectors != null) {
+                vectors[slot] = null;
+            }
+            records[slot] = null;
+            freeSlots.push(slot);
+        }
+    }
+
+    private void ensureCapacity(int capacity) {
+        if (capacity <= rows.length) {
+            return;
+        }
+        int newCapacity = Math.max(capacity, rows.length + (rows.length >> 1));
+        rows = Arrays.copyOf(rows, newCapacity);
+        norms = Arrays.copyOf(norms, newCapacity);
+        scales = Arrays.copyOf(scales, newCapacity);
+        if (vectors != null) {
+            vectors = Arrays.copyOf(vectors, newCapacity);
+        }
+        records = Arrays.copyOf(records, newCapacity);
+    }
+
+    private static float[] normalize(float[] vector, float norm) {
+        if (norm == 0) {
+            return vector.clone();
+        }
+        float[] normalized = new float[vector.length];
+        for (int i = 0; i < vector.length; i++) {
+            normalized[i] = vector[i] / norm;
+        }
+        return normalized;
+    }
+
+    private static float maxAbs(float[] vector) {
+        float max = 0;
+        for (float value : vector) {
+            max = Math.max(max, Math.abs(value));
+        }
+        return max;
+    }
+
+    private static byte[] quantizeScalar(float[] vector, float scale) {
+        byte[] codes = new byte[vector.length];
+        if (scale == 0) {
+            return codes;
+        }
+        for (int i = 0; i < vector.length; i++) {
+            codes[i] = (byte) Math.round(vector[i] / scale);
+        }
+        return codes;
+    }
+
+    private static long[] quantizeBinary(float[] vector) {
+        long[] bits = new long[(vector.length + 63) >>> 6];
+        for (int i = 0; i < vector.length; i++) {
+            if (vector[i] > 0) {
+                bits[i >>> 6] |= 1L << i;
+            }
+        }
+        return bits;
+    }
+
+    /**
+     * Performs an exact similarity search over the column, or an approximate one followed by
+     * full precision rescoring if the column is quantized.
+     *
+     * @param query                   the query vector
+     * @param options                 the search options
+     * @param candidateKeys           the keys of the only records that may be returned, or
+     *                                {@code null} to scan every record
+     * @param filter                  accepts the records that may be returned, or {@code null}
+     * @param parallelSearchThreshold the number of vectors from which the scan is parallelized,
+     *                                or zero to always scan sequentially
+     * @param pool                    the pool running parallel scans
+     * @return the search results
+     */
+    List<VectorSearchResult<Record>> search(float[] query, VectorSearchOptions options,
+        @Nullable Collection<String> candidateKeys, @Nullable Predicate<Record> filter,
+        int parallelSearchThreshold, ForkJoinPool pool) {
+        float queryNorm = VectorOperations.euclideanLength(query);
+        float[] preparedQuery = query;
+        if (isCosine()) {
+            if (queryNorm == 0) {
+                throw new SKException("Vectors cannot have zero norm");
+            }
+            preparedQuery = normalize(query, queryNorm);
+        }
+
+        VectorSearchTopK<Integer> topK;
+        lock.readLock().lock();
+        try {
+            if (quantization != VectorQuantization.NONE && dimensions >= 0
+                && dimensions != query.length) {
+                throw new SKException("Vectors lengths must be equal");
+            }
+
+            int[] candidateSlots = candidateKeys == null ? null : getSlots(candidateKeys);
+            Scan scan = new Scan(preparedQuery, queryNorm * queryNorm, options, candidateSlots,
+                filter);
+            int size = candidateSlots == null ? slots.size() : candidateSlots.length;
+            int end = candidateSlots == null ? highWaterMark : candidateSlots.length;
+
+            if (parallelSearchThreshold > 0 && size >= parallelSearchThreshold) {
+                int partitionSize = Math.max(MIN_PARALLEL_PARTITION_SIZE,
+                    end / (pool.getParallelism() * 4) + 1);
+                topK = pool.invoke(new ScanTask(scan, 0, end, partitionSize));
+            } else {
+                topK = scan(scan, 0, end);
+            }
+
+            if (quantization == VectorQuantization.NONE) {
+                return getRecords(topK.getResults(options.getSkip()));
+            }
+            return rescore(query, topK.getResults(0), options);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private int[] getSlots(Collection<String> keys) {
+        int[] candidateSlots = new int[keys.size()];
+        int count = 0;
+        for (String key : keys) {
+            Integer slot = slots.get(key);
+            if (slot != null && count < candidateSlots.length) {
+                candidateSlots[count++] = slot;
+            }
+        }
+        // Scanning the slots in order keeps the rows read sequentially
+        Arrays.sort(candidateSlots, 0, count);
+        return Arrays.copyOf(candidateSlots, count);
+    }
+
+    private List<VectorSearchResult<Record>> getRecords(
+        List<VectorSearchResult<Integer>> results) {
+        List<VectorSearchResult<Record>> records = new ArrayList<>(results.size());
+        for (VectorSearchResult<Integer> result : results) {
+            records.add(new VectorSearchResult<>((Record) this.records[result.getRecord()],
+                result.getScore()));
+        }
+        return records;
+    }
+
+    private List<VectorSearchResult<Record>> rescore(float[] query,
+        List<VectorSearchResult<Integer>> candidates, VectorSearchOptions options) {
+        VectorSearchTopK<Record> topK = VectorSearchTopK.create(distanceFunction, options);
+        for (VectorSearchResult<Integer> candidate : candidates) {
+            int slot = candidate.getRecord();
+            topK.add((Record) records[slot],
+                VectorOperations.score(distanceFunction, query, vectors[slot]));
+        }
+        return topK.getResults(options.getSkip());
+    }
+
+    // Keeps the slots of the best records, which are read once the scan is over
+    private VectorSearchTopK<Integer> scan(Scan scan, int from, int to) {
+        VectorSearchTopK<Integer> topK = scan.createTopK();
+
+        for (int i = from; i < to; i++) {
+            int slot = scan.slots == null ? i : scan.slots[i];
+            Object row = rows[slot];
+            if (row == null) {
+                continue;
+            }
+
+            Record record = (Record) records[slot];
+            if (scan.filter != null && !scan.filter.test(record)) {
+                continue;
+            }
+
+            switch (quantization) {
+                case SCALAR_INT8:
+                    topK.add(slot, scoreScalar(scan, slot, (byte[]) row));
+                    break;
+                case BINARY:
+                    topK.add(slot, hammingDistance(scan.queryBits, (long[]) row));
+                    break;
+                default:
+                    topK.add(slot, score(scan.query, slot, (float[]) row));
+                    break;
+            }
+        }
+        return topK;
+    }
+
+    private double score(float[] query, int slot, float[] vector) {
+        switch (distanceFunction) {
+            case COSINE_SIMILARITY:
+                checkNorm(slot);
+                return VectorOperations.dot(query, vector);
+            case COSINE_DISTANCE:
+                checkNorm(slot);
+                return 1.0 - VectorOperations.dot(query, vector);
+            default:
+                return VectorOperations.score(distanceFunction, query, vector);
+        }
+    }
+
+    private double scoreScalar(Scan scan, int slot, byte[] codes) {
+        double dot = (double) scan.queryScale * scales[slot] * dot(scan.queryCodes, codes);
+        switch (distanceFunction) {
+            case COSINE_SIMILARITY:
+                checkNorm(slot);
+                return dot;
+            case COSINE_DISTANCE:
+                checkNorm(slot);
+                return 1.0 - dot;
+            case DOT_PRODUCT:
+                return dot;
+            default:
+                double norm = norms[slot];
+                return Math.sqrt(Math.max(0, norm * norm + scan.queryNormSquared - 2 * dot));
+        }
+    }
+
+    private static int dot(byte[] x, byte[] y) {
+        // Each product fits in 15 bits, so the sum cannot overflow below 131072 dimensions
+        int sum = 0;
+        for (int i = 0; i < x.length; i++) {
+            sum += x[i] * y[i];
+        }
+        return sum;
+    }
+
+    private static int hammingDistance(long[] x, long[] y) {
+        int distance = 0;
+        for (int i = 0; i < x.length; i++) {
+            distance += Long.bitCount(x[i] ^ y[i]);
+        }
+        return distance;
+    }
+
+    private void checkNorm(int slot) {
+        if (norms[slot] == 0) {
+            throw new SKException("Vectors cannot have zero norm");
+        }
+    }
+
+    /**
+     * The prepared query of a scan.
+     */
+    private final class Scan {
+
+        private final float[] query;
+        @Nullable
+        private final byte[] queryCodes;
+        private final float queryScale;
+        @Nullable
+        private final long[] queryBits;
+        private final float queryNormSquared;
+        private final VectorSearchOptions options;
+        @Nullable
+        private final int[] slots;
+        @Nullable
+        private final Predicate<Record> filter;
+
+        private Scan(float[] query, float queryNormSquared, VectorSearchOptions options,
+            @Nullable int[] slots, @Nullable Predicate<Record> filter) {
+            this.query = query;
+            this.queryScale = quantization == VectorQuantization.SCALAR_INT8
+                ? maxAbs(query) / Byte.MAX_VALUE
+                : 0;
+            this.queryCodes = quantization == VectorQuantization.SCALAR_INT8
+                ? quantizeScalar(query, queryScale)
+                : null;
+            this.queryBits = quantization == VectorQuantization.BINARY
+                ? quantizeBinary(query)
+                : null;
+            this.queryNormSquared = queryNormSquared;
+            this.options = options;
+            this.slots = slots;
+            this.filter = filter;
+        }
+
+        private VectorSearchTopK<Integer> createTopK() {
+            if (quantization == VectorQuantization.NONE) {
+                return VectorSearchTopK.create(distanceFunction, options);
+            }
+
+            long capacity = ((long) options.getSkip() + options.getTop()) * rescoreMultiplier;
+            // Hamming distances are lower for closer vectors, whatever the distance function
+            return new VectorSearchTopK<>((int) Math.min(capacity, Integer.MAX_VALUE),
+                quantization == VectorQuantization.BINARY
+                    ? DistanceFunction.EUCLIDEAN_DISTANCE
+                    : distanceFunction);
+        }
+    }
+
+    /**
+     * Scans a range of slots, or of candidate slots, splitting it in halves until it is small
+     * enough.
+     */
+    private final class ScanTask extends RecursiveTask<VectorSearchTopK<Integer>> {
+
+        private static final long serialVersionUID = 1L;
+
+        private final transient Scan scan;
+        private final int from;
+        private final int to;
+        private final int partitionSize;
+
+        private ScanTask(Scan scan, int from, int to, int partitionSize) {
+            this.scan = scan;
+            this.from = from;
+            this.to = to;
+            this.partitionSize = partitionSize;
+        }
+
+        @Override
+        protected VectorSearchTopK<Integer> compute() {
+            if (to - from <= partitionSize) {
+                return scan(scan, from, to);
+            }
+
+            int middle = (from + to) >>> 1;
+            ScanTask left = new ScanTask(scan, from, middle, partitionSize);
+            ScanTask right = new ScanTask(scan, middle, to, partitionSize);
+            left.fork();
+
+            VectorSearchTopK<Integer> topK = right.compute();
+            topK.addAll(left.join());
+            return topK;
+        }
+    }
+}
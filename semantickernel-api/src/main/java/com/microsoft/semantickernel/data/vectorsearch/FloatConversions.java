@@ -0,0 +1,110 @@
+// Copyright (c) Microsoft. All rights reserved.
+package com.microsoft.semantickernel.data.vectorsearch;
+
+/**
+ * Conversions between single precision floats and the 16-bit floats vector stores use to halve
+ * the size of vectors: IEEE 754 half precision floats and bfloat16, the upper half of the bits of
+ * a single precision float. Conversions to 16 bits round to the nearest value, ties to even.
+ */
+public final class FloatConversions {
+
+    private FloatConversions() {
+    }
+
+    /**
+     * Converts a float to the bits of the nearest half precision float. Values too large for half
+     * precision become infinities and values too small become zeros.
+     *
+     * @param value the float
+     * @return the bits of the half precision float
+     */
+    public static short toHalf(float value) {
+        int bits = Float.floatToRawIntBits(value);
+        int sign = (bits >>> 16) & 0x8000;
+        int singleExponent = (bits >>> 23) & 0xff;
+        int mantissa = bits & 0x7fffff;
+
+        if (singleExponent == 0xff) {
+            // Infinity or NaN
+            return (short) (sign | 0x7c00 | (mantissa != 0 ? 0x200 : 0));
+        }
+        int exponent = singleExponent - 127 + 15;
+        if (exponent >= 0x1f) {
+            // Overflow to infinity
+            return (short) (sign | 0x7c00);
+        }
+        if (exponent <= 0) {
+            if (exponent < -10) {
+                // Underflow to zero
+                return (short) sign;
+            }
+            // Subnormal half, shift the mantissa with its implicit leading bit
+            mantissa |= 0x800000;
+            int shift = 14 - exponent;
+            int half = mantissa >> shift;
+            int remainder = mantissa & ((1 << shift) - 1);
+            int halfway = 1 << (shift - 1);
+            if (remainder > halfway || (remainder == halfway && (half & 1) != 0)) {
+                half++;
+            }
+            return (short) (sign | half);
+        }
+
+        int half = (exponent << 10) | (mantissa >> 13);
+        int remainder = mantissa & 0x1fff;
+        if (remainder > 0x1000 || (remainder == 0x1000 && (half & 1) != 0)) {
+            // Rounding may carry into the exponent, up to infinity
+            half++;
+        }
+        return (short) (sign | half);
+    }
+
+    /**
+     * Converts the bits of a half precision float to a float, which represents it exactly.
+     *
+     * @param half the bits of the half precision float
+     * @return the float
+     */
+    public static float fromHalf(short half) {
+        int bits = half & 0xffff;
+        int sign = (bits & 0x8000) << 16;
+        int exponent = (bits >>> 10) & 0x1f;
+        int mantissa = bits & 0x3ff;
+
+        if (exponent == 0x1f) {
+            // Infinity or NaN
+            return Float.intBitsToFloat(sign | 0x7f800000 | (mantissa << 13));
+        }
+        if (exponent == 0) {
+            // Zero or subnormal half, which are normal floats
+            float value = mantissa * 0x1p-24f;
+            return sign == 0 ? value : -value;
+        }
+        return Float.intBitsToFloat(sign | ((exponent - 15 + 127) << 23) | (mantissa << 13));
+    }
+
+    /**
+     * Converts a float to the bits of the nearest bfloat16.
+     *
+     * @param value the float
+     * @return the bits of the bfloat16
+     */
+    public static short toBFloat16(float value) {
+        int bits = Float.floatToRawIntBits(value);
+        if (Float.isNaN(value)) {
+            // Keep a NaN from rounding to an infinity
+            return (short) ((bits >>> 16) | 0x40);
+        }
+        return (short) ((bits + 0x7fff + ((bits >>> 16) & 1)) >>> 16);
+    }
+
+    /**
+     * Converts the bits of a bfloat16 to a float, which represents it exactly.
+     *
+     * @param bfloat16 the bits of the bfloat16
+     * @return the float
+     */
+    public static float fromBFloat16(short bfloat16) {
+        return Float.intBitsToFloat((bfloat16 & 0xffff) << 16);
+    }
+}
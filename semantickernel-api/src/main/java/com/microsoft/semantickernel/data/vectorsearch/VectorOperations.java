@@ -1,27 +1,31 @@
 // Copyright (c) Microsoft. All rights reserved.
 package com.microsoft.semantickernel.data.vectorsearch;
 
-import com.fasterxml.jackson.core.JsonProcessingException;
-import com.fasterxml.jackson.databind.ObjectMapper;
-import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.microsoft.semantickernel.data.vectorstorage.VectorStoreRecordFieldAccessor;
 import com.microsoft.semantickernel.data.vectorstorage.definition.DistanceFunction;
 import com.microsoft.semantickernel.data.vectorstorage.definition.VectorStoreRecordVectorField;
 import com.microsoft.semantickernel.data.vectorstorage.options.VectorSearchOptions;
 import com.microsoft.semantickernel.exceptions.SKException;
 
 import javax.annotation.Nonnull;
+import java.nio.FloatBuffer;
 import java.util.ArrayList;
-import java.util.Comparator;
+import java.util.Collection;
 import java.util.List;
 import java.util.Objects;
+import java.util.function.Function;
 import java.util.stream.Collectors;
-import java.util.stream.Stream;
 
 /**
  * Operations for working with vectors.
  */
 public final class VectorOperations {
 
+    /**
+     * Number of elements processed per iteration by the primitive array kernels.
+     */
+    private static final int UNROLL = 4;
+
     /**
      * Calculates the cosine similarity of two vectors. The vectors must be equal in length and have
      * non-zero norm.
@@ -175,6 +179,282 @@ public final class VectorOperations {
         return divide(vector, euclideanLength(vector));
     }
 
+    /**
+     * Calculates the cosine similarity of two vectors. The vectors must be equal in length and have
+     * non-zero norm.
+     *
+     * @param x First vector, which is not modified
+     * @param y Second vector, which is not modified
+     * @return The cosine similarity of the two vectors
+     */
+    public static float cosineSimilarity(@Nonnull float[] x, @Nonnull float[] y) {
+        Objects.requireNonNull(x);
+        Objects.requireNonNull(y);
+
+        if (x.length != y.length) {
+            throw new SKException("Vectors lengths must be equal");
+        }
+
+        // Independent accumulators let the JIT pipeline the multiply-adds
+        float dot0 = 0.0F, dot1 = 0.0F, dot2 = 0.0F, dot3 = 0.0F;
+        float normX0 = 0.0F, normX1 = 0.0F, normX2 = 0.0F, normX3 = 0.0F;
+        float normY0 = 0.0F, normY1 = 0.0F, normY2 = 0.0F, normY3 = 0.0F;
+
+        int i = 0;
+        for (int bound = x.length & ~(UNROLL - 1); i < bound; i += UNROLL) {
+            dot0 += x[i] * y[i];
+            dot1 += x[i + 1] * y[i + 1];
+            dot2 += x[i + 2] * y[i + 2];
+            dot3 += x[i + 3] * y[i + 3];
+            normX0 += x[i] * x[i];
+            normX1 += x[i + 1] * x[i + 1];
+            normX2 += x[i + 2] * x[i + 2];
+            normX3 += x[i + 3] * x[i + 3];
+            normY0 += y[i] * y[i];
+            normY1 += y[i + 1] * y[i + 1];
+            normY2 += y[i + 2] * y[i + 2];
+            normY3 += y[i + 3] * y[i + 3];
+        }
+        for (; i < x.length; i++) {
+            dot0 += x[i] * y[i];
+            normX0 += x[i] * x[i];
+            normY0 += y[i] * y[i];
+        }
+
+        float dotProduct = (dot0 + dot1) + (dot2 + dot3);
+        float normX = (normX0 + normX1) + (normX2 + normX3);
+        float normY = (normY0 + normY1) + (normY2 + normY3);
+
+        if (normX == 0 || normY == 0) {
+            throw new SKException("Vectors cannot have zero norm");
+        }
+
+        return (dotProduct / (float) (Math.sqrt(normX) * Math.sqrt(normY)));
+    }
+
+    /**
+     * Calculates the cosine similarity of two vectors. The vectors must have the same number of
+     * remaining elements and non-zero norm.
+     *
+     * @param x First vector, whose position is not modified
+     * @param y Second vector, whose position is not modified
+     * @return The cosine similarity of the two vectors
+     */
+    public static float cosineSimilarity(@Nonnull FloatBuffer x, @Nonnull FloatBuffer y) {
+        Objects.requireNonNull(x);
+        Objects.requireNonNull(y);
+
+        if (x.remaining() != y.remaining()) {
+            throw new SKException("Vectors lengths must be equal");
+        }
+
+        int xOffset = x.position();
+        int yOffset = y.position();
+        float dotProduct = 0.0F;
+        float normX = 0.0F;
+        float normY = 0.0F;
+
+        for (int i = 0; i < x.remaining(); i++) {
+            float xi = x.get(xOffset + i);
+            float yi = y.get(yOffset + i);
+            dotProduct += xi * yi;
+            normX += xi * xi;
+            normY += yi * yi;
+        }
+
+        if (normX == 0 || normY == 0) {
+            throw new SKException("Vectors cannot have zero norm");
+        }
+
+        return (dotProduct / (float) (Math.sqrt(normX) * Math.sqrt(normY)));
+    }
+
+    /**
+     * Calculates the cosine distance of two vectors. The vectors must be equal in length and have
+     * non-zero norm.
+     *
+     * @param x First vector, which is not modified
+     * @param y Second vector, which is not modified
+     * @return The cosine distance of the two vectors
+     */
+    public static double cosineDistance(@Nonnull float[] x, @Nonnull float[] y) {
+        return 1.0 - cosineSimilarity(x, y);
+    }
+
+    /**
+     * Calculates the Euclidean distance between two vectors.
+     *
+     * @param x First vector, which is not modified
+     * @param y Second vector, which is not modified
+     * @return The Euclidean distance between the two vectors
+     */
+    public static float euclideanDistance(@Nonnull float[] x, @Nonnull float[] y) {
+        Objects.requireNonNull(x);
+        Objects.requireNonNull(y);
+
+        if (x.length != y.length) {
+            throw new SKException("Vectors lengths must be equal");
+        }
+
+        float sum0 = 0.0f, sum1 = 0.0f, sum2 = 0.0f, sum3 = 0.0f;
+
+        int i = 0;
+        for (int bound = x.length & ~(UNROLL - 1); i < bound; i += UNROLL) {
+            float difference0 = x[i] - y[i];
+            float difference1 = x[i + 1] - y[i + 1];
+            float difference2 = x[i + 2] - y[i + 2];
+            float difference3 = x[i + 3] - y[i + 3];
+            sum0 += difference0 * difference0;
+            sum1 += difference1 * difference1;
+            sum2 += difference2 * difference2;
+            sum3 += difference3 * difference3;
+        }
+        for (; i < x.length; ++i) {
+            float difference = x[i] - y[i];
+            sum0 += difference * difference;
+        }
+
+        return (float) Math.sqrt((sum0 + sum1) + (sum2 + sum3));
+    }
+
+    /**
+     * Calculates the Euclidean distance between two vectors. The vectors must have the same
+     * number of remaining elements.
+     *
+     * @param x First vector, whose position is not modified
+     * @param y Second vector, whose position is not modified
+     * @return The Euclidean distance between the two vectors
+     */
+    public static float euclideanDistance(@Nonnull FloatBuffer x, @Nonnull FloatBuffer y) {
+        Objects.requireNonNull(x);
+        Objects.requireNonNull(y);
+
+        if (x.remaining() != y.remaining()) {
+            throw new SKException("Vectors lengths must be equal");
+        }
+
+        int xOffset = x.position();
+        int yOffset = y.position();
+        float sumOfSquaredDifferences = 0.0f;
+
+        for (int i = 0; i < x.remaining(); ++i) {
+            float difference = x.get(xOffset + i) - y.get(yOffset + i);
+            sumOfSquaredDifferences += difference * difference;
+        }
+
+        return (float) Math.sqrt(sumOfSquaredDifferences);
+    }
+
+    /**
+     * Calculates the dot product of two vectors.
+     *
+     * @param x First vector, which is not modified
+     * @param y Second vector, which is not modified
+     * @return The dot product of the two vectors
+     */
+    public static float dot(@Nonnull float[] x, @Nonnull float[] y) {
+        Objects.requireNonNull(x);
+        Objects.requireNonNull(y);
+
+        if (x.length != y.length) {
+            throw new SKException("Vectors lengths must be equal");
+        }
+
+        float result0 = 0, result1 = 0, result2 = 0, result3 = 0;
+
+        int i = 0;
+        for (int bound = x.length & ~(UNROLL - 1); i < bound; i += UNROLL) {
+            result0 += x[i] * y[i];
+            result1 += x[i + 1] * y[i + 1];
+            result2 += x[i + 2] * y[i + 2];
+            result3 += x[i + 3] * y[i + 3];
+        }
+        for (; i < x.length; ++i) {
+            result0 += x[i] * y[i];
+        }
+
+        return (result0 + result1) + (result2 + result3);
+    }
+
+    /**
+     * Calculates the dot product of two vectors. The vectors must have the same number of
+     * remaining elements.
+     *
+     * @param x First vector, whose position is not modified
+     * @param y Second vector, whose position is not modified
+     * @return The dot product of the two vectors
+     */
+    public static float dot(@Nonnull FloatBuffer x, @Nonnull FloatBuffer y) {
+        Objects.requireNonNull(x);
+        Objects.requireNonNull(y);
+
+        if (x.remaining() != y.remaining()) {
+            throw new SKException("Vectors lengths must be equal");
+        }
+
+        int xOffset = x.position();
+        int yOffset = y.position();
+        float result = 0;
+        for (int i = 0; i < x.remaining(); ++i) {
+            result += x.get(xOffset + i) * y.get(yOffset + i);
+        }
+
+        return result;
+    }
+
+    /**
+     * Calculates the Euclidean length of a vector.
+     *
+     * @param vector Vector to calculate the length of, which is not modified
+     * @return The Euclidean length of the vector
+     */
+    public static float euclideanLength(@Nonnull float[] vector) {
+        Objects.requireNonNull(vector);
+        return (float) Math.sqrt(dot(vector, vector));
+    }
+
+    /**
+     * Copies a vector into a primitive array.
+     *
+     * @param vector Vector to copy, which is not modified
+     * @return A new primitive array with the elements of the vector
+     */
+    public static float[] toFloatArray(@Nonnull List<Float> vector) {
+        Objects.requireNonNull(vector);
+
+        float[] result = new float[vector.size()];
+        int i = 0;
+        for (Float value : vector) {
+            result[i++] = value;
+        }
+        return result;
+    }
+
+    /**
+     * Calculates the score of a record vector against a query vector using the given distance
+     * function.
+     *
+     * @param distanceFunction The distance function to use.
+     * @param x The query vector, which is not modified
+     * @param y The record vector, which is not modified
+     * @return The score of the two vectors
+     */
+    public static double score(DistanceFunction distanceFunction, @Nonnull float[] x,
+        @Nonnull float[] y) {
+        switch (distanceFunction) {
+            case COSINE_SIMILARITY:
+                return cosineSimilarity(x, y);
+            case COSINE_DISTANCE:
+                return cosineDistance(x, y);
+            case EUCLIDEAN_DISTANCE:
+                return euclideanDistance(x, y);
+            case DOT_PRODUCT:
+                return dot(x, y);
+            default:
+                throw new SKException("Unsupported distance function");
+        }
+    }
+
     /**
      * Performs an exact similarity search on a list of records using a vector field.
      *
@@ -192,56 +472,46 @@ public final class VectorOperations {
         VectorStoreRecordVectorField vectorField,
         DistanceFunction distanceFunction,
         VectorSearchOptions options) {
-        List<VectorSearchResult<Record>> results = new ArrayList<>();
+        if (records.isEmpty()) {
+            return new ArrayList<>();
+        }
 
-        for (Record record : records) {
-            List<Float> recordVector;
-            try {
-                String json = new ObjectMapper().writeValueAsString(record);
-                ArrayNode arrayNode = (ArrayNode) new ObjectMapper().readTree(json)
-                    .get(vectorField.getEffectiveStorageName());
-
-                recordVector = Stream.iterate(0, i -> i + 1)
-                    .limit(arrayNode.size())
-                    .map(i -> arrayNode.get(i).floatValue())
-                    .collect(Collectors.toList());
-            } catch (JsonProcessingException e) {
-                throw new RuntimeException(e);
-            }
+        VectorStoreRecordFieldAccessor<Record> accessor = VectorStoreRecordFieldAccessor
+            .create(records.get(0).getClass(), vectorField);
 
-            double score;
-            switch (distanceFunction) {
-                case COSINE_SIMILARITY:
-                    score = cosineSimilarity(vector, recordVector);
-                    break;
-                case COSINE_DISTANCE:
-                    score = cosineDistance(vector, recordVector);
-                    break;
-                case EUCLIDEAN_DISTANCE:
-                    score = euclideanDistance(vector, recordVector);
-                    break;
-                case DOT_PRODUCT:
-                    score = dot(vector, recordVector);
-                    break;
-                default:
-                    throw new SKException("Unsupported distance function");
-            }
+        return exactSimilaritySearch(records, toFloatArray(vector), accessor::getVector,
+            distanceFunction, options);
+    }
 
-            results.add(new VectorSearchResult<>(record, score));
-        }
+    /**
+     * Performs an exact similarity search on a collection of records, reading each record vector
+     * with the given accessor.
+     *
+     * @param records The records to search.
+     * @param vector The vector to search for.
+     * @param vectorAccessor Reads the vector of a record. Records without a vector are skipped.
+     * @param distanceFunction The distance function to use for the search.
+     * @param options The search options.
+     * @param <Record> The type of the records.
+     * @return The search results.
+     */
+    public static <Record> List<VectorSearchResult<Record>> exactSimilaritySearch(
+        Collection<Record> records,
+        float[] vector,
+        Function<Record, float[]> vectorAccessor,
+        DistanceFunction distanceFunction,
+        VectorSearchOptions options) {
+        VectorSearchTopK<Record> topK = VectorSearchTopK.create(distanceFunction, options);
+
+        for (Record record : records) {
+            float[] recordVector = vectorAccessor.apply(record);
+            if (recordVector == null) {
+                continue;
+            }
 
-        Comparator<VectorSearchResult<Record>> comparator = Comparator
-            .comparingDouble(VectorSearchResult::getScore);
-        // Higher scores are better
-        if (distanceFunction == DistanceFunction.COSINE_SIMILARITY
-            || distanceFunction == DistanceFunction.DOT_PRODUCT) {
-            comparator = comparator.reversed();
+            topK.add(record, score(distanceFunction, vector, recordVector));
         }
 
-        return results.stream()
-            .sorted(comparator)
-            .skip(options.getSkip())
-            .limit(options.getTop())
-            .collect(Collectors.toList());
+        return topK.getResults(options.getSkip());
     }
 }
@@ -0,0 +1,158 @@
+// Copyright (c) Microsoft. All rights reserved.
+package com.microsoft.semantickernel.data.vectorsearch;
+
+import com.microsoft.semantickernel.data.vectorstorage.definition.DistanceFunction;
+import com.microsoft.semantickernel.data.vectorstorage.options.VectorSearchOptions;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+
+/**
+ * Keeps the best scored records seen so far, up to a fixed capacity.
+ * <p>
+ * The records are held in a bounded heap whose head is the worst retained result, so offering a
+ * record costs {@code O(log k)} and scanning {@code n} records costs {@code O(n log k)} instead of
+ * sorting all of them. A search for {@code skip + top} results only ever retains that many.
+ * <p>
+ * This class is not thread safe. Concurrent scans should each use their own instance and
+ * {@link #addAll(VectorSearchTopK) merge} them afterwards.
+ *
+ * @param <Record> The type of the records.
+ */
+public final class VectorSearchTopK<Record> {
+
+    private final int capacity;
+    private final boolean higherIsBetter;
+    private final Comparator<VectorSearchResult<Record>> worstFirst;
+    private final PriorityQueue<VectorSearchResult<Record>> heap;
+
+    /**
+     * Creates a new instance of VectorSearchTopK.
+     *
+     * @param capacity The maximum number of results to keep.
+     * @param distanceFunction The distance function the scores were computed with.
+     */
+    public VectorSearchTopK(int capacity, DistanceFunction distanceFunction) {
+        if (capacity < 0) {
+            throw new IllegalArgumentException("capacity must not be negative");
+        }
+        this.capacity = capacity;
+        this.higherIsBetter = isHigherScoreBetter(distanceFunction);
+
+        Comparator<VectorSearchResult<Record>> comparator = Comparator
+            .comparingDouble(VectorSearchResult::getScore);
+        this.worstFirst = higherIsBetter ? comparator : comparator.reversed();
+        this.heap = new PriorityQueue<>(Math.min(capacity, 1024) + 1, worstFirst);
+    }
+
+    /**
+     * Creates a new instance of VectorSearchTopK holding enough results to apply the skip and top
+     * of the search options.
+     *
+     * @param distanceFunction The distance function the scores were computed with.
+     * @param options The search options.
+     * @param <Record> The type of the records.
+     * @return A new instance of VectorSearchTopK.
+     */
+    public static <Record> VectorSearchTopK<Record> create(DistanceFunction distanceFunction,
+        VectorSearchOptions options) {
+        long capacity = (long) options.getSkip() + options.getTop();
+        return new VectorSearchTopK<>((int) Math.min(capacity, Integer.MAX_VALUE),
+            distanceFunction);
+    }
+
+    /**
+     * Gets whether higher scores are better for the distance function.
+     *
+     * @param distanceFunction The distance function.
+     * @return {@code true} if higher scores are better, {@code false} if lower scores are better.
+     */
+    public static boolean isHigherScoreBetter(DistanceFunction distanceFunction) {
+        return distanceFunction == DistanceFunction.COSINE_SIMILARITY
+            || distanceFunction == DistanceFunction.DOT_PRODUCT;
+    }
+
+    /**
+     * Gets whether a record with the given score would be retained. Callers can use this to avoid
+     * materializing records that would be discarded.
+     *
+     * @param score The score.
+     * @return {@code true} if a record with this score would be retained.
+     */
+    public boolean isCandidate(double score) {
+        if (capacity == 0 || Double.isNaN(score)) {
+            return false;
+        }
+        if (heap.size() < capacity) {
+            return true;
+        }
+
+        double worst = heap.peek().getScore();
+        return higherIsBetter ? score > worst : score < worst;
+    }
+
+    /**
+     * Offers a record with its score.
+     *
+     * @param record The record.
+     * @param score The score of the record.
+     * @return {@code true} if the record was retained.
+     */
+    public boolean add(Record record, double score) {
+        if (!isCandidate(score)) {
+            return false;
+        }
+        add(new VectorSearchResult<>(record, score));
+        return true;
+    }
+
+    private void add(VectorSearchResult<Record> result) {
+        heap.add(result);
+        if (heap.size() > capacity) {
+            heap.poll();
+        }
+    }
+
+    /**
+     * Offers all results retained by another instance, for example one filled by another thread.
+     *
+     * @param other The other instance.
+     */
+    public void addAll(VectorSearchTopK<Record> other) {
+        for (VectorSearchResult<Record> result : other.heap) {
+            if (isCandidate(result.getScore())) {
+                add(result);
+            }
+        }
+    }
+
+    /**
+     * Gets the number of retained results.
+     *
+     * @return The number of retained results.
+     */
+    public int size() {
+        return heap.size();
+    }
+
+    /**
+     * Gets the retained results, best first, after skipping the given number of results.
+     *
+     * @param skip The number of best results to skip.
+     * @return The results.
+     */
+    public List<VectorSearchResult<Record>> getResults(int skip) {
+        List<VectorSearchResult<Record>> sorted = new ArrayList<>(heap);
+        sorted.sort(worstFirst.reversed());
+
+        if (skip <= 0) {
+            return sorted;
+        }
+        if (skip >= sorted.size()) {
+            return new ArrayList<>();
+        }
+        return new ArrayList<>(sorted.subList(skip, sorted.size()));
+    }
+}
@@ -2,6 +2,7 @@
 package com.microsoft.semantickernel.data.vectorsearch;
 
 import com.microsoft.semantickernel.data.vectorstorage.options.VectorSearchOptions;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
 import java.util.List;
@@ -22,4 +23,20 @@ public interface VectorizedSearch<Record> {
      */
     Mono<VectorSearchResults<Record>> searchAsync(List<Float> vector,
         VectorSearchOptions options);
+
+    /**
+     * Vectorized search of several vectors with the same options, for example the sub-queries of
+     * a request. By default the vectors are searched one after the other; stores override this
+     * method to send the searches together or run them in parallel.
+     *
+     * @param vectors The vectors to search with.
+     * @param options The options to use for every search.
+     * @return Vector search results of each vector, in the order of the vectors.
+     */
+    default Mono<List<VectorSearchResults<Record>>> searchBatchAsync(List<List<Float>> vectors,
+        VectorSearchOptions options) {
+        return Flux.fromIterable(vectors)
+            .concatMap(vector -> searchAsync(vector, options))
+            .collectList();
+    }
 }
@@ -0,0 +1,612 @@
+// Copyright (c) Microsoft. All rights reserved.
+package com.microsoft.semantickernel.data.vectorstorage;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.microsoft.semantickernel.data.vectorstorage.definition.VectorStoreRecordDefinition;
+import com.microsoft.semantickernel.data.vectorstorage.definition.VectorStoreRecordField;
+import com.microsoft.semantickernel.data.vectorstorage.definition.VectorStoreRecordVectorField;
+import com.microsoft.semantickernel.exceptions.SKException;
+import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
+
+import javax.annotation.Nullable;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.lang.reflect.Parameter;
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.RandomAccess;
+
+/**
+ * Reads and writes the fields of a record class, as listed by a record definition, without going
+ * through a Jackson tree for each record. Vector stores use it to map records to and from their
+ * storage models.
+ * <p>
+ * Field values are read with cached {@link MethodHandle}s on the getters or fields that Jackson
+ * would serialize, and records are created with the {@link JsonCreator} constructor or the
+ * no-argument constructor, then populated with the setters or fields that Jackson would
+ * deserialize. Record classes that need Jackson to map them, for example with custom serializers,
+ * a naming strategy or properties that do not match the storage names of the record definition,
+ * are mapped through a Jackson tree instead.
+ *
+ * @param <Record> the record type
+ */
+public final class VectorStoreRecordBinding<Record> {
+
+    private static final MethodType GETTER_TYPE = MethodType.methodType(Object.class,
+        Object.class);
+    private static final MethodType SETTER_TYPE = MethodType.methodType(void.class,
+        Object.class, Object.class);
+
+    private final Class<Record> recordClass;
+    private final List<VectorStoreRecordField> fields;
+    private final ObjectMapper objectMapper;
+    private final JavaType[] javaTypes;
+
+    // Compiled getters, null if records are read through Jackson
+    @Nullable
+    private final MethodHandle[] getters;
+    // Compiled creator, null if records are created through Jackson
+    @Nullable
+    private final MethodHandle creator;
+    // Index of the field passed as each creator argument, -1 if none
+    @Nullable
+    private final int[] creatorFields;
+    @Nullable
+    private final Object[] creatorDefaults;
+    // Setters of the fields not passed to the creator, null for fields passed to it
+    @Nullable
+    private final MethodHandle[] setters;
+
+    private VectorStoreRecordBinding(Class<Record> recordClass,
+        List<VectorStoreRecordField> fields, ObjectMapper objectMapper, JavaType[] javaTypes,
+        @Nullable MethodHandle[] getters, @Nullable MethodHandle creator,
+        @Nullable int[] creatorFields, @Nullable Object[] creatorDefaults,
+        @Nullable MethodHandle[] setters) {
+        this.recordClass = recordClass;
+        this.fields = fields;
+        this.objectMapper = objectMapper;
+        this.javaTypes = javaTypes;
+        this.getters = getters;
+        this.creator = creator;
+        this.creatorFields = creatorFields;
+        this.creatorDefaults = creatorDefaults;
+        this.setters = setters;
+    }
+
+    /**
+     * Creates a binding of the fields of the record definition to the record class.
+     *
+     * @param recordClass      the record class
+     * @param recordDefinition the record definition
+     * @param objectMapper     the object mapper configured for the record class
+     * @param <Record>         the record type
+     * @return the binding
+     */
+    public static <Record> VectorStoreRecordBinding<Record> create(
+        Class<Record> recordClass, VectorStoreRecordDefinition recordDefinition,
+        ObjectMapper objectMapper) {
+        return create(recordClass, recordDefinition.getAllFields(), objectMapper);
+    }
+
+    /**
+     * Creates a binding of some fields to the record class.
+     *
+     * @param recordClass  the record class
+     * @param fields       the fields
+     * @param objectMapper the object mapper configured for the record class
+     * @param <Record>     the record type
+     * @return the binding
+     */
+    static <Record> VectorStoreRecordBinding<Record> create(Class<Record> recordClass,
+        List<VectorStoreRecordField> fields, ObjectMapper objectMapper) {
+        Field[] javaFields = new Field[fields.size()];
+        JavaType[] javaTypes = new JavaType[fields.size()];
+        boolean compilable = isCompilable(recordClass, objectMapper);
+
+        for (int i = 0; i < fields.size(); ++i) {
+            VectorStoreRecordField field = fields.get(i);
+            javaFields[i] = compilable ? findField(recordClass, field) : null;
+            compilable = compilable && javaFields[i] != null;
+            javaTypes[i] = javaFields[i] != null
+                ? objectMapper.getTypeFactory().constructType(javaFields[i].getGenericType())
+                : objectMapper.getTypeFactory().constructType(field.getFieldType());
+        }
+
+        if (compilable) {
+            try {
+                return compile(recordClass, fields, objectMapper, javaTypes, javaFields);
+            } catch (IllegalAccessException | RuntimeException e) {
+                // Not accessible, for example a final field of a Java record, use Jackson
+            }
+        }
+        return new VectorStoreRecordBinding<>(recordClass, fields, objectMapper, javaTypes,
+            null, null, null, null, null);
+    }
+
+    private static boolean isCompilable(Class<?> recordClass, ObjectMapper objectMapper) {
+        return !Modifier.isAbstract(recordClass.getModifiers())
+            && objectMapper.getSerializationConfig().getPropertyNamingStrategy() == null
+            && objectMapper.getDeserializationConfig().getPropertyNamingStrategy() == null
+            && !recordClass.isAnnotationPresent(JsonDeserialize.class)
+            && !recordClass.isAnnotationPresent(JsonSerialize.class);
+    }
+
+    // Finds the Java field of a record definition field, if Jackson maps it to the storage name
+    @Nullable
+    private static Field findField(Class<?> recordClass, VectorStoreRecordField field) {
+        for (Class<?> clazz = recordClass; clazz != null
+            && clazz != Object.class; clazz = clazz.getSuperclass()) {
+            try {
+                Field javaField = clazz.getDeclaredField(field.getName());
+                JsonProperty property = javaField.getAnnotation(JsonProperty.class);
+                String propertyName = property != null && !property.value().isEmpty()
+                    ? property.value()
+                    : javaField.getName();
+                if (Modifier.isStatic(javaField.getModifiers())
+                    || !propertyName.equals(field.getEffectiveStorageName())
+                    || javaField.isAnnotationPresent(JsonDeserialize.class)
+                    || javaField.isAnnotationPresent(JsonSerialize.class)) {
+                    return null;
+                }
+                return javaField;
+            } catch (NoSuchFieldException e) {
+                // Keep looking in the superclass
+            }
+        }
+        return null;
+    }
+
+    private static <Record> VectorStoreRecordBinding<Record> compile(
+        Class<Record> recordClass, List<VectorStoreRecordField> fields, ObjectMapper objectMapper,
+        JavaType[] javaTypes, Field[] javaFields) throws IllegalAccessException {
+        MethodHandles.Lookup lookup = MethodHandles.lookup();
+
+        MethodHandle[] getters = new MethodHandle[fields.size()];
+        for (int i = 0; i < fields.size(); ++i) {
+            Method getter = findAccessor(recordClass, javaFields[i], "get", 0);
+            if (getter == null && (javaFields[i].getType() == boolean.class
+                || javaFields[i].getType() == Boolean.class)) {
+                getter = findAccessor(recordClass, javaFields[i], "is", 0);
+            }
+            if (getter != null) {
+                getters[i] = lookup.unreflect(getter).asType(GETTER_TYPE);
+            } else {
+                javaFields[i].setAccessible(true);
+                getters[i] = lookup.unreflectGetter(javaFields[i]).asType(GETTER_TYPE);
+            }
+        }
+
+        try {
+            return compileCreator(recordClass, fields, objectMapper, javaTypes, javaFields,
+                getters, lookup);
+        } catch (IllegalAccessException | RuntimeException e) {
+            // Records are still read with the getters, but created through Jackson
+            return new VectorStoreRecordBinding<>(recordClass, fields, objectMapper, javaTypes,
+                getters, null, null, null, null);
+        }
+    }
+
+    private static <Record> VectorStoreRecordBinding<Record> compileCreator(
+        Class<Record> recordClass, List<VectorStoreRecordField> fields, ObjectMapper objectMapper,
+        JavaType[] javaTypes, Field[] javaFields, MethodHandle[] getters,
+        MethodHandles.Lookup lookup) throws IllegalAccessException {
+        Map<String, Integer> fieldIndexes = new HashMap<>();
+        for (int i = 0; i < fields.size(); ++i) {
+            fieldIndexes.put(fields.get(i).getEffectiveStorageName(), i);
+        }
+
+        Constructor<?> constructor = findCreator(recordClass);
+        Parameter[] parameters = constructor.getParameters();
+        int[] creatorFields = new int[parameters.length];
+        Object[] creatorDefaults = new Object[parameters.length];
+        MethodHandle[] setters = new MethodHandle[fields.size()];
+        boolean[] passedToCreator = new boolean[fields.size()];
+
+        for (int i = 0; i < parameters.length; ++i) {
+            JsonProperty property = parameters[i].getAnnotation(JsonProperty.class);
+            if (property == null || parameters[i].isAnnotationPresent(JsonDeserialize.class)) {
+                throw new SKException("Creator parameters must be annotated with JsonProperty");
+            }
+            Integer fieldIndex = fieldIndexes.get(property.value());
+            creatorFields[i] = fieldIndex == null ? -1 : fieldIndex;
+            creatorDefaults[i] = defaultValue(parameters[i].getType());
+            if (fieldIndex != null) {
+                passedToCreator[fieldIndex] = true;
+            }
+        }
+
+        for (int i = 0; i < fields.size(); ++i) {
+            if (passedToCreator[i]) {
+                continue;
+            }
+            Method setter = findAccessor(recordClass, javaFields[i], "set", 1);
+            if (setter != null) {
+                setters[i] = lookup.unreflect(setter).asType(SETTER_TYPE);
+            } else {
+                javaFields[i].setAccessible(true);
+                setters[i] = lookup.unreflectSetter(javaFields[i]).asType(SETTER_TYPE);
+            }
+        }
+
+        constructor.setAccessible(true);
+        MethodHandle creator = lookup.unreflectConstructor(constructor);
+        creator = creator.asType(creator.type().generic())
+            .asSpreader(Object[].class, parameters.length);
+
+        return new VectorStoreRecordBinding<>(recordClass, fields, objectMapper, javaTypes,
+            getters, creator, creatorFields, creatorDefaults, setters);
+    }
+
+    // The JsonCreator constructor if there is one, the no-argument constructor otherwise
+    private static Constructor<?> findCreator(Class<?> recordClass) {
+        for (Constructor<?> constructor : recordClass.getDeclaredConstructors()) {
+            JsonCreator creator = constructor.getAnnotation(JsonCreator.class);
+            if (creator != null) {
+                if (creator.mode() == JsonCreator.Mode.DELEGATING) {
+                    throw new SKException("Delegating creators are mapped by Jackson");
+                }
+                return constructor;
+            }
+        }
+        for (Method method : recordClass.getDeclaredMethods()) {
+            if (method.isAnnotationPresent(JsonCreator.class)) {
+                throw new SKException("Factory method creators are mapped by Jackson");
+            }
+        }
+        try {
+            return recordClass.getDeclaredConstructor();
+        } catch (NoSuchMethodException e) {
+            throw new SKException("No creator found for " + recordClass.getName(), e);
+        }
+    }
+
+    // A public getter or setter of the field, which Jackson prefers to the field itself
+    @Nullable
+    private static Method findAccessor(Class<?> recordClass, Field javaField, String prefix,
+        int parameterCount) {
+        String name = prefix + Character.toUpperCase(javaField.getName().charAt(0))
+            + javaField.getName().substring(1);
+        for (Method method : recordClass.getMethods()) {
+            if (method.getName().equals(name)
+                && method.getParameterCount() == parameterCount
+                && !Modifier.isStatic(method.getModifiers())
+                && (parameterCount == 0
+                    ? javaField.getType().isAssignableFrom(method.getReturnType())
+                    : method.getParameterTypes()[0].isAssignableFrom(javaField.getType()))) {
+                return method;
+            }
+        }
+        return null;
+    }
+
+    @Nullable
+    private static Object defaultValue(Class<?> type) {
+        if (!type.isPrimitive()) {
+            return null;
+        }
+        if (type == boolean.class) {
+            return false;
+        }
+        if (type == char.class) {
+            return '\0';
+        }
+        if (type == long.class) {
+            return 0L;
+        }
+        if (type == float.class) {
+            return 0f;
+        }
+        if (type == double.class) {
+            return 0d;
+        }
+        if (type == byte.class) {
+            return (byte) 0;
+        }
+        if (type == short.class) {
+            return (short) 0;
+        }
+        return 0;
+    }
+
+    /**
+     * Gets the record class.
+     *
+     * @return the record class
+     */
+    public Class<Record> getRecordClass() {
+        return recordClass;
+    }
+
+    /**
+     * Gets the fields of the record definition, in the order of the values of this binding.
+     *
+     * @return the fields
+     */
+    public List<VectorStoreRecordField> getFields() {
+        return fields;
+    }
+
+    /**
+     * Gets the Java type of a field, as declared by the record class when records are mapped with
+     * compiled accessors.
+     *
+     * @param field the index of the field
+     * @return the Java type
+     */
+    public JavaType getJavaType(int field) {
+        return javaTypes[field];
+    }
+
+    /**
+     * Gets whether records are mapped with compiled accessors rather than through Jackson.
+     *
+     * @return {@code true} if records are mapped with compiled accessors
+     */
+    public boolean isCompiled() {
+        return creator != null;
+    }
+
+    /**
+     * Gets the value of one field of a record.
+     *
+     * @param record the record
+     * @param field  the index of the field in {@link #getFields()}
+     * @return the value
+     */
+    @Nullable
+    public Object getValue(Object record, int field) {
+        if (getters != null) {
+            try {
+                return getters[field].invokeExact(record);
+            } catch (Throwable e) {
+                throw new SKException("Failed to read field " + fields.get(field).getName(), e);
+            }
+        }
+
+        JsonNode valueNode = objectMapper.<JsonNode>valueToTree(record)
+            .get(fields.get(field).getEffectiveStorageName());
+        return valueNode == null || valueNode.isNull() ? null
+            : objectMapper.convertValue(valueNode, javaTypes[field]);
+    }
+
+    /**
+     * Gets the values of the fields of a record, in the order of {@link #getFields()}.
+     *
+     * @param record the record
+     * @return the values
+     */
+    public Object[] getValues(Object record) {
+        Object[] values = new Object[fields.size()];
+        if (getters != null) {
+            for (int i = 0; i < getters.length; ++i) {
+                try {
+                    values[i] = getters[i].invokeExact(record);
+                } catch (Throwable e) {
+                    throw new SKException("Failed to read field " + fields.get(i).getName(), e);
+                }
+            }
+            return values;
+        }
+
+        JsonNode recordNode = objectMapper.valueToTree(record);
+        for (int i = 0; i < fields.size(); ++i) {
+            JsonNode valueNode = recordNode.get(fields.get(i).getEffectiveStorageName());
+            values[i] = valueNode == null || valueNode.isNull() ? null
+                : objectMapper.convertValue(valueNode, javaTypes[i]);
+        }
+        return values;
+    }
+
+    /**
+     * Creates a record from the values of its fields, in the order of {@link #getFields()}.
+     * Values are converted to the types of the fields: vectors may be given as {@code float[]}
+     * and lists as JSON text. Only the selected fields are set, other fields keep the values
+     * given by the record constructor.
+     * <p>
+     * Vectors given as {@code float[]} are set on {@code List} fields as lists backed by the
+     * array, without boxing its elements up front. These lists can be modified and resized like
+     * an {@link ArrayList}, but do not accept {@code null} elements.
+     *
+     * @param values   the values
+     * @param selected whether each field is selected
+     * @return the record
+     */
+    public Record newRecord(Object[] values, boolean[] selected) {
+        if (creator == null || creatorFields == null || creatorDefaults == null
+            || setters == null) {
+            ObjectNode objectNode = objectMapper.createObjectNode();
+            for (int i = 0; i < fields.size(); ++i) {
+                if (selected[i]) {
+                    objectNode.set(fields.get(i).getEffectiveStorageName(),
+                        objectMapper.valueToTree(convert(i, values[i])));
+                }
+            }
+            return objectMapper.convertValue(objectNode, recordClass);
+        }
+
+        try {
+            Object[] arguments = new Object[creatorFields.length];
+            for (int i = 0; i < arguments.length; ++i) {
+                int field = creatorFields[i];
+                Object value = field >= 0 && selected[field] ? convert(field, values[field])
+                    : null;
+                arguments[i] = value != null ? value : creatorDefaults[i];
+            }
+            Object record = creator.invokeExact(arguments);
+
+            for (int i = 0; i < setters.length; ++i) {
+                if (setters[i] != null && selected[i]) {
+                    Object value = convert(i, values[i]);
+                    setters[i].invokeExact(record,
+                        value != null || !javaTypes[i].isPrimitive() ? value
+                            : defaultValue(javaTypes[i].getRawClass()));
+                }
+            }
+            return recordClass.cast(record);
+        } catch (SKException e) {
+            throw e;
+        } catch (Throwable e) {
+            throw new SKException("Failed to create record of " + recordClass.getName(), e);
+        }
+    }
+
+    @Nullable
+    private Object convert(int field, @Nullable Object value) {
+        if (value == null) {
+            return null;
+        }
+        Class<?> rawClass = javaTypes[field].getRawClass();
+        try {
+            if (value instanceof String
+                && (Collection.class.isAssignableFrom(rawClass) || rawClass.isArray())) {
+                // Lists and vectors stored as JSON text
+                return objectMapper.readValue((String) value, javaTypes[field]);
+            }
+        } catch (JsonProcessingException e) {
+            throw new SKException("Failed to read field " + fields.get(field).getName(), e);
+        }
+        if (value instanceof float[] && Collection.class.isAssignableFrom(rawClass)
+            && fields.get(field) instanceof VectorStoreRecordVectorField) {
+            float[] vector = (float[]) value;
+            if (rawClass.isAssignableFrom(FloatList.class)) {
+                return new FloatList(vector);
+            }
+            if (rawClass.isAssignableFrom(ArrayList.class)) {
+                List<Float> list = new ArrayList<>(vector.length);
+                for (float element : vector) {
+                    list.add(element);
+                }
+                return list;
+            }
+        }
+        if (rawClass.isInstance(value) || (rawClass.isPrimitive() && isBoxOf(rawClass, value))) {
+            return value;
+        }
+        return objectMapper.convertValue(value, javaTypes[field]);
+    }
+
+    /**
+     * Gets the value of a vector field as a {@code float[]}. The array backing a vector read by
+     * this binding is returned without a copy, and must not be modified.
+     *
+     * @param value the value of the vector field, a {@code float[]} or a collection of numbers
+     * @return the vector, or {@code null} if the value is {@code null}
+     */
+    @Nullable
+    public static float[] toVector(@Nullable Object value) {
+        if (value == null || value instanceof float[]) {
+            return (float[]) value;
+        }
+        if (value instanceof FloatList) {
+            return ((FloatList) value).toFloatArray();
+        }
+        if (value instanceof Collection) {
+            Collection<?> collection = (Collection<?>) value;
+            float[] vector = new float[collection.size()];
+            int i = 0;
+            for (Object element : collection) {
+                vector[i++] = ((Number) element).floatValue();
+            }
+            return vector;
+        }
+        throw new SKException("Unsupported vector type " + value.getClass().getName());
+    }
+
+    private static boolean isBoxOf(Class<?> primitive, Object value) {
+        return (primitive == int.class && value instanceof Integer)
+            || (primitive == long.class && value instanceof Long)
+            || (primitive == double.class && value instanceof Double)
+            || (primitive == float.class && value instanceof Float)
+            || (primitive == boolean.class && value instanceof Boolean)
+            || (primitive == short.class && value instanceof Short)
+            || (primitive == byte.class && value instanceof Byte)
+            || (primitive == char.class && value instanceof Character);
+    }
+
+    /**
+     * A resizable list of floats backed by the {@code float[]} of a vector read from storage, so
+     * that the vector is not copied into boxed floats up front.
+     */
+    static final class FloatList extends AbstractList<Float> implements RandomAccess {
+        private float[] elements;
+        private int size;
+
+        @SuppressFBWarnings("EI_EXPOSE_REP2") // The array is read from storage for this list
+        FloatList(float[] elements) {
+            this.elements = elements;
+            this.size = elements.length;
+        }
+
+        @Override
+        public Float get(int index) {
+            checkIndex(index, size);
+            return elements[index];
+        }
+
+        @Override
+        public Float set(int index, Float element) {
+            checkIndex(index, size);
+            Float previous = elements[index];
+            elements[index] = element;
+            return previous;
+        }
+
+        @Override
+        public void add(int index, Float element) {
+            checkIndex(index, size + 1);
+            float value = element;
+            if (size == elements.length) {
+                elements = Arrays.copyOf(elements, Math.max(8, size + (size >> 1)));
+            }
+            System.arraycopy(elements, index, elements, index + 1, size - index);
+            elements[index] = value;
+            ++size;
+            ++modCount;
+        }
+
+        @Override
+        public Float remove(int index) {
+            checkIndex(index, size);
+            Float previous = elements[index];
+            System.arraycopy(elements, index + 1, elements, index, size - index - 1);
+            --size;
+            ++modCount;
+            return previous;
+        }
+
+        @Override
+        public int size() {
+            return size;
+        }
+
+        private static void checkIndex(int index, int length) {
+            if (index < 0 || index >= length) {
+                throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + length);
+            }
+        }
+
+        // The vector is copied when it is stored, so the elements are not cloned
+        @SuppressFBWarnings("EI_EXPOSE_REP")
+        float[] toFloatArray() {
+            return size == elements.length ? elements : Arrays.copyOf(elements, size);
+        }
+    }
+}
@@ -0,0 +1,180 @@
+// Copyright (c) Microsoft. All rights reserved.
+package com.microsoft.semantickernel.data.vectorstorage;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.microsoft.semantickernel.data.vectorstorage.definition.VectorStoreRecordField;
+import com.microsoft.semantickernel.exceptions.SKException;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Reads the value of a {@link VectorStoreRecordField} from a record instance.
+ * <p>
+ * Values are read by a {@link VectorStoreRecordBinding}, so an accessor reads the getter or field
+ * that Jackson would serialize, with a cached method handle, and falls back to the Jackson tree of
+ * the record when the record class needs Jackson to map it.
+ *
+ * @param <Record> the record type
+ */
+public final class VectorStoreRecordFieldAccessor<Record> {
+
+    private static final ObjectMapper DEFAULT_OBJECT_MAPPER = new ObjectMapper();
+
+    private final VectorStoreRecordBinding<Record> binding;
+    private final int fieldIndex;
+    private final ObjectMapper objectMapper;
+
+    private VectorStoreRecordFieldAccessor(VectorStoreRecordBinding<Record> binding,
+        int fieldIndex, ObjectMapper objectMapper) {
+        this.binding = binding;
+        this.fieldIndex = fieldIndex;
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * Creates an accessor for the given field of the record class.
+     *
+     * @param recordClass the record class
+     * @param field       the field to read
+     * @param <Record>    the record type
+     * @return the accessor
+     */
+    public static <Record> VectorStoreRecordFieldAccessor<Record> create(
+        @Nonnull Class<?> recordClass,
+        @Nonnull VectorStoreRecordField field) {
+        return create(recordClass, field, null);
+    }
+
+    /**
+     * Creates an accessor for the given field of the record class.
+     *
+     * @param recordClass  the record class
+     * @param field        the field to read
+     * @param objectMapper the object mapper configured for the record class
+     * @param <Record>     the record type
+     * @return the accessor
+     */
+    @SuppressWarnings("unchecked")
+    public static <Record> VectorStoreRecordFieldAccessor<Record> create(
+        @Nonnull Class<?> recordClass,
+        @Nonnull VectorStoreRecordField field,
+        @Nullable ObjectMapper objectMapper) {
+        Objects.requireNonNull(recordClass);
+        Objects.requireNonNull(field);
+
+        ObjectMapper mapper = objectMapper == null ? DEFAULT_OBJECT_MAPPER : objectMapper;
+        return new VectorStoreRecordFieldAccessor<>(
+            VectorStoreRecordBinding.create((Class<Record>) recordClass,
+                Collections.singletonList(field), mapper),
+            0, mapper);
+    }
+
+    /**
+     * Creates the accessors of every field of a binding.
+     *
+     * @param binding      the binding
+     * @param objectMapper the object mapper configured for the record class
+     * @param <Record>     the record type
+     * @return the accessors, by field name
+     */
+    public static <Record> Map<String, VectorStoreRecordFieldAccessor<Record>> create(
+        @Nonnull VectorStoreRecordBinding<Record> binding,
+        @Nonnull ObjectMapper objectMapper) {
+        Map<String, VectorStoreRecordFieldAccessor<Record>> accessors = new HashMap<>();
+        List<VectorStoreRecordField> fields = binding.getFields();
+        for (int i = 0; i < fields.size(); i++) {
+            accessors.put(fields.get(i).getName(),
+                new VectorStoreRecordFieldAccessor<>(binding, i, objectMapper));
+        }
+        return accessors;
+    }
+
+    /**
+     * Gets the field read by this accessor.
+     *
+     * @return the field
+     */
+    public VectorStoreRecordField getField() {
+        return binding.getFields().get(fieldIndex);
+    }
+
+    /**
+     * Gets the value of the field from the record.
+     *
+     * @param record the record
+     * @return the value of the field
+     */
+    @Nullable
+    public Object get(@Nonnull Record record) {
+        return binding.getValue(record, fieldIndex);
+    }
+
+    /**
+     * Gets the value of the field from the record as a primitive vector.
+     * <p>
+     * Supported field values are {@code float[]}, {@code double[]}, collections of numbers and
+     * JSON array strings. A {@code float[]} value, or a list
+     * backed by one, is returned as is and must not be modified.
+     *
+     * @param record the record
+     * @return the vector, or {@code null} if the field has no value
+     */
+    @Nullable
+    public float[] getVector(@Nonnull Record record) {
+        return toFloatArray(get(record));
+    }
+
+    @Nullable
+    private float[] toFloatArray(@Nullable Object value) {
+        if (value == null) {
+            return null;
+        }
+        if (value instanceof float[] || value instanceof Collection) {
+            // Vectors read by a binding are returned without a copy
+            return VectorStoreRecordBinding.toVector(value);
+        }
+        if (value instanceof double[]) {
+            double[] doubles = (double[]) value;
+            float[] result = new float[doubles.length];
+            for (int i = 0; i < doubles.length; i++) {
+                result[i] = (float) doubles[i];
+            }
+            return result;
+        }
+        if (value instanceof String) {
+            try {
+                return toFloatArray(objectMapper.readTree((String) value));
+            } catch (JsonProcessingException e) {
+                throw new SKException("Failed to parse vector field " + getField().getName(), e);
+            }
+        }
+        if (value instanceof JsonNode) {
+            JsonNode node = (JsonNode) value;
+            if (node.isNull()) {
+                return null;
+            }
+            if (node.isTextual()) {
+                return toFloatArray(node.asText());
+            }
+            if (node.isArray()) {
+                float[] result = new float[node.size()];
+                for (int i = 0; i < result.length; i++) {
+                    result[i] = node.get(i).floatValue();
+                }
+                return result;
+            }
+        }
+
+        throw new SKException(String.format("Unsupported vector type '%s' for field %s.",
+            value.getClass().getName(), getField().getName()));
+    }
+}
@@ -3,6 +3,7 @@ package com.microsoft.semantickernel.data.vectorstorage.annotations;
 
 import com.microsoft.semantickernel.data.vectorstorage.definition.DistanceFunction;
 import com.microsoft.semantickernel.data.vectorstorage.definition.IndexKind;
+import com.microsoft.semantickernel.data.vectorstorage.definition.VectorQuantization;
 
 import javax.annotation.Nullable;
 import java.lang.annotation.ElementType;
@@ -43,4 +44,10 @@ public @interface VectorStoreRecordVector {
     @Nullable
     DistanceFunction distanceFunction() default DistanceFunction.UNDEFINED;
 
+    /**
+     * Quantization to be used to compress the vector, for stores that support it.
+     * @return The quantization to be used to compress the vector.
+     */
+    VectorQuantization quantization() default VectorQuantization.NONE;
+
 }
\ No newline at end of file
@@ -0,0 +1,42 @@
+// Copyright (c) Microsoft. All rights reserved.
+package com.microsoft.semantickernel.data.vectorstorage.definition;
+
+/**
+ * Represents how the vectors of a vector field are compressed by stores that support it.
+ * Quantized vectors take less memory and are faster to scan, at the cost of precision. Stores
+ * typically compensate by rescoring the best candidates with the original vectors.
+ */
+public enum VectorQuantization {
+    /**
+     * Scalar quantization, which stores each dimension as a signed 8-bit integer.
+     * Takes a quarter of the memory of 32-bit floats.
+     */
+    SCALAR_INT8("int8"),
+
+    /**
+     * Binary quantization, which stores the sign of each dimension as a single bit.
+     * Takes a thirty-second of the memory of 32-bit floats, and needs more rescoring
+     * than scalar quantization to keep the same recall.
+     */
+    BINARY("binary"),
+
+    /**
+     * No quantization. Vectors are stored with full precision.
+     */
+    NONE(null);
+
+    private final String value;
+
+    VectorQuantization(String value) {
+        this.value = value;
+    }
+
+    /**
+     * Gets the string value of the quantization.
+     *
+     * @return the string value of the quantization
+     */
+    public String getValue() {
+        return value;
+    }
+}
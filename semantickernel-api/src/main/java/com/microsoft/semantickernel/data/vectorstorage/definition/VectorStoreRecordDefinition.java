@@ -213,6 +213,7 @@ public class VectorStoreRecordDefinition {
                     .withDimensions(vectorAttribute.dimensions())
                     .withIndexKind(vectorAttribute.indexKind())
                     .withDistanceFunction(vectorAttribute.distanceFunction())
+                    .withQuantization(vectorAttribute.quantization())
                     .build());
             }
         }
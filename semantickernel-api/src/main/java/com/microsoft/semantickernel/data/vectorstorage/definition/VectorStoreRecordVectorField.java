@@ -11,6 +11,7 @@ public class VectorStoreRecordVectorField extends VectorStoreRecordField {
     private final int dimensions;
     private final IndexKind indexKind;
     private final DistanceFunction distanceFunction;
+    private final VectorQuantization quantization;
 
     /**
      * Create a builder for the VectorStoreRecordVectorField class.
@@ -37,11 +38,34 @@ public class VectorStoreRecordVectorField extends VectorStoreRecordField {
         int dimensions,
         @Nullable IndexKind indexKind,
         @Nullable DistanceFunction distanceFunction) {
+        this(name, storageName, fieldType, dimensions, indexKind, distanceFunction, null);
+    }
+
+    /**
+     * Creates a new instance of the VectorStoreRecordVectorField class.
+     *
+     * @param name the name of the field
+     * @param storageName the storage name of the field
+     * @param fieldType the field type
+     * @param dimensions the number of dimensions in the vector
+     * @param indexKind the index kind
+     * @param distanceFunction the distance function
+     * @param quantization the quantization
+     */
+    public VectorStoreRecordVectorField(
+        @Nonnull String name,
+        @Nullable String storageName,
+        @Nonnull Class<?> fieldType,
+        int dimensions,
+        @Nullable IndexKind indexKind,
+        @Nullable DistanceFunction distanceFunction,
+        @Nullable VectorQuantization quantization) {
         super(name, storageName, fieldType);
         this.dimensions = dimensions;
         this.indexKind = indexKind == null ? IndexKind.UNDEFINED : indexKind;
         this.distanceFunction = distanceFunction == null ? DistanceFunction.UNDEFINED
             : distanceFunction;
+        this.quantization = quantization == null ? VectorQuantization.NONE : quantization;
     }
 
     /**
@@ -71,6 +95,15 @@ public class VectorStoreRecordVectorField extends VectorStoreRecordField {
         return distanceFunction;
     }
 
+    /**
+     * Gets the quantization.
+     *
+     * @return the quantization
+     */
+    public VectorQuantization getQuantization() {
+        return quantization;
+    }
+
     /**
      * A builder for the VectorStoreRecordVectorField class.
      */
@@ -79,6 +112,7 @@ public class VectorStoreRecordVectorField extends VectorStoreRecordField {
         private int dimensions;
         private IndexKind indexKind = IndexKind.UNDEFINED;
         private DistanceFunction distanceFunction = DistanceFunction.UNDEFINED;
+        private VectorQuantization quantization = VectorQuantization.NONE;
 
         /**
          * Sets the number of dimensions in the vector.
@@ -113,6 +147,17 @@ public class VectorStoreRecordVectorField extends VectorStoreRecordField {
             return this;
         }
 
+        /**
+         * Sets the quantization.
+         *
+         * @param quantization the quantization
+         * @return the builder
+         */
+        public Builder withQuantization(VectorQuantization quantization) {
+            this.quantization = quantization;
+            return this;
+        }
+
         /**
          * Builds a new instance of the VectorStoreRecordVectorField class.
          *
@@ -132,7 +177,8 @@ public class VectorStoreRecordVectorField extends VectorStoreRecordField {
 
             return new VectorStoreRecordVectorField(name, storageName, fieldType, dimensions,
                 indexKind,
-                distanceFunction);
+                distanceFunction,
+                quantization);
         }
     }
 }
@@ -35,6 +35,10 @@ public class VectorSearchOptions {
     private final int skip;
     private final boolean includeVectors;
     private final boolean includeTotalCount;
+    private final int efSearch;
+    private final int probes;
+    @Nullable
+    private final Double scoreThreshold;
 
     /**
      * Creates a new instance of the VectorSearchOptions class.
@@ -48,12 +52,52 @@ public class VectorSearchOptions {
     public VectorSearchOptions(VectorSearchFilter vectorSearchFilter,
         String vectorFieldName, int top, int skip, boolean includeVectors,
         boolean includeTotalCount) {
+        this(vectorSearchFilter, vectorFieldName, top, skip, includeVectors, includeTotalCount,
+            0, 0);
+    }
+
+    /**
+     * Creates a new instance of the VectorSearchOptions class.
+     * @param vectorSearchFilter The vector search filter.
+     * @param vectorFieldName The name of the vector field.
+     * @param top The limit of the number of results to return.
+     * @param skip The offset of the results to return.
+     * @param includeVectors A value indicating whether to include vectors in the results.
+     * @param includeTotalCount A value indicating whether to include the total count of the results.
+     * @param efSearch The size of the candidate list of HNSW index searches, or zero for the default of the store.
+     * @param probes The number of lists probed by IVFFlat index searches, or zero for the default of the store.
+     */
+    public VectorSearchOptions(VectorSearchFilter vectorSearchFilter,
+        String vectorFieldName, int top, int skip, boolean includeVectors,
+        boolean includeTotalCount, int efSearch, int probes) {
+        this(vectorSearchFilter, vectorFieldName, top, skip, includeVectors, includeTotalCount,
+            efSearch, probes, null);
+    }
+
+    /**
+     * Creates a new instance of the VectorSearchOptions class.
+     * @param vectorSearchFilter The vector search filter.
+     * @param vectorFieldName The name of the vector field.
+     * @param top The limit of the number of results to return.
+     * @param skip The offset of the results to return.
+     * @param includeVectors A value indicating whether to include vectors in the results.
+     * @param includeTotalCount A value indicating whether to include the total count of the results.
+     * @param efSearch The size of the candidate list of HNSW index searches, or zero for the default of the store.
+     * @param probes The number of lists probed by IVFFlat index searches, or zero for the default of the store.
+     * @param scoreThreshold The score threshold of range searches, or {@code null} to search the nearest records.
+     */
+    public VectorSearchOptions(VectorSearchFilter vectorSearchFilter,
+        String vectorFieldName, int top, int skip, boolean includeVectors,
+        boolean includeTotalCount, int efSearch, int probes, @Nullable Double scoreThreshold) {
         this.vectorSearchFilter = vectorSearchFilter;
         this.vectorFieldName = vectorFieldName;
         this.top = Math.max(1, top);
         this.skip = Math.max(0, skip);
         this.includeVectors = includeVectors;
         this.includeTotalCount = includeTotalCount;
+        this.efSearch = Math.max(0, efSearch);
+        this.probes = Math.max(0, probes);
+        this.scoreThreshold = scoreThreshold;
     }
 
     /**
@@ -112,6 +156,40 @@ public class VectorSearchOptions {
         return includeTotalCount;
     }
 
+    /**
+     * Gets the size of the dynamic candidate list of HNSW index searches. Larger values improve
+     * recall at the cost of latency. Stores without HNSW indexes ignore it.
+     *
+     * @return The size of the candidate list, or zero for the default of the store.
+     */
+    public int getEfSearch() {
+        return efSearch;
+    }
+
+    /**
+     * Gets the number of lists probed by IVFFlat index searches. Larger values improve recall
+     * at the cost of latency. Stores without IVFFlat indexes ignore it.
+     *
+     * @return The number of probed lists, or zero for the default of the store.
+     */
+    public int getProbes() {
+        return probes;
+    }
+
+    /**
+     * Gets the score threshold of range searches. When set, stores that support range searches
+     * return the records whose score is within the threshold, at most {@link #getTop()} of them,
+     * instead of the nearest records. Scores are compared in the unit of the store, for example
+     * distances are within the threshold when they are not greater than it. Stores without range
+     * searches ignore it.
+     *
+     * @return The score threshold, or {@code null} to search the nearest records.
+     */
+    @Nullable
+    public Double getScoreThreshold() {
+        return scoreThreshold;
+    }
+
     /**
      * Creates a new instance of the Builder class.
      *
@@ -131,6 +209,10 @@ public class VectorSearchOptions {
         private int skip = 0;
         private boolean includeVectors = false;
         private boolean includeTotalCount = false;
+        private int efSearch = 0;
+        private int probes = 0;
+        @Nullable
+        private Double scoreThreshold;
 
         /**
          * Sets the vector search filter.
@@ -193,6 +275,37 @@ public class VectorSearchOptions {
             return this;
         }
 
+        /**
+         * Sets the size of the dynamic candidate list of HNSW index searches.
+         * @param efSearch the size of the candidate list, or zero for the default of the store
+         * @return {@code this} builder
+         */
+        public Builder withEfSearch(int efSearch) {
+            this.efSearch = efSearch;
+            return this;
+        }
+
+        /**
+         * Sets the number of lists probed by IVFFlat index searches.
+         * @param probes the number of probed lists, or zero for the default of the store
+         * @return {@code this} builder
+         */
+        public Builder withProbes(int probes) {
+            this.probes = probes;
+            return this;
+        }
+
+        /**
+         * Sets the score threshold of range searches, which return the records whose score is
+         * within the threshold instead of the nearest records.
+         * @param scoreThreshold the score threshold, or {@code null} to search the nearest records
+         * @return {@code this} builder
+         */
+        public Builder withScoreThreshold(@Nullable Double scoreThreshold) {
+            this.scoreThreshold = scoreThreshold;
+            return this;
+        }
+
         /**
          * Builds a new instance of the VectorSearchOptions class.
          * @return a new instance of the VectorSearchOptions class
@@ -200,7 +313,7 @@ public class VectorSearchOptions {
         @Override
         public VectorSearchOptions build() {
             return new VectorSearchOptions(vectorSearchFilter, vectorFieldName, top, skip,
-                includeVectors, includeTotalCount);
+                includeVectors, includeTotalCount, efSearch, probes, scoreThreshold);
         }
     }
 }
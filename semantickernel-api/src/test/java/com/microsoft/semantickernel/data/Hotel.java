@@ -54,8 +54,8 @@ public class Hotel {
         @JsonProperty("summary") String description,
         @JsonProperty("summaryEmbedding1") List<Float> euclidean,
         @JsonProperty("summaryEmbedding2") List<Float> cosineDistance,
-        @JsonProperty("summaryEmbedding2") List<Float> cosineSimilarity,
-        @JsonProperty("summaryEmbedding3") List<Float> dotProduct,
+        @JsonProperty("summaryEmbedding3") List<Float> cosineSimilarity,
+        @JsonProperty("summaryEmbedding4") List<Float> dotProduct,
         @JsonProperty("rating") double rating) {
         this.id = id;
         this.name = name;
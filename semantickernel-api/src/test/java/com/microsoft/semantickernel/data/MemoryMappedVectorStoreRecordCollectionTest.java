@@ -0,0 +1,289 @@
+// Copyright (c) Microsoft. All rights reserved.
+package com.microsoft.semantickernel.data;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import com.microsoft.semantickernel.data.vectorsearch.VectorSearchFilter;
+import com.microsoft.semantickernel.data.vectorsearch.VectorSearchResult;
+import com.microsoft.semantickernel.data.vectorstorage.VectorStoreRecordCollection;
+import com.microsoft.semantickernel.data.vectorstorage.definition.DistanceFunction;
+import com.microsoft.semantickernel.data.vectorstorage.options.VectorSearchOptions;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+
+public class MemoryMappedVectorStoreRecordCollectionTest {
+
+    private Path directory;
+    private MemoryMappedVectorStore vectorStore;
+    private VectorStoreRecordCollection<String, Hotel> recordCollection;
+
+    @BeforeEach
+    public void setup() throws IOException {
+        directory = Files.createTempDirectory("sk-memory-mapped");
+        vectorStore = new MemoryMappedVectorStore(directory);
+        recordCollection = getCollection(vectorStore);
+        recordCollection.createCollectionAsync().block();
+    }
+
+    @AfterEach
+    public void cleanup() throws IOException {
+        recordCollection.deleteCollectionAsync().block();
+        vectorStore.close();
+        try (Stream<Path> paths = Files.walk(directory)) {
+            for (Path path : paths.sorted(Comparator.reverseOrder())
+                .collect(Collectors.toList())) {
+                Files.delete(path);
+            }
+        }
+    }
+
+    private static VectorStoreRecordCollection<String, Hotel> getCollection(
+        MemoryMappedVectorStore vectorStore) {
+        return vectorStore.getCollection("hotels",
+            MemoryMappedVectorStoreRecordCollectionOptions.<Hotel>builder()
+                .withRecordClass(Hotel.class)
+                .build());
+    }
+
+    private static List<Hotel> getHotels() {
+        return Arrays.asList(
+            new Hotel("id_1", "Hotel 1", 1, "Hotel 1 description",
+                Arrays.asList(0.5f, 3.2f, 7.1f, -4.0f, 2.8f, 10.0f, -1.3f, 5.5f), null, null, null,
+                4.0),
+            new Hotel("id_2", "Hotel 2", 2, "Hotel 2 description",
+                Arrays.asList(-2.0f, 8.1f, 0.9f, 5.4f, -3.3f, 2.2f, 9.9f, -4.5f), null, null, null,
+                4.0),
+            new Hotel("id_3", "Hotel 3", 3, "Hotel 3 description",
+                Arrays.asList(4.5f, -6.2f, 3.1f, 7.7f, -0.8f, 1.1f, -2.2f, 8.3f), null, null, null,
+                5.0),
+            new Hotel("id_4", "Hotel 4", 4, "Hotel 4 description",
+                Arrays.asList(7.0f, 1.2f, -5.3f, 2.5f, 6.6f, -7.8f, 3.9f, -0.1f), null, null, null,
+                4.0),
+            new Hotel("id_5", "Hotel 5", 5, "Hotel 5 description",
+                Arrays.asList(-3.5f, 4.4f, -1.2f, 9.9f, 5.7f, -6.1f, 7.8f, -2.0f), null, null, null,
+                4.0));
+    }
+
+    /**
+     * Search embeddings similar to the third hotel embeddings.
+     * In order of similarity:
+     * 1. Hotel 3
+     * 2. Hotel 1
+     * 3. Hotel 4
+     */
+    private static final List<Float> SEARCH_EMBEDDINGS = Arrays.asList(4.5f, -6.2f, 3.1f, 7.7f,
+        -0.8f, 1.1f, -2.2f, 8.2f);
+
+    @Test
+    public void upsertAndGetAsync() {
+        List<Hotel> hotels = getHotels();
+        List<String> keys = recordCollection.upsertBatchAsync(hotels, null).block();
+        assertEquals(hotels.stream().map(Hotel::getId).collect(Collectors.toList()), keys);
+
+        for (Hotel hotel : hotels) {
+            Hotel stored = recordCollection.getAsync(hotel.getId(), null).block();
+            assertNotNull(stored);
+            assertEquals(hotel.getName(), stored.getName());
+            assertEquals(hotel.getDescription(), stored.getDescription());
+            assertEquals(hotel.getRating(), stored.getRating());
+            assertEquals(hotel.getEuclidean(), stored.getEuclidean());
+        }
+    }
+
+    @Test
+    public void deleteRecordAsync() {
+        List<Hotel> hotels = getHotels();
+        recordCollection.upsertBatchAsync(hotels, null).block();
+
+        recordCollection.deleteAsync(hotels.get(0).getId(), null).block();
+        assertNull(recordCollection.getAsync(hotels.get(0).getId(), null).block());
+        assertNotNull(recordCollection.getAsync(hotels.get(1).getId(), null).block());
+    }
+
+    @ParameterizedTest
+    @EnumSource(DistanceFunction.class)
+    public void exactSearch(DistanceFunction distanceFunction) {
+        List<Hotel> hotels = getHotels();
+        recordCollection.upsertBatchAsync(hotels, null).block();
+
+        VectorSearchOptions options = VectorSearchOptions.builder()
+            .withVectorFieldName(distanceFunction.getValue())
+            .withTop(3)
+            .build();
+
+        List<VectorSearchResult<Hotel>> results = recordCollection
+            .searchAsync(SEARCH_EMBEDDINGS, options).block().getResults();
+        assertEquals(3, results.size());
+        // The third hotel should be the most similar
+        assertEquals(hotels.get(2).getId(), results.get(0).getRecord().getId());
+        assertEquals(hotels.get(2).getEuclidean(), results.get(0).getRecord().getEuclidean());
+    }
+
+    @Test
+    public void searchWithFilter() {
+        List<Hotel> hotels = getHotels();
+        recordCollection.upsertBatchAsync(hotels, null).block();
+
+        VectorSearchOptions options = VectorSearchOptions.builder()
+            .withTop(3)
+            .withVectorSearchFilter(
+                VectorSearchFilter.builder()
+                    .equalTo("rating", 4.0).build())
+            .build();
+
+        // The third hotel is filtered out, so the first hotel is the most similar
+        List<VectorSearchResult<Hotel>> results = recordCollection
+            .searchAsync(SEARCH_EMBEDDINGS, options).block().getResults();
+        assertEquals(3, results.size());
+        assertEquals(hotels.get(0).getId(), results.get(0).getRecord().getId());
+    }
+
+    @Test
+    public void reopenCollection() throws IOException {
+        List<Hotel> hotels = getHotels();
+        recordCollection.upsertBatchAsync(hotels, null).block();
+        recordCollection.deleteAsync(hotels.get(1).getId(), null).block();
+        // Overwrite a record, so the log holds a superseded entry
+        recordCollection.upsertAsync(hotels.get(3), null).block();
+
+        // A partially written entry is dropped when the log is replayed
+        Files.write(directory.resolve("hotels").resolve("records.log"),
+            new byte[] { 0, 0, 1, 0, 42 }, StandardOpenOption.APPEND);
+
+        try (MemoryMappedVectorStore reopened = new MemoryMappedVectorStore(directory)) {
+            assertEquals(Arrays.asList("hotels"), reopened.getCollectionNamesAsync().block());
+
+            VectorStoreRecordCollection<String, Hotel> collection = getCollection(reopened);
+            assertTrue(collection.collectionExistsAsync().block());
+            assertNull(collection.getAsync(hotels.get(1).getId(), null).block());
+            assertEquals(hotels.get(3).getEuclidean(),
+                collection.getAsync(hotels.get(3).getId(), null).block().getEuclidean());
+
+            List<VectorSearchResult<Hotel>> results = collection
+                .searchAsync(SEARCH_EMBEDDINGS, VectorSearchOptions.builder().withTop(10).build())
+                .block().getResults();
+            assertEquals(4, results.size());
+            assertEquals(hotels.get(2).getId(), results.get(0).getRecord().getId());
+
+            // Records written after the truncation are replayed too
+            collection.upsertAsync(hotels.get(1), null).block();
+        }
+        try (MemoryMappedVectorStore reopened = new MemoryMappedVectorStore(directory)) {
+            assertNotNull(getCollection(reopened).getAsync(hotels.get(1).getId(), null).block());
+        }
+    }
+
+    @Test
+    public void reopenFromCheckpoint() throws IOException {
+        List<Hotel> hotels = getHotels();
+        recordCollection.upsertBatchAsync(hotels, null).block();
+        recordCollection.deleteAsync(hotels.get(1).getId(), null).block();
+        Path checkpoint = directory.resolve("hotels").resolve("records.checkpoint");
+
+        // Another store appends to the log, then this one writes a checkpoint covering the log
+        // up to its own writes, so the entry of the other store is replayed from the log
+        Hotel hotel = new Hotel("id_6", "Hotel 6", 6, "Hotel 6 description",
+            hotels.get(0).getEuclidean(), null, null, null, 3.0);
+        try (MemoryMappedVectorStore other = new MemoryMappedVectorStore(directory)) {
+            getCollection(other).upsertAsync(hotel, null).block();
+        }
+        vectorStore.close();
+        assertTrue(Files.exists(checkpoint));
+
+        try (MemoryMappedVectorStore reopened = new MemoryMappedVectorStore(directory)) {
+            VectorStoreRecordCollection<String, Hotel> collection = getCollection(reopened);
+            assertNull(collection.getAsync(hotels.get(1).getId(), null).block());
+            assertEquals(hotel.getName(),
+                collection.getAsync(hotel.getId(), null).block().getName());
+            assertEquals(5, collection.searchAsync(SEARCH_EMBEDDINGS,
+                VectorSearchOptions.builder().withTop(10).build()).block().getResults().size());
+            // The checkpoint is deleted once read, as the log may change
+            assertFalse(Files.exists(checkpoint));
+        }
+
+        // A corrupted checkpoint is ignored and the log replayed in full
+        byte[] bytes = Files.readAllBytes(checkpoint);
+        bytes[bytes.length / 2] ^= 1;
+        Files.write(checkpoint, bytes);
+        try (MemoryMappedVectorStore reopened = new MemoryMappedVectorStore(directory)) {
+            VectorStoreRecordCollection<String, Hotel> collection = getCollection(reopened);
+            assertNull(collection.getAsync(hotels.get(1).getId(), null).block());
+            assertEquals(hotels.get(2).getEuclidean(),
+                collection.getAsync(hotels.get(2).getId(), null).block().getEuclidean());
+            assertNotNull(collection.getAsync(hotel.getId(), null).block());
+        }
+    }
+
+    @Test
+    public void closeAndReopenStore() {
+        List<Hotel> hotels = getHotels();
+        recordCollection.upsertBatchAsync(hotels, null).block();
+        vectorStore.close();
+
+        // The files are released, so another store can open and write the collection
+        try (MemoryMappedVectorStore reopened = new MemoryMappedVectorStore(directory)) {
+            VectorStoreRecordCollection<String, Hotel> collection = getCollection(reopened);
+            assertEquals(hotels.get(2).getEuclidean(),
+                collection.getAsync(hotels.get(2).getId(), null).block().getEuclidean());
+            collection.deleteAsync(hotels.get(0).getId(), null).block();
+        }
+
+        // The closed store reopens the collection on its next operation
+        assertNull(recordCollection.getAsync(hotels.get(0).getId(), null).block());
+        List<VectorSearchResult<Hotel>> results = recordCollection
+            .searchAsync(SEARCH_EMBEDDINGS, VectorSearchOptions.builder().withTop(10).build())
+            .block().getResults();
+        assertEquals(4, results.size());
+        assertEquals(hotels.get(2).getId(), results.get(0).getRecord().getId());
+
+        // Closing a collection closes it for its store too
+        ((MemoryMappedVectorStoreRecordCollection<Hotel>) recordCollection).close();
+        assertNotNull(recordCollection.getAsync(hotels.get(1).getId(), null).block());
+    }
+
+    @Test
+    public void compactLogWhileWriting() throws IOException {
+        Hotel hotel = getHotels().get(0);
+        char[] description = new char[1024];
+        Arrays.fill(description, 'x');
+        Hotel largeHotel = new Hotel(hotel.getId(), hotel.getName(), hotel.getCode(),
+            new String(description), hotel.getEuclidean(), null, null, null, hotel.getRating());
+
+        // Overwrite the record with about 4 MB of log entries
+        for (int i = 0; i < 4096; i++) {
+            recordCollection.upsertAsync(largeHotel, null).block();
+        }
+
+        // The log is compacted once its superseded entries outweigh the live ones
+        long logSize = Files.size(directory.resolve("hotels").resolve("records.log"));
+        assertTrue(logSize < 2 << 20, "Log size " + logSize);
+        assertEquals(largeHotel.getDescription(),
+            recordCollection.getAsync(hotel.getId(), null).block().getDescription());
+    }
+
+    @Test
+    public void deleteCollectionAsync() {
+        recordCollection.upsertBatchAsync(getHotels(), null).block();
+        recordCollection.deleteCollectionAsync().block();
+
+        assertFalse(recordCollection.collectionExistsAsync().block());
+        assertFalse(Files.exists(directory.resolve("hotels")));
+    }
+}
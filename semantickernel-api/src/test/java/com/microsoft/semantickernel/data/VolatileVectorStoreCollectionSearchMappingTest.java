@@ -0,0 +1,119 @@
+// Copyright (c) Microsoft. All rights reserved.
+package com.microsoft.semantickernel.data;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.microsoft.semantickernel.data.filter.FilterClause;
+import com.microsoft.semantickernel.data.vectorsearch.VectorSearchFilter;
+import com.microsoft.semantickernel.data.vectorstorage.annotations.VectorStoreRecordData;
+import com.microsoft.semantickernel.data.vectorstorage.annotations.VectorStoreRecordKey;
+import com.microsoft.semantickernel.data.vectorstorage.definition.VectorStoreRecordDefinition;
+import com.microsoft.semantickernel.exceptions.SKException;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Collectors;
+import org.junit.jupiter.api.Test;
+
+public class VolatileVectorStoreCollectionSearchMappingTest {
+
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+
+    private static class Document {
+        @VectorStoreRecordKey
+        private final String id;
+        @VectorStoreRecordData(isFilterable = true)
+        private final String category;
+        @VectorStoreRecordData(isFilterable = true)
+        private final List<String> tags;
+        @VectorStoreRecordData(isFilterable = true)
+        private final double rating;
+
+        Document(String id, String category, List<String> tags, double rating) {
+            this.id = id;
+            this.category = category;
+            this.tags = tags;
+            this.rating = rating;
+        }
+
+        public String getId() {
+            return id;
+        }
+
+        public String getCategory() {
+            return category;
+        }
+
+        public List<String> getTags() {
+            return tags;
+        }
+
+        public double getRating() {
+            return rating;
+        }
+    }
+
+    private static final List<Document> DOCUMENTS = Arrays.asList(
+        new Document("1", "news", Arrays.asList("java", "ai"), 4.0),
+        new Document("2", "news", Collections.singletonList("python"), 5.0),
+        new Document("3", "blog", Arrays.asList("ai", "python"), 4.0),
+        new Document("4", "blog", null, 3.0));
+
+    private static List<String> filter(VectorSearchFilter filter) {
+        return VolatileVectorStoreCollectionSearchMapping.filterRecords(DOCUMENTS, filter,
+            VectorStoreRecordDefinition.fromRecordClass(Document.class), OBJECT_MAPPER)
+            .stream().map(Document::getId).collect(Collectors.toList());
+    }
+
+    @Test
+    public void equalTo() {
+        assertEquals(Arrays.asList("3", "4"),
+            filter(VectorSearchFilter.builder().equalTo("category", "blog").build()));
+    }
+
+    @Test
+    public void equalToConvertsValueToFieldType() {
+        assertEquals(Arrays.asList("1", "3"),
+            filter(VectorSearchFilter.builder().equalTo("rating", 4).build()));
+    }
+
+    @Test
+    public void anyTagEqualTo() {
+        assertEquals(Arrays.asList("1", "3"),
+            filter(VectorSearchFilter.builder().anyTagEqualTo("tags", "ai").build()));
+    }
+
+    @Test
+    public void clausesAreCombined() {
+        assertEquals(Collections.singletonList("3"),
+            filter(VectorSearchFilter.builder()
+                .equalTo("category", "blog")
+                .anyTagEqualTo("tags", "python")
+                .build()));
+    }
+
+    @Test
+    public void emptyFilterAcceptsEveryRecord() {
+        assertNull(VolatileVectorStoreCollectionSearchMapping.createFilter(
+            VectorSearchFilter.createDefault(),
+            VectorStoreRecordDefinition.fromRecordClass(Document.class), OBJECT_MAPPER));
+    }
+
+    @Test
+    public void unsupportedClauseThrows() {
+        VectorStoreRecordDefinition recordDefinition = VectorStoreRecordDefinition
+            .fromRecordClass(Document.class);
+        FilterClause clause = new FilterClause() {
+        };
+
+        assertThrows(SKException.class,
+            () -> VolatileVectorStoreCollectionSearchMapping.createFilter(
+                new VectorSearchFilter(Collections.singletonList(clause)), recordDefinition,
+                VolatileVectorStoreCollectionSearchMapping.<Document>createAccessors(
+                    Document.class, recordDefinition, OBJECT_MAPPER),
+                OBJECT_MAPPER));
+    }
+}
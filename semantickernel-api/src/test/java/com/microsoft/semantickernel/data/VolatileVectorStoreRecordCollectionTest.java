@@ -4,16 +4,32 @@ package com.microsoft.semantickernel.data;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
 
+import com.microsoft.semantickernel.data.vectorsearch.VectorOperations;
 import com.microsoft.semantickernel.data.vectorsearch.VectorSearchFilter;
 import com.microsoft.semantickernel.data.vectorsearch.VectorSearchResult;
+import com.microsoft.semantickernel.data.vectorsearch.VectorSearchResults;
 import com.microsoft.semantickernel.data.vectorstorage.definition.DistanceFunction;
+import com.microsoft.semantickernel.data.vectorstorage.definition.IndexKind;
+import com.microsoft.semantickernel.data.vectorstorage.definition.VectorQuantization;
+import com.microsoft.semantickernel.data.vectorstorage.definition.VectorStoreRecordDefinition;
+import com.microsoft.semantickernel.data.vectorstorage.definition.VectorStoreRecordField;
+import com.microsoft.semantickernel.data.vectorstorage.definition.VectorStoreRecordVectorField;
 import com.microsoft.semantickernel.data.vectorstorage.options.VectorSearchOptions;
+import com.microsoft.semantickernel.exceptions.SKException;
 import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -204,4 +220,460 @@ public class VolatileVectorStoreRecordCollectionTest {
         // The first hotel should be the most similar
         assertEquals(hotels.get(0).getId(), results.get(0).getRecord().getId());
     }
+
+    private static List<String> searchByName(String name) {
+        VectorSearchOptions options = VectorSearchOptions.builder()
+            .withTop(5)
+            .withVectorSearchFilter(
+                VectorSearchFilter.builder()
+                    .equalTo("name", name)
+                    .equalTo("rating", 4.0).build())
+            .build();
+
+        return recordCollection.searchAsync(SEARCH_EMBEDDINGS, options).block().getResults()
+            .stream().map(result -> result.getRecord().getId()).collect(Collectors.toList());
+    }
+
+    @Test
+    public void searchWithIndexedFilter() {
+        List<Hotel> hotels = getHotels();
+        recordCollection.upsertBatchAsync(hotels, null).block();
+
+        // The name is filterable, so it is looked up in the index before the rating is tested
+        assertEquals(Collections.singletonList("id_4"), searchByName("Hotel 4"));
+        assertEquals(Collections.emptyList(), searchByName("Hotel 3"));
+
+        Hotel renamed = new Hotel("id_4", "Hotel 6", 4, "Hotel 4 description",
+            hotels.get(3).getEuclidean(), null, null, null, 4.0);
+        recordCollection.upsertAsync(renamed, null).block();
+        assertEquals(Collections.emptyList(), searchByName("Hotel 4"));
+        assertEquals(Collections.singletonList("id_4"), searchByName("Hotel 6"));
+
+        recordCollection.deleteAsync("id_4", null).block();
+        assertEquals(Collections.emptyList(), searchByName("Hotel 6"));
+    }
+
+    @ParameterizedTest
+    @EnumSource(DistanceFunction.class)
+    public void searchAfterDeleteAndUpsert(DistanceFunction distanceFunction) {
+        List<Hotel> hotels = getHotels();
+        recordCollection.upsertBatchAsync(hotels, null).block();
+
+        VectorSearchOptions options = VectorSearchOptions.builder()
+            .withVectorFieldName(distanceFunction.getValue())
+            .withTop(1)
+            .build();
+
+        // Without the third hotel, the first hotel is the most similar
+        recordCollection.deleteAsync(hotels.get(2).getId(), null).block();
+        List<VectorSearchResult<Hotel>> results = recordCollection
+            .searchAsync(SEARCH_EMBEDDINGS, options).block().getResults();
+        assertEquals(1, results.size());
+        assertEquals(hotels.get(0).getId(), results.get(0).getRecord().getId());
+
+        recordCollection.upsertAsync(hotels.get(2), null).block();
+        results = recordCollection.searchAsync(SEARCH_EMBEDDINGS, options).block().getResults();
+        assertEquals(1, results.size());
+        assertEquals(hotels.get(2).getId(), results.get(0).getRecord().getId());
+    }
+
+    @Test
+    public void cosineSearchScores() {
+        List<Hotel> hotels = getHotels();
+        recordCollection.upsertBatchAsync(hotels, null).block();
+
+        VectorSearchOptions options = VectorSearchOptions.builder()
+            .withVectorFieldName(DistanceFunction.COSINE_SIMILARITY.getValue())
+            .withTop(5)
+            .build();
+
+        List<VectorSearchResult<Hotel>> results = recordCollection
+            .searchAsync(SEARCH_EMBEDDINGS, options).block().getResults();
+        assertEquals(5, results.size());
+        for (VectorSearchResult<Hotel> result : results) {
+            assertEquals(VectorOperations.cosineSimilarity(SEARCH_EMBEDDINGS,
+                result.getRecord().getEuclidean()), result.getScore(), 1e-5);
+        }
+    }
+
+    private static VolatileVectorStoreRecordCollection<Hotel> createHnswCollection() {
+        return createHnswCollection(null);
+    }
+
+    private static VolatileVectorStoreRecordCollection<Hotel> createHnswCollection(
+        ForkJoinPool pool) {
+        VectorStoreRecordDefinition definition = VectorStoreRecordDefinition
+            .fromRecordClass(Hotel.class);
+        List<VectorStoreRecordField> fields = new ArrayList<>(definition.getNonVectorFields());
+        for (VectorStoreRecordVectorField vectorField : definition.getVectorFields()) {
+            fields.add(VectorStoreRecordVectorField.builder()
+                .withName(vectorField.getName())
+                .withStorageName(vectorField.getStorageName())
+                .withFieldType(vectorField.getFieldType())
+                .withDimensions(vectorField.getDimensions())
+                .withDistanceFunction(vectorField.getDistanceFunction())
+                .withIndexKind(IndexKind.HNSW)
+                .build());
+        }
+
+        VolatileVectorStoreRecordCollection<Hotel> collection = new VolatileVectorStoreRecordCollection<>(
+            "hotels-hnsw",
+            VolatileVectorStoreRecordCollectionOptions.<Hotel>builder()
+                .withRecordClass(Hotel.class)
+                .withRecordDefinition(VectorStoreRecordDefinition.fromFields(fields))
+                .withHnswM(4)
+                .withHnswEfConstruction(16)
+                .withHnswEfSearch(16)
+                .withParallelSearchPool(pool)
+                .build());
+        collection.createCollectionAsync().block();
+        return collection;
+    }
+
+    @ParameterizedTest
+    @EnumSource(DistanceFunction.class)
+    public void hnswSearch(DistanceFunction distanceFunction) {
+        VolatileVectorStoreRecordCollection<Hotel> collection = createHnswCollection();
+        List<Hotel> hotels = getHotels();
+        collection.upsertBatchAsync(hotels, null).block();
+
+        VectorSearchOptions options = VectorSearchOptions.builder()
+            .withVectorFieldName(distanceFunction.getValue())
+            .withTop(3)
+            .build();
+
+        List<VectorSearchResult<Hotel>> results = collection
+            .searchAsync(SEARCH_EMBEDDINGS, options).block().getResults();
+        assertNotNull(results);
+        assertEquals(3, results.size());
+        // The third hotel should be the most similar
+        assertEquals(hotels.get(2).getId(), results.get(0).getRecord().getId());
+
+        // Deleted records are no longer returned by the index
+        collection.deleteAsync(hotels.get(2).getId(), null).block();
+        results = collection.searchAsync(SEARCH_EMBEDDINGS, options).block().getResults();
+        assertNotNull(results);
+        assertEquals(3, results.size());
+        assertEquals(hotels.get(0).getId(), results.get(0).getRecord().getId());
+    }
+
+    @Test
+    public void hnswSearchWhileCompacting() {
+        ForkJoinPool pool = new ForkJoinPool(1);
+        try {
+            VolatileVectorStoreRecordCollection<Hotel> collection = createHnswCollection(pool);
+            Random random = new Random(42);
+            List<Hotel> hotels = new ArrayList<>();
+            for (int i = 0; i < 256; i++) {
+                List<Float> vector = new ArrayList<>();
+                for (int j = 0; j < 8; j++) {
+                    vector.add(random.nextFloat() * 20 - 10);
+                }
+                hotels.add(new Hotel("random_" + i, "Random " + i, i, "Random hotel", vector,
+                    null, null, null, 3.0));
+            }
+            collection.upsertBatchAsync(hotels, null).block();
+
+            VectorSearchOptions options = VectorSearchOptions.builder()
+                .withVectorFieldName(DistanceFunction.EUCLIDEAN_DISTANCE.getValue())
+                .withTop(3)
+                .build();
+
+            // Deleting most records rebuilds the graph, while searches and upserts go on
+            Set<String> liveKeys = new HashSet<>();
+            for (int i = 0; i < hotels.size(); i++) {
+                if (i % 4 == 0) {
+                    liveKeys.add(hotels.get(i).getId());
+                    continue;
+                }
+                collection.deleteAsync(hotels.get(i).getId(), null).block();
+                for (VectorSearchResult<Hotel> result : collection
+                    .searchAsync(SEARCH_EMBEDDINGS, options).block().getResults()) {
+                    assertTrue(liveKeys.contains(result.getRecord().getId())
+                        || Integer.parseInt(result.getRecord().getId().substring(7)) > i);
+                }
+            }
+            collection.upsertAsync(new Hotel("id_1", "Hotel 1", 1, "Hotel 1 description",
+                SEARCH_EMBEDDINGS, null, null, null, 4.0), null).block();
+            pool.awaitQuiescence(10, TimeUnit.SECONDS);
+
+            List<VectorSearchResult<Hotel>> results = collection
+                .searchAsync(SEARCH_EMBEDDINGS, options).block().getResults();
+            assertEquals(3, results.size());
+            assertEquals("id_1", results.get(0).getRecord().getId());
+            for (int i = 1; i < results.size(); i++) {
+                assertTrue(liveKeys.contains(results.get(i).getRecord().getId()));
+            }
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @ParameterizedTest
+    @EnumSource(DistanceFunction.class)
+    public void hnswSearchWithFilter(DistanceFunction distanceFunction) {
+        VolatileVectorStoreRecordCollection<Hotel> collection = createHnswCollection();
+        List<Hotel> hotels = getHotels();
+        collection.upsertBatchAsync(hotels, null).block();
+
+        VectorSearchOptions options = VectorSearchOptions.builder()
+            .withVectorFieldName(distanceFunction.getValue())
+            .withTop(3)
+            .withVectorSearchFilter(
+                VectorSearchFilter.builder()
+                    .equalTo("rating", 4.0).build())
+            .build();
+
+        List<VectorSearchResult<Hotel>> results = collection
+            .searchAsync(SEARCH_EMBEDDINGS, options).block().getResults();
+        assertNotNull(results);
+        assertEquals(3, results.size());
+        // The first hotel should be the most similar
+        assertEquals(hotels.get(0).getId(), results.get(0).getRecord().getId());
+    }
+
+    @ParameterizedTest
+    @EnumSource(DistanceFunction.class)
+    public void hnswSearchWithSelectiveFilter(DistanceFunction distanceFunction) {
+        VolatileVectorStoreRecordCollection<Hotel> collection = createHnswCollection();
+        // More records than a filtered search visits before scanning the vectors
+        Random random = new Random(42);
+        List<Hotel> hotels = new ArrayList<>(getHotels());
+        for (int i = 0; i < 2 * 1024; i++) {
+            List<Float> vector = new ArrayList<>();
+            for (int j = 0; j < 8; j++) {
+                vector.add(random.nextFloat() * 20 - 10);
+            }
+            hotels.add(new Hotel("random_" + i, "Random " + i, i, "Random hotel", vector,
+                null, null, null, 3.0));
+        }
+        collection.upsertBatchAsync(hotels, null).block();
+        recordCollection.upsertBatchAsync(hotels, null).block();
+
+        for (VectorSearchFilter filter : Arrays.asList(
+            VectorSearchFilter.builder().equalTo("rating", 4.0).build(),
+            VectorSearchFilter.builder().equalTo("name", "Hotel 4").build())) {
+            VectorSearchOptions options = VectorSearchOptions.builder()
+                .withVectorFieldName(distanceFunction.getValue())
+                .withTop(3)
+                .withVectorSearchFilter(filter)
+                .build();
+
+            List<VectorSearchResult<Hotel>> expected = recordCollection
+                .searchAsync(SEARCH_EMBEDDINGS, options).block().getResults();
+            List<VectorSearchResult<Hotel>> results = collection
+                .searchAsync(SEARCH_EMBEDDINGS, options).block().getResults();
+            assertNotNull(results);
+            assertEquals(expected.size(), results.size());
+            for (int i = 0; i < expected.size(); i++) {
+                assertEquals(expected.get(i).getRecord().getId(),
+                    results.get(i).getRecord().getId());
+                assertEquals(expected.get(i).getScore(), results.get(i).getScore(), 1e-4);
+            }
+        }
+    }
+
+    @ParameterizedTest
+    @EnumSource(value = DistanceFunction.class, names = { "COSINE_SIMILARITY",
+            "COSINE_DISTANCE" })
+    public void hnswSearchWithZeroNormVector(DistanceFunction distanceFunction) {
+        VolatileVectorStoreRecordCollection<Hotel> collection = createHnswCollection();
+        List<Hotel> hotels = new ArrayList<>(getHotels());
+        hotels.add(new Hotel("id_zero", "Hotel zero", 0, "Hotel zero description",
+            Collections.nCopies(8, 0.0f), null, null, null, 1.0));
+        collection.upsertBatchAsync(hotels, null).block();
+        recordCollection.upsertBatchAsync(hotels, null).block();
+
+        // Like the exact search, the index fails if the zero norm vector may be returned
+        VectorSearchOptions options = VectorSearchOptions.builder()
+            .withVectorFieldName(distanceFunction.getValue())
+            .withTop(3)
+            .build();
+        assertThrows(SKException.class,
+            () -> recordCollection.searchAsync(SEARCH_EMBEDDINGS, options).block());
+        assertThrows(SKException.class,
+            () -> collection.searchAsync(SEARCH_EMBEDDINGS, options).block());
+
+        VectorSearchOptions filtered = VectorSearchOptions.builder()
+            .withVectorFieldName(distanceFunction.getValue())
+            .withTop(3)
+            .withVectorSearchFilter(
+                VectorSearchFilter.builder()
+                    .equalTo("rating", 4.0).build())
+            .build();
+        List<VectorSearchResult<Hotel>> expected = recordCollection
+            .searchAsync(SEARCH_EMBEDDINGS, filtered).block().getResults();
+        List<VectorSearchResult<Hotel>> results = collection
+            .searchAsync(SEARCH_EMBEDDINGS, filtered).block().getResults();
+        assertEquals(3, results.size());
+        for (int i = 0; i < expected.size(); i++) {
+            assertEquals(expected.get(i).getRecord().getId(),
+                results.get(i).getRecord().getId());
+        }
+
+        // Once the vector is replaced, every record may be returned again
+        collection.upsertAsync(new Hotel("id_zero", "Hotel zero", 0, "Hotel zero description",
+            Collections.nCopies(8, 1.0f), null, null, null, 1.0), null).block();
+        assertEquals(3, collection.searchAsync(SEARCH_EMBEDDINGS, options).block().getResults()
+            .size());
+    }
+
+    private static VolatileVectorStoreRecordCollection<Hotel> createQuantizedCollection(
+        VectorQuantization quantization) {
+        VectorStoreRecordDefinition definition = VectorStoreRecordDefinition
+            .fromRecordClass(Hotel.class);
+        List<VectorStoreRecordField> fields = new ArrayList<>(definition.getNonVectorFields());
+        for (VectorStoreRecordVectorField vectorField : definition.getVectorFields()) {
+            fields.add(VectorStoreRecordVectorField.builder()
+                .withName(vectorField.getName())
+                .withStorageName(vectorField.getStorageName())
+                .withFieldType(vectorField.getFieldType())
+                .withDimensions(vectorField.getDimensions())
+                .withDistanceFunction(vectorField.getDistanceFunction())
+                .withQuantization(quantization)
+                .build());
+        }
+
+        VolatileVectorStoreRecordCollection<Hotel> collection = new VolatileVectorStoreRecordCollection<>(
+            "hotels-" + quantization.getValue(),
+            VolatileVectorStoreRecordCollectionOptions.<Hotel>builder()
+                .withRecordClass(Hotel.class)
+                .withRecordDefinition(VectorStoreRecordDefinition.fromFields(fields))
+                .withRescoreMultiplier(2)
+                .build());
+        collection.createCollectionAsync().block();
+        return collection;
+    }
+
+    @ParameterizedTest
+    @EnumSource(value = VectorQuantization.class, names = { "SCALAR_INT8", "BINARY" })
+    public void quantizedSearch(VectorQuantization quantization) {
+        VolatileVectorStoreRecordCollection<Hotel> collection = createQuantizedCollection(
+            quantization);
+        List<Hotel> hotels = getHotels();
+        collection.upsertBatchAsync(hotels, null).block();
+        recordCollection.upsertBatchAsync(hotels, null).block();
+
+        for (DistanceFunction distanceFunction : DistanceFunction.values()) {
+            VectorSearchOptions options = VectorSearchOptions.builder()
+                .withVectorFieldName(distanceFunction.getValue())
+                .withTop(3)
+                .build();
+
+            // Rescoring twice the requested results covers every hotel, so the results are exact
+            List<VectorSearchResult<Hotel>> expected = recordCollection
+                .searchAsync(SEARCH_EMBEDDINGS, options).block().getResults();
+            List<VectorSearchResult<Hotel>> results = collection
+                .searchAsync(SEARCH_EMBEDDINGS, options).block().getResults();
+            assertEquals(expected.size(), results.size());
+            for (int i = 0; i < expected.size(); i++) {
+                assertEquals(expected.get(i).getRecord().getId(),
+                    results.get(i).getRecord().getId());
+                assertEquals(expected.get(i).getScore(), results.get(i).getScore(), 1e-4);
+            }
+        }
+
+        // Records are stored with their full precision vectors
+        Hotel hotel = collection.getAsync(hotels.get(0).getId(), null).block();
+        assertEquals(hotels.get(0).getEuclidean(), hotel.getEuclidean());
+        assertEquals(hotels.get(0).getDotProduct(), hotel.getDotProduct());
+    }
+
+    @ParameterizedTest
+    @EnumSource(DistanceFunction.class)
+    public void parallelExactSearch(DistanceFunction distanceFunction) {
+        ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            VolatileVectorStoreRecordCollection<Hotel> parallel = new VolatileVectorStoreRecordCollection<>(
+                "hotels-parallel",
+                VolatileVectorStoreRecordCollectionOptions.<Hotel>builder()
+                    .withRecordClass(Hotel.class)
+                    .withParallelSearchThreshold(1)
+                    .withParallelSearchPool(pool)
+                    .build());
+            VolatileVectorStoreRecordCollection<Hotel> sequential = new VolatileVectorStoreRecordCollection<>(
+                "hotels-sequential",
+                VolatileVectorStoreRecordCollectionOptions.<Hotel>builder()
+                    .withRecordClass(Hotel.class)
+                    .withParallelSearchThreshold(0)
+                    .build());
+            parallel.createCollectionAsync().block();
+            sequential.createCollectionAsync().block();
+
+            // More than twice the minimum partition of 1024 records, so the scan is split
+            Random random = new Random(42);
+            List<Hotel> hotels = new ArrayList<>(getHotels());
+            for (int i = 0; i < 3 * 1024; i++) {
+                List<Float> vector = new ArrayList<>();
+                for (int j = 0; j < 8; j++) {
+                    vector.add(random.nextFloat() * 20 - 10);
+                }
+                hotels.add(new Hotel("random_" + i, "Random " + i, i, "Random hotel", vector,
+                    null, null, null, 3.0));
+            }
+            parallel.upsertBatchAsync(hotels, null).block();
+            sequential.upsertBatchAsync(hotels, null).block();
+
+            VectorSearchOptions options = VectorSearchOptions.builder()
+                .withVectorFieldName(distanceFunction.getValue())
+                .withSkip(1)
+                .withTop(10)
+                .build();
+
+            List<VectorSearchResult<Hotel>> expected = sequential
+                .searchAsync(SEARCH_EMBEDDINGS, options).block().getResults();
+            List<VectorSearchResult<Hotel>> results = parallel
+                .searchAsync(SEARCH_EMBEDDINGS, options).block().getResults();
+            assertNotNull(results);
+            assertEquals(10, results.size());
+            for (int i = 0; i < expected.size(); i++) {
+                assertEquals(expected.get(i).getRecord().getId(),
+                    results.get(i).getRecord().getId());
+                assertEquals(expected.get(i).getScore(), results.get(i).getScore());
+            }
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @ParameterizedTest
+    @EnumSource(DistanceFunction.class)
+    public void searchBatch(DistanceFunction distanceFunction) {
+        VolatileVectorStoreRecordCollection<Hotel> collection = new VolatileVectorStoreRecordCollection<>(
+            "hotels-batch",
+            VolatileVectorStoreRecordCollectionOptions.<Hotel>builder()
+                .withRecordClass(Hotel.class)
+                .build());
+        collection.createCollectionAsync().block();
+        collection.upsertBatchAsync(getHotels(), null).block();
+
+        VectorSearchOptions options = VectorSearchOptions.builder()
+            .withVectorFieldName(distanceFunction.getValue())
+            .withTop(3)
+            .build();
+
+        List<List<Float>> vectors = new ArrayList<>();
+        for (int i = 0; i < 8; i++) {
+            List<Float> vector = new ArrayList<>(SEARCH_EMBEDDINGS);
+            Collections.rotate(vector, i);
+            vectors.add(vector);
+        }
+
+        List<VectorSearchResults<Hotel>> results = collection
+            .searchBatchAsync(vectors, options).block();
+        assertNotNull(results);
+        assertEquals(vectors.size(), results.size());
+
+        // Each result is the result of searching its vector alone
+        for (int i = 0; i < vectors.size(); i++) {
+            List<VectorSearchResult<Hotel>> expected = collection
+                .searchAsync(vectors.get(i), options).block().getResults();
+            List<VectorSearchResult<Hotel>> actual = results.get(i).getResults();
+            assertEquals(expected.size(), actual.size());
+            for (int j = 0; j < expected.size(); j++) {
+                assertEquals(expected.get(j).getRecord().getId(), actual.get(j).getRecord().getId());
+                assertEquals(expected.get(j).getScore(), actual.get(j).getScore(), 1e-6);
+            }
+        }
+    }
 }
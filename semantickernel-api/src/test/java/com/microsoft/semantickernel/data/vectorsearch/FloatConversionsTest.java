@@ -0,0 +1,59 @@
+// Copyright (c) Microsoft. All rights reserved.
+package com.microsoft.semantickernel.data.vectorsearch;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+public class FloatConversionsTest {
+
+    @Test
+    public void convertsEveryHalf() {
+        for (int bits = 0; bits <= 0xffff; bits++) {
+            short half = (short) bits;
+            float value = FloatConversions.fromHalf(half);
+            if (Float.isNaN(value)) {
+                assertTrue(Float.isNaN(FloatConversions.fromHalf(FloatConversions.toHalf(value))));
+            } else {
+                assertEquals(half, FloatConversions.toHalf(value), "Half " + bits);
+            }
+        }
+    }
+
+    @Test
+    public void roundsToNearestHalf() {
+        assertEquals(1.0f, FloatConversions.fromHalf(FloatConversions.toHalf(1.0f)));
+        assertEquals(-2.5f, FloatConversions.fromHalf(FloatConversions.toHalf(-2.5f)));
+        // 1 + 2^-11 is halfway between 1 and the next half, and rounds to the even one
+        assertEquals(1.0f, FloatConversions.fromHalf(FloatConversions.toHalf(1 + 0x1p-11f)));
+        assertEquals(1 + 0x1p-9f,
+            FloatConversions.fromHalf(FloatConversions.toHalf(1 + 0x1p-10f + 0x1p-11f)));
+        // Rounding up the largest half overflows to infinity
+        assertEquals(65504f, FloatConversions.fromHalf(FloatConversions.toHalf(65519f)));
+        assertEquals(Float.POSITIVE_INFINITY,
+            FloatConversions.fromHalf(FloatConversions.toHalf(65520f)));
+        // The smallest subnormal half, and half of it rounding to zero
+        assertEquals(0x1p-24f, FloatConversions.fromHalf(FloatConversions.toHalf(0x1p-24f)));
+        assertEquals(0f, FloatConversions.fromHalf(FloatConversions.toHalf(0x1p-25f)));
+        assertEquals(Float.NEGATIVE_INFINITY,
+            FloatConversions.fromHalf(FloatConversions.toHalf(-1e10f)));
+    }
+
+    @Test
+    public void convertsBFloat16() {
+        for (int bits = 0; bits <= 0xffff; bits++) {
+            short bfloat16 = (short) bits;
+            float value = FloatConversions.fromBFloat16(bfloat16);
+            if (!Float.isNaN(value)) {
+                assertEquals(bfloat16, FloatConversions.toBFloat16(value), "BFloat16 " + bits);
+            }
+        }
+        // 1 + 2^-8 is halfway between 1 and the next bfloat16, and rounds to the even one
+        assertEquals(1.0f, FloatConversions.fromBFloat16(FloatConversions.toBFloat16(1 + 0x1p-8f)));
+        assertEquals(1 + 0x1p-6f, FloatConversions.fromBFloat16(
+            FloatConversions.toBFloat16(1 + 0x1p-7f + 0x1p-8f)));
+        assertTrue(Float.isNaN(FloatConversions.fromBFloat16(
+            FloatConversions.toBFloat16(Float.intBitsToFloat(0x7f800001)))));
+    }
+}
@@ -0,0 +1,54 @@
+// Copyright (c) Microsoft. All rights reserved.
+package com.microsoft.semantickernel.data.vectorsearch;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import com.microsoft.semantickernel.exceptions.SKException;
+import java.nio.FloatBuffer;
+import java.util.Arrays;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+public class VectorOperationsTest {
+
+    private static final List<Float> X = Arrays.asList(0.5f, 3.2f, 7.1f, -4.0f);
+    private static final List<Float> Y = Arrays.asList(-2.0f, 8.1f, 0.9f, 5.4f);
+
+    @Test
+    public void primitiveOverloadsMatchListOverloads() {
+        float[] x = VectorOperations.toFloatArray(X);
+        float[] y = VectorOperations.toFloatArray(Y);
+
+        assertEquals(VectorOperations.dot(X, Y), VectorOperations.dot(x, y), 1e-5);
+        assertEquals(VectorOperations.cosineSimilarity(X, Y),
+            VectorOperations.cosineSimilarity(x, y), 1e-5);
+        assertEquals(VectorOperations.cosineDistance(X, Y),
+            VectorOperations.cosineDistance(x, y), 1e-5);
+        assertEquals(VectorOperations.euclideanDistance(X, Y),
+            VectorOperations.euclideanDistance(x, y), 1e-5);
+    }
+
+    @Test
+    public void floatBufferOverloadsRespectPosition() {
+        float[] x = VectorOperations.toFloatArray(X);
+        FloatBuffer y = FloatBuffer.wrap(new float[] { 42f, -2.0f, 8.1f, 0.9f, 5.4f });
+        y.position(1);
+
+        assertEquals(VectorOperations.dot(X, Y), VectorOperations.dot(FloatBuffer.wrap(x), y),
+            1e-5);
+        assertEquals(VectorOperations.cosineSimilarity(X, Y),
+            VectorOperations.cosineSimilarity(FloatBuffer.wrap(x), y), 1e-5);
+        assertEquals(VectorOperations.euclideanDistance(X, Y),
+            VectorOperations.euclideanDistance(FloatBuffer.wrap(x), y), 1e-5);
+        assertEquals(1, y.position());
+    }
+
+    @Test
+    public void primitiveOverloadsRejectDifferentLengths() {
+        assertThrows(SKException.class,
+            () -> VectorOperations.dot(new float[] { 1f }, new float[] { 1f, 2f }));
+        assertThrows(SKException.class,
+            () -> VectorOperations.cosineSimilarity(new float[] { 0f }, new float[] { 1f }));
+    }
+}
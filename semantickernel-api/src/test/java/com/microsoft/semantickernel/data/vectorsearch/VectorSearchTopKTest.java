@@ -0,0 +1,70 @@
+// Copyright (c) Microsoft. All rights reserved.
+package com.microsoft.semantickernel.data.vectorsearch;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.microsoft.semantickernel.data.vectorstorage.definition.DistanceFunction;
+import com.microsoft.semantickernel.data.vectorstorage.options.VectorSearchOptions;
+import java.util.List;
+import java.util.stream.Collectors;
+import org.junit.jupiter.api.Test;
+
+public class VectorSearchTopKTest {
+
+    private static final double[] SCORES = { 0.3, 0.9, 0.1, 0.7, 0.5, 0.8 };
+
+    private static List<String> fill(VectorSearchTopK<String> topK, int skip) {
+        for (double score : SCORES) {
+            topK.add(String.valueOf(score), score);
+        }
+        return topK.getResults(skip).stream()
+            .map(VectorSearchResult::getRecord)
+            .collect(Collectors.toList());
+    }
+
+    @Test
+    public void keepsHighestScoresForSimilarity() {
+        VectorSearchTopK<String> topK = VectorSearchTopK.create(
+            DistanceFunction.COSINE_SIMILARITY,
+            VectorSearchOptions.builder().withSkip(1).withTop(2).build());
+
+        List<String> results = fill(topK, 1);
+        assertEquals(3, topK.size());
+        assertEquals(2, results.size());
+        assertEquals("0.8", results.get(0));
+        assertEquals("0.7", results.get(1));
+    }
+
+    @Test
+    public void keepsLowestScoresForDistance() {
+        VectorSearchTopK<String> topK = new VectorSearchTopK<>(3,
+            DistanceFunction.EUCLIDEAN_DISTANCE);
+
+        List<String> results = fill(topK, 0);
+        assertEquals(3, results.size());
+        assertEquals("0.1", results.get(0));
+        assertEquals("0.3", results.get(1));
+        assertEquals("0.5", results.get(2));
+
+        assertFalse(topK.isCandidate(0.6));
+        assertTrue(topK.isCandidate(0.2));
+    }
+
+    @Test
+    public void mergesPartitions() {
+        VectorSearchTopK<String> first = new VectorSearchTopK<>(2, DistanceFunction.DOT_PRODUCT);
+        VectorSearchTopK<String> second = new VectorSearchTopK<>(2, DistanceFunction.DOT_PRODUCT);
+        first.add("a", 1.0);
+        first.add("b", 4.0);
+        second.add("c", 3.0);
+        second.add("d", 2.0);
+
+        first.addAll(second);
+        List<VectorSearchResult<String>> results = first.getResults(0);
+        assertEquals(2, results.size());
+        assertEquals("b", results.get(0).getRecord());
+        assertEquals("c", results.get(1).getRecord());
+    }
+}
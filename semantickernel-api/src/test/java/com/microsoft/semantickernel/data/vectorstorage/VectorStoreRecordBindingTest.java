@@ -0,0 +1,317 @@
+// Copyright (c) Microsoft. All rights reserved.
+package com.microsoft.semantickernel.data.vectorstorage;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.PropertyNamingStrategies;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import com.fasterxml.jackson.databind.ser.std.ToStringSerializer;
+import com.microsoft.semantickernel.data.Hotel;
+import com.microsoft.semantickernel.data.vectorstorage.annotations.VectorStoreRecordData;
+import com.microsoft.semantickernel.data.vectorstorage.annotations.VectorStoreRecordKey;
+import com.microsoft.semantickernel.data.vectorstorage.annotations.VectorStoreRecordVector;
+import com.microsoft.semantickernel.data.vectorstorage.definition.DistanceFunction;
+import com.microsoft.semantickernel.data.vectorstorage.definition.VectorStoreRecordDataField;
+import com.microsoft.semantickernel.data.vectorstorage.definition.VectorStoreRecordDefinition;
+import com.microsoft.semantickernel.data.vectorstorage.definition.VectorStoreRecordField;
+import com.microsoft.semantickernel.data.vectorstorage.definition.VectorStoreRecordKeyField;
+import java.util.Arrays;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+public class VectorStoreRecordBindingTest {
+
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+
+    public static class Book {
+        @VectorStoreRecordKey
+        private String isbn;
+
+        @VectorStoreRecordData
+        private String title;
+
+        @VectorStoreRecordData
+        private int pages;
+
+        @VectorStoreRecordData
+        private boolean available;
+
+        @VectorStoreRecordData
+        private List<String> tags;
+
+        @VectorStoreRecordVector(dimensions = 3, distanceFunction = DistanceFunction.COSINE_DISTANCE)
+        private List<Float> embedding;
+
+        // Set by the binding rather than by the setter
+        private boolean titleSetter;
+
+        public Book() {
+            this.pages = -1;
+        }
+
+        public String getIsbn() {
+            return isbn;
+        }
+
+        public void setIsbn(String isbn) {
+            this.isbn = isbn;
+        }
+
+        public String getTitle() {
+            return title;
+        }
+
+        public void setTitle(String title) {
+            this.title = title;
+            this.titleSetter = true;
+        }
+
+        public int getPages() {
+            return pages;
+        }
+
+        public void setPages(int pages) {
+            this.pages = pages;
+        }
+
+        public boolean isAvailable() {
+            return available;
+        }
+
+        public void setAvailable(boolean available) {
+            this.available = available;
+        }
+
+        public List<String> getTags() {
+            return tags;
+        }
+
+        public void setTags(List<String> tags) {
+            this.tags = tags;
+        }
+
+        public List<Float> getEmbedding() {
+            return embedding;
+        }
+
+        public void setEmbedding(List<Float> embedding) {
+            this.embedding = embedding;
+        }
+    }
+
+    public static class Order {
+        @VectorStoreRecordKey
+        @JsonSerialize(using = ToStringSerializer.class)
+        private final long orderId;
+
+        @VectorStoreRecordData
+        private final String customerName;
+
+        @JsonCreator
+        public Order(
+            @JsonProperty("orderId") long orderId,
+            @JsonProperty("customerName") String customerName) {
+            this.orderId = orderId;
+            this.customerName = customerName;
+        }
+
+        public long getOrderId() {
+            return orderId;
+        }
+
+        public String getCustomerName() {
+            return customerName;
+        }
+    }
+
+    public static class Author {
+        private String firstName;
+        private int birthYear;
+
+        public String getFirstName() {
+            return firstName;
+        }
+
+        public void setFirstName(String firstName) {
+            this.firstName = firstName;
+        }
+
+        public int getBirthYear() {
+            return birthYear;
+        }
+
+        public void setBirthYear(int birthYear) {
+            this.birthYear = birthYear;
+        }
+    }
+
+    private static <Record> VectorStoreRecordBinding<Record> create(Class<Record> recordClass,
+        ObjectMapper objectMapper) {
+        return VectorStoreRecordBinding.create(recordClass,
+            VectorStoreRecordDefinition.fromRecordClass(recordClass), objectMapper);
+    }
+
+    private static int indexOf(VectorStoreRecordBinding<?> binding, String name) {
+        List<VectorStoreRecordField> fields = binding.getFields();
+        for (int i = 0; i < fields.size(); ++i) {
+            if (fields.get(i).getName().equals(name)) {
+                return i;
+            }
+        }
+        throw new IllegalArgumentException(name);
+    }
+
+    private static boolean[] selectAll(VectorStoreRecordBinding<?> binding) {
+        boolean[] selected = new boolean[binding.getFields().size()];
+        Arrays.fill(selected, true);
+        return selected;
+    }
+
+    @Test
+    public void mapsRecordsWithCreator() {
+        VectorStoreRecordBinding<Hotel> binding = create(Hotel.class, OBJECT_MAPPER);
+        assertTrue(binding.isCompiled());
+
+        Hotel hotel = new Hotel("id_1", "Hotel 1", 1, "Hotel 1 description",
+            Arrays.asList(1.0f, 2.0f, 3.0f, 4.0f, 5.0f, 6.0f, 7.0f, 8.0f), null, null, null,
+            4.0);
+        Object[] values = binding.getValues(hotel);
+        assertEquals("id_1", values[indexOf(binding, "id")]);
+        assertEquals(1, values[indexOf(binding, "code")]);
+        assertEquals("Hotel 1 description", values[indexOf(binding, "description")]);
+
+        values[indexOf(binding, "euclidean")] = VectorStoreRecordBinding
+            .toVector(values[indexOf(binding, "euclidean")]);
+        Hotel read = binding.newRecord(values, selectAll(binding));
+        assertEquals("id_1", read.getId());
+        assertEquals("Hotel 1", read.getName());
+        assertEquals(1, read.getCode());
+        assertEquals("Hotel 1 description", read.getDescription());
+        assertEquals(hotel.getEuclidean(), read.getEuclidean());
+        assertEquals(4.0, read.getRating());
+    }
+
+    @Test
+    public void mapsRecordsWithSetters() {
+        VectorStoreRecordBinding<Book> binding = create(Book.class, OBJECT_MAPPER);
+        assertTrue(binding.isCompiled());
+
+        Object[] values = new Object[binding.getFields().size()];
+        values[indexOf(binding, "isbn")] = "978-0";
+        values[indexOf(binding, "title")] = "Title";
+        values[indexOf(binding, "pages")] = 42;
+        values[indexOf(binding, "available")] = true;
+        values[indexOf(binding, "tags")] = "[\"a\",\"b\"]";
+        values[indexOf(binding, "embedding")] = new float[] { 1.0f, 2.0f, 3.0f };
+
+        Book book = binding.newRecord(values, selectAll(binding));
+        assertEquals("978-0", book.getIsbn());
+        assertEquals("Title", book.getTitle());
+        assertTrue(book.titleSetter);
+        assertEquals(42, book.getPages());
+        assertTrue(book.isAvailable());
+        assertEquals(Arrays.asList("a", "b"), book.getTags());
+        assertEquals(Arrays.asList(1.0f, 2.0f, 3.0f), book.getEmbedding());
+
+        Object[] read = binding.getValues(book);
+        assertEquals("Title", read[indexOf(binding, "title")]);
+        assertEquals(true, read[indexOf(binding, "available")]);
+        assertArrayEquals(new float[] { 1.0f, 2.0f, 3.0f },
+            VectorStoreRecordBinding.toVector(read[indexOf(binding, "embedding")]));
+    }
+
+    @Test
+    public void defaultsPrimitiveFields() {
+        VectorStoreRecordBinding<Book> binding = create(Book.class, OBJECT_MAPPER);
+        Object[] values = new Object[binding.getFields().size()];
+        values[indexOf(binding, "isbn")] = "978-0";
+
+        // Null primitives are set to their default, unselected fields are left as constructed
+        boolean[] selected = new boolean[values.length];
+        selected[indexOf(binding, "isbn")] = true;
+        selected[indexOf(binding, "available")] = true;
+        Book book = binding.newRecord(values, selected);
+        assertEquals("978-0", book.getIsbn());
+        assertFalse(book.isAvailable());
+        assertEquals(-1, book.getPages());
+        assertFalse(book.titleSetter);
+
+        VectorStoreRecordBinding<Hotel> hotelBinding = create(Hotel.class, OBJECT_MAPPER);
+        Hotel hotel = hotelBinding.newRecord(new Object[hotelBinding.getFields().size()],
+            selectAll(hotelBinding));
+        assertEquals(0, hotel.getCode());
+        assertEquals(0.0, hotel.getRating());
+    }
+
+    @Test
+    public void mapsRecordsThroughJackson() {
+        ObjectMapper snakeCase = new ObjectMapper()
+            .setPropertyNamingStrategy(PropertyNamingStrategies.SNAKE_CASE);
+        VectorStoreRecordBinding<Author> binding = VectorStoreRecordBinding.create(Author.class,
+            VectorStoreRecordDefinition.fromFields(Arrays.asList(
+                VectorStoreRecordKeyField.builder()
+                    .withName("firstName")
+                    .withStorageName("first_name")
+                    .withFieldType(String.class)
+                    .build(),
+                VectorStoreRecordDataField.builder()
+                    .withName("birthYear")
+                    .withStorageName("birth_year")
+                    .withFieldType(int.class)
+                    .build())),
+            snakeCase);
+        assertFalse(binding.isCompiled());
+
+        Author author = new Author();
+        author.setFirstName("Alice");
+        author.setBirthYear(1970);
+        Object[] values = binding.getValues(author);
+        assertEquals("Alice", values[indexOf(binding, "firstName")]);
+        assertEquals(1970, values[indexOf(binding, "birthYear")]);
+
+        Author read = binding.newRecord(values, selectAll(binding));
+        assertEquals("Alice", read.getFirstName());
+        assertEquals(1970, read.getBirthYear());
+
+        VectorStoreRecordBinding<Order> serialized = create(Order.class, OBJECT_MAPPER);
+        assertFalse(serialized.isCompiled());
+
+        Object[] orderValues = serialized.getValues(new Order(7, "Alice"));
+        assertEquals(7L, orderValues[indexOf(serialized, "orderId")]);
+        assertEquals("Alice", orderValues[indexOf(serialized, "customerName")]);
+
+        Order order = serialized.newRecord(orderValues, selectAll(serialized));
+        assertEquals(7, order.getOrderId());
+        assertEquals("Alice", order.getCustomerName());
+    }
+
+    @Test
+    public void vectorsReadAsMutableLists() {
+        VectorStoreRecordBinding<Book> binding = create(Book.class, OBJECT_MAPPER);
+        Object[] values = new Object[binding.getFields().size()];
+        float[] vector = { 1.0f, 2.0f, 3.0f };
+        values[indexOf(binding, "embedding")] = vector;
+
+        List<Float> embedding = binding.newRecord(values, selectAll(binding)).getEmbedding();
+        assertArrayEquals(vector, VectorStoreRecordBinding.toVector(embedding));
+
+        embedding.set(0, 0.5f);
+        embedding.add(4.0f);
+        embedding.add(0, 0.0f);
+        assertEquals(Float.valueOf(2.0f), embedding.remove(2));
+        embedding.removeIf(element -> element == 3.0f);
+        assertEquals(Arrays.asList(0.0f, 0.5f, 4.0f), embedding);
+        assertArrayEquals(new float[] { 0.0f, 0.5f, 4.0f },
+            VectorStoreRecordBinding.toVector(embedding));
+
+        assertThrows(NullPointerException.class, () -> embedding.add(null));
+        assertThrows(IndexOutOfBoundsException.class, () -> embedding.get(3));
+    }
+}
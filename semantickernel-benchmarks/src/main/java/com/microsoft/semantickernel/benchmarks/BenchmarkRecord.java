@@ -0,0 +1,154 @@
+// Copyright (c) Microsoft. All rights reserved.
+package com.microsoft.semantickernel.benchmarks;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.microsoft.semantickernel.data.vectorstorage.definition.DistanceFunction;
+import com.microsoft.semantickernel.data.vectorstorage.definition.IndexKind;
+import com.microsoft.semantickernel.data.vectorstorage.definition.VectorQuantization;
+import com.microsoft.semantickernel.data.vectorstorage.definition.VectorStoreRecordDataField;
+import com.microsoft.semantickernel.data.vectorstorage.definition.VectorStoreRecordDefinition;
+import com.microsoft.semantickernel.data.vectorstorage.definition.VectorStoreRecordField;
+import com.microsoft.semantickernel.data.vectorstorage.definition.VectorStoreRecordKeyField;
+import com.microsoft.semantickernel.data.vectorstorage.definition.VectorStoreRecordVectorField;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * The record stored by the vector store benchmarks.
+ * <p>
+ * The record definition is built for the number of dimensions of each benchmark, so the record
+ * class carries no vector store annotations.
+ */
+public class BenchmarkRecord {
+
+    /**
+     * The number of distinct categories. Filtering on one category selects 1% of the records.
+     */
+    public static final int CATEGORIES = 100;
+
+    private final String id;
+    private final String category;
+    private final double rating;
+    private final List<Float> embedding;
+
+    /**
+     * Creates a new record.
+     *
+     * @param id        the key of the record
+     * @param category  the category, a filterable field
+     * @param rating    the rating
+     * @param embedding the embedding
+     */
+    @JsonCreator
+    public BenchmarkRecord(
+        @JsonProperty("id") String id,
+        @JsonProperty("category") String category,
+        @JsonProperty("rating") double rating,
+        @JsonProperty("embedding") List<Float> embedding) {
+        this.id = id;
+        this.category = category;
+        this.rating = rating;
+        this.embedding = embedding;
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public String getCategory() {
+        return category;
+    }
+
+    public double getRating() {
+        return rating;
+    }
+
+    public List<Float> getEmbedding() {
+        return embedding;
+    }
+
+    /**
+     * Creates the record definition of the benchmark records.
+     *
+     * @param dimensions       the number of dimensions of the embeddings
+     * @param distanceFunction the distance function of the embeddings
+     * @param indexKind        the index kind of the embeddings
+     * @param quantization     the quantization of the embeddings
+     * @return the record definition
+     */
+    public static VectorStoreRecordDefinition recordDefinition(int dimensions,
+        DistanceFunction distanceFunction, IndexKind indexKind,
+        VectorQuantization quantization) {
+        List<VectorStoreRecordField> fields = Arrays.asList(
+            VectorStoreRecordKeyField.builder()
+                .withName("id")
+                .withFieldType(String.class)
+                .build(),
+            VectorStoreRecordDataField.builder()
+                .withName("category")
+                .withFieldType(String.class)
+                .isFilterable(true)
+                .build(),
+            VectorStoreRecordDataField.builder()
+                .withName("rating")
+                .withFieldType(Double.class)
+                .build(),
+            VectorStoreRecordVectorField.builder()
+                .withName("embedding")
+                .withFieldType(List.class)
+                .withDimensions(dimensions)
+                .withDistanceFunction(distanceFunction)
+                .withIndexKind(indexKind)
+                .withQuantization(quantization)
+                .build());
+        return VectorStoreRecordDefinition.fromFields(fields);
+    }
+
+    /**
+     * Creates the record definition of the benchmark records, with an exact index.
+     *
+     * @param dimensions the number of dimensions of the embeddings
+     * @return the record definition
+     */
+    public static VectorStoreRecordDefinition recordDefinition(int dimensions) {
+        return recordDefinition(dimensions, DistanceFunction.COSINE_DISTANCE, IndexKind.FLAT,
+            VectorQuantization.NONE);
+    }
+
+    /**
+     * Generates records with random embeddings. The same seed generates the same records.
+     *
+     * @param count      the number of records
+     * @param dimensions the number of dimensions of the embeddings
+     * @param seed       the seed of the random generator
+     * @return the records
+     */
+    public static List<BenchmarkRecord> generate(int count, int dimensions, long seed) {
+        Random random = new Random(seed);
+        List<BenchmarkRecord> records = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            records.add(new BenchmarkRecord("id_" + i, "category_" + (i % CATEGORIES),
+                random.nextInt(50) / 10.0, randomVector(random, dimensions)));
+        }
+        return records;
+    }
+
+    /**
+     * Generates a random embedding with Gaussian components.
+     *
+     * @param random     the random generator
+     * @param dimensions the number of dimensions
+     * @return the embedding
+     */
+    public static List<Float> randomVector(Random random, int dimensions) {
+        List<Float> vector = new ArrayList<>(dimensions);
+        for (int i = 0; i < dimensions; i++) {
+            vector.add((float) random.nextGaussian());
+        }
+        return vector;
+    }
+}
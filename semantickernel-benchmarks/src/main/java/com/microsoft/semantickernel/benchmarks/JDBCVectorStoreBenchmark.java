@@ -0,0 +1,168 @@
+// Copyright (c) Microsoft. All rights reserved.
+package com.microsoft.semantickernel.benchmarks;
+
+import com.microsoft.semantickernel.data.jdbc.JDBCVectorEncoding;
+import com.microsoft.semantickernel.data.jdbc.JDBCVectorStoreRecordCollection;
+import com.microsoft.semantickernel.data.jdbc.JDBCVectorStoreRecordCollectionOptions;
+import com.microsoft.semantickernel.data.jdbc.SQLVectorStoreQueryProvider;
+import com.microsoft.semantickernel.data.jdbc.hsqldb.HSQLDBVectorStoreQueryProvider;
+import com.microsoft.semantickernel.data.jdbc.sqlite.SQLiteVectorStoreQueryProvider;
+import com.microsoft.semantickernel.data.vectorsearch.VectorSearchResults;
+import com.microsoft.semantickernel.data.vectorstorage.options.GetRecordOptions;
+import com.microsoft.semantickernel.data.vectorstorage.options.VectorSearchOptions;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import javax.sql.DataSource;
+import org.hsqldb.jdbc.JDBCDataSource;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.sqlite.SQLiteDataSource;
+
+/**
+ * Benchmarks a {@link JDBCVectorStoreRecordCollection} against embedded databases, so that no
+ * server is needed. Getting records also measures the JDBC record mapper, which reads records
+ * from a result set.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JDBCVectorStoreBenchmark {
+
+    /**
+     * The embedded database.
+     */
+    public enum Database {
+        /**
+         * An in-memory HSQLDB database.
+         */
+        HSQLDB,
+        /**
+         * A SQLite database in a temporary file.
+         */
+        SQLITE
+    }
+
+    private static final int BATCH_SIZE = 100;
+
+    @Param({ "HSQLDB", "SQLITE" })
+    public Database database;
+
+    @Param({ "1000", "10000" })
+    public int size;
+
+    @Param({ "128" })
+    public int dimensions;
+
+    @Param({ "JSON", "FLOAT32" })
+    public JDBCVectorEncoding vectorEncoding;
+
+    private Path databaseFile;
+    private JDBCVectorStoreRecordCollection<BenchmarkRecord> collection;
+    private List<Float> query;
+    private VectorSearchOptions searchOptions;
+    private List<String> keys;
+    private GetRecordOptions getOptions;
+    private List<BenchmarkRecord> replacements;
+
+    @Setup(Level.Trial)
+    public void setup() throws IOException {
+        DataSource dataSource;
+        SQLVectorStoreQueryProvider queryProvider;
+        switch (database) {
+            case HSQLDB:
+                JDBCDataSource hsqldbDataSource = new JDBCDataSource();
+                hsqldbDataSource.setUrl("jdbc:hsqldb:mem:benchmark;sql.syntax_mys=true");
+                hsqldbDataSource.setUser("SA");
+                hsqldbDataSource.setPassword("");
+                dataSource = hsqldbDataSource;
+                queryProvider = HSQLDBVectorStoreQueryProvider.builder()
+                    .withDataSource(dataSource)
+                    // Vectors are stored as JSON text with the JSON encoding
+                    .setDefaultVarCharLength(dimensions * 32)
+                    .build();
+                break;
+            case SQLITE:
+                databaseFile = Files.createTempFile("benchmark", ".db");
+                SQLiteDataSource sqliteDataSource = new SQLiteDataSource();
+                sqliteDataSource.setUrl("jdbc:sqlite:file:" + databaseFile.toAbsolutePath());
+                dataSource = sqliteDataSource;
+                queryProvider = SQLiteVectorStoreQueryProvider.builder()
+                    .withDataSource(dataSource)
+                    .build();
+                break;
+            default:
+                throw new IllegalArgumentException("Unknown database: " + database);
+        }
+
+        collection = new JDBCVectorStoreRecordCollection<>(dataSource, "benchmark",
+            JDBCVectorStoreRecordCollectionOptions.<BenchmarkRecord>builder()
+                .withRecordClass(BenchmarkRecord.class)
+                .withRecordDefinition(BenchmarkRecord.recordDefinition(dimensions))
+                .withQueryProvider(queryProvider)
+                .withVectorEncoding(vectorEncoding)
+                .build());
+        collection.prepareAsync().block();
+        collection.createCollectionIfNotExistsAsync().block();
+        collection.upsertBatchAsync(BenchmarkRecord.generate(size, dimensions, 42), null)
+            .block();
+
+        query = BenchmarkRecord.randomVector(new Random(7), dimensions);
+        searchOptions = VectorSearchOptions.builder()
+            .withTop(10)
+            .build();
+
+        keys = new ArrayList<>();
+        for (int i = 0; i < BATCH_SIZE; i++) {
+            keys.add("id_" + (i * (size / BATCH_SIZE)));
+        }
+        getOptions = GetRecordOptions.builder()
+            .includeVectors(true)
+            .build();
+
+        // Replacing existing keys keeps the size of the collection stable across iterations
+        replacements = BenchmarkRecord.generate(BATCH_SIZE, dimensions, 43);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        collection.deleteCollectionAsync().block();
+        if (databaseFile != null) {
+            Files.deleteIfExists(databaseFile);
+        }
+    }
+
+    @Benchmark
+    public VectorSearchResults<BenchmarkRecord> search() {
+        return collection.searchAsync(query, searchOptions).block();
+    }
+
+    @Benchmark
+    public List<BenchmarkRecord> getBatch() {
+        return collection.getBatchAsync(keys, getOptions).block();
+    }
+
+    @Benchmark
+    public List<String> upsertBatch() {
+        return collection.upsertBatchAsync(replacements, null).block();
+    }
+}
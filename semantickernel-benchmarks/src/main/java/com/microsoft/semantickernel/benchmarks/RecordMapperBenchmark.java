@@ -0,0 +1,88 @@
+// Copyright (c) Microsoft. All rights reserved.
+package com.microsoft.semantickernel.benchmarks;
+
+import com.microsoft.semantickernel.data.redis.RedisHashSetVectorStoreRecordMapper;
+import com.microsoft.semantickernel.data.redis.RedisJsonVectorStoreRecordMapper;
+import com.microsoft.semantickernel.data.vectorstorage.definition.VectorStoreRecordDefinition;
+import com.microsoft.semantickernel.data.vectorstorage.options.GetRecordOptions;
+
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks the record mappers converting records to and from their storage models. The JDBC
+ * mapper reads from a result set, so it is measured by {@link JDBCVectorStoreBenchmark#getBatch()}
+ * instead.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RecordMapperBenchmark {
+
+    @Param({ "128", "768" })
+    public int dimensions;
+
+    private BenchmarkRecord record;
+    private GetRecordOptions getOptions;
+    private RedisHashSetVectorStoreRecordMapper<BenchmarkRecord> hashSetMapper;
+    private Entry<String, Map<byte[], byte[]>> hashSetStorageModel;
+    private RedisJsonVectorStoreRecordMapper<BenchmarkRecord> jsonMapper;
+    private Entry<String, Object> jsonStorageModel;
+
+    @Setup
+    public void setup() {
+        VectorStoreRecordDefinition recordDefinition = BenchmarkRecord
+            .recordDefinition(dimensions);
+        record = BenchmarkRecord.generate(1, dimensions, 42).get(0);
+        getOptions = GetRecordOptions.builder()
+            .includeVectors(true)
+            .build();
+
+        hashSetMapper = RedisHashSetVectorStoreRecordMapper.<BenchmarkRecord>builder()
+            .withRecordClass(BenchmarkRecord.class)
+            .withVectorStoreRecordDefinition(recordDefinition)
+            .build();
+        hashSetStorageModel = hashSetMapper.mapRecordToStorageModel(record);
+
+        jsonMapper = RedisJsonVectorStoreRecordMapper.<BenchmarkRecord>builder()
+            .withRecordClass(BenchmarkRecord.class)
+            .withRecordDefinition(recordDefinition)
+            .build();
+        jsonStorageModel = jsonMapper.mapRecordToStorageModel(record);
+    }
+
+    @Benchmark
+    public Entry<String, Map<byte[], byte[]>> redisHashSetToStorageModel() {
+        return hashSetMapper.mapRecordToStorageModel(record);
+    }
+
+    @Benchmark
+    public BenchmarkRecord redisHashSetToRecord() {
+        return hashSetMapper.mapStorageModelToRecord(hashSetStorageModel, getOptions);
+    }
+
+    @Benchmark
+    public Entry<String, Object> redisJsonToStorageModel() {
+        return jsonMapper.mapRecordToStorageModel(record);
+    }
+
+    @Benchmark
+    public BenchmarkRecord redisJsonToRecord() {
+        return jsonMapper.mapStorageModelToRecord(jsonStorageModel, getOptions);
+    }
+}
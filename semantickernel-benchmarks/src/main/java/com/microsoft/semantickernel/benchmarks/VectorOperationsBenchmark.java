@@ -0,0 +1,84 @@
+// Copyright (c) Microsoft. All rights reserved.
+package com.microsoft.semantickernel.benchmarks;
+
+import com.microsoft.semantickernel.data.vectorsearch.VectorOperations;
+
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks the {@link VectorOperations} kernels, comparing the primitive array overloads with
+ * the boxed {@code List<Float>} ones.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class VectorOperationsBenchmark {
+
+    @Param({ "128", "768", "1536" })
+    public int dimensions;
+
+    private float[] x;
+    private float[] y;
+    private List<Float> xList;
+    private List<Float> yList;
+
+    @Setup
+    public void setup() {
+        Random random = new Random(42);
+        xList = BenchmarkRecord.randomVector(random, dimensions);
+        yList = BenchmarkRecord.randomVector(random, dimensions);
+        x = VectorOperations.toFloatArray(xList);
+        y = VectorOperations.toFloatArray(yList);
+    }
+
+    @Benchmark
+    public float dot() {
+        return VectorOperations.dot(x, y);
+    }
+
+    @Benchmark
+    public float dotList() {
+        return VectorOperations.dot(xList, yList);
+    }
+
+    @Benchmark
+    public float cosineSimilarity() {
+        return VectorOperations.cosineSimilarity(x, y);
+    }
+
+    @Benchmark
+    public float cosineSimilarityList() {
+        return VectorOperations.cosineSimilarity(xList, yList);
+    }
+
+    @Benchmark
+    public float euclideanDistance() {
+        return VectorOperations.euclideanDistance(x, y);
+    }
+
+    @Benchmark
+    public float euclideanDistanceList() {
+        return VectorOperations.euclideanDistance(xList, yList);
+    }
+
+    @Benchmark
+    public float[] toFloatArray() {
+        return VectorOperations.toFloatArray(xList);
+    }
+}
@@ -0,0 +1,129 @@
+// Copyright (c) Microsoft. All rights reserved.
+package com.microsoft.semantickernel.benchmarks;
+
+import com.microsoft.semantickernel.data.VolatileVectorStoreRecordCollection;
+import com.microsoft.semantickernel.data.VolatileVectorStoreRecordCollectionOptions;
+import com.microsoft.semantickernel.data.vectorsearch.VectorSearchFilter;
+import com.microsoft.semantickernel.data.vectorsearch.VectorSearchResults;
+import com.microsoft.semantickernel.data.vectorstorage.definition.DistanceFunction;
+import com.microsoft.semantickernel.data.vectorstorage.definition.IndexKind;
+import com.microsoft.semantickernel.data.vectorstorage.definition.VectorQuantization;
+import com.microsoft.semantickernel.data.vectorstorage.options.VectorSearchOptions;
+
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks searches and upserts of a {@link VolatileVectorStoreRecordCollection} for collection
+ * sizes, vector dimensions and index variants.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class VolatileVectorStoreBenchmark {
+
+    /**
+     * The index of the vector field.
+     */
+    public enum Index {
+        /**
+         * Exact search over full precision vectors.
+         */
+        FLAT(IndexKind.FLAT, VectorQuantization.NONE),
+        /**
+         * Exact search over int8 codes, rescored with full precision vectors.
+         */
+        FLAT_INT8(IndexKind.FLAT, VectorQuantization.SCALAR_INT8),
+        /**
+         * Exact search over binary codes, rescored with full precision vectors.
+         */
+        FLAT_BINARY(IndexKind.FLAT, VectorQuantization.BINARY),
+        /**
+         * Approximate search over an HNSW graph.
+         */
+        HNSW(IndexKind.HNSW, VectorQuantization.NONE);
+
+        private final IndexKind indexKind;
+        private final VectorQuantization quantization;
+
+        Index(IndexKind indexKind, VectorQuantization quantization) {
+            this.indexKind = indexKind;
+            this.quantization = quantization;
+        }
+    }
+
+    @Param({ "1000", "10000", "100000" })
+    public int size;
+
+    @Param({ "128", "768" })
+    public int dimensions;
+
+    @Param({ "FLAT", "FLAT_INT8", "HNSW" })
+    public Index index;
+
+    private VolatileVectorStoreRecordCollection<BenchmarkRecord> collection;
+    private List<Float> query;
+    private VectorSearchOptions searchOptions;
+    private VectorSearchOptions filteredSearchOptions;
+    private List<BenchmarkRecord> replacements;
+    private int next;
+
+    @Setup
+    public void setup() {
+        collection = new VolatileVectorStoreRecordCollection<>("benchmark",
+            VolatileVectorStoreRecordCollectionOptions.<BenchmarkRecord>builder()
+                .withRecordClass(BenchmarkRecord.class)
+                .withRecordDefinition(BenchmarkRecord.recordDefinition(dimensions,
+                    DistanceFunction.COSINE_DISTANCE, index.indexKind, index.quantization))
+                .build());
+        collection.createCollectionAsync().block();
+        collection.upsertBatchAsync(BenchmarkRecord.generate(size, dimensions, 42), null).block();
+
+        query = BenchmarkRecord.randomVector(new Random(7), dimensions);
+        searchOptions = VectorSearchOptions.builder()
+            .withTop(10)
+            .build();
+        filteredSearchOptions = VectorSearchOptions.builder()
+            .withTop(10)
+            .withVectorSearchFilter(VectorSearchFilter.builder()
+                .equalTo("category", "category_1")
+                .build())
+            .build();
+
+        // Replacing existing keys keeps the size of the collection stable across iterations
+        replacements = BenchmarkRecord.generate(Math.min(size, 1000), dimensions, 43);
+        next = 0;
+    }
+
+    @Benchmark
+    public VectorSearchResults<BenchmarkRecord> search() {
+        return collection.searchAsync(query, searchOptions).block();
+    }
+
+    @Benchmark
+    public VectorSearchResults<BenchmarkRecord> filteredSearch() {
+        return collection.searchAsync(query, filteredSearchOptions).block();
+    }
+
+    @Benchmark
+    public String upsert() {
+        BenchmarkRecord record = replacements.get(next);
+        next = (next + 1) % replacements.size();
+        return collection.upsertAsync(record, null).block();
+    }
+}